@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.opt4j.core.genotype.BooleanGenotype;
+import org.opt4j.core.genotype.BooleanMapGenotype;
+import org.opt4j.core.genotype.CompositeGenotype;
+import org.opt4j.core.genotype.DoubleBounds;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.genotype.DoubleMapGenotype;
+import org.opt4j.core.genotype.IntegerBounds;
+import org.opt4j.core.genotype.IntegerGenotype;
+import org.opt4j.core.genotype.IntegerMapGenotype;
+import org.opt4j.core.genotype.PermutationGenotype;
+
+/**
+ * The {@link DefaultGenotypeCodec} writes the standard {@link Genotype}s
+ * without reflection. Each {@link Genotype} starts with a tag byte followed by
+ * its size and values:
+ * <ul>
+ * <li>{@link BooleanGenotype} and {@link BooleanMapGenotype} as packed
+ * bits,</li>
+ * <li>{@link IntegerGenotype}, {@link IntegerMapGenotype},
+ * {@link DoubleGenotype}, and {@link DoubleMapGenotype} with the bounds of
+ * each index,</li>
+ * <li>{@link PermutationGenotype} and {@link CompositeGenotype} with their
+ * elements and keys, respectively.</li>
+ * </ul>
+ * The keys and permutation elements are restricted to {@link Integer},
+ * {@link Long}, {@link Double}, {@link Boolean}, {@link String}, and
+ * {@code null}. Only the exact classes are supported, subclasses and other
+ * {@link Genotype}s (e.g.,
+ * {@link org.opt4j.core.genotype.SelectGenotype}) require a custom
+ * {@link GenotypeCodec}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class DefaultGenotypeCodec implements GenotypeCodec {
+
+	protected static final byte BOOLEAN = 1;
+	protected static final byte BOOLEAN_MAP = 2;
+	protected static final byte INTEGER = 3;
+	protected static final byte INTEGER_MAP = 4;
+	protected static final byte DOUBLE = 5;
+	protected static final byte DOUBLE_MAP = 6;
+	protected static final byte PERMUTATION = 7;
+	protected static final byte COMPOSITE = 8;
+
+	protected static final byte NULL_VALUE = 0;
+	protected static final byte INTEGER_VALUE = 1;
+	protected static final byte LONG_VALUE = 2;
+	protected static final byte DOUBLE_VALUE = 3;
+	protected static final byte BOOLEAN_VALUE = 4;
+	protected static final byte STRING_VALUE = 5;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.GenotypeCodec#write(org.opt4j.core.
+	 * Genotype, java.io.DataOutput)
+	 */
+	@Override
+	public void write(Genotype genotype, DataOutput out) throws IOException {
+		Class<?> type = genotype.getClass();
+
+		if (type == BooleanGenotype.class) {
+			out.writeByte(BOOLEAN);
+			writeBooleans((BooleanGenotype) genotype, out);
+		} else if (type == BooleanMapGenotype.class) {
+			BooleanMapGenotype<?> map = (BooleanMapGenotype<?>) genotype;
+			out.writeByte(BOOLEAN_MAP);
+			writeValues(map.getKeys(), out);
+			writeBooleans(map, out);
+		} else if (type == IntegerGenotype.class) {
+			out.writeByte(INTEGER);
+			writeIntegers((IntegerGenotype) genotype, out);
+		} else if (type == IntegerMapGenotype.class) {
+			IntegerMapGenotype<?> map = (IntegerMapGenotype<?>) genotype;
+			out.writeByte(INTEGER_MAP);
+			writeValues(map.getKeys(), out);
+			writeIntegers(map, out);
+		} else if (type == DoubleGenotype.class) {
+			out.writeByte(DOUBLE);
+			writeDoubles((DoubleGenotype) genotype, out);
+		} else if (type == DoubleMapGenotype.class) {
+			DoubleMapGenotype<?> map = (DoubleMapGenotype<?>) genotype;
+			out.writeByte(DOUBLE_MAP);
+			writeValues(map.getKeys(), out);
+			writeDoubles(map, out);
+		} else if (type == PermutationGenotype.class) {
+			out.writeByte(PERMUTATION);
+			writeValues((PermutationGenotype<?>) genotype, out);
+		} else if (type == CompositeGenotype.class) {
+			CompositeGenotype<?, ?> composite = (CompositeGenotype<?, ?>) genotype;
+			out.writeByte(COMPOSITE);
+			out.writeInt(composite.keySet().size());
+			for (Entry<?, ? extends Genotype> entry : composite) {
+				writeValue(entry.getKey(), out);
+				write(entry.getValue(), out);
+			}
+		} else {
+			throw new IllegalArgumentException(
+					"Unsupported genotype " + type.getName() + ", bind a custom " + GenotypeCodec.class.getSimpleName());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.GenotypeCodec#read(java.io.DataInput)
+	 */
+	@Override
+	public Genotype read(DataInput in) throws IOException {
+		byte tag = in.readByte();
+
+		switch (tag) {
+		case BOOLEAN: {
+			BooleanGenotype genotype = new BooleanGenotype();
+			readBooleans(genotype, in);
+			return genotype;
+		}
+		case BOOLEAN_MAP: {
+			BooleanMapGenotype<Object> genotype = new BooleanMapGenotype<>(readValues(in));
+			readBooleans(genotype, in);
+			return genotype;
+		}
+		case INTEGER: {
+			int size = in.readInt();
+			int[][] bounds = readIntegerBounds(size, in);
+			IntegerGenotype genotype = new IntegerGenotype(new IntegerBounds(bounds[0], bounds[1]));
+			readIntegers(genotype, size, in);
+			return genotype;
+		}
+		case INTEGER_MAP: {
+			List<Object> keys = readValues(in);
+			int size = in.readInt();
+			int[][] bounds = readIntegerBounds(size, in);
+			IntegerMapGenotype<Object> genotype = new IntegerMapGenotype<>(keys,
+					new IntegerBounds(bounds[0], bounds[1]));
+			readIntegers(genotype, size, in);
+			return genotype;
+		}
+		case DOUBLE: {
+			int size = in.readInt();
+			double[][] bounds = readDoubleBounds(size, in);
+			DoubleGenotype genotype = new DoubleGenotype(new DoubleBounds(bounds[0], bounds[1]));
+			readDoubles(genotype, size, in);
+			return genotype;
+		}
+		case DOUBLE_MAP: {
+			List<Object> keys = readValues(in);
+			int size = in.readInt();
+			double[][] bounds = readDoubleBounds(size, in);
+			DoubleMapGenotype<Object> genotype = new DoubleMapGenotype<>(keys, new DoubleBounds(bounds[0], bounds[1]));
+			readDoubles(genotype, size, in);
+			return genotype;
+		}
+		case PERMUTATION:
+			return new PermutationGenotype<>(readValues(in));
+		case COMPOSITE: {
+			CompositeGenotype<Object, Genotype> genotype = new CompositeGenotype<>();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				Object key = readValue(in);
+				genotype.put(key, read(in));
+			}
+			return genotype;
+		}
+		default:
+			throw new IOException("Unknown genotype tag: " + tag);
+		}
+	}
+
+	protected void writeBooleans(BooleanGenotype genotype, DataOutput out) throws IOException {
+		int size = genotype.size();
+		out.writeInt(size);
+		for (int i = 0; i < size; i += 8) {
+			int bits = 0;
+			for (int j = 0; j < 8 && i + j < size; j++) {
+				if (genotype.get(i + j)) {
+					bits |= 1 << j;
+				}
+			}
+			out.writeByte(bits);
+		}
+	}
+
+	protected void readBooleans(BooleanGenotype genotype, DataInput in) throws IOException {
+		int size = in.readInt();
+		for (int i = 0; i < size; i += 8) {
+			int bits = in.readUnsignedByte();
+			for (int j = 0; j < 8 && i + j < size; j++) {
+				genotype.add((bits & (1 << j)) != 0);
+			}
+		}
+	}
+
+	protected void writeIntegers(IntegerGenotype genotype, DataOutput out) throws IOException {
+		int size = genotype.size();
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			out.writeInt(genotype.getLowerBound(i));
+			out.writeInt(genotype.getUpperBound(i));
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeInt(genotype.get(i));
+		}
+	}
+
+	protected int[][] readIntegerBounds(int size, DataInput in) throws IOException {
+		int[][] bounds = new int[2][size];
+		for (int i = 0; i < size; i++) {
+			bounds[0][i] = in.readInt();
+			bounds[1][i] = in.readInt();
+		}
+		return bounds;
+	}
+
+	protected void readIntegers(IntegerGenotype genotype, int size, DataInput in) throws IOException {
+		for (int i = 0; i < size; i++) {
+			genotype.add(in.readInt());
+		}
+	}
+
+	protected void writeDoubles(DoubleGenotype genotype, DataOutput out) throws IOException {
+		int size = genotype.size();
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			out.writeDouble(genotype.getLowerBound(i));
+			out.writeDouble(genotype.getUpperBound(i));
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeDouble(genotype.get(i));
+		}
+	}
+
+	protected double[][] readDoubleBounds(int size, DataInput in) throws IOException {
+		double[][] bounds = new double[2][size];
+		for (int i = 0; i < size; i++) {
+			bounds[0][i] = in.readDouble();
+			bounds[1][i] = in.readDouble();
+		}
+		return bounds;
+	}
+
+	protected void readDoubles(DoubleGenotype genotype, int size, DataInput in) throws IOException {
+		for (int i = 0; i < size; i++) {
+			genotype.add(in.readDouble());
+		}
+	}
+
+	protected void writeValues(Collection<?> values, DataOutput out) throws IOException {
+		out.writeInt(values.size());
+		for (Object value : values) {
+			writeValue(value, out);
+		}
+	}
+
+	protected List<Object> readValues(DataInput in) throws IOException {
+		int size = in.readInt();
+		List<Object> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(readValue(in));
+		}
+		return values;
+	}
+
+	protected void writeValue(Object value, DataOutput out) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		} else if (value instanceof Integer) {
+			out.writeByte(INTEGER_VALUE);
+			out.writeInt((Integer) value);
+		} else if (value instanceof Long) {
+			out.writeByte(LONG_VALUE);
+			out.writeLong((Long) value);
+		} else if (value instanceof Double) {
+			out.writeByte(DOUBLE_VALUE);
+			out.writeDouble((Double) value);
+		} else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean((Boolean) value);
+		} else if (value instanceof String) {
+			out.writeByte(STRING_VALUE);
+			out.writeUTF((String) value);
+		} else {
+			throw new IllegalArgumentException("Unsupported value " + value + " of " + value.getClass().getName()
+					+ ", bind a custom " + GenotypeCodec.class.getSimpleName());
+		}
+	}
+
+	protected Object readValue(DataInput in) throws IOException {
+		byte tag = in.readByte();
+		switch (tag) {
+		case NULL_VALUE:
+			return null;
+		case INTEGER_VALUE:
+			return in.readInt();
+		case LONG_VALUE:
+			return in.readLong();
+		case DOUBLE_VALUE:
+			return in.readDouble();
+		case BOOLEAN_VALUE:
+			return in.readBoolean();
+		case STRING_VALUE:
+			return in.readUTF();
+		default:
+			throw new IOException("Unknown value tag: " + tag);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * The {@link GenotypeCodec} writes {@link Genotype}s to a compact binary
+ * representation and reads them back. It is used to ship the
+ * {@link Genotype}s to the worker processes of the
+ * {@link org.opt4j.core.common.completer.RemoteIndividualCompleter} and to the
+ * snapshots. It has to be bound identically on both sides, i.e., in a problem
+ * module for custom {@link Genotype}s.
+ * 
+ * @see DefaultGenotypeCodec
+ * @author lukasiewycz
+ * 
+ */
+@ImplementedBy(DefaultGenotypeCodec.class)
+public interface GenotypeCodec {
+
+	/**
+	 * Writes the {@link Genotype}.
+	 * 
+	 * @param genotype
+	 *            the genotype
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output fails
+	 * @throws IllegalArgumentException
+	 *             if the genotype is not supported
+	 */
+	public void write(Genotype genotype, DataOutput out) throws IOException;
+
+	/**
+	 * Reads a {@link Genotype}.
+	 * 
+	 * @param in
+	 *            the input
+	 * @return the genotype
+	 * @throws IOException
+	 *             if the input fails or is malformed
+	 */
+	public Genotype read(DataInput in) throws IOException;
+
+}
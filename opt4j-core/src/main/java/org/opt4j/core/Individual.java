@@ -25,6 +25,8 @@ package org.opt4j.core;
 
 import java.util.Set;
 
+import org.opt4j.core.problem.PhenotypeRetention;
+
 import com.google.inject.Inject;
 
 /**
@@ -40,6 +42,11 @@ import com.google.inject.Inject;
  * Finally, the phenotype is evaluated and the resulting {@link Objectives} are
  * added to the {@link Individual}.
  * </p>
+ * <p>
+ * A {@link PhenotypeRetention} may evict the phenotype of a decoded
+ * {@link Individual} to save memory. An evicted phenotype is restored
+ * transparently by {@link #getPhenotype()}.
+ * </p>
  * 
  * @see Genotype
  * @see Objectives
@@ -51,6 +58,8 @@ public class Individual {
 
 	protected Object phenotype;
 
+	protected PhenotypeRetention retention;
+
 	protected Objectives objectives;
 
 	protected Set<IndividualStateListener> individualStateListeners;
@@ -170,15 +179,72 @@ public class Individual {
 	}
 
 	/**
-	 * Returns the phenotype.
+	 * Returns the phenotype. An evicted phenotype is restored by the
+	 * {@link PhenotypeRetention} that evicted it.
 	 * 
 	 * @see #setPhenotype
+	 * @see #evictPhenotype
 	 * @return the phenotype
 	 */
 	public Object getPhenotype() {
+		Object phenotype = this.phenotype;
+		if (phenotype == null && retention != null) {
+			return restorePhenotype();
+		}
 		return phenotype;
 	}
 
+	/**
+	 * Restores the evicted phenotype. The {@link PhenotypeRetention} is
+	 * notified with {@link PhenotypeRetention#restored(Individual)} after the
+	 * monitor of this {@link Individual} is released such that the monitors of
+	 * two individuals are never nested.
+	 * 
+	 * @return the restored phenotype
+	 */
+	protected Object restorePhenotype() {
+		PhenotypeRetention restoredBy = null;
+		Object phenotype;
+		synchronized (this) {
+			phenotype = this.phenotype;
+			if (phenotype == null && retention != null) {
+				restoredBy = retention;
+				phenotype = restoredBy.restore(this);
+				this.phenotype = phenotype;
+			}
+		}
+		if (restoredBy != null) {
+			restoredBy.restored(this);
+		}
+		return phenotype;
+	}
+
+	/**
+	 * Evicts the phenotype of a decoded {@link Individual}. The phenotype is
+	 * restored by the given {@link PhenotypeRetention} the next time it is
+	 * requested by {@link #getPhenotype()}. Individuals that are not decoded
+	 * are left untouched.
+	 * 
+	 * @param retention
+	 *            the retention that restores the phenotype
+	 */
+	public synchronized void evictPhenotype(PhenotypeRetention retention) {
+		if (state.isDecoded() && !state.isProcessing()) {
+			this.retention = retention;
+			this.phenotype = null;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the phenotype is evicted and not restored yet.
+	 * 
+	 * @see #evictPhenotype
+	 * @return {@code true} if the phenotype is evicted
+	 */
+	public boolean isPhenotypeEvicted() {
+		return phenotype == null && retention != null;
+	}
+
 	/**
 	 * Returns the objectives.
 	 * 
@@ -208,6 +274,7 @@ public class Individual {
 	 */
 	public void setGenotype(Genotype genotype) {
 		this.genotype = genotype;
+		this.retention = null;
 		setState(State.GENOTYPED);
 	}
 
@@ -220,6 +287,7 @@ public class Individual {
 	 */
 	public void setPhenotype(Object phenotype) {
 		this.phenotype = phenotype;
+		this.retention = null;
 		setState(State.PHENOTYPED);
 	}
 
@@ -22,28 +22,34 @@
 
 package org.opt4j.core;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * The {@link IndividualSet} is a {@link Set} of {@link Individual}s. It allows
- * to add and remove listeners, see {@link IndividualSetListener}.
+ * to add and remove listeners, see {@link IndividualSetListener}. The
+ * {@link Individual}s are written to a snapshot in their order, restoring a
+ * snapshot replaces the content and informs the listeners.
  * 
  * @see org.opt4j.core.optimizer.Archive
  * @see org.opt4j.core.optimizer.Population
  * @author lukasiewycz
  * 
  */
-public class IndividualSet implements Set<Individual> {
+public class IndividualSet implements Set<Individual>, Snapshotable {
 
 	protected final Set<Individual> individuals = new LinkedHashSet<>();
 
 	protected final Set<IndividualSetListener> listeners = new CopyOnWriteArraySet<>();
 
+	protected ObjectiveMatrix matrix = null;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -110,6 +116,24 @@ public class IndividualSet implements Set<Individual> {
 		return individuals.size();
 	}
 
+	/**
+	 * Returns the {@link ObjectiveMatrix} of this set. The matrix is created on
+	 * the first call and kept in sync with this set afterwards.
+	 * 
+	 * @return the objective matrix
+	 */
+	public ObjectiveMatrix getObjectiveMatrix() {
+		if (matrix == null) {
+			ObjectiveMatrix m = new ObjectiveMatrix();
+			for (Individual individual : individuals) {
+				m.add(individual);
+			}
+			addListener(m);
+			matrix = m;
+		}
+		return matrix;
+	}
+
 	/**
 	 * Adds a listener.
 	 * 
@@ -273,4 +297,30 @@ public class IndividualSet implements Set<Individual> {
 		return individuals.toArray(a);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		out.writeIndividuals(individuals);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		List<Individual> restored = in.readIndividuals();
+		clear();
+		for (Individual individual : restored) {
+			add(individual);
+		}
+	}
+
 }
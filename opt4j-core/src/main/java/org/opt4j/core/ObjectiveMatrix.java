@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@link ObjectiveMatrix} is a row-indexed, column-oriented copy of the
+ * {@link Objectives#array()} values of a set of {@link Individual}s. Each
+ * {@link Individual} occupies one row and each objective is stored in one
+ * contiguous {@code double} column such that density and dominance kernels
+ * can run over primitive arrays instead of following the references from each
+ * {@link Individual} to its {@link Objectives}.
+ * </p>
+ * <p>
+ * A matrix that is obtained from {@link IndividualSet#getObjectiveMatrix()}
+ * is registered as {@link IndividualSetListener} and kept in sync with the
+ * set. The rows are dense, i.e., removing an {@link Individual} moves the last
+ * row into the freed row. Since {@link Individual}s are usually added before
+ * they are evaluated, the values are not copied on insertion but by
+ * {@link #refresh()} which has to be called once before a pass over the
+ * matrix. Each row remembers the {@link Objectives} instance and its
+ * {@link Objectives#getVersion()} it was copied from and is copied again by
+ * the next {@link #refresh()} once the {@link Individual} is re-evaluated or
+ * its {@link Objectives} change. The accessors do not check the rows and
+ * return the values of the last {@link #refresh()}.
+ * </p>
+ * <p>
+ * The matrix is not thread-safe (as the {@link IndividualSet} itself).
+ * </p>
+ * 
+ * @see IndividualSet#getObjectiveMatrix()
+ * @author lukasiewycz
+ * 
+ */
+public class ObjectiveMatrix implements IndividualSetListener {
+
+	private static final double[][] NONE = new double[0][];
+
+	protected Individual[] individuals = new Individual[16];
+
+	protected final Map<Individual, Integer> rows = new HashMap<>();
+
+	protected Objectives[] sources = new Objectives[16];
+
+	protected int[] versions = new int[16];
+
+	protected double[][] columns = NONE;
+
+	protected int size = 0;
+
+	/**
+	 * Constructs an empty {@link ObjectiveMatrix}.
+	 */
+	public ObjectiveMatrix() {
+		super();
+	}
+
+	/**
+	 * Returns the {@link ObjectiveMatrix} for the given {@link Individual}s.
+	 * If the individuals are an {@link IndividualSet} that already owns a
+	 * synchronized matrix (see {@link IndividualSet#getObjectiveMatrix()}),
+	 * this matrix is returned. Otherwise, a new matrix is created from the
+	 * individuals (in the order of iteration) that is not registered as
+	 * listener anywhere.
+	 * 
+	 * @param individuals
+	 *            the individuals
+	 * @return the matrix
+	 */
+	public static ObjectiveMatrix of(Collection<? extends Individual> individuals) {
+		if (individuals instanceof IndividualSet && ((IndividualSet) individuals).matrix != null) {
+			return ((IndividualSet) individuals).matrix;
+		}
+		ObjectiveMatrix matrix = new ObjectiveMatrix();
+		for (Individual individual : individuals) {
+			matrix.add(individual);
+		}
+		return matrix;
+	}
+
+	/**
+	 * Returns the number of rows, i.e., {@link Individual}s.
+	 * 
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of columns, i.e., objectives. Returns {@code 0} if no
+	 * {@link Individual} was evaluated at the last {@link #refresh()}.
+	 * 
+	 * @return the number of columns
+	 */
+	public int dimensions() {
+		return columns.length;
+	}
+
+	/**
+	 * Returns the {@link Individual} in the given row.
+	 * 
+	 * @param row
+	 *            the row
+	 * @return the individual
+	 */
+	public Individual getIndividual(int row) {
+		if (row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + ", size " + size);
+		}
+		return individuals[row];
+	}
+
+	/**
+	 * Returns the row of the given {@link Individual} or {@code -1} if the
+	 * individual is not contained.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @return the row of the individual
+	 */
+	public int indexOf(Individual individual) {
+		Integer row = rows.get(individual);
+		return row == null ? -1 : row;
+	}
+
+	/**
+	 * Returns the rows of the given {@link Individual}s (in the order of
+	 * iteration).
+	 * 
+	 * @param individuals
+	 *            the individuals
+	 * @return the rows
+	 */
+	public int[] rows(Collection<? extends Individual> individuals) {
+		int[] result = new int[individuals.size()];
+		int i = 0;
+		for (Individual individual : individuals) {
+			int row = indexOf(individual);
+			if (row < 0) {
+				throw new IllegalArgumentException("Individual is not contained: " + individual);
+			}
+			result[i++] = row;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the (minimization) value of an objective.
+	 * 
+	 * @param row
+	 *            the row
+	 * @param dimension
+	 *            the objective
+	 * @return the value
+	 */
+	public double get(int row, int dimension) {
+		return column(dimension)[row];
+	}
+
+	/**
+	 * Returns the column of an objective. The column is the backing array of
+	 * this matrix, its length might exceed the {@link #size()} and it must not
+	 * be modified.
+	 * 
+	 * @param dimension
+	 *            the objective
+	 * @return the column
+	 */
+	public double[] column(int dimension) {
+		return columns[dimension];
+	}
+
+	/**
+	 * Returns all columns. The columns are the backing arrays of this matrix,
+	 * their length might exceed the {@link #size()} and they must not be
+	 * modified.
+	 * 
+	 * @return the columns
+	 */
+	public double[][] columns() {
+		return columns;
+	}
+
+	/**
+	 * Copies the values of a row into the given array.
+	 * 
+	 * @param row
+	 *            the row
+	 * @param target
+	 *            the target array
+	 * @return the target array
+	 */
+	public double[] copyRow(int row, double[] target) {
+		for (int j = 0; j < columns.length; j++) {
+			target[j] = columns[j][row];
+		}
+		return target;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualSetListener#individualAdded(org.opt4j.core.
+	 * IndividualSet, org.opt4j.core.Individual)
+	 */
+	@Override
+	public void individualAdded(IndividualSet collection, Individual individual) {
+		add(individual);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualSetListener#individualRemoved(org.opt4j.core.
+	 * IndividualSet, org.opt4j.core.Individual)
+	 */
+	@Override
+	public void individualRemoved(IndividualSet collection, Individual individual) {
+		remove(individual);
+	}
+
+	/**
+	 * Adds a row for the {@link Individual}.
+	 * 
+	 * @param individual
+	 *            the individual
+	 */
+	protected void add(Individual individual) {
+		if (rows.containsKey(individual)) {
+			return;
+		}
+		if (size == individuals.length) {
+			int capacity = size * 2;
+			individuals = Arrays.copyOf(individuals, capacity);
+			sources = Arrays.copyOf(sources, capacity);
+			versions = Arrays.copyOf(versions, capacity);
+			for (int j = 0; j < columns.length; j++) {
+				columns[j] = Arrays.copyOf(columns[j], capacity);
+			}
+		}
+		individuals[size] = individual;
+		sources[size] = null;
+		rows.put(individual, size);
+		size++;
+	}
+
+	/**
+	 * Removes the row of the {@link Individual}. The last row is moved into
+	 * the freed row.
+	 * 
+	 * @param individual
+	 *            the individual
+	 */
+	protected void remove(Individual individual) {
+		Integer index = rows.remove(individual);
+		if (index == null) {
+			return;
+		}
+		int row = index;
+		int last = size - 1;
+		if (row != last) {
+			Individual moved = individuals[last];
+			individuals[row] = moved;
+			sources[row] = sources[last];
+			versions[row] = versions[last];
+			for (int j = 0; j < columns.length; j++) {
+				columns[j][row] = columns[j][last];
+			}
+			rows.put(moved, row);
+		}
+		individuals[last] = null;
+		sources[last] = null;
+		size--;
+	}
+
+	/**
+	 * Copies the values of all rows that are not filled yet or whose
+	 * {@link Objectives} were replaced or changed since they were copied. This
+	 * method checks each row and, thus, is called once before a pass over the
+	 * matrix instead of with each access.
+	 * 
+	 * @throws IllegalStateException
+	 *             if an individual is not evaluated
+	 */
+	public void refresh() {
+		for (int i = 0; i < size; i++) {
+			Individual individual = individuals[i];
+			Objectives objectives = individual.getObjectives();
+			if (objectives == null || sources[i] != objectives || versions[i] != objectives.getVersion()) {
+				if (objectives == null || !individual.isEvaluated()) {
+					throw new IllegalStateException("Individual is not evaluated: " + individual);
+				}
+				double[] values = objectives.array();
+				if (columns.length != values.length) {
+					if (columns.length != 0) {
+						throw new IllegalStateException("Objectives changed: " + objectives.getKeys());
+					}
+					columns = new double[values.length][individuals.length];
+				}
+				for (int j = 0; j < values.length; j++) {
+					columns[j][i] = values[j];
+				}
+				sources[i] = objectives;
+				versions[i] = objectives.getVersion();
+			}
+		}
+	}
+
+}
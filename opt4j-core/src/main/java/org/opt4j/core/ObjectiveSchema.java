@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.core;
+
+import static org.opt4j.core.Objective.Sign.MAX;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * The {@link ObjectiveSchema} is the immutable, ordered set of
+ * {@link Objective}s that are shared by {@link Objectives}. The
+ * {@link Objective}s are ordered by their natural ordering, i.e., the index of
+ * an {@link Objective} in the schema is also its index in
+ * {@link Objectives#array()}.
+ * </p>
+ * <p>
+ * Schemas are interned: two schemas with the same {@link Objective}s are the
+ * same instance such that all {@link Objectives} of a run share a single
+ * schema and can be compared by identity.
+ * </p>
+ * 
+ * @see Objectives
+ * @author lukasiewycz
+ * 
+ */
+public final class ObjectiveSchema {
+
+	private static final ConcurrentMap<List<Objective>, ObjectiveSchema> schemas = new ConcurrentHashMap<>();
+
+	/**
+	 * The empty schema.
+	 */
+	public static final ObjectiveSchema EMPTY = intern(new Objective[0]);
+
+	private final Objective[] objectives;
+
+	private final boolean[] maximize;
+
+	private final List<Objective> list;
+
+	private volatile Transition[] transitions = new Transition[0];
+
+	private static class Transition {
+		final Objective objective;
+		final ObjectiveSchema schema;
+
+		Transition(Objective objective, ObjectiveSchema schema) {
+			this.objective = objective;
+			this.schema = schema;
+		}
+	}
+
+	private ObjectiveSchema(Objective[] objectives) {
+		this.objectives = objectives;
+		this.maximize = new boolean[objectives.length];
+		for (int i = 0; i < objectives.length; i++) {
+			maximize[i] = objectives[i].getSign() == MAX;
+		}
+		this.list = Collections.unmodifiableList(Arrays.asList(objectives));
+	}
+
+	/**
+	 * Returns the (shared) schema for the given {@link Objective}s.
+	 * 
+	 * @param objectives
+	 *            the objectives
+	 * @return the schema
+	 */
+	public static ObjectiveSchema of(Collection<Objective> objectives) {
+		Collection<Objective> sorted = new TreeSet<>(objectives);
+		return intern(sorted.toArray(new Objective[0]));
+	}
+
+	/**
+	 * Returns the (shared) schema for the given {@link Objective}s.
+	 * 
+	 * @param objectives
+	 *            the objectives
+	 * @return the schema
+	 */
+	public static ObjectiveSchema of(Objective... objectives) {
+		return of(Arrays.asList(objectives));
+	}
+
+	private static ObjectiveSchema intern(Objective[] objectives) {
+		List<Objective> key = Arrays.asList(objectives);
+		ObjectiveSchema schema = schemas.get(key);
+		if (schema == null) {
+			ObjectiveSchema candidate = new ObjectiveSchema(objectives);
+			schema = schemas.putIfAbsent(candidate.list, candidate);
+			if (schema == null) {
+				schema = candidate;
+			}
+		}
+		return schema;
+	}
+
+	/**
+	 * Returns the number of {@link Objective}s.
+	 * 
+	 * @return the number of objectives
+	 */
+	public int size() {
+		return objectives.length;
+	}
+
+	/**
+	 * Returns the {@link Objective} at the given index.
+	 * 
+	 * @param index
+	 *            the index
+	 * @return the objective
+	 */
+	public Objective get(int index) {
+		return objectives[index];
+	}
+
+	/**
+	 * Returns {@code true} if the {@link Objective} at the given index is
+	 * maximized.
+	 * 
+	 * @param index
+	 *            the index
+	 * @return {@code true} if the objective is maximized
+	 */
+	public boolean isMaximized(int index) {
+		return maximize[index];
+	}
+
+	/**
+	 * Returns the index of the given {@link Objective} or
+	 * {@code -(insertion point) - 1} if this schema does not contain it (see
+	 * {@link Arrays#binarySearch(Object[], Object)}).
+	 * 
+	 * @param objective
+	 *            the objective
+	 * @return the index of the objective
+	 */
+	public int indexOf(Objective objective) {
+		for (int i = 0; i < objectives.length; i++) {
+			if (objectives[i] == objective) {
+				return i;
+			}
+		}
+		return Arrays.binarySearch(objectives, objective);
+	}
+
+	/**
+	 * Returns the {@link Objective}s as unmodifiable list.
+	 * 
+	 * @return the objectives
+	 */
+	public List<Objective> getObjectives() {
+		return list;
+	}
+
+	/**
+	 * Returns the schema that additionally contains the given
+	 * {@link Objective}. The transitions are cached such that building the
+	 * {@link Objectives} of an {@link Individual} does not allocate new schemas.
+	 * 
+	 * @param objective
+	 *            the additional objective
+	 * @return the extended schema
+	 */
+	public ObjectiveSchema with(Objective objective) {
+		Transition[] current = transitions;
+		for (Transition transition : current) {
+			if (transition.objective == objective) {
+				return transition.schema;
+			}
+		}
+		for (Transition transition : current) {
+			if (transition.objective.equals(objective)) {
+				return transition.schema;
+			}
+		}
+
+		int index = indexOf(objective);
+		if (index >= 0) {
+			return this;
+		}
+		List<Objective> extended = new ArrayList<>(list);
+		extended.add(-index - 1, objective);
+		ObjectiveSchema schema = intern(extended.toArray(new Objective[0]));
+
+		synchronized (this) {
+			Transition[] updated = Arrays.copyOf(transitions, transitions.length + 1);
+			updated[updated.length - 1] = new Transition(objective, schema);
+			transitions = updated;
+		}
+		return schema;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return list.toString();
+	}
+
+}
@@ -22,30 +22,85 @@
 
 package org.opt4j.core;
 
-import static org.opt4j.core.Objective.Sign.MAX;
-
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.NoSuchElementException;
 
 import org.opt4j.core.Objective.Sign;
 
 /**
+ * <p>
  * The {@link Objectives} contain the {@link Objective}-{@link Value} pairs of
  * an {@link Individual}.
+ * </p>
+ * <p>
+ * The {@link Objective}s are kept in a shared {@link ObjectiveSchema} while the
+ * values are stored in a flat {@code double} array in their minimization form.
+ * {@link DoubleValue}s and {@link IntegerValue}s are not retained but restored
+ * on demand by the {@link #iterator()} and {@link #get(Objective)}. All other
+ * {@link Value}s (and infeasible values) are kept as they are.
+ * </p>
  * 
  * @see Value
  * @see Objective
+ * @see ObjectiveSchema
  * @author lukasiewycz
  * 
  */
 public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 
-	protected final SortedMap<Objective, Value<?>> map = new TreeMap<>();
+	/**
+	 * The value is stored as {@code double}.
+	 */
+	protected static final byte DOUBLE = 0;
+
+	/**
+	 * The value is stored as {@code double} and restored as
+	 * {@link IntegerValue}.
+	 */
+	protected static final byte INTEGER = 1;
+
+	/**
+	 * The value is retained in {@link #boxed}.
+	 */
+	protected static final byte BOXED = 2;
+
+	private static final double[] NONE = new double[0];
+
+	protected ObjectiveSchema schema = ObjectiveSchema.EMPTY;
+
+	protected double[] array = NONE;
 
-	protected double[] array = null;
+	protected byte[] kinds = null;
+
+	protected Value<?>[] boxed = null;
+
+	protected int version = 0;
+
+	/**
+	 * Constructs empty {@link Objectives}.
+	 */
+	public Objectives() {
+		super();
+	}
+
+	/**
+	 * Constructs empty {@link Objectives} that expect the {@link Objective}s of
+	 * the given {@link ObjectiveSchema}. Adding these objectives does not
+	 * allocate any memory.
+	 * 
+	 * @param expected
+	 *            the expected schema
+	 */
+	public Objectives(ObjectiveSchema expected) {
+		this();
+		this.array = new double[expected.size()];
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -54,7 +109,46 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 */
 	@Override
 	public Iterator<Entry<Objective, Value<?>>> iterator() {
-		return map.entrySet().iterator();
+		return new Iterator<Entry<Objective, Value<?>>>() {
+
+			int i = 0;
+
+			@Override
+			public boolean hasNext() {
+				return i < size();
+			}
+
+			@Override
+			public Entry<Objective, Value<?>> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Entry<Objective, Value<?>> entry = new SimpleImmutableEntry<Objective, Value<?>>(schema.get(i),
+						value(i));
+				i++;
+				return entry;
+			}
+		};
+	}
+
+	/**
+	 * Returns the version of these {@link Objectives}. The version changes
+	 * each time a value is added or replaced such that cached copies of the
+	 * values can be validated.
+	 * 
+	 * @return the version
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the {@link ObjectiveSchema} of these {@link Objectives}.
+	 * 
+	 * @return the schema
+	 */
+	public ObjectiveSchema getSchema() {
+		return schema;
 	}
 
 	/**
@@ -65,36 +159,18 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 * @return an array containing values which have to be minimized
 	 */
 	public double[] array() {
-		if (array == null) {
-			submit();
+		if (array.length != schema.size()) {
+			trim();
 		}
-
 		return array;
 	}
 
 	/**
-	 * Calculates the array.
+	 * Trims the array to the current size.
 	 */
-	protected synchronized void submit() {
-		if (array == null) {
-			array = new double[size()];
-			int i = 0;
-			for (Entry<Objective, Value<?>> entry : this) {
-				Objective objective = entry.getKey();
-				Value<?> value = entry.getValue();
-
-				Double v = value.getDouble();
-
-				if (v == null) {
-					array[i] = Double.MAX_VALUE;
-				} else if (objective.getSign() == MAX) {
-					array[i] = -v;
-				} else {
-					array[i] = v;
-				}
-
-				i++;
-			}
+	protected synchronized void trim() {
+		if (array.length != schema.size()) {
+			array = Arrays.copyOf(array, schema.size());
 		}
 	}
 
@@ -104,7 +180,7 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 * @return the number of set objectives
 	 */
 	public int size() {
-		return map.size();
+		return schema.size();
 	}
 
 	/**
@@ -113,7 +189,7 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 * @return all objectives
 	 */
 	public Collection<Objective> getKeys() {
-		return map.keySet();
+		return schema.getObjectives();
 	}
 
 	/**
@@ -122,7 +198,11 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 * @return all values
 	 */
 	public Collection<Value<?>> getValues() {
-		return map.values();
+		List<Value<?>> values = new ArrayList<>(size());
+		for (int i = 0; i < size(); i++) {
+			values.add(value(i));
+		}
+		return values;
 	}
 
 	/**
@@ -134,7 +214,8 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 * @return the value
 	 */
 	public Value<?> get(Objective objective) {
-		return map.get(objective);
+		int i = schema.indexOf(objective);
+		return i < 0 ? null : value(i);
 	}
 
 	/**
@@ -146,16 +227,31 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 * @return the objective
 	 */
 	public Objective get(Value<?> value) {
-		Objective objective = null;
-		for (Entry<Objective, Value<?>> entry : this) {
-			Value<?> v = entry.getValue();
-			if (value.equals(v)) {
-				Objective o = entry.getKey();
-				objective = o;
-				break;
+		for (int i = 0; i < size(); i++) {
+			if (value.equals(value(i))) {
+				return schema.get(i);
 			}
 		}
-		return objective;
+		return null;
+	}
+
+	/**
+	 * Returns the {@link Value} at the given index of the schema.
+	 * 
+	 * @param i
+	 *            the index
+	 * @return the value
+	 */
+	protected Value<?> value(int i) {
+		byte kind = kinds == null ? DOUBLE : kinds[i];
+		if (kind == BOXED) {
+			return boxed[i];
+		}
+		double v = schema.isMaximized(i) ? -array[i] : array[i];
+		if (kind == INTEGER) {
+			return new IntegerValue((int) v);
+		}
+		return new DoubleValue(v);
 	}
 
 	/**
@@ -168,11 +264,14 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 */
 	public void add(Objective objective, Value<?> value) {
 		if (value == null) {
-			map.put(objective, new DoubleValue(null));
+			put(objective, 0, BOXED, new DoubleValue(null));
+		} else if (value.getClass() == DoubleValue.class && value.getValue() != null) {
+			add(objective, ((DoubleValue) value).getValue().doubleValue());
+		} else if (value.getClass() == IntegerValue.class && value.getValue() != null) {
+			add(objective, ((IntegerValue) value).getValue().intValue());
 		} else {
-			map.put(objective, value);
+			put(objective, 0, BOXED, value);
 		}
-		array = null;
 	}
 
 	/**
@@ -198,7 +297,7 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 *            the value
 	 */
 	public void add(Objective objective, double value) {
-		add(objective, new DoubleValue(value));
+		put(objective, value, DOUBLE, null);
 	}
 
 	/**
@@ -224,7 +323,7 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 *            the value
 	 */
 	public void add(Objective objective, int value) {
-		add(objective, new IntegerValue(value));
+		put(objective, value, INTEGER, null);
 	}
 
 	/**
@@ -249,8 +348,95 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	 *            the objectives
 	 */
 	public void addAll(Objectives objectives) {
-		map.putAll(objectives.map);
-		array = null;
+		for (int i = 0; i < objectives.size(); i++) {
+			byte kind = objectives.kinds == null ? DOUBLE : objectives.kinds[i];
+			Objective objective = objectives.schema.get(i);
+			double v = objectives.schema.isMaximized(i) ? -objectives.array[i] : objectives.array[i];
+			put(objective, v, kind, kind == BOXED ? objectives.boxed[i] : null);
+		}
+	}
+
+	/**
+	 * Sets the value of the given {@link Objective}. If the objective is not
+	 * part of the current {@link ObjectiveSchema}, the schema is extended.
+	 * 
+	 * @param objective
+	 *            the objective
+	 * @param v
+	 *            the value (ignored for {@link #BOXED} values)
+	 * @param kind
+	 *            the kind of the value
+	 * @param value
+	 *            the retained value for {@link #BOXED} values
+	 */
+	protected void put(Objective objective, double v, byte kind, Value<?> value) {
+		version++;
+		int i = schema.indexOf(objective);
+		if (i < 0) {
+			i = insert(objective, -i - 1);
+		}
+
+		if (kind == BOXED) {
+			Double d = value.getDouble();
+			if (d == null) {
+				array[i] = Double.MAX_VALUE;
+			} else {
+				array[i] = schema.isMaximized(i) ? -d : d;
+			}
+		} else {
+			array[i] = schema.isMaximized(i) ? -v : v;
+		}
+
+		if (kind != DOUBLE && kinds == null) {
+			kinds = new byte[array.length];
+		}
+		if (kinds != null) {
+			kinds[i] = kind;
+		}
+		if (kind == BOXED) {
+			if (boxed == null) {
+				boxed = new Value<?>[array.length];
+			}
+			boxed[i] = value;
+		} else if (boxed != null) {
+			boxed[i] = null;
+		}
+	}
+
+	/**
+	 * Inserts a new {@link Objective} at the given position.
+	 * 
+	 * @param objective
+	 *            the objective
+	 * @param position
+	 *            the position in the current schema
+	 * @return the index of the objective in the extended schema
+	 */
+	private int insert(Objective objective, int position) {
+		int size = schema.size();
+		schema = schema.with(objective);
+
+		if (array.length <= size) {
+			array = Arrays.copyOf(array, size + 1);
+		}
+		System.arraycopy(array, position, array, position + 1, size - position);
+		if (kinds != null) {
+			kinds = insert(kinds, position, size);
+		}
+		if (boxed != null) {
+			Value<?>[] values = boxed.length <= size ? Arrays.copyOf(boxed, size + 1) : boxed;
+			System.arraycopy(boxed, position, values, position + 1, size - position);
+			values[position] = null;
+			boxed = values;
+		}
+		return position;
+	}
+
+	private byte[] insert(byte[] bytes, int position, int size) {
+		byte[] result = bytes.length <= size ? Arrays.copyOf(bytes, size + 1) : bytes;
+		System.arraycopy(bytes, position, result, position + 1, size - position);
+		result[position] = DOUBLE;
+		return result;
 	}
 
 	/**
@@ -344,7 +530,7 @@ public class Objectives implements Iterable<Entry<Objective, Value<?>>> {
 	@Override
 	public String toString() {
 		StringBuilder s = new StringBuilder("");
-		for (Entry<Objective, Value<?>> entry : map.entrySet()) {
+		for (Entry<Objective, Value<?>> entry : this) {
 			Objective o = entry.getKey();
 			Value<?> v = entry.getValue();
 			s.append(o).append("=").append(v).append(" ");
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map.Entry;
+
+import org.opt4j.core.Objective.Sign;
+
+/**
+ * The {@link ObjectivesCodec} writes {@link Objectives} to a compact binary
+ * representation and reads them back. It is shared by the snapshots and the
+ * remote evaluation such that both use the same encoding of the values.
+ * {@link Value}s other than {@link DoubleValue}s and {@link IntegerValue}s are
+ * written by {@link Value#getDouble()}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public final class ObjectivesCodec {
+
+	static final byte INFEASIBLE = 0;
+	static final byte DOUBLE = 1;
+	static final byte INTEGER = 2;
+
+	private ObjectivesCodec() {
+	}
+
+	/**
+	 * Writes an {@link Objective}, i.e., its name and sign.
+	 * 
+	 * @param objective
+	 *            the objective
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output fails
+	 */
+	public static void writeObjective(Objective objective, DataOutput out) throws IOException {
+		out.writeUTF(objective.getName());
+		out.writeByte(objective.getSign().ordinal());
+	}
+
+	/**
+	 * Reads an {@link Objective}.
+	 * 
+	 * @param in
+	 *            the input
+	 * @return the objective
+	 * @throws IOException
+	 *             if the input fails or is malformed
+	 */
+	public static Objective readObjective(DataInput in) throws IOException {
+		String name = in.readUTF();
+		int sign = in.readUnsignedByte();
+		if (sign >= Sign.values().length) {
+			throw new IOException("Unknown sign: " + sign);
+		}
+		return new Objective(name, Sign.values()[sign]);
+	}
+
+	/**
+	 * Writes a {@link Value}.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output fails
+	 */
+	public static void writeValue(Value<?> value, DataOutput out) throws IOException {
+		if (value instanceof IntegerValue && value.getValue() != null) {
+			out.writeByte(INTEGER);
+			out.writeInt(((IntegerValue) value).getValue());
+		} else if (value != Objective.INFEASIBLE && value.getDouble() != null) {
+			out.writeByte(DOUBLE);
+			out.writeDouble(value.getDouble());
+		} else {
+			out.writeByte(INFEASIBLE);
+		}
+	}
+
+	/**
+	 * Reads a {@link Value} and adds it for the {@link Objective} to the
+	 * {@link Objectives}.
+	 * 
+	 * @param objectives
+	 *            the objectives
+	 * @param objective
+	 *            the objective of the value
+	 * @param in
+	 *            the input
+	 * @throws IOException
+	 *             if the input fails or is malformed
+	 */
+	public static void readValue(Objectives objectives, Objective objective, DataInput in) throws IOException {
+		byte kind = in.readByte();
+		switch (kind) {
+		case INTEGER:
+			objectives.add(objective, in.readInt());
+			break;
+		case DOUBLE:
+			objectives.add(objective, in.readDouble());
+			break;
+		case INFEASIBLE:
+			objectives.add(objective, Objective.INFEASIBLE);
+			break;
+		default:
+			throw new IOException("Unknown value kind: " + kind);
+		}
+	}
+
+	/**
+	 * Writes the {@link Objectives} completely, i.e., each {@link Objective}
+	 * followed by its {@link Value}.
+	 * 
+	 * @param objectives
+	 *            the objectives
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output fails
+	 */
+	public static void writeObjectives(Objectives objectives, DataOutput out) throws IOException {
+		out.writeInt(objectives.size());
+		for (Entry<Objective, Value<?>> entry : objectives) {
+			writeObjective(entry.getKey(), out);
+			writeValue(entry.getValue(), out);
+		}
+	}
+
+	/**
+	 * Reads {@link Objectives} that are written by
+	 * {@link #writeObjectives(Objectives, DataOutput)}.
+	 * 
+	 * @param in
+	 *            the input
+	 * @return the objectives
+	 * @throws IOException
+	 *             if the input fails or is malformed
+	 */
+	public static Objectives readObjectives(DataInput in) throws IOException {
+		Objectives objectives = new Objectives();
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			Objective objective = readObjective(in);
+			readValue(objectives, objective, in);
+		}
+		return objectives;
+	}
+}
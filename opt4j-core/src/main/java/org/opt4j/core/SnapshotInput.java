@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core;
+
+import static org.opt4j.core.SnapshotOutput.EVALUATED;
+import static org.opt4j.core.SnapshotOutput.GENOTYPED;
+import static org.opt4j.core.SnapshotOutput.NULL;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opt4j.core.problem.PhenotypeRetention;
+
+/**
+ * The {@link SnapshotInput} reads the state of the {@link Snapshotable}
+ * components that was written by a {@link SnapshotOutput}. The
+ * {@link Individual}s are created with the {@link IndividualFactory}. The
+ * phenotypes of evaluated {@link Individual}s are evicted and restored on
+ * demand by the given {@link PhenotypeRetention}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class SnapshotInput extends DataInputStream {
+
+	protected final GenotypeCodec codec;
+
+	protected final IndividualFactory individualFactory;
+
+	protected final PhenotypeRetention retention;
+
+	protected final List<Individual> individuals = new ArrayList<>();
+
+	protected final List<ObjectiveSchema> schemas = new ArrayList<>();
+
+	/**
+	 * Constructs a {@link SnapshotInput}.
+	 * 
+	 * @param in
+	 *            the underlying stream
+	 * @param codec
+	 *            the codec for the genotypes
+	 * @param individualFactory
+	 *            the factory for the restored individuals
+	 * @param retention
+	 *            the retention that restores the phenotypes
+	 */
+	public SnapshotInput(InputStream in, GenotypeCodec codec, IndividualFactory individualFactory,
+			PhenotypeRetention retention) {
+		super(in);
+		this.codec = codec;
+		this.individualFactory = individualFactory;
+		this.retention = retention;
+	}
+
+	/**
+	 * Reads an {@link Individual} (or {@code null}).
+	 * 
+	 * @return the individual
+	 * @throws IOException
+	 *             if the individual cannot be read
+	 */
+	public Individual readIndividual() throws IOException {
+		int index = readInt();
+		if (index == NULL) {
+			return null;
+		} else if (index >= 0 && index < individuals.size()) {
+			return individuals.get(index);
+		} else if (index != individuals.size()) {
+			throw new IOException("Invalid individual reference: " + index);
+		}
+
+		Genotype genotype = codec.read(this);
+		Individual individual = individualFactory.create(genotype);
+		individuals.add(individual);
+
+		byte state = readByte();
+		if (state == EVALUATED) {
+			individual.setObjectives(readObjectives());
+			individual.evictPhenotype(retention);
+		} else if (state != GENOTYPED) {
+			throw new IOException("Unknown individual state: " + state);
+		}
+		return individual;
+	}
+
+	/**
+	 * Reads a list of {@link Individual}s.
+	 * 
+	 * @return the individuals
+	 * @throws IOException
+	 *             if the individuals cannot be read
+	 */
+	public List<Individual> readIndividuals() throws IOException {
+		int size = readInt();
+		List<Individual> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readIndividual());
+		}
+		return list;
+	}
+
+	/**
+	 * Reads a {@link Genotype} (or {@code null}) that is not the genotype of an
+	 * {@link Individual}.
+	 * 
+	 * @return the genotype
+	 * @throws IOException
+	 *             if the genotype cannot be read
+	 */
+	public Genotype readGenotype() throws IOException {
+		return readBoolean() ? codec.read(this) : null;
+	}
+
+	/**
+	 * Reads {@link Objectives}.
+	 * 
+	 * @return the objectives
+	 * @throws IOException
+	 *             if the objectives cannot be read
+	 */
+	public Objectives readObjectives() throws IOException {
+		int index = readInt();
+		ObjectiveSchema schema;
+		if (index >= 0 && index < schemas.size()) {
+			schema = schemas.get(index);
+		} else if (index == schemas.size()) {
+			Objective[] objectives = new Objective[readInt()];
+			for (int i = 0; i < objectives.length; i++) {
+				objectives[i] = ObjectivesCodec.readObjective(this);
+			}
+			schema = ObjectiveSchema.of(objectives);
+			schemas.add(schema);
+		} else {
+			throw new IOException("Invalid schema reference: " + index);
+		}
+
+		Objectives objectives = new Objectives(schema);
+		for (int i = 0; i < schema.size(); i++) {
+			ObjectivesCodec.readValue(objectives, schema.get(i), this);
+		}
+		return objectives;
+	}
+
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link SnapshotOutput} writes the state of the {@link Snapshotable}
+ * components. Each {@link Individual} and each {@link ObjectiveSchema} is
+ * written completely at its first occurrence and as a reference afterwards.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class SnapshotOutput extends DataOutputStream {
+
+	static final int NULL = -1;
+
+	static final byte GENOTYPED = 0;
+	static final byte EVALUATED = 1;
+
+	protected final GenotypeCodec codec;
+
+	protected final Map<Individual, Integer> individuals = new IdentityHashMap<>();
+
+	protected final Map<ObjectiveSchema, Integer> schemas = new HashMap<>();
+
+	/**
+	 * Constructs a {@link SnapshotOutput}.
+	 * 
+	 * @param out
+	 *            the underlying stream
+	 * @param codec
+	 *            the codec for the genotypes
+	 */
+	public SnapshotOutput(OutputStream out, GenotypeCodec codec) {
+		super(out);
+		this.codec = codec;
+	}
+
+	/**
+	 * Writes an {@link Individual} (or {@code null}). Only the genotype and,
+	 * for evaluated individuals, the {@link Objectives} are written. The
+	 * phenotype is decoded again on demand after the restore.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @throws IOException
+	 *             if the individual cannot be written
+	 */
+	public void writeIndividual(Individual individual) throws IOException {
+		if (individual == null) {
+			writeInt(NULL);
+			return;
+		}
+		Integer index = individuals.get(individual);
+		if (index != null) {
+			writeInt(index);
+			return;
+		}
+		Genotype genotype = individual.getGenotype();
+		if (genotype == null) {
+			throw new IllegalArgumentException("Individual without genotype: " + individual);
+		}
+		index = individuals.size();
+		individuals.put(individual, index);
+		writeInt(index);
+
+		codec.write(genotype, this);
+		if (individual.isEvaluated()) {
+			writeByte(EVALUATED);
+			writeObjectives(individual.getObjectives());
+		} else {
+			writeByte(GENOTYPED);
+		}
+	}
+
+	/**
+	 * Writes a collection of {@link Individual}s in the order of its iterator.
+	 * 
+	 * @param individuals
+	 *            the individuals
+	 * @throws IOException
+	 *             if the individuals cannot be written
+	 */
+	public void writeIndividuals(Collection<? extends Individual> individuals) throws IOException {
+		writeInt(individuals.size());
+		for (Individual individual : individuals) {
+			writeIndividual(individual);
+		}
+	}
+
+	/**
+	 * Writes a {@link Genotype} (or {@code null}) that is not the genotype of
+	 * an {@link Individual}, e.g., the velocity of a particle.
+	 * 
+	 * @param genotype
+	 *            the genotype
+	 * @throws IOException
+	 *             if the genotype cannot be written
+	 */
+	public void writeGenotype(Genotype genotype) throws IOException {
+		writeBoolean(genotype != null);
+		if (genotype != null) {
+			codec.write(genotype, this);
+		}
+	}
+
+	/**
+	 * Writes {@link Objectives}.
+	 * 
+	 * @param objectives
+	 *            the objectives
+	 * @throws IOException
+	 *             if the objectives cannot be written
+	 */
+	public void writeObjectives(Objectives objectives) throws IOException {
+		ObjectiveSchema schema = objectives.getSchema();
+		Integer index = schemas.get(schema);
+		if (index != null) {
+			writeInt(index);
+		} else {
+			index = schemas.size();
+			schemas.put(schema, index);
+			writeInt(index);
+			writeInt(schema.size());
+			for (Objective objective : schema.getObjectives()) {
+				ObjectivesCodec.writeObjective(objective, this);
+			}
+		}
+
+		for (Value<?> value : objectives.getValues()) {
+			ObjectivesCodec.writeValue(value, this);
+		}
+	}
+
+}
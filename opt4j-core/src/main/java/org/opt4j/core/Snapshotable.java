@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * A {@link Snapshotable} component writes its internal state to a snapshot and
+ * restores it from a snapshot. The
+ * {@link org.opt4j.core.common.snapshot.Snapshotter} captures all
+ * {@link Snapshotable} components that are bound as singletons.
+ * </p>
+ * <p>
+ * A component has to restore its state such that the optimization continues
+ * exactly as if it had never been interrupted. {@link Individual}s are written
+ * with {@link SnapshotOutput#writeIndividual} such that shared references are
+ * restored as shared references.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public interface Snapshotable {
+
+	/**
+	 * Writes the state to the snapshot.
+	 * 
+	 * @param out
+	 *            the snapshot output
+	 * @throws IOException
+	 *             if the state cannot be written
+	 */
+	public void writeSnapshot(SnapshotOutput out) throws IOException;
+
+	/**
+	 * Restores the state from the snapshot.
+	 * 
+	 * @param in
+	 *            the snapshot input
+	 * @throws IOException
+	 *             if the state cannot be read
+	 */
+	public void readSnapshot(SnapshotInput in) throws IOException;
+
+}
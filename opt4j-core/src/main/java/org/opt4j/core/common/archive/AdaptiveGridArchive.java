@@ -22,15 +22,23 @@
 
 package org.opt4j.core.common.archive;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 
 import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualSet;
+import org.opt4j.core.IndividualSetListener;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
 import org.opt4j.core.common.random.Rand;
 import org.opt4j.core.optimizer.Archive;
 import org.opt4j.core.start.Constant;
@@ -42,6 +50,22 @@ import com.google.inject.Inject;
  * size of the {@link Archive}, see "Properties of an Adaptive Archiving
  * Algorithm for Storing Nondominated Vectors, J. Knowles, D. Corne,
  * Transactions of Evolutionary Computation, Vol. 7, No. 2, April 2003".
+ * <p>
+ * Each {@link Cell} is identified by the vector of its grid positions such
+ * that there are no collisions for any number of objectives and divisions.
+ * The {@link Cell}s are kept in an indexed max-heap of their number of
+ * non-extreme {@link Individual}s such that the most crowded {@link Cell} is
+ * found in logarithmic time (on ties, the oldest {@link Cell}). If the bounds
+ * of the grid change, only the {@link Individual}s whose position changes are
+ * moved to another {@link Cell}.
+ * <p>
+ * Since the grid is not rebuilt if the bounds change, the {@link Cell}s keep
+ * their age and the {@link Individual}s keep their order within a
+ * {@link Cell} while moved {@link Individual}s are appended to their new
+ * {@link Cell}. Thus, the tie-breaking between equally crowded {@link Cell}s
+ * and the randomly selected {@link Individual}s differ from a grid that is
+ * rebuilt in the order of the archive, i.e., for the same random numbers the
+ * evicted {@link Individual}s may differ from the former implementation.
  * 
  * @author lukasiewycz, helwig
  * 
@@ -54,16 +78,84 @@ public class AdaptiveGridArchive extends BoundedArchive {
 
 	protected final Rand random;
 
-	protected final Map<Long, Cell> cells = new LinkedHashMap<>();
+	protected final Map<Key, Cell> cells = new LinkedHashMap<>();
+
+	protected final Map<Individual, Cell> locations = new LinkedHashMap<>();
 
 	protected final List<Individual> extrema = new ArrayList<>();
 
+	protected Cell[] heap = new Cell[16];
+
+	protected int heapSize = 0;
+
+	protected long sequence = 0;
+
 	protected double[] lb;
 
 	protected double[] ub;
 
 	protected int dim;
 
+	/**
+	 * The {@link Key} of a {@link Cell} is the vector of its grid positions.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static final class Key {
+
+		protected final int[] positions;
+
+		protected final int hash;
+
+		/**
+		 * Constructs a {@link Key}.
+		 * 
+		 * @param positions
+		 *            the grid positions in each dimension
+		 */
+		public Key(int[] positions) {
+			this.positions = positions;
+			this.hash = Arrays.hashCode(positions);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hash == other.hash && Arrays.equals(positions, other.positions);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return Arrays.toString(positions);
+		}
+	}
+
 	/**
 	 * A single {@link Cell} of the grid.
 	 * 
@@ -74,26 +166,41 @@ public class AdaptiveGridArchive extends BoundedArchive {
 
 		private static final long serialVersionUID = 1L;
 
-		protected final long identifier;
+		protected final Key key;
+
+		protected int crowding = 0;
+
+		protected int index = -1;
+
+		protected long sequence = 0;
 
 		/**
-		 * Constructs the {@link Cell} with the {@code identifier}.
+		 * Constructs the {@link Cell} with the {@code key}.
 		 * 
-		 * @param identifier
-		 *            the indentifier
+		 * @param key
+		 *            the key
 		 */
-		public Cell(long identifier) {
+		public Cell(Key key) {
 			super();
-			this.identifier = identifier;
+			this.key = key;
 		}
 
 		/**
-		 * Returns the {@code identifier}.
+		 * Returns the {@code key}.
 		 * 
-		 * @return the identifier
+		 * @return the key
 		 */
-		public long getIdentifier() {
-			return identifier;
+		public Key getKey() {
+			return key;
+		}
+
+		/**
+		 * Returns the number of non-extreme {@link Individual}s.
+		 * 
+		 * @return the number of non-extreme individuals
+		 */
+		public int getCrowding() {
+			return crowding;
 		}
 	}
 
@@ -114,6 +221,17 @@ public class AdaptiveGridArchive extends BoundedArchive {
 		this.random = random;
 		this.div = div;
 
+		addListener(new IndividualSetListener() {
+			@Override
+			public void individualAdded(IndividualSet collection, Individual individual) {
+				// the candidates are added to the cells before
+			}
+
+			@Override
+			public void individualRemoved(IndividualSet collection, Individual individual) {
+				removeFromCell(individual);
+			}
+		});
 	}
 
 	/*
@@ -131,8 +249,7 @@ public class AdaptiveGridArchive extends BoundedArchive {
 		}
 
 		if (determineBounds(candidates)) {
-			cells.clear();
-			addToCell(this);
+			addToCell(new ArrayList<>(locations.keySet()));
 		}
 		addToCell(candidates);
 
@@ -145,10 +262,14 @@ public class AdaptiveGridArchive extends BoundedArchive {
 			while (candidates.size() > capacity) {
 				Cell cell = getMostCrowdedCell();
 
-				List<Individual> list = new ArrayList<>(cell);
-				list.removeAll(extrema);
+				int k = random.nextInt(cell.getCrowding());
+				Individual individual = null;
+				for (Iterator<Individual> it = cell.iterator(); k >= 0; k--) {
+					do {
+						individual = it.next();
+					} while (extrema.contains(individual));
+				}
 
-				Individual individual = list.get(random.nextInt(list.size()));
 				candidates.remove(individual);
 				removeFromCell(individual);
 			}
@@ -189,63 +310,60 @@ public class AdaptiveGridArchive extends BoundedArchive {
 	}
 
 	/**
-	 * Returns the appropriate {@link Cell} for the given {@link Individual}.
+	 * Returns the {@link Key} of the {@link Cell} for the given
+	 * {@link Individual} with respect to the current bounds.
 	 * 
 	 * @param individual
 	 *            the individual
-	 * @return the cell
+	 * @return the key
 	 */
-	protected Cell getCell(Individual individual) {
+	protected Key getKey(Individual individual) {
 		final double[] obj = individual.getObjectives().array();
 
-		int scale = 1;
-		long identifier = 0;
+		int[] positions = new int[obj.length];
 		for (int i = 0; i < obj.length; i++) {
 			double half = (1.0 / (2.0 * div)) * (ub[i] - lb[i]);
 			double lbi = lb[i] - half;
 			double ubi = ub[i] + half;
 
 			double step = (ubi - lbi) / div;
-			int position = (int) Math.floor((obj[i] - lbi) / step);
-
-			identifier += position * scale;
-			scale *= div;
+			positions[i] = (int) Math.floor((obj[i] - lbi) / step);
 		}
+		return new Key(positions);
+	}
+
+	/**
+	 * Returns the appropriate {@link Cell} for the given {@link Individual}.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @return the cell
+	 */
+	protected Cell getCell(Individual individual) {
+		Key key = getKey(individual);
 
-		Cell cell = cells.get(identifier);
+		Cell cell = cells.get(key);
 		if (cell != null) {
 			return cell;
 		} else {
-			return new Cell(identifier);
+			return new Cell(key);
 		}
 	}
 
 	/**
-	 * Returns the most crowded {@link Cell}.
+	 * Returns the most crowded {@link Cell}, i.e., the {@link Cell} with the
+	 * most non-extreme {@link Individual}s, or {@code null} if no
+	 * {@link Cell} contains a non-extreme {@link Individual}. On ties, the
+	 * {@link Cell} that was created first is returned, where a {@link Cell}
+	 * keeps its age if the bounds change.
 	 * 
 	 * @return the most crowded cell
 	 */
 	protected Cell getMostCrowdedCell() {
-		Cell mc = null;
-		int size = 0;
-
-		Set<Individual> extrema = new LinkedHashSet<>(this.extrema);
-
-		for (Cell cell : cells.values()) {
-			int s = 0;
-			assert (!cell.isEmpty());
-			for (Individual individual : cell) {
-				if (!extrema.contains(individual)) {
-					s++;
-				}
-			}
-			if (s > size) {
-				size = s;
-				mc = cell;
-			}
+		if (heapSize == 0 || heap[0].crowding == 0) {
+			return null;
 		}
-
-		return mc;
+		return heap[0];
 	}
 
 	/*
@@ -262,7 +380,7 @@ public class AdaptiveGridArchive extends BoundedArchive {
 		if (extrema.contains(individual)) {
 			for (int i = 0; i < extrema.size(); i++) {
 				if (individual.equals(extrema.get(i))) {
-					extrema.set(i, null);
+					setExtreme(i, null);
 					int j = (int) Math.floor(i / 2.0);
 					if (i % 2 == 0) {
 						lb[j] = Double.MAX_VALUE;
@@ -276,18 +394,133 @@ public class AdaptiveGridArchive extends BoundedArchive {
 		return super.remove(individual);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualSet#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		super.writeSnapshot(out);
+		out.writeBoolean(isInit);
+		if (!isInit) {
+			return;
+		}
+		out.writeInt(dim);
+		for (int i = 0; i < dim; i++) {
+			out.writeDouble(lb[i]);
+			out.writeDouble(ub[i]);
+		}
+		for (Individual individual : extrema) {
+			out.writeIndividual(individual);
+		}
+		out.writeLong(sequence);
+
+		Map<Cell, Integer> indices = new IdentityHashMap<>();
+		out.writeInt(cells.size());
+		for (Cell cell : cells.values()) {
+			indices.put(cell, indices.size());
+			for (int position : cell.getKey().positions) {
+				out.writeInt(position);
+			}
+			out.writeLong(cell.sequence);
+			out.writeInt(cell.crowding);
+			out.writeIndividuals(cell);
+		}
+		out.writeInt(locations.size());
+		for (Entry<Individual, Cell> entry : locations.entrySet()) {
+			out.writeIndividual(entry.getKey());
+			out.writeInt(indices.get(entry.getValue()));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualSet#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		super.readSnapshot(in);
+		cells.clear();
+		locations.clear();
+		extrema.clear();
+		Arrays.fill(heap, null);
+		heapSize = 0;
+
+		isInit = in.readBoolean();
+		if (!isInit) {
+			sequence = 0;
+			return;
+		}
+		dim = in.readInt();
+		lb = new double[dim];
+		ub = new double[dim];
+		for (int i = 0; i < dim; i++) {
+			lb[i] = in.readDouble();
+			ub[i] = in.readDouble();
+		}
+		for (int i = 0; i < 2 * dim; i++) {
+			extrema.add(in.readIndividual());
+		}
+		sequence = in.readLong();
+
+		List<Cell> restored = new ArrayList<>();
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			int[] positions = new int[dim];
+			for (int j = 0; j < dim; j++) {
+				positions[j] = in.readInt();
+			}
+			Cell cell = new Cell(new Key(positions));
+			cell.sequence = in.readLong();
+			cell.crowding = in.readInt();
+			cell.addAll(in.readIndividuals());
+			cells.put(cell.getKey(), cell);
+			restored.add(cell);
+			offer(cell);
+		}
+		size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			Individual individual = in.readIndividual();
+			locations.put(individual, restored.get(in.readInt()));
+		}
+	}
+
 	/**
 	 * Adds all {@link Individual}s to theirs {@link Cell}s and the {@link Cell}
-	 * s to the {@link Archive}.
+	 * s to the {@link Archive}. {@link Individual}s that are already in a
+	 * {@link Cell} are moved if their {@link Cell} changed.
 	 * 
 	 * @param individuals
 	 *            the individuals to be added
 	 */
 	protected void addToCell(Iterable<Individual> individuals) {
 		for (Individual individual : individuals) {
-			Cell cell = getCell(individual);
+			Cell current = locations.get(individual);
+			Key key = getKey(individual);
+			if (current != null) {
+				if (current.getKey().equals(key)) {
+					continue;
+				}
+				removeFromCell(individual);
+			}
+
+			Cell cell = cells.get(key);
+			if (cell == null) {
+				cell = new Cell(key);
+				cell.sequence = sequence++;
+				cells.put(key, cell);
+				offer(cell);
+			}
 			cell.add(individual);
-			cells.put(cell.identifier, cell);
+			locations.put(individual, cell);
+			if (!extrema.contains(individual)) {
+				cell.crowding++;
+				siftUp(cell.index);
+			}
 		}
 	}
 
@@ -300,10 +533,17 @@ public class AdaptiveGridArchive extends BoundedArchive {
 	 *            the individual to be removed
 	 */
 	protected void removeFromCell(Individual individual) {
-		Cell cell = getCell(individual);
+		Cell cell = locations.remove(individual);
+		if (cell == null) {
+			return;
+		}
 		cell.remove(individual);
 		if (cell.isEmpty()) {
-			cells.remove(cell.getIdentifier());
+			cells.remove(cell.getKey());
+			poll(cell);
+		} else if (!extrema.contains(individual)) {
+			cell.crowding--;
+			siftDown(cell.index);
 		}
 	}
 
@@ -326,11 +566,11 @@ public class AdaptiveGridArchive extends BoundedArchive {
 
 				if (value < lb[i]) {
 					boundsChanged = true;
-					extrema.set(2 * i, individual);
+					setExtreme(2 * i, individual);
 					lb[i] = obj[i];
 				} else if (value > ub[i]) {
 					boundsChanged = true;
-					extrema.set(2 * i + 1, individual);
+					setExtreme(2 * i + 1, individual);
 					ub[i] = obj[i];
 				}
 			}
@@ -338,4 +578,108 @@ public class AdaptiveGridArchive extends BoundedArchive {
 
 		return boundsChanged;
 	}
+
+	/**
+	 * Sets an extreme {@link Individual} and updates the crowding of the
+	 * {@link Cell}s of the previous and the new extreme {@link Individual}.
+	 * 
+	 * @param index
+	 *            the index of the extreme (two per dimension)
+	 * @param individual
+	 *            the new extreme individual (or {@code null})
+	 */
+	protected void setExtreme(int index, Individual individual) {
+		Individual previous = extrema.get(index);
+		boolean wasExtreme = individual != null && extrema.contains(individual);
+		extrema.set(index, individual);
+
+		if (previous != null && previous != individual && !extrema.contains(previous)) {
+			Cell cell = locations.get(previous);
+			if (cell != null) {
+				cell.crowding++;
+				siftUp(cell.index);
+			}
+		}
+		if (individual != null && !wasExtreme) {
+			Cell cell = locations.get(individual);
+			if (cell != null) {
+				cell.crowding--;
+				siftDown(cell.index);
+			}
+		}
+	}
+
+	/**
+	 * Adds a {@link Cell} to the heap.
+	 * 
+	 * @param cell
+	 *            the cell
+	 */
+	protected void offer(Cell cell) {
+		if (heapSize == heap.length) {
+			heap = Arrays.copyOf(heap, 2 * heap.length);
+		}
+		cell.index = heapSize;
+		heap[heapSize++] = cell;
+		siftUp(cell.index);
+	}
+
+	/**
+	 * Removes a {@link Cell} from the heap.
+	 * 
+	 * @param cell
+	 *            the cell
+	 */
+	protected void poll(Cell cell) {
+		int index = cell.index;
+		Cell last = heap[--heapSize];
+		heap[heapSize] = null;
+		cell.index = -1;
+		if (last != cell) {
+			heap[index] = last;
+			last.index = index;
+			siftDown(index);
+			siftUp(last.index);
+		}
+	}
+
+	private boolean before(Cell a, Cell b) {
+		return a.crowding > b.crowding || (a.crowding == b.crowding && a.sequence < b.sequence);
+	}
+
+	private void siftUp(int index) {
+		Cell cell = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!before(cell, heap[parent])) {
+				break;
+			}
+			heap[index] = heap[parent];
+			heap[index].index = index;
+			index = parent;
+		}
+		heap[index] = cell;
+		cell.index = index;
+	}
+
+	private void siftDown(int index) {
+		Cell cell = heap[index];
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!before(heap[child], cell)) {
+				break;
+			}
+			heap[index] = heap[child];
+			heap[index].index = index;
+			index = child;
+		}
+		heap[index] = cell;
+		cell.index = index;
+	}
 }
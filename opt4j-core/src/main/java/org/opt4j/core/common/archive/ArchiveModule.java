@@ -19,6 +19,7 @@ package org.opt4j.core.common.archive;
 
 import static org.opt4j.core.config.annotations.Citation.PublicationMonth.APRIL;
 import static org.opt4j.core.config.annotations.Citation.PublicationMonth.AUGUST;
+import static org.opt4j.core.config.annotations.Citation.PublicationMonth.OCTOBER;
 
 import org.opt4j.core.config.Icons;
 import org.opt4j.core.config.annotations.Citation;
@@ -33,6 +34,7 @@ import org.opt4j.core.start.Opt4JModule;
  * The {@link ArchiveModule} determines an implementation for the {@link Archive} interface.
  * 
  * @see UnboundedArchive
+ * @see NDTreeArchive
  * @see PopulationArchive
  * @see CrowdingArchive
  * @see AdaptiveGridArchive
@@ -68,6 +70,15 @@ public class ArchiveModule extends Opt4JModule {
 		@Info("Archive of unlimited size")
 		UNBOUNDED,
 
+		/**
+		 * Archive of unlimited size with an index for the dominance checks.
+		 * 
+		 * @see NDTreeArchive
+		 */
+		@Info("Archive of unlimited size with a tree index for the dominance checks")
+		@Citation(title = "ND-Tree-based update: a fast algorithm for the dynamic nondominance problem", authors = "Andrzej Jaszkiewicz and Thibaut Lust", journal = "IEEE Transactions on Evolutionary Computation", volume = 22, number = 5, pageFirst = 778, pageLast = 791, month = OCTOBER, year = 2018)
+		ND_TREE,
+
 		/**
 		 * Archive that keeps the non-dominated individual of the population.
 		 * 
@@ -177,6 +188,9 @@ public class ArchiveModule extends Opt4JModule {
 		case CROWDING:
 			archiveClass = CrowdingArchive.class;
 			break;
+		case ND_TREE:
+			archiveClass = NDTreeArchive.class;
+			break;
 		default: // UNBOUNDED
 			archiveClass = UnboundedArchive.class;
 			break;
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.opt4j.core.Individual;
+import org.opt4j.core.ObjectiveMatrix;
 
 /**
  * The {@link Crowding}, see "A fast and elitist multiobjective genetic
@@ -42,6 +43,11 @@ import org.opt4j.core.Individual;
  * each dimension. The crowding distance is the sum of the side-lengths of the
  * bounding box. If an individual does not have neighbors on all sides, the
  * crowding distance is maximal. A normalization in each dimension is applied.
+ * The distances are calculated on the columns of an {@link ObjectiveMatrix}
+ * by sorting a permutation of primitive indices for each objective. The
+ * matrix of an {@link org.opt4j.core.IndividualSet} is reused if the set
+ * already owns one, otherwise a temporary matrix is created such that no
+ * listener remains attached to the set.
  * 
  * @author lukasiewycz
  * 
@@ -49,6 +55,11 @@ import org.opt4j.core.Individual;
 
 public class Crowding implements FrontDensityIndicator {
 
+	/**
+	 * The size up to which the permutations are sorted by insertion.
+	 */
+	private static final int INSERTION_SORT = 16;
+
 	/**
 	 * Calculates the crowding distance for a collection of {@link Individual}s.
 	 * 
@@ -57,39 +68,133 @@ public class Crowding implements FrontDensityIndicator {
 	 * @return a map of the individuals to the corresponding crowding distance
 	 */
 	private Map<Individual, Double> getValues(Collection<Individual> individuals) {
+		double[] distances = getDistances(individuals);
+
 		Map<Individual, Double> map = new HashMap<>();
-		List<Individual> list = new ArrayList<>(individuals);
+		int i = 0;
+		for (Individual individual : individuals) {
+			map.put(individual, distances[i++]);
+		}
+		return map;
+	}
 
-		for (Individual individual : list) {
-			map.put(individual, 0.0);
+	/**
+	 * Calculates the crowding distances for a collection of {@link Individual}s.
+	 * 
+	 * @param individuals
+	 *            the individuals
+	 * @return the crowding distances (in the order of iteration)
+	 */
+	public double[] getDistances(Collection<? extends Individual> individuals) {
+		if (individuals.isEmpty()) {
+			return new double[0];
 		}
+		ObjectiveMatrix matrix = ObjectiveMatrix.of(individuals);
+		matrix.refresh();
+		return getDistances(matrix.columns(), matrix.rows(individuals));
+	}
 
-		int m = list.get(0).getObjectives().array().length;
+	/**
+	 * Calculates the crowding distances for the given rows of a
+	 * column-oriented objective matrix, see {@link ObjectiveMatrix#columns()}.
+	 * 
+	 * @param columns
+	 *            the columns of the objective matrix
+	 * @param rows
+	 *            the rows
+	 * @return the crowding distances (in the order of the rows)
+	 */
+	public double[] getDistances(double[][] columns, int[] rows) {
+		int n = rows.length;
+		double[] distances = new double[n];
+		getDistances(columns, rows, n, distances, new int[n], new int[n]);
+		return distances;
+	}
 
-		for (int i = 0; i < m; i++) {
-			final int dim = i;
-			Comparator<Individual> foo = (Individual o1, Individual o2) -> (int) Math
-					.signum(o1.getObjectives().array()[dim] - o2.getObjectives().array()[dim]);
-			Collections.sort(list, foo);
+	/**
+	 * Calculates the crowding distances for the first {@code n} given rows of a
+	 * column-oriented objective matrix without allocating memory. For each
+	 * objective, a permutation of the rows is sorted by a stable sort starting
+	 * from the permutation of the previous objective.
+	 * 
+	 * @param columns
+	 *            the columns of the objective matrix
+	 * @param rows
+	 *            the rows
+	 * @param n
+	 *            the number of rows
+	 * @param distances
+	 *            the array for the crowding distances (in the order of the
+	 *            rows)
+	 * @param order
+	 *            a working array of at least size {@code n}
+	 * @param buffer
+	 *            a working array of at least size {@code n}
+	 */
+	public static void getDistances(double[][] columns, int[] rows, int n, double[] distances, int[] order,
+			int[] buffer) {
+		for (int i = 0; i < n; i++) {
+			distances[i] = 0.0;
+			order[i] = i;
+		}
+		if (n == 0) {
+			return;
+		}
 
-			Individual minIndividual = list.get(0);
-			Individual maxIndividual = list.get(list.size() - 1);
+		for (double[] column : columns) {
+			sort(order, buffer, 0, n, column, rows, false);
 
-			double diff = maxIndividual.getObjectives().array()[dim] - minIndividual.getObjectives().array()[dim];
+			double min = column[rows[order[0]]];
+			double max = column[rows[order[n - 1]]];
+			double diff = max - min;
 			if (diff > 0) {
-				map.put(minIndividual, Double.MAX_VALUE);
-				map.put(maxIndividual, Double.MAX_VALUE);
-
-				for (int j = 1; j < list.size() - 1; j++) {
-					double p = list.get(j - 1).getObjectives().array()[dim];
-					double n = list.get(j + 1).getObjectives().array()[dim];
-					Individual ind = list.get(j);
-					map.put(ind, map.get(ind) + ((n - p) / diff));
+				distances[order[0]] = Double.MAX_VALUE;
+				distances[order[n - 1]] = Double.MAX_VALUE;
+
+				for (int j = 1; j < n - 1; j++) {
+					double p = column[rows[order[j - 1]]];
+					double q = column[rows[order[j + 1]]];
+					distances[order[j]] += (q - p) / diff;
 				}
 			}
 		}
+	}
 
-		return map;
+	/**
+	 * Returns the indices of the crowding distances such that high crowding
+	 * distances are sorted to the front. Equal distances keep their order.
+	 * 
+	 * @param distances
+	 *            the crowding distances
+	 * @return the ordered indices
+	 */
+	public int[] order(double[] distances) {
+		int n = distances.length;
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		sort(order, new int[n], 0, n, distances, null, true);
+		return order;
+	}
+
+	/**
+	 * Returns an ordered list of the {@link Individual}s corresponding to their
+	 * crowding distance. {@link Individual}s with a high crowding distance are
+	 * sorted to the front.
+	 * 
+	 * @param individuals
+	 *            the individuals
+	 * @return the sorted list of individuals based on their crowding distance
+	 */
+	public List<Individual> order(Collection<? extends Individual> individuals) {
+		List<Individual> list = new ArrayList<>(individuals);
+		int[] order = order(getDistances(list));
+		List<Individual> ordered = new ArrayList<>(order.length);
+		for (int i : order) {
+			ordered.add(list.get(i));
+		}
+		return ordered;
 	}
 
 	/**
@@ -121,4 +226,67 @@ public class Crowding implements FrontDensityIndicator {
 		return getValues(individuals);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Sorts the range {@code [from, to)} of a permutation by a stable merge
+	 * sort. The key of an element {@code i} is {@code keys[rows[i]]} or
+	 * {@code keys[i]} if {@code rows} is {@code null}.
+	 * 
+	 * @param order
+	 *            the permutation
+	 * @param buffer
+	 *            the working array
+	 * @param from
+	 *            the first index (inclusive)
+	 * @param to
+	 *            the last index (exclusive)
+	 * @param keys
+	 *            the keys
+	 * @param rows
+	 *            the rows of the keys or {@code null}
+	 * @param descending
+	 *            {@code true} if the permutation is sorted in descending order
+	 */
+	private static void sort(int[] order, int[] buffer, int from, int to, double[] keys, int[] rows,
+			boolean descending) {
+		if (to - from <= INSERTION_SORT) {
+			for (int i = from + 1; i < to; i++) {
+				int element = order[i];
+				int j = i - 1;
+				while (j >= from && compare(keys, rows, order[j], element, descending) > 0) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				order[j + 1] = element;
+			}
+			return;
+		}
+
+		int mid = (from + to) >>> 1;
+		sort(order, buffer, from, mid, keys, rows, descending);
+		sort(order, buffer, mid, to, keys, rows, descending);
+		if (compare(keys, rows, order[mid - 1], order[mid], descending) <= 0) {
+			return;
+		}
+
+		System.arraycopy(order, from, buffer, from, to - from);
+		int i = from;
+		int j = mid;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < mid && compare(keys, rows, buffer[i], buffer[j], descending) <= 0)) {
+				order[k] = buffer[i++];
+			} else {
+				order[k] = buffer[j++];
+			}
+		}
+	}
+
+	private static int compare(double[] keys, int[] rows, int a, int b, boolean descending) {
+		double ka = rows == null ? keys[a] : keys[rows[a]];
+		double kb = rows == null ? keys[b] : keys[rows[b]];
+		if (descending) {
+			return ka > kb ? -1 : (ka < kb ? 1 : 0);
+		}
+		return ka < kb ? -1 : (ka > kb ? 1 : 0);
+	}
+
+}
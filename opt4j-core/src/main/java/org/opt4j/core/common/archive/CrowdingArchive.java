@@ -67,7 +67,7 @@ public class CrowdingArchive extends BoundedArchive {
 		} else {
 			candidates.addAll(this);
 			Crowding crowding = new Crowding();
-			List<Individual> list = crowding.order(crowding.getDensityValues(candidates));
+			List<Individual> list = crowding.order(candidates);
 			List<Individual> worst = list.subList(capacity, list.size());
 			candidates.removeAll(worst);
 
@@ -0,0 +1,433 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core.common.archive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objectives;
+
+/**
+ * The {@link NDTree} is a spatial index for a set of mutually non-dominated
+ * {@link Individual}s. Each node stores the approximate ideal and nadir point
+ * of its subtree such that the dominance queries
+ * {@link #isWeaklyDominated(double[])} and {@link #getDominated(double[])}
+ * only descend into subtrees that can contain a relevant point. All
+ * comparisons are based on the {@link Objectives#array()} values.
+ * 
+ * @see NDTreeArchive
+ * @author lukasiewycz
+ * 
+ */
+public class NDTree {
+
+	protected final int leafSize;
+
+	protected int children = 0;
+
+	protected Node root = null;
+
+	protected final Map<Individual, Node> leaves = new HashMap<>();
+
+	/**
+	 * A node of the {@link NDTree}. A node is either a leaf with a list of
+	 * {@link Individual}s or an inner node with a list of children.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class Node {
+
+		protected final Node parent;
+
+		protected List<Individual> individuals = new ArrayList<>();
+
+		protected List<Node> children = null;
+
+		protected double[] ideal = null;
+
+		protected double[] nadir = null;
+
+		/**
+		 * Constructs a {@link Node}.
+		 * 
+		 * @param parent
+		 *            the parent node or {@code null} for the root
+		 */
+		public Node(Node parent) {
+			this.parent = parent;
+		}
+
+		/**
+		 * Returns {@code true} if this node is a leaf.
+		 * 
+		 * @return {@code true} if this node is a leaf
+		 */
+		public boolean isLeaf() {
+			return children == null;
+		}
+
+		/**
+		 * Returns {@code true} if this node contains neither individuals nor
+		 * children.
+		 * 
+		 * @return {@code true} if this node is empty
+		 */
+		public boolean isEmpty() {
+			return isLeaf() ? individuals.isEmpty() : children.isEmpty();
+		}
+
+		/**
+		 * Extends the ideal and nadir point of this node by the given point.
+		 * 
+		 * @param point
+		 *            the point
+		 */
+		protected void include(double[] point) {
+			if (ideal == null) {
+				ideal = point.clone();
+				nadir = point.clone();
+			} else {
+				for (int i = 0; i < point.length; i++) {
+					ideal[i] = Math.min(ideal[i], point[i]);
+					nadir[i] = Math.max(nadir[i], point[i]);
+				}
+			}
+		}
+
+		/**
+		 * Recalculates the ideal and nadir point of this node from its
+		 * individuals or children, respectively.
+		 */
+		protected void bound() {
+			ideal = null;
+			nadir = null;
+			if (isLeaf()) {
+				for (Individual individual : individuals) {
+					include(individual.getObjectives().array());
+				}
+			} else {
+				for (Node child : children) {
+					include(child.ideal);
+					include(child.nadir);
+				}
+			}
+		}
+
+		/**
+		 * Returns the squared euclidean distance of the point to the center of
+		 * this node.
+		 * 
+		 * @param point
+		 *            the point
+		 * @return the squared distance
+		 */
+		protected double distance(double[] point) {
+			double distance = 0;
+			for (int i = 0; i < point.length; i++) {
+				double d = point[i] - (ideal[i] + nadir[i]) / 2;
+				distance += d * d;
+			}
+			return distance;
+		}
+	}
+
+	/**
+	 * Constructs a {@link NDTree} with a leaf size of {@code 20}.
+	 */
+	public NDTree() {
+		this(20);
+	}
+
+	/**
+	 * Constructs a {@link NDTree}.
+	 * 
+	 * @param leafSize
+	 *            the maximal number of individuals in a leaf before it is
+	 *            split
+	 */
+	public NDTree(int leafSize) {
+		if (leafSize < 2) {
+			throw new IllegalArgumentException("The leaf size must be at least 2: " + leafSize);
+		}
+		this.leafSize = leafSize;
+	}
+
+	/**
+	 * Returns the number of indexed individuals.
+	 * 
+	 * @return the number of individuals
+	 */
+	public int size() {
+		return leaves.size();
+	}
+
+	/**
+	 * Returns {@code true} if the individual is indexed.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @return {@code true} if the individual is indexed
+	 */
+	public boolean contains(Individual individual) {
+		return leaves.containsKey(individual);
+	}
+
+	/**
+	 * Removes all individuals.
+	 */
+	public void clear() {
+		leaves.clear();
+		root = null;
+	}
+
+	/**
+	 * Returns {@code true} if the point is weakly dominated by any indexed
+	 * individual.
+	 * 
+	 * @param point
+	 *            the point
+	 * @return {@code true} if the point is weakly dominated
+	 */
+	public boolean isWeaklyDominated(double[] point) {
+		return root != null && isWeaklyDominated(root, point);
+	}
+
+	/**
+	 * Returns all indexed individuals that are dominated by the point.
+	 * 
+	 * @param point
+	 *            the point
+	 * @return the dominated individuals
+	 */
+	public List<Individual> getDominated(double[] point) {
+		List<Individual> dominated = new ArrayList<>();
+		if (root != null) {
+			getDominated(root, point, dominated);
+		}
+		return dominated;
+	}
+
+	/**
+	 * Adds the individual. The individual must not be weakly dominated by any
+	 * indexed individual and must not dominate any indexed individual.
+	 * 
+	 * @param individual
+	 *            the individual to add
+	 */
+	public void add(Individual individual) {
+		double[] point = individual.getObjectives().array();
+		if (root == null) {
+			root = new Node(null);
+			children = Math.max(2, Math.min(point.length + 1, leafSize));
+		}
+
+		Node node = root;
+		node.include(point);
+		while (!node.isLeaf()) {
+			node = closest(node.children, point);
+			node.include(point);
+		}
+		node.individuals.add(individual);
+		leaves.put(individual, node);
+
+		if (node.individuals.size() > leafSize) {
+			split(node);
+		}
+	}
+
+	/**
+	 * Removes the individual.
+	 * 
+	 * @param individual
+	 *            the individual to remove
+	 * @return {@code true} if the individual was indexed
+	 */
+	public boolean remove(Individual individual) {
+		Node node = leaves.remove(individual);
+		if (node == null) {
+			return false;
+		}
+		node.individuals.remove(individual);
+		while (node.isEmpty() && node.parent != null) {
+			node.parent.children.remove(node);
+			node = node.parent;
+		}
+		if (node.isEmpty()) {
+			root = null;
+		} else {
+			for (; node != null; node = node.parent) {
+				node.bound();
+			}
+		}
+		return true;
+	}
+
+	protected static boolean isWeaklyDominated(Node node, double[] point) {
+		if (!weaklyDominates(node.ideal, point)) {
+			return false;
+		} else if (weaklyDominates(node.nadir, point)) {
+			return true;
+		} else if (node.isLeaf()) {
+			for (Individual individual : node.individuals) {
+				if (weaklyDominates(individual.getObjectives().array(), point)) {
+					return true;
+				}
+			}
+		} else {
+			for (Node child : node.children) {
+				if (isWeaklyDominated(child, point)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	protected static void getDominated(Node node, double[] point, List<Individual> dominated) {
+		if (!weaklyDominates(point, node.nadir)) {
+			return;
+		} else if (node.isLeaf()) {
+			for (Individual individual : node.individuals) {
+				if (dominates(point, individual.getObjectives().array())) {
+					dominated.add(individual);
+				}
+			}
+		} else {
+			for (Node child : node.children) {
+				getDominated(child, point, dominated);
+			}
+		}
+	}
+
+	/**
+	 * Splits an overfull leaf into {@link #children} leaves. The seeds of the
+	 * new leaves are chosen such that they are far from each other, the
+	 * remaining individuals are assigned to the closest leaf.
+	 * 
+	 * @param node
+	 *            the leaf to split
+	 */
+	protected void split(Node node) {
+		List<Individual> individuals = node.individuals;
+		int n = individuals.size();
+		double[][] points = new double[n][];
+		for (int i = 0; i < n; i++) {
+			points[i] = individuals.get(i).getObjectives().array();
+		}
+
+		double[] sum = new double[n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double d = distance(points[i], points[j]);
+				sum[i] += d;
+				sum[j] += d;
+			}
+		}
+
+		node.individuals = null;
+		node.children = new ArrayList<>(children);
+
+		boolean[] assigned = new boolean[n];
+		int seed = argmax(sum, assigned);
+		double[] seedSum = new double[n];
+		for (int k = 0; k < children; k++) {
+			assigned[seed] = true;
+			Node child = new Node(node);
+			child.include(points[seed]);
+			child.individuals.add(individuals.get(seed));
+			leaves.put(individuals.get(seed), child);
+			node.children.add(child);
+
+			for (int i = 0; i < n; i++) {
+				seedSum[i] += distance(points[i], points[seed]);
+			}
+			seed = argmax(seedSum, assigned);
+		}
+
+		for (int i = 0; i < n; i++) {
+			if (!assigned[i]) {
+				Node child = closest(node.children, points[i]);
+				child.include(points[i]);
+				child.individuals.add(individuals.get(i));
+				leaves.put(individuals.get(i), child);
+			}
+		}
+	}
+
+	protected static Node closest(List<Node> nodes, double[] point) {
+		Node closest = null;
+		double min = Double.POSITIVE_INFINITY;
+		for (Node node : nodes) {
+			double d = node.distance(point);
+			if (closest == null || d < min) {
+				closest = node;
+				min = d;
+			}
+		}
+		return closest;
+	}
+
+	protected static int argmax(double[] values, boolean[] excluded) {
+		int index = -1;
+		for (int i = 0; i < values.length; i++) {
+			if (!excluded[i] && (index < 0 || values[i] > values[index])) {
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	protected static double distance(double[] a, double[] b) {
+		double distance = 0;
+		for (int i = 0; i < a.length; i++) {
+			double d = a[i] - b[i];
+			distance += d * d;
+		}
+		return Math.sqrt(distance);
+	}
+
+	protected static boolean weaklyDominates(double[] a, double[] b) {
+		for (int i = 0; i < a.length; i++) {
+			if (b[i] < a[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	protected static boolean dominates(double[] a, double[] b) {
+		boolean equal = true;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			} else if (a[i] < b[i]) {
+				equal = false;
+			}
+		}
+		return !equal;
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core.common.archive;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualSet;
+import org.opt4j.core.IndividualSetListener;
+import org.opt4j.core.optimizer.Archive;
+
+import com.google.inject.Singleton;
+
+/**
+ * The {@link NDTreeArchive} is an {@link UnboundedArchive} that indexes its
+ * {@link Individual}s in a {@link NDTree}. Instead of comparing each candidate
+ * with each {@link Individual} in the {@link Archive}, the dominance checks of
+ * the {@link #update(Set)} only visit the subtrees that may contain a
+ * dominating or dominated {@link Individual}. The resulting {@link Archive} is
+ * the same as for the {@link UnboundedArchive}, in particular, in case of
+ * equal objectives, the {@link Individual}s in the {@link Archive} have
+ * priority.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class NDTreeArchive extends UnboundedArchive {
+
+	protected final NDTree tree;
+
+	/**
+	 * Constructs a {@link NDTreeArchive}.
+	 */
+	public NDTreeArchive() {
+		this(new NDTree());
+	}
+
+	/**
+	 * Constructs a {@link NDTreeArchive} with a given {@link NDTree}.
+	 * 
+	 * @param tree
+	 *            the (empty) tree that indexes the individuals
+	 */
+	public NDTreeArchive(NDTree tree) {
+		this.tree = tree;
+		addListener(new IndividualSetListener() {
+			@Override
+			public void individualAdded(IndividualSet collection, Individual individual) {
+				if (!NDTreeArchive.this.tree.contains(individual)) {
+					NDTreeArchive.this.tree.add(individual);
+				}
+			}
+
+			@Override
+			public void individualRemoved(IndividualSet collection, Individual individual) {
+				NDTreeArchive.this.tree.remove(individual);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.archive.AbstractArchive#update(java.util.Set)
+	 */
+	@Override
+	public boolean update(Set<? extends Individual> individuals) {
+		List<Individual> candidates = new ArrayList<>(individuals);
+		candidates.removeAll(this);
+
+		/*
+		 * The candidates are inserted into the tree in reverse order such that,
+		 * in case of equal objectives, the last candidate remains as in
+		 * removeDominatedCandidates. Candidates in the tree that are dominated
+		 * by a later inserted candidate are dropped again.
+		 */
+		Set<Individual> inserted = new HashSet<>();
+		for (ListIterator<Individual> it = candidates.listIterator(candidates.size()); it.hasPrevious();) {
+			Individual candidate = it.previous();
+			double[] point = candidate.getObjectives().array();
+			if (!tree.isWeaklyDominated(point)) {
+				for (Individual dominated : tree.getDominated(point)) {
+					if (inserted.remove(dominated)) {
+						tree.remove(dominated);
+					} else {
+						remove(dominated);
+					}
+				}
+				tree.add(candidate);
+				inserted.add(candidate);
+			}
+		}
+		candidates.retainAll(inserted);
+
+		return updateWithNondominated(candidates);
+	}
+}
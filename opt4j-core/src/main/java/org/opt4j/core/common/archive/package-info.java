@@ -47,6 +47,13 @@
  * individuals can get very high.
  * </p>
  * <p>
+ * The {@link org.opt4j.core.common.archive.NDTreeArchive} is an unbounded
+ * archive that indexes its {@link org.opt4j.core.Individual}s in a
+ * {@link org.opt4j.core.common.archive.NDTree} such that the dominance checks
+ * for large archives do not compare each candidate with each archived
+ * {@link org.opt4j.core.Individual}.
+ * </p>
+ * <p>
  * The {@link org.opt4j.core.common.archive.CrowdingArchive} uses the crowding
  * distance of NSGA2 to decide which {@link org.opt4j.core.Individual}s to drop
  * if the maximum size is reached.
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.PhenotypeRetention;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link BoundedEvaluationCache} is an {@link EvaluationCache} with a
+ * least recently used eviction. The cache is bounded by a maximal number of
+ * entries and by a maximal (estimated) memory.
+ * <p>
+ * The memory of an entry is estimated from the size of the {@link Genotype}
+ * and the number of {@link Objectives}. Since the memory of a phenotype is not
+ * known, no phenotypes are cached. The phenotypes of {@link Individual}s that
+ * are completed from the cache are evicted and decoded on demand, either by
+ * the bound {@link PhenotypeRetention} or, by default, with the
+ * {@link Decoder}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class BoundedEvaluationCache implements EvaluationCache {
+
+	/**
+	 * The estimated number of bytes of an entry without its elements.
+	 */
+	protected static final long ENTRY_BYTES = 96;
+
+	/**
+	 * The estimated number of bytes per genotype element and objective.
+	 */
+	protected static final long ELEMENT_BYTES = 16;
+
+	protected final int maxSize;
+
+	protected final long maxMemory;
+
+	protected final Map<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+
+	protected long memory = 0;
+
+	protected long hits = 0;
+
+	protected long misses = 0;
+
+	protected PhenotypeRetention retention;
+
+	/**
+	 * The {@link Key} of a {@link Genotype} with a precomputed hash code.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class Key {
+		protected final Genotype genotype;
+		protected final int hash;
+
+		/**
+		 * Constructs a {@link Key}.
+		 * 
+		 * @param genotype
+		 *            the genotype
+		 */
+		public Key(Genotype genotype) {
+			this.genotype = genotype;
+			this.hash = 31 * genotype.getClass().hashCode() + genotype.hashCode();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hash == other.hash && genotype.getClass() == other.genotype.getClass()
+					&& genotype.equals(other.genotype);
+		}
+	}
+
+	/**
+	 * The {@link DecodingRetention} restores the phenotypes of the
+	 * {@link Individual}s that are completed from the cache if no
+	 * {@link PhenotypeRetention} is bound.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class DecodingRetention implements PhenotypeRetention {
+		protected final Decoder<Genotype, Object> decoder;
+
+		/**
+		 * Constructs a {@link DecodingRetention}.
+		 * 
+		 * @param decoder
+		 *            the decoder
+		 */
+		public DecodingRetention(Decoder<Genotype, Object> decoder) {
+			this.decoder = decoder;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see
+		 * org.opt4j.core.problem.PhenotypeRetention#retain(org.opt4j.core.Individual
+		 * )
+		 */
+		@Override
+		public void retain(Individual individual) {
+			// nothing to do
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see
+		 * org.opt4j.core.problem.PhenotypeRetention#restore(org.opt4j.core.
+		 * Individual)
+		 */
+		@Override
+		public Object restore(Individual individual) {
+			return decoder.decode(individual.getGenotype());
+		}
+	}
+
+	/**
+	 * The cached {@link Entry} of an evaluated {@link Individual}.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class Entry {
+		protected final Objectives objectives;
+		protected final long memory;
+
+		/**
+		 * Constructs an {@link Entry}.
+		 * 
+		 * @param objectives
+		 *            the objectives
+		 * @param memory
+		 *            the estimated memory in bytes
+		 */
+		public Entry(Objectives objectives, long memory) {
+			this.objectives = objectives;
+			this.memory = memory;
+		}
+	}
+
+	/**
+	 * Constructs a {@link BoundedEvaluationCache}.
+	 * 
+	 * @param decoder
+	 *            the decoder that restores the phenotypes by default
+	 * @param maxSize
+	 *            the maximal number of entries (using namespace
+	 *            {@link BoundedEvaluationCache})
+	 * @param maxMemory
+	 *            the maximal estimated memory in megabytes (using namespace
+	 *            {@link BoundedEvaluationCache})
+	 */
+	@Inject
+	public BoundedEvaluationCache(Decoder<Genotype, Object> decoder,
+			@Constant(value = "maxSize", namespace = BoundedEvaluationCache.class) int maxSize,
+			@Constant(value = "maxMemory", namespace = BoundedEvaluationCache.class) int maxMemory) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+		}
+		if (maxMemory < 1) {
+			throw new IllegalArgumentException("Invalid cache memory: " + maxMemory);
+		}
+		this.maxSize = maxSize;
+		this.maxMemory = maxMemory * 1024L * 1024L;
+		this.retention = new DecodingRetention(decoder);
+	}
+
+	/**
+	 * Sets the {@link PhenotypeRetention} that restores the phenotypes of the
+	 * {@link Individual}s that are completed from the cache.
+	 * 
+	 * @param retention
+	 *            the phenotype retention
+	 */
+	@Inject(optional = true)
+	public void setRetention(PhenotypeRetention retention) {
+		this.retention = retention;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.completer.EvaluationCache#lookup(org.opt4j.core.
+	 * Individual)
+	 */
+	@Override
+	public synchronized boolean lookup(Individual individual) {
+		Entry entry = map.get(new Key(individual.getGenotype()));
+		if (entry == null) {
+			misses++;
+			return false;
+		}
+		hits++;
+		individual.setPhenotype(null);
+		individual.setObjectives(entry.objectives);
+		individual.evictPhenotype(retention);
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.completer.EvaluationCache#put(org.opt4j.core.Individual
+	 * )
+	 */
+	@Override
+	public synchronized void put(Individual individual) {
+		Genotype genotype = individual.getGenotype();
+		Objectives objectives = individual.getObjectives();
+		long bytes = ENTRY_BYTES + ELEMENT_BYTES * (genotype.size() + objectives.size());
+
+		Entry old = map.put(new Key(genotype), new Entry(objectives, bytes));
+		if (old != null) {
+			memory -= old.memory;
+		}
+		memory += bytes;
+
+		Iterator<Entry> it = map.values().iterator();
+		while ((map.size() > maxSize || memory > maxMemory) && it.hasNext()) {
+			memory -= it.next().memory;
+			it.remove();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.completer.EvaluationCache#size()
+	 */
+	@Override
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * Returns the estimated memory of the cached entries in bytes.
+	 * 
+	 * @return the estimated memory in bytes
+	 */
+	public synchronized long getMemory() {
+		return memory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.completer.EvaluationCache#getHits()
+	 */
+	@Override
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.completer.EvaluationCache#getMisses()
+	 */
+	@Override
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.completer.EvaluationCache#clear()
+	 */
+	@Override
+	public synchronized void clear() {
+		map.clear();
+		memory = 0;
+		hits = 0;
+		misses = 0;
+	}
+}
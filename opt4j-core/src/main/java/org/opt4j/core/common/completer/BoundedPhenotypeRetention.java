@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.OptimizerIterationListener;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.PhenotypeRetention;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * <p>
+ * The {@link BoundedPhenotypeRetention} evicts the phenotypes of evaluated
+ * {@link Individual}s according to a {@link Policy}. Evicted phenotypes are
+ * decoded again with the {@link Decoder} once they are requested.
+ * </p>
+ * <p>
+ * The victims are determined under the lock of the retention and evicted
+ * outside of it. The restored {@link Individual} is registered in
+ * {@link #restored(Individual)}, i.e., after its monitor is released, such
+ * that the monitors of two individuals are never nested.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class BoundedPhenotypeRetention implements PhenotypeRetention, OptimizerIterationListener {
+
+	/**
+	 * The {@link Policy} that decides which phenotypes are kept.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	public enum Policy {
+		/**
+		 * Keep all phenotypes.
+		 */
+		@Info("Keep all phenotypes")
+		ALL,
+
+		/**
+		 * Evict each phenotype directly after the evaluation.
+		 */
+		@Info("Evict each phenotype after the evaluation")
+		NONE,
+
+		/**
+		 * Keep the phenotypes of the most recently evaluated or restored
+		 * individuals.
+		 */
+		@Info("Keep the most recent phenotypes")
+		RECENT,
+
+		/**
+		 * Keep the phenotypes of the archive members.
+		 */
+		@Info("Keep the phenotypes of the archive members")
+		ARCHIVE;
+	}
+
+	protected final Decoder<Genotype, Object> decoder;
+
+	protected final Archive archive;
+
+	protected final Policy policy;
+
+	protected final int capacity;
+
+	protected final Map<Individual, Boolean> retained = new LinkedHashMap<>(16, 0.75f, true);
+
+	protected final AtomicLong restores = new AtomicLong();
+
+	/**
+	 * Constructs a {@link BoundedPhenotypeRetention}.
+	 * 
+	 * @param decoder
+	 *            the decoder that restores the phenotypes
+	 * @param archive
+	 *            the archive
+	 * @param policy
+	 *            the retention policy (using namespace
+	 *            {@link BoundedPhenotypeRetention})
+	 * @param capacity
+	 *            the number of kept phenotypes for {@link Policy#RECENT}
+	 *            (using namespace {@link BoundedPhenotypeRetention})
+	 */
+	@Inject
+	public BoundedPhenotypeRetention(Decoder<Genotype, Object> decoder, Archive archive,
+			@Constant(value = "policy", namespace = BoundedPhenotypeRetention.class) Policy policy,
+			@Constant(value = "capacity", namespace = BoundedPhenotypeRetention.class) int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.decoder = decoder;
+		this.archive = archive;
+		this.policy = policy;
+		this.capacity = capacity;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.problem.PhenotypeRetention#retain(org.opt4j.core.Individual
+	 * )
+	 */
+	@Override
+	public void retain(Individual individual) {
+		switch (policy) {
+		case ALL:
+			break;
+		case NONE:
+			individual.evictPhenotype(this);
+			break;
+		default:
+			evict(register(individual));
+			break;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.problem.PhenotypeRetention#restore(org.opt4j.core.Individual
+	 * )
+	 */
+	@Override
+	public Object restore(Individual individual) {
+		Object phenotype = decoder.decode(individual.getGenotype());
+		restores.incrementAndGet();
+		return phenotype;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.problem.PhenotypeRetention#restored(org.opt4j.core.
+	 * Individual)
+	 */
+	@Override
+	public void restored(Individual individual) {
+		if (policy == Policy.RECENT || policy == Policy.ARCHIVE) {
+			evict(register(individual));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.OptimizerIterationListener#iterationComplete
+	 * (int)
+	 */
+	@Override
+	public void iterationComplete(int iteration) {
+		if (policy != Policy.ARCHIVE) {
+			return;
+		}
+		List<Individual> victims = new ArrayList<>();
+		synchronized (this) {
+			Iterator<Individual> it = retained.keySet().iterator();
+			while (it.hasNext()) {
+				Individual individual = it.next();
+				if (!archive.contains(individual)) {
+					victims.add(individual);
+					it.remove();
+				}
+			}
+		}
+		evict(victims);
+	}
+
+	/**
+	 * Registers the {@link Individual} as the most recent one and returns the
+	 * {@link Individual}s that exceed the capacity.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @return the individuals whose phenotypes are evicted
+	 */
+	protected synchronized List<Individual> register(Individual individual) {
+		retained.put(individual, Boolean.TRUE);
+		List<Individual> victims = new ArrayList<>();
+		if (policy == Policy.RECENT) {
+			Iterator<Individual> it = retained.keySet().iterator();
+			while (retained.size() > capacity) {
+				victims.add(it.next());
+				it.remove();
+			}
+		}
+		return victims;
+	}
+
+	/**
+	 * Evicts the phenotypes of the given {@link Individual}s.
+	 * 
+	 * @param victims
+	 *            the individuals
+	 */
+	protected void evict(List<Individual> victims) {
+		for (Individual individual : victims) {
+			individual.evictPhenotype(this);
+		}
+	}
+
+	/**
+	 * Returns the {@link Policy}.
+	 * 
+	 * @return the policy
+	 */
+	public Policy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Returns the number of individuals whose phenotypes are currently
+	 * tracked.
+	 * 
+	 * @return the number of tracked individuals
+	 */
+	public synchronized int size() {
+		return retained.size();
+	}
+
+	/**
+	 * Returns the number of restored phenotypes.
+	 * 
+	 * @return the number of restored phenotypes
+	 */
+	public long getRestores() {
+		return restores.get();
+	}
+
+}
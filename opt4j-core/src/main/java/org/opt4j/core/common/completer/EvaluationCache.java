@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+
+/**
+ * The {@link EvaluationCache} stores the phenotypes and objectives of
+ * evaluated {@link Individual}s by their {@link Genotype}. A completer skips
+ * the decoding and evaluation of an {@link Individual} whose {@link Genotype}
+ * equals the {@link Genotype} of a cached {@link Individual}.
+ * <p>
+ * The {@link Genotype}s are compared by their class and
+ * {@link Object#equals(Object)}. Thus, the cache requires that the
+ * {@link Genotype}s implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} by value and are not modified once evaluated.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public interface EvaluationCache {
+
+	/**
+	 * Completes the {@link Individual} from the cache. If the
+	 * {@link Genotype} of the individual is cached, the phenotype and the
+	 * objectives are set and the individual is evaluated.
+	 * 
+	 * @param individual
+	 *            the individual in {@link Individual.State#GENOTYPED}
+	 * @return {@code true} if the individual was completed from the cache
+	 */
+	public boolean lookup(Individual individual);
+
+	/**
+	 * Adds the evaluated {@link Individual} to the cache.
+	 * 
+	 * @param individual
+	 *            the evaluated individual
+	 */
+	public void put(Individual individual);
+
+	/**
+	 * Returns the number of cached {@link Genotype}s.
+	 * 
+	 * @return the number of cached genotypes
+	 */
+	public int size();
+
+	/**
+	 * Returns the number of successful lookups.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public long getHits();
+
+	/**
+	 * Returns the number of failed lookups.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public long getMisses();
+
+	/**
+	 * Removes all cached {@link Genotype}s and resets the counters.
+	 */
+	public void clear();
+}
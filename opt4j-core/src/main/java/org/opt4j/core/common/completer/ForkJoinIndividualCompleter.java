@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link ForkJoinIndividualCompleter} completes {@link Individual}s on a
+ * work-stealing {@link ForkJoinPool}. Idle threads take over queued
+ * completions from busy threads such that evaluations with varying durations
+ * are balanced across the threads.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class ForkJoinIndividualCompleter extends ParallelIndividualCompleter {
+
+	/**
+	 * Constructs a {@link ForkJoinIndividualCompleter} with a specified
+	 * parallelism.
+	 * 
+	 * @param control
+	 *            the control
+	 * @param decoder
+	 *            the decoder
+	 * @param evaluator
+	 *            the evaluator
+	 * @param maxThreads
+	 *            the parallelism of the pool (using namespace
+	 *            {@link ParallelIndividualCompleter})
+	 */
+	@Inject
+	public ForkJoinIndividualCompleter(Control control, Decoder<Genotype, Object> decoder,
+			Evaluator<Object> evaluator,
+			@Constant(value = "maxThreads", namespace = ParallelIndividualCompleter.class) int maxThreads) {
+		super(control, decoder, evaluator, maxThreads);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.completer.ParallelIndividualCompleter#createExecutor
+	 * ()
+	 */
+	@Override
+	protected ExecutorService createExecutor() {
+		return new ForkJoinPool(maxThreads);
+	}
+}
@@ -23,11 +23,15 @@
 
 package org.opt4j.core.common.completer;
 
+import org.opt4j.core.common.completer.BoundedPhenotypeRetention.Policy;
 import org.opt4j.core.config.Icons;
+import org.opt4j.core.config.annotations.File;
 import org.opt4j.core.config.annotations.Icon;
 import org.opt4j.core.config.annotations.Info;
 import org.opt4j.core.config.annotations.Required;
 import org.opt4j.core.optimizer.IndividualCompleter;
+import org.opt4j.core.problem.MultiEvaluator;
+import org.opt4j.core.problem.PhenotypeRetention;
 import org.opt4j.core.start.Constant;
 import org.opt4j.core.start.Opt4JModule;
 
@@ -46,10 +50,91 @@ public class IndividualCompleterModule extends Opt4JModule {
 	protected Type type = Type.SEQUENTIAL;
 
 	@Info("Sets the number of parallel processes.")
-	@Required(property = "type", elements = { "PARALLEL" })
+	@Required(property = "type", elements = { "PARALLEL", "FORK_JOIN", "VIRTUAL_THREADS" })
 	@Constant(value = "maxThreads", namespace = ParallelIndividualCompleter.class)
 	protected int threads = 4;
 
+	@Info("Sets the time budget in milliseconds for completing a single individual (0 for no limit).")
+	@Required(property = "type", elements = { "PARALLEL", "FORK_JOIN", "VIRTUAL_THREADS" })
+	@Constant(value = "timeout", namespace = ParallelIndividualCompleter.class)
+	protected long timeout = 0;
+
+	@Info("Sets the number of retries before a timed out individual is marked infeasible.")
+	@Required(property = "type", elements = { "PARALLEL", "FORK_JOIN", "VIRTUAL_THREADS" })
+	@Constant(value = "retries", namespace = ParallelIndividualCompleter.class)
+	protected int retries = 0;
+
+	@Info("Runs individuals a second time that take longer than this percentile of the recent completions (0 to disable).")
+	@Required(property = "type", elements = { "PARALLEL", "FORK_JOIN", "VIRTUAL_THREADS" })
+	@Constant(value = "speculation", namespace = ParallelIndividualCompleter.class)
+	protected double speculation = 0;
+
+	@Info("Sets the number of decoding threads.")
+	@Required(property = "type", elements = { "PIPELINED" })
+	@Constant(value = "decodeThreads", namespace = PipelinedIndividualCompleter.class)
+	protected int decodeThreads = 2;
+
+	@Info("Sets the number of evaluation threads.")
+	@Required(property = "type", elements = { "PIPELINED" })
+	@Constant(value = "evaluateThreads", namespace = PipelinedIndividualCompleter.class)
+	protected int evaluateThreads = 4;
+
+	@Info("Sets the number of decoded batches that wait for an evaluation thread.")
+	@Required(property = "type", elements = { "PIPELINED" })
+	@Constant(value = "queueCapacity", namespace = PipelinedIndividualCompleter.class)
+	protected int queueCapacity = 8;
+
+	@Info("Sets the number of worker processes.")
+	@Required(property = "type", elements = { "REMOTE" })
+	@Constant(value = "workers", namespace = RemoteIndividualCompleter.class)
+	protected int workers = 4;
+
+	@Info("Sets the number of individuals that are sent to a worker before its results arrive.")
+	@Required(property = "type", elements = { "REMOTE" })
+	@Constant(value = "window", namespace = RemoteIndividualCompleter.class)
+	protected int window = 2;
+
+	@Info("The configuration file with the problem modules for the workers.")
+	@Required(property = "type", elements = { "REMOTE" })
+	@File
+	@Constant(value = "configuration", namespace = RemoteIndividualCompleter.class)
+	protected String workerConfiguration = "";
+
+	@Info("Sets the local port for the workers (0 for any free port).")
+	@Required(property = "type", elements = { "REMOTE" })
+	@Constant(value = "port", namespace = RemoteIndividualCompleter.class)
+	protected int port = 0;
+
+	@Info("Sets the number of individuals that are passed at once to a BatchEvaluator.")
+	@Constant(value = "batchSize", namespace = SequentialIndividualCompleter.class)
+	protected int batchSize = 1;
+
+	@Info("Runs the evaluators with the same priority concurrently.")
+	@Constant(value = "concurrent", namespace = MultiEvaluator.class)
+	protected boolean concurrentEvaluators = false;
+
+	@Info("Skips the decoding and evaluation of individuals with an already evaluated genotype.")
+	protected boolean cache = false;
+
+	@Info("Sets the maximal number of cached genotypes.")
+	@Required(property = "cache")
+	@Constant(value = "maxSize", namespace = BoundedEvaluationCache.class)
+	protected int cacheSize = 100000;
+
+	@Info("Sets the maximal estimated memory of the cache in megabytes.")
+	@Required(property = "cache")
+	@Constant(value = "maxMemory", namespace = BoundedEvaluationCache.class)
+	protected int cacheMemory = 256;
+
+	@Info("Sets which phenotypes are kept after the evaluation. Evicted phenotypes are decoded again on demand.")
+	@Constant(value = "policy", namespace = BoundedPhenotypeRetention.class)
+	protected Policy phenotypes = Policy.ALL;
+
+	@Info("Sets the number of most recent phenotypes that are kept.")
+	@Required(property = "phenotypes", elements = { "RECENT" })
+	@Constant(value = "capacity", namespace = BoundedPhenotypeRetention.class)
+	protected int retainedPhenotypes = 1000;
+
 	/**
 	 * The {@link Type} of {@link IndividualCompleter} to use.
 	 * 
@@ -71,7 +156,40 @@ public class IndividualCompleterModule extends Opt4JModule {
 		 * @see ParallelIndividualCompleter
 		 */
 		@Info("Use a ParallelCompleter")
-		PARALLEL;
+		PARALLEL,
+
+		/**
+		 * Use a pipelined completer with separate decoding and evaluation
+		 * threads.
+		 * 
+		 * @see PipelinedIndividualCompleter
+		 */
+		@Info("Use a PipelinedCompleter")
+		PIPELINED,
+
+		/**
+		 * Use a work-stealing completer.
+		 * 
+		 * @see ForkJoinIndividualCompleter
+		 */
+		@Info("Use a ForkJoinCompleter")
+		FORK_JOIN,
+
+		/**
+		 * Use a completer with a (virtual) thread per batch.
+		 * 
+		 * @see VirtualThreadIndividualCompleter
+		 */
+		@Info("Use a VirtualThreadCompleter")
+		VIRTUAL_THREADS,
+
+		/**
+		 * Use a completer with worker processes.
+		 * 
+		 * @see RemoteIndividualCompleter
+		 */
+		@Info("Use a RemoteCompleter")
+		REMOTE;
 	}
 
 	/**
@@ -119,6 +237,418 @@ public class IndividualCompleterModule extends Opt4JModule {
 		this.threads = threads;
 	}
 
+	/**
+	 * Returns the time budget for completing a single individual.
+	 * 
+	 * @see #setTimeout
+	 * @return the time budget in milliseconds ({@code 0} for no limit)
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the time budget for completing a single individual.
+	 * 
+	 * @see #getTimeout
+	 * @param timeout
+	 *            the time budget in milliseconds ({@code 0} for no limit)
+	 */
+	public void setTimeout(long timeout) {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("The timeout must not be negative: " + timeout);
+		}
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Returns the number of retries before a timed out individual is marked
+	 * infeasible.
+	 * 
+	 * @see #setRetries
+	 * @return the number of retries
+	 */
+	public int getRetries() {
+		return retries;
+	}
+
+	/**
+	 * Sets the number of retries before a timed out individual is marked
+	 * infeasible.
+	 * 
+	 * @see #getRetries
+	 * @param retries
+	 *            the number of retries
+	 */
+	public void setRetries(int retries) {
+		if (retries < 0) {
+			throw new IllegalArgumentException("The number of retries must not be negative: " + retries);
+		}
+		this.retries = retries;
+	}
+
+	/**
+	 * Returns the percentile of the recent completion times after which an
+	 * individual is completed speculatively a second time.
+	 * 
+	 * @see #setSpeculation
+	 * @return the percentile ({@code 0} if disabled)
+	 */
+	public double getSpeculation() {
+		return speculation;
+	}
+
+	/**
+	 * Sets the percentile of the recent completion times after which an
+	 * individual is completed speculatively a second time.
+	 * 
+	 * @see #getSpeculation
+	 * @param speculation
+	 *            the percentile in {@code (0,1)} or {@code 0} to disable
+	 */
+	public void setSpeculation(double speculation) {
+		if (speculation < 0 || speculation >= 1) {
+			throw new IllegalArgumentException("The speculation percentile must be in [0,1): " + speculation);
+		}
+		this.speculation = speculation;
+	}
+
+	/**
+	 * Returns the number of decoding threads.
+	 * 
+	 * @see #setDecodeThreads
+	 * @return the number of decoding threads
+	 */
+	public int getDecodeThreads() {
+		return decodeThreads;
+	}
+
+	/**
+	 * Sets the number of decoding threads.
+	 * 
+	 * @see #getDecodeThreads
+	 * @param decodeThreads
+	 *            the number of decoding threads
+	 */
+	public void setDecodeThreads(int decodeThreads) {
+		if (decodeThreads <= 0) {
+			throw new IllegalArgumentException("The number of decoding threads must be positive: " + decodeThreads);
+		}
+		this.decodeThreads = decodeThreads;
+	}
+
+	/**
+	 * Returns the number of evaluation threads.
+	 * 
+	 * @see #setEvaluateThreads
+	 * @return the number of evaluation threads
+	 */
+	public int getEvaluateThreads() {
+		return evaluateThreads;
+	}
+
+	/**
+	 * Sets the number of evaluation threads.
+	 * 
+	 * @see #getEvaluateThreads
+	 * @param evaluateThreads
+	 *            the number of evaluation threads
+	 */
+	public void setEvaluateThreads(int evaluateThreads) {
+		if (evaluateThreads <= 0) {
+			throw new IllegalArgumentException("The number of evaluation threads must be positive: "
+					+ evaluateThreads);
+		}
+		this.evaluateThreads = evaluateThreads;
+	}
+
+	/**
+	 * Returns the capacity of the queue between the decoding and the
+	 * evaluation.
+	 * 
+	 * @see #setQueueCapacity
+	 * @return the queue capacity
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Sets the capacity of the queue between the decoding and the evaluation.
+	 * 
+	 * @see #getQueueCapacity
+	 * @param queueCapacity
+	 *            the queue capacity
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("The queue capacity must be positive: " + queueCapacity);
+		}
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Returns the number of worker processes.
+	 * 
+	 * @see #setWorkers
+	 * @return the number of worker processes
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Sets the number of worker processes. With {@code 0} workers, only
+	 * externally started {@link RemoteWorker}s are used.
+	 * 
+	 * @see #getWorkers
+	 * @param workers
+	 *            the number of worker processes
+	 */
+	public void setWorkers(int workers) {
+		if (workers < 0) {
+			throw new IllegalArgumentException("The number of workers must not be negative: " + workers);
+		}
+		this.workers = workers;
+	}
+
+	/**
+	 * Returns the number of individuals that are sent to a worker before its
+	 * results arrive.
+	 * 
+	 * @see #setWindow
+	 * @return the window
+	 */
+	public int getWindow() {
+		return window;
+	}
+
+	/**
+	 * Sets the number of individuals that are sent to a worker before its
+	 * results arrive.
+	 * 
+	 * @see #getWindow
+	 * @param window
+	 *            the window
+	 */
+	public void setWindow(int window) {
+		if (window <= 0) {
+			throw new IllegalArgumentException("The window must be positive: " + window);
+		}
+		this.window = window;
+	}
+
+	/**
+	 * Returns the configuration file with the problem modules for the
+	 * workers.
+	 * 
+	 * @see #setWorkerConfiguration
+	 * @return the configuration file
+	 */
+	public String getWorkerConfiguration() {
+		return workerConfiguration;
+	}
+
+	/**
+	 * Sets the configuration file with the problem modules for the workers.
+	 * 
+	 * @see #getWorkerConfiguration
+	 * @param workerConfiguration
+	 *            the configuration file
+	 */
+	public void setWorkerConfiguration(String workerConfiguration) {
+		this.workerConfiguration = workerConfiguration;
+	}
+
+	/**
+	 * Returns the local port for the workers.
+	 * 
+	 * @see #setPort
+	 * @return the port ({@code 0} for any free port)
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * Sets the local port for the workers.
+	 * 
+	 * @see #getPort
+	 * @param port
+	 *            the port ({@code 0} for any free port)
+	 */
+	public void setPort(int port) {
+		if (port < 0 || port > 65535) {
+			throw new IllegalArgumentException("Invalid port: " + port);
+		}
+		this.port = port;
+	}
+
+	/**
+	 * Returns the number of {@link org.opt4j.core.Individual}s that are
+	 * evaluated together.
+	 * 
+	 * @see #setBatchSize
+	 * @return the batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Sets the number of {@link org.opt4j.core.Individual}s that are evaluated
+	 * together. The batches are passed at once to a
+	 * {@link org.opt4j.core.problem.BatchEvaluator}.
+	 * 
+	 * @see #getBatchSize
+	 * @param batchSize
+	 *            the batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Returns {@code true} if the {@link org.opt4j.core.problem.Evaluator}s
+	 * with the same {@link org.opt4j.core.problem.Priority} run concurrently.
+	 * 
+	 * @see #setConcurrentEvaluators
+	 * @return {@code true} if the evaluators run concurrently
+	 */
+	public boolean isConcurrentEvaluators() {
+		return concurrentEvaluators;
+	}
+
+	/**
+	 * Sets whether the {@link org.opt4j.core.problem.Evaluator}s with the same
+	 * {@link org.opt4j.core.problem.Priority} run concurrently.
+	 * 
+	 * @see #isConcurrentEvaluators
+	 * @param concurrentEvaluators
+	 *            {@code true} if the evaluators run concurrently
+	 */
+	public void setConcurrentEvaluators(boolean concurrentEvaluators) {
+		this.concurrentEvaluators = concurrentEvaluators;
+	}
+
+	/**
+	 * Returns {@code true} if the {@link EvaluationCache} is used.
+	 * 
+	 * @see #setCache
+	 * @return {@code true} if the cache is used
+	 */
+	public boolean isCache() {
+		return cache;
+	}
+
+	/**
+	 * Sets the use of the {@link EvaluationCache}.
+	 * 
+	 * @see #isCache
+	 * @param cache
+	 *            {@code true} if the cache is used
+	 */
+	public void setCache(boolean cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Returns the maximal number of cached genotypes.
+	 * 
+	 * @see #setCacheSize
+	 * @return the maximal number of cached genotypes
+	 */
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * Sets the maximal number of cached genotypes.
+	 * 
+	 * @see #getCacheSize
+	 * @param cacheSize
+	 *            the maximal number of cached genotypes
+	 */
+	public void setCacheSize(int cacheSize) {
+		if (cacheSize <= 0) {
+			throw new IllegalArgumentException("The cache size must be positive: " + cacheSize);
+		}
+		this.cacheSize = cacheSize;
+	}
+
+	/**
+	 * Returns the maximal estimated memory of the cache in megabytes.
+	 * 
+	 * @see #setCacheMemory
+	 * @return the maximal memory in megabytes
+	 */
+	public int getCacheMemory() {
+		return cacheMemory;
+	}
+
+	/**
+	 * Sets the maximal estimated memory of the cache in megabytes.
+	 * 
+	 * @see #getCacheMemory
+	 * @param cacheMemory
+	 *            the maximal memory in megabytes
+	 */
+	public void setCacheMemory(int cacheMemory) {
+		if (cacheMemory <= 0) {
+			throw new IllegalArgumentException("The cache memory must be positive: " + cacheMemory);
+		}
+		this.cacheMemory = cacheMemory;
+	}
+
+	/**
+	 * Returns the {@link Policy} that decides which phenotypes are kept.
+	 * 
+	 * @see #setPhenotypes
+	 * @return the retention policy
+	 */
+	public Policy getPhenotypes() {
+		return phenotypes;
+	}
+
+	/**
+	 * Sets the {@link Policy} that decides which phenotypes are kept.
+	 * 
+	 * @see #getPhenotypes
+	 * @param phenotypes
+	 *            the retention policy
+	 */
+	public void setPhenotypes(Policy phenotypes) {
+		this.phenotypes = phenotypes;
+	}
+
+	/**
+	 * Returns the number of most recent phenotypes that are kept.
+	 * 
+	 * @see #setRetainedPhenotypes
+	 * @return the number of kept phenotypes
+	 */
+	public int getRetainedPhenotypes() {
+		return retainedPhenotypes;
+	}
+
+	/**
+	 * Sets the number of most recent phenotypes that are kept.
+	 * 
+	 * @see #getRetainedPhenotypes
+	 * @param retainedPhenotypes
+	 *            the number of kept phenotypes
+	 */
+	public void setRetainedPhenotypes(int retainedPhenotypes) {
+		if (retainedPhenotypes <= 0) {
+			throw new IllegalArgumentException("The number of kept phenotypes must be positive: "
+					+ retainedPhenotypes);
+		}
+		this.retainedPhenotypes = retainedPhenotypes;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -126,10 +656,43 @@ public class IndividualCompleterModule extends Opt4JModule {
 	 */
 	@Override
 	public void config() {
+		if ((timeout > 0 || speculation > 0) && batchSize > 1
+				&& (type == Type.PARALLEL || type == Type.FORK_JOIN || type == Type.VIRTUAL_THREADS)) {
+			throw new IllegalArgumentException("The timeout and the speculation complete single individuals, "
+					+ "they cannot be combined with a batch size of " + batchSize);
+		}
+		if (cache) {
+			bind(EvaluationCache.class).to(BoundedEvaluationCache.class).in(SINGLETON);
+		}
+		if (phenotypes != Policy.ALL) {
+			bind(BoundedPhenotypeRetention.class).in(SINGLETON);
+			bind(PhenotypeRetention.class).to(BoundedPhenotypeRetention.class);
+			addOptimizerIterationListener(BoundedPhenotypeRetention.class);
+		}
 		switch (type) {
 		case SEQUENTIAL:
 			bind(IndividualCompleter.class).to(SequentialIndividualCompleter.class).in(SINGLETON);
 			break;
+		case PIPELINED:
+			bind(PipelinedIndividualCompleter.class).in(SINGLETON);
+			bind(IndividualCompleter.class).to(PipelinedIndividualCompleter.class);
+			addOptimizerStateListener(PipelinedIndividualCompleter.class);
+			break;
+		case FORK_JOIN:
+			bind(ForkJoinIndividualCompleter.class).in(SINGLETON);
+			bind(IndividualCompleter.class).to(ForkJoinIndividualCompleter.class);
+			addOptimizerStateListener(ForkJoinIndividualCompleter.class);
+			break;
+		case VIRTUAL_THREADS:
+			bind(VirtualThreadIndividualCompleter.class).in(SINGLETON);
+			bind(IndividualCompleter.class).to(VirtualThreadIndividualCompleter.class);
+			addOptimizerStateListener(VirtualThreadIndividualCompleter.class);
+			break;
+		case REMOTE:
+			bind(RemoteIndividualCompleter.class).in(SINGLETON);
+			bind(IndividualCompleter.class).to(RemoteIndividualCompleter.class);
+			addOptimizerStateListener(RemoteIndividualCompleter.class);
+			break;
 		default: // PARALLEL
 			bind(ParallelIndividualCompleter.class).in(SINGLETON);
 			bind(IndividualCompleter.class).to(ParallelIndividualCompleter.class);
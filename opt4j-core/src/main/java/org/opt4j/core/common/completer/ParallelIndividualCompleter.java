@@ -22,20 +22,38 @@
 
 package org.opt4j.core.common.completer;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.opt4j.core.Genotype;
 import org.opt4j.core.Individual;
+import org.opt4j.core.Individual.State;
+import org.opt4j.core.Objective;
+import org.opt4j.core.ObjectiveSchema;
+import org.opt4j.core.Objectives;
 import org.opt4j.core.optimizer.Control;
 import org.opt4j.core.optimizer.Optimizer;
 import org.opt4j.core.optimizer.OptimizerStateListener;
 import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.BatchEvaluator;
 import org.opt4j.core.problem.Decoder;
 import org.opt4j.core.problem.Evaluator;
 import org.opt4j.core.start.Constant;
@@ -45,22 +63,77 @@ import com.google.inject.Inject;
 /**
  * The {@link ParallelIndividualCompleter} completes {@link Individual}s with
  * multiple threads.
+ * <p>
+ * The {@link ExecutorService} is created by {@link #createExecutor()}. It is
+ * shut down once the optimization is stopped and recreated if a new
+ * optimization is started.
+ * <p>
+ * Optionally, each {@link Individual} gets a time budget (see
+ * {@link #setTimeout(long, int)}). An individual whose decoding and evaluation
+ * exceeds the budget is retried up to the given number of times and is
+ * afterwards marked infeasible, such that a single hung evaluation cannot stall
+ * the optimization. Additionally, stragglers that take longer than a
+ * percentile of the recent completion times can be run speculatively a second
+ * time (see {@link #setSpeculation(double)}); the first finished run wins and
+ * the other one is cancelled. The time budget and the speculation apply to
+ * {@link #complete(Iterable)} as well as {@link #completeAsync(Individual)},
+ * but not in combination with a batch size larger than one.
  * 
  * @author lukasiewycz
  * 
  */
 public class ParallelIndividualCompleter extends SequentialIndividualCompleter implements OptimizerStateListener {
-	protected final ExecutorService executor;
+	protected volatile ExecutorService executor;
+
+	protected volatile ExecutorService supervisors;
+
+	protected final int maxThreads;
+
+	protected final Semaphore slots;
+
+	protected long timeout = 0;
+
+	protected int retries = 0;
+
+	protected double speculation = 0;
+
+	protected final AtomicLong timeouts = new AtomicLong();
+
+	protected final AtomicLong queueTimeouts = new AtomicLong();
+
+	protected final AtomicLong replacedWorkers = new AtomicLong();
+
+	protected final AtomicLong speculations = new AtomicLong();
+
+	protected final AtomicLong speculationWins = new AtomicLong();
+
+	protected final long[] durations = new long[256];
+
+	protected int durationCount = 0;
+
+	protected volatile ObjectiveSchema infeasibleSchema = null;
 
 	/**
-	 * The {@link Complete} class completes a single {@link Individual}.
+	 * The minimal number of recorded completion times before stragglers are
+	 * run speculatively.
+	 */
+	protected static final int MIN_SAMPLES = 16;
+
+	/**
+	 * The interval in nanoseconds to check for started and straggling
+	 * completions.
+	 */
+	protected static final long POLL = TimeUnit.MILLISECONDS.toNanos(5);
+
+	/**
+	 * The {@link Complete} class completes a batch of {@link Individual}s.
 	 * 
 	 * @author lukasiewycz
 	 * 
 	 */
 	protected class Complete implements Callable<Void> {
 
-		protected final Individual individual;
+		protected final List<Individual> individuals;
 
 		protected final Control control;
 
@@ -73,7 +146,19 @@ public class ParallelIndividualCompleter extends SequentialIndividualCompleter i
 		 *            the control
 		 */
 		public Complete(final Individual individual, final Control control) {
-			this.individual = individual;
+			this(Collections.singletonList(individual), control);
+		}
+
+		/**
+		 * Constructs {@link Complete} with a batch of {@link Individual}s.
+		 * 
+		 * @param individuals
+		 *            the individuals to complete
+		 * @param control
+		 *            the control
+		 */
+		public Complete(final List<Individual> individuals, final Control control) {
+			this.individuals = individuals;
 			this.control = control;
 		}
 
@@ -84,12 +169,14 @@ public class ParallelIndividualCompleter extends SequentialIndividualCompleter i
 		 */
 		@Override
 		public Void call() throws TerminationException {
-			if (!individual.isEvaluated()) {
-				control.checkpoint();
-				ParallelIndividualCompleter.this.decode(individual);
-				control.checkpoint();
-				ParallelIndividualCompleter.this.evaluate(individual);
-				control.checkpoint();
+			List<Individual> batch = new ArrayList<>(individuals.size());
+			for (Individual individual : individuals) {
+				if (!individual.isEvaluated()) {
+					batch.add(individual);
+				}
+			}
+			if (!batch.isEmpty()) {
+				ParallelIndividualCompleter.this.completeBatch(batch);
 			}
 			return null;
 		}
@@ -117,7 +204,138 @@ public class ParallelIndividualCompleter extends SequentialIndividualCompleter i
 		if (maxThreads < 1) {
 			throw new IllegalArgumentException("Invalid number of threads: " + maxThreads);
 		}
-		this.executor = Executors.newFixedThreadPool(maxThreads);
+		this.maxThreads = maxThreads;
+		this.slots = new Semaphore(maxThreads);
+		this.executor = createExecutor();
+		this.supervisors = Executors.newFixedThreadPool(maxThreads);
+	}
+
+	/**
+	 * Creates the {@link ExecutorService} that completes the
+	 * {@link Individual}s.
+	 * 
+	 * @return the executor service
+	 */
+	protected ExecutorService createExecutor() {
+		return Executors.newFixedThreadPool(maxThreads);
+	}
+
+	/**
+	 * Sets the time budget for completing a single {@link Individual}. If the
+	 * budget is exceeded, the completion is cancelled and retried for the given
+	 * number of times. Afterwards, the {@link Individual} is marked
+	 * infeasible.
+	 * 
+	 * @param timeout
+	 *            the time budget in milliseconds ({@code 0} for no limit)
+	 * @param retries
+	 *            the number of retries after a timeout
+	 */
+	@Inject(optional = true)
+	public void setTimeout(@Constant(value = "timeout", namespace = ParallelIndividualCompleter.class) long timeout,
+			@Constant(value = "retries", namespace = ParallelIndividualCompleter.class) int retries) {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("Invalid timeout: " + timeout);
+		}
+		if (retries < 0) {
+			throw new IllegalArgumentException("Invalid number of retries: " + retries);
+		}
+		this.timeout = timeout;
+		this.retries = retries;
+	}
+
+	/**
+	 * Returns the time budget for completing a single {@link Individual} in
+	 * milliseconds.
+	 * 
+	 * @return the timeout ({@code 0} for no limit)
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Returns the number of retries after a timeout.
+	 * 
+	 * @return the number of retries
+	 */
+	public int getRetries() {
+		return retries;
+	}
+
+	/**
+	 * Sets the percentile of the recent completion times after which a
+	 * straggling {@link Individual} is completed a second time in parallel.
+	 * 
+	 * @param speculation
+	 *            the percentile in {@code (0,1)} or {@code 0} to disable
+	 *            speculative execution
+	 */
+	@Inject(optional = true)
+	public void setSpeculation(
+			@Constant(value = "speculation", namespace = ParallelIndividualCompleter.class) double speculation) {
+		if (speculation < 0 || speculation >= 1) {
+			throw new IllegalArgumentException("Invalid speculation percentile: " + speculation);
+		}
+		this.speculation = speculation;
+	}
+
+	/**
+	 * Returns the percentile of the recent completion times after which
+	 * stragglers are run speculatively.
+	 * 
+	 * @return the percentile ({@code 0} if disabled)
+	 */
+	public double getSpeculation() {
+		return speculation;
+	}
+
+	/**
+	 * Returns the number of completion attempts that exceeded the time budget.
+	 * 
+	 * @return the number of timeouts
+	 */
+	public long getTimeouts() {
+		return timeouts.get();
+	}
+
+	/**
+	 * Returns the number of completion attempts that exceeded the time budget
+	 * before a worker was available.
+	 * 
+	 * @return the number of timeouts in the queue
+	 */
+	public long getQueueTimeouts() {
+		return queueTimeouts.get();
+	}
+
+	/**
+	 * Returns the number of workers that were added to replace the workers of
+	 * abandoned completion attempts.
+	 * 
+	 * @return the number of replaced workers
+	 */
+	public long getReplacedWorkers() {
+		return replacedWorkers.get();
+	}
+
+	/**
+	 * Returns the number of speculatively started completions.
+	 * 
+	 * @return the number of speculations
+	 */
+	public long getSpeculations() {
+		return speculations.get();
+	}
+
+	/**
+	 * Returns the number of speculatively started completions that finished
+	 * before the original completion.
+	 * 
+	 * @return the number of speculation wins
+	 */
+	public long getSpeculationWins() {
+		return speculationWins.get();
 	}
 
 	/*
@@ -128,26 +346,27 @@ public class ParallelIndividualCompleter extends SequentialIndividualCompleter i
 	 */
 	@Override
 	public void complete(Iterable<? extends Individual> iterable) throws TerminationException {
+		if (timeout > 0 || speculation > 0) {
+			completeSupervised(iterable);
+			return;
+		}
 
-		try {
-
-			List<Future<Void>> returns = new ArrayList<>();
+		List<Future<Void>> returns = new ArrayList<>();
 
-			for (Individual individual : iterable) {
-				if (individual.getState() != Individual.State.EVALUATED) {
-					returns.add(executor.submit(new Complete(individual, control)));
-				}
+		try {
+			for (List<Individual> batch : getBatches(iterable)) {
+				returns.add(executor.submit(new Complete(batch, control)));
 			}
 
 			for (Future<Void> future : returns) {
-				try {
-					future.get();
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				}
+				future.get();
 			}
+		} catch (InterruptedException e) {
+			cancel(returns);
+			Thread.currentThread().interrupt();
+			throw new TerminationException();
 		} catch (ExecutionException ex) {
-			executor.shutdownNow();
+			cancel(returns);
 			if (ex.getCause() instanceof TerminationException) {
 				throw (TerminationException) ex.getCause();
 			}
@@ -155,24 +374,516 @@ public class ParallelIndividualCompleter extends SequentialIndividualCompleter i
 		}
 	}
 
+	/**
+	 * The {@link Attempt} is a single run of decoding and evaluating the
+	 * {@link Genotype} of a {@link Task}. An attempt only advances the
+	 * {@link State} of the {@link Individual} (see
+	 * {@link ParallelIndividualCompleter#progress(Attempt, State)}) while the
+	 * objectives of the successful attempt are applied by the supervising
+	 * thread, such that concurrent attempts cannot interfere.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class Attempt {
+		protected static final int QUEUED = 0;
+		protected static final int RUNNING = 1;
+		protected static final int FINISHED = 2;
+		protected static final int ABANDONED = 3;
+
+		protected final Task task;
+		protected final boolean speculative;
+		protected final long submitted = System.nanoTime();
+		protected final AtomicInteger state = new AtomicInteger(QUEUED);
+		protected ExecutorService executor;
+		protected Future<?> future;
+		protected volatile long begin = 0;
+		protected Object phenotype;
+		protected Objectives objectives;
+		protected Throwable error;
+		protected long duration;
+
+		Attempt(Task task, boolean speculative) {
+			this.task = task;
+			this.speculative = speculative;
+		}
+	}
+
+	/**
+	 * The {@link Task} tracks the {@link Attempt}s of completing a single
+	 * {@link Individual}.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class Task {
+		protected final Individual individual;
+		protected final List<Attempt> attempts = new ArrayList<>(2);
+		protected int retried = 0;
+		protected boolean speculated = false;
+		protected boolean done = false;
+
+		Task(Individual individual) {
+			this.individual = individual;
+		}
+	}
+
+	/**
+	 * Completes the {@link Individual}s one by one under supervision of the
+	 * time budget and the speculative execution of stragglers.
+	 * <p>
+	 * An {@link Attempt} is only submitted if one of the {@code maxThreads}
+	 * slots is free, such that the time budget starts with the submission
+	 * without penalizing individuals that wait for their turn. An attempt
+	 * that exceeds the budget is abandoned: it is interrupted and, if it
+	 * still occupies its worker, the worker is replaced by an additional
+	 * thread until the abandoned attempt returns (see
+	 * {@link #replaceWorker(ExecutorService, int)}). An attempt that exceeds
+	 * the budget before it even got a worker (if the worker cannot be replaced)
+	 * is counted by {@link #getQueueTimeouts()} and handled like any other
+	 * timeout. The batch size is not applied here, i.e., the supervised
+	 * completion cannot be combined with a {@link BatchEvaluator}.
+	 * 
+	 * @param iterable
+	 *            the individuals
+	 * @throws TerminationException
+	 *             if the optimization is terminated
+	 */
+	protected void completeSupervised(Iterable<? extends Individual> iterable) throws TerminationException {
+		List<Task> tasks = new ArrayList<>();
+		for (Individual individual : iterable) {
+			if (!individual.isEvaluated()) {
+				control.checkpoint();
+				if (!lookup(individual)) {
+					tasks.add(new Task(individual));
+				}
+			}
+		}
+
+		final BlockingQueue<Attempt> finished = new LinkedBlockingQueue<>();
+		final Deque<Task> backlog = new ArrayDeque<>(tasks);
+		final List<Task> unresolved = new ArrayList<>();
+		final long budget = TimeUnit.MILLISECONDS.toNanos(timeout);
+		int remaining = tasks.size();
+
+		try {
+			while (remaining > 0) {
+				while (!backlog.isEmpty() && start(backlog.peek(), false, finished)) {
+					backlog.poll();
+				}
+
+				final long straggler = getStragglerThreshold();
+				final long now = System.nanoTime();
+				long wait = backlog.isEmpty() ? Long.MAX_VALUE : POLL;
+
+				for (Task task : tasks) {
+					if (task.done || task.attempts.isEmpty()) {
+						continue;
+					}
+					final Attempt first = task.attempts.get(0);
+					if (budget > 0) {
+						final long elapsed = now - first.submitted;
+						if (elapsed >= budget) {
+							timeouts.incrementAndGet();
+							if (first.begin == 0) {
+								queueTimeouts.incrementAndGet();
+							}
+							cancel(task);
+							if (task.retried < retries) {
+								task.retried++;
+								task.speculated = false;
+								reset(task);
+								backlog.add(task);
+								wait = Math.min(wait, POLL);
+							} else {
+								if (infeasibleSchema == null) {
+									unresolved.add(task);
+								} else {
+									setInfeasible(task.individual);
+								}
+								task.done = true;
+								remaining--;
+							}
+							continue;
+						}
+						wait = Math.min(wait, budget - elapsed);
+					}
+					if (speculation > 0 && !task.speculated) {
+						final long elapsed = first.begin == 0 ? 0 : now - first.begin;
+						if (straggler == 0 || first.begin == 0) {
+							// not enough samples yet or still queued
+							wait = Math.min(wait, POLL);
+						} else if (elapsed < straggler) {
+							wait = Math.min(wait, straggler - elapsed);
+						} else if (start(task, true, finished)) {
+							speculations.incrementAndGet();
+							task.speculated = true;
+						} else {
+							// no free slot
+							wait = Math.min(wait, POLL);
+						}
+					}
+				}
+
+				if (remaining == 0) {
+					break;
+				}
+
+				Attempt attempt = finished.poll(wait, TimeUnit.NANOSECONDS);
+				for (; attempt != null; attempt = finished.poll()) {
+					Task task = attempt.task;
+					if (task.done || !task.attempts.remove(attempt)) {
+						continue; // stale attempt of a cancelled run
+					}
+					if (attempt.error != null) {
+						if (attempt.error instanceof TerminationException) {
+							throw (TerminationException) attempt.error;
+						}
+						throw new RuntimeException(attempt.error);
+					}
+					cancel(task);
+					apply(attempt);
+					task.done = true;
+					remaining--;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TerminationException();
+		} finally {
+			for (Task task : tasks) {
+				cancel(task);
+			}
+		}
+
+		// individuals that timed out before any objectives were known
+		for (Task task : unresolved) {
+			setInfeasible(task.individual);
+		}
+	}
+
+	/**
+	 * Starts an {@link Attempt} of the given {@link Task} if a slot is free.
+	 * 
+	 * @param task
+	 *            the task
+	 * @param speculative
+	 *            true if the attempt is a speculative duplicate
+	 * @param finished
+	 *            the queue of finished attempts
+	 * @return {@code true} if the attempt is started, {@code false} if all
+	 *         slots are occupied
+	 */
+	protected boolean start(final Task task, boolean speculative, final BlockingQueue<Attempt> finished) {
+		final Semaphore slots = this.slots;
+		if (!slots.tryAcquire()) {
+			return false;
+		}
+		final Attempt attempt = new Attempt(task, speculative);
+		final Genotype genotype = task.individual.getGenotype();
+		attempt.executor = executor;
+		try {
+			attempt.future = attempt.executor.submit(() -> {
+				if (!attempt.state.compareAndSet(Attempt.QUEUED, Attempt.RUNNING)) {
+					return; // cancelled while queued
+				}
+				final long begin = System.nanoTime();
+				attempt.begin = begin == 0 ? 1 : begin;
+				try {
+					control.checkpoint();
+					progress(attempt, State.DECODING);
+					attempt.phenotype = decodeGenotype(genotype);
+					control.checkpoint();
+					progress(attempt, State.EVALUATING);
+					attempt.objectives = evaluatePhenotype(attempt.phenotype);
+				} catch (Throwable e) {
+					attempt.error = e;
+				}
+				attempt.duration = System.nanoTime() - begin;
+				if (attempt.state.compareAndSet(Attempt.RUNNING, Attempt.FINISHED)) {
+					slots.release();
+					finished.add(attempt);
+				} else {
+					// abandoned, the worker was replaced in the meantime
+					replaceWorker(attempt.executor, -1);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			slots.release();
+			throw e;
+		}
+		task.attempts.add(attempt);
+		return true;
+	}
+
+	/**
+	 * Cancels all {@link Attempt}s of the given {@link Task}. Queued attempts
+	 * are discarded, running attempts are interrupted and abandoned. The
+	 * worker of an abandoned attempt is replaced such that an evaluation that
+	 * ignores the interrupt does not block a worker.
+	 * 
+	 * @param task
+	 *            the task
+	 */
+	protected void cancel(Task task) {
+		synchronized (task) {
+			for (Attempt attempt : task.attempts) {
+				if (attempt.state.compareAndSet(Attempt.QUEUED, Attempt.FINISHED)) {
+					attempt.future.cancel(false);
+					slots.release();
+				} else if (attempt.state.compareAndSet(Attempt.RUNNING, Attempt.ABANDONED)) {
+					replaceWorker(attempt.executor, +1);
+					attempt.future.cancel(true);
+					slots.release();
+				}
+			}
+		}
+		task.attempts.clear();
+	}
+
+	/**
+	 * Advances the {@link State} of the {@link Individual} of a running
+	 * {@link Attempt} as {@link #decode(Individual)} and
+	 * {@link #evaluate(Individual)} do, i.e., to {@link State#DECODING} and,
+	 * with the decoded phenotype, to {@link State#EVALUATING}. The state is
+	 * only advanced by the leading attempt of the {@link Task} and not by
+	 * abandoned attempts.
+	 * 
+	 * @param attempt
+	 *            the attempt
+	 * @param state
+	 *            the {@link State#DECODING} or {@link State#EVALUATING} state
+	 */
+	protected void progress(Attempt attempt, State state) {
+		Individual individual = attempt.task.individual;
+		synchronized (attempt.task) {
+			if (attempt.state.get() != Attempt.RUNNING) {
+				return;
+			}
+			if (state == State.DECODING && individual.getState() == State.GENOTYPED) {
+				individual.setState(State.DECODING);
+			} else if (state == State.EVALUATING && individual.getState() == State.DECODING) {
+				individual.setPhenotype(attempt.phenotype);
+				individual.setState(State.EVALUATING);
+			}
+		}
+	}
+
+	/**
+	 * Resets the {@link Individual} of a cancelled {@link Task} to
+	 * {@link State#GENOTYPED} before it is retried.
+	 * 
+	 * @param task
+	 *            the task
+	 */
+	protected void reset(Task task) {
+		synchronized (task) {
+			task.individual.setState(State.GENOTYPED);
+		}
+	}
+
+	/**
+	 * Adds ({@code delta > 0}) or removes ({@code delta < 0}) workers of the
+	 * given {@link ExecutorService}. Workers are added for abandoned
+	 * {@link Attempt}s and removed once the abandoned attempts return. Only a
+	 * {@link ThreadPoolExecutor} can be resized; for other executors, the
+	 * abandoned attempts keep their workers.
+	 * 
+	 * @param executor
+	 *            the executor of the abandoned attempt
+	 * @param delta
+	 *            the number of workers to add
+	 */
+	protected void replaceWorker(ExecutorService executor, int delta) {
+		if (!(executor instanceof ThreadPoolExecutor)) {
+			return;
+		}
+		ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+		synchronized (pool) {
+			if (delta > 0) {
+				pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+				pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+				replacedWorkers.addAndGet(delta);
+			} else {
+				pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+				pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+			}
+		}
+	}
+
+	/**
+	 * Applies the result of a successful {@link Attempt} to its
+	 * {@link Individual}. The phenotype is only set if no attempt advanced the
+	 * individual to {@link State#EVALUATING} yet.
+	 * 
+	 * @param attempt
+	 *            the attempt
+	 */
+	protected void apply(Attempt attempt) {
+		Individual individual = attempt.task.individual;
+		if (individual.getState() != State.EVALUATING) {
+			individual.setPhenotype(attempt.phenotype);
+		}
+		individual.setObjectives(attempt.objectives);
+		infeasibleSchema = attempt.objectives.getSchema();
+		evaluated(individual);
+		if (attempt.speculative) {
+			speculationWins.incrementAndGet();
+		}
+		synchronized (durations) {
+			durations[durationCount++ % durations.length] = attempt.duration;
+		}
+	}
+
+	/**
+	 * Marks an {@link Individual} whose completion exceeded the time budget as
+	 * infeasible, i.e., all its {@link Objective}s are
+	 * {@link Objective#INFEASIBLE}. The {@link Objective}s are taken from the
+	 * last successful completion. Thus, an individual that times out before any
+	 * objectives are known is only marked infeasible at the end of
+	 * {@link #completeSupervised(Iterable)}, once the other individuals are
+	 * completed.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @throws IllegalStateException
+	 *             if not a single completion succeeded so far
+	 */
+	protected void setInfeasible(Individual individual) {
+		ObjectiveSchema schema = infeasibleSchema;
+		if (schema == null) {
+			throw new IllegalStateException("Completion of " + individual
+					+ " timed out and no individual was completed so far, increase the timeout");
+		}
+		Objectives objectives = new Objectives(schema);
+		for (Objective objective : schema.getObjectives()) {
+			objectives.add(objective, Objective.INFEASIBLE);
+		}
+		individual.setPhenotype(null);
+		individual.setObjectives(objectives);
+	}
+
+	/**
+	 * Returns the time after which a running completion is considered a
+	 * straggler, i.e., the configured percentile of the recent completion
+	 * times.
+	 * 
+	 * @return the threshold in nanoseconds or {@code 0} if stragglers are not
+	 *         run speculatively
+	 */
+	protected long getStragglerThreshold() {
+		if (speculation <= 0) {
+			return 0;
+		}
+		long[] samples;
+		synchronized (durations) {
+			if (durationCount < MIN_SAMPLES) {
+				return 0;
+			}
+			samples = Arrays.copyOf(durations, Math.min(durationCount, durations.length));
+		}
+		Arrays.sort(samples);
+		int index = (int) Math.ceil(speculation * samples.length) - 1;
+		return Math.max(1, samples[Math.max(0, index)]);
+	}
+
+	/**
+	 * Cancels the pending completions. The {@link ExecutorService} remains
+	 * usable for subsequent completions.
+	 * 
+	 * @param futures
+	 *            the futures of the completions
+	 */
+	protected void cancel(List<Future<Void>> futures) {
+		for (Future<Void> future : futures) {
+			future.cancel(true);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see java.lang.Object#finalize()
+	 * @see
+	 * org.opt4j.core.optimizer.IndividualCompleter#completeAsync(org.opt4j.
+	 * core.Individual)
 	 */
 	@Override
-	protected void finalize() throws Throwable {
-		shutdownExecutorService();
-		super.finalize();
+	public CompletableFuture<Individual> completeAsync(final Individual individual) {
+		final CompletableFuture<Individual> future = new CompletableFuture<>();
+		if (timeout > 0 || speculation > 0) {
+			return completeAsyncSupervised(individual, future);
+		}
+		final Complete complete = new Complete(individual, control);
+		try {
+			executor.execute(() -> {
+				if (future.isDone()) { // cancelled while queued
+					return;
+				}
+				try {
+					complete.call();
+					future.complete(individual);
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Completes the {@link Individual} asynchronously with
+	 * {@link #completeSupervised(Iterable)}. The supervision runs on one of
+	 * {@code maxThreads} supervising threads, such that the evaluation itself
+	 * still occupies a worker only for the time budget.
+	 * 
+	 * @param individual
+	 *            the individual
+	 * @param future
+	 *            the future to complete
+	 * @return the future
+	 */
+	protected CompletableFuture<Individual> completeAsyncSupervised(final Individual individual,
+			final CompletableFuture<Individual> future) {
+		try {
+			supervisors.execute(() -> {
+				if (future.isDone()) { // cancelled while queued
+					return;
+				}
+				try {
+					completeSupervised(Collections.singletonList(individual));
+					future.complete(individual);
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.IndividualCompleter#getParallelism()
+	 */
+	@Override
+	public int getParallelism() {
+		return maxThreads;
 	}
 
 	/**
-	 * Shutdown the {@link ExecutorService}.
+	 * Shutdown the {@link ExecutorService} and the supervising threads.
 	 */
 	protected synchronized void shutdownExecutorService() {
 		if (!executor.isShutdown()) {
 			executor.shutdown();
 		}
+		if (!supervisors.isShutdown()) {
+			supervisors.shutdown();
+		}
 	}
 
 	/*
@@ -183,8 +894,13 @@ public class ParallelIndividualCompleter extends SequentialIndividualCompleter i
 	 * .opt4j.core.optimizer.Optimizer)
 	 */
 	@Override
-	public void optimizationStarted(Optimizer optimizer) {
-		// do nothing
+	public synchronized void optimizationStarted(Optimizer optimizer) {
+		if (executor.isShutdown()) {
+			executor = createExecutor();
+		}
+		if (supervisors.isShutdown()) {
+			supervisors = Executors.newFixedThreadPool(maxThreads);
+		}
 	}
 
 	/*
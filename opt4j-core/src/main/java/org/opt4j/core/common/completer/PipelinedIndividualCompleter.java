@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link PipelinedIndividualCompleter} decodes and evaluates the
+ * {@link Individual}s in two pipelined stages. Each stage has its own
+ * {@link ExecutorService} such that, for instance, a CPU-bound decoding
+ * overlaps with an evaluation that waits for an external process.
+ * <p>
+ * The decoded {@link Individual}s are handed over to the evaluation stage by
+ * a bounded queue. If the queue is full, the decoding threads wait. Each
+ * {@link Stage} reports its queue depth and utilization. The stages are shut
+ * down if the optimization stops and replaced by new stages if the
+ * optimization is started again.
+ * <p>
+ * If a batch fails or the waiting thread is interrupted, the remaining batches
+ * are cancelled. Cancelled batches are neither decoded further nor handed over
+ * to the evaluation stage.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class PipelinedIndividualCompleter extends SequentialIndividualCompleter implements OptimizerStateListener {
+
+	protected volatile Stage decodeStage;
+
+	protected volatile Stage evaluateStage;
+
+	protected final int queueCapacity;
+
+	protected final Semaphore handoff;
+
+	/**
+	 * The {@link Stage} of the pipeline with its {@link ExecutorService} and
+	 * statistics.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	public static class Stage {
+
+		protected final ExecutorService executor;
+
+		protected final int threads;
+
+		protected final AtomicInteger queued = new AtomicInteger();
+
+		protected final AtomicInteger active = new AtomicInteger();
+
+		protected final AtomicLong busy = new AtomicLong();
+
+		protected final long start = System.nanoTime();
+
+		/**
+		 * Constructs a {@link Stage} with the given number of threads.
+		 * 
+		 * @param threads
+		 *            the number of threads
+		 */
+		public Stage(int threads) {
+			this.threads = threads;
+			this.executor = Executors.newFixedThreadPool(threads);
+		}
+
+		/**
+		 * Executes the task in this stage.
+		 * 
+		 * @param task
+		 *            the task
+		 */
+		protected void execute(final Runnable task) {
+			queued.incrementAndGet();
+			try {
+				executor.execute(() -> {
+					queued.decrementAndGet();
+					active.incrementAndGet();
+					long time = System.nanoTime();
+					try {
+						task.run();
+					} finally {
+						busy.addAndGet(System.nanoTime() - time);
+						active.decrementAndGet();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				queued.decrementAndGet();
+				throw e;
+			}
+		}
+
+		/**
+		 * Returns the number of threads.
+		 * 
+		 * @return the number of threads
+		 */
+		public int getThreads() {
+			return threads;
+		}
+
+		/**
+		 * Returns the number of tasks that wait for a thread.
+		 * 
+		 * @return the queue depth
+		 */
+		public int getQueueDepth() {
+			return queued.get();
+		}
+
+		/**
+		 * Returns the number of currently running tasks.
+		 * 
+		 * @return the number of running tasks
+		 */
+		public int getActive() {
+			return active.get();
+		}
+
+		/**
+		 * Returns the fraction of the available thread time that was spent on
+		 * completed tasks since the construction of this stage.
+		 * 
+		 * @return the utilization between {@code 0} and {@code 1}
+		 */
+		public double getUtilization() {
+			long elapsed = System.nanoTime() - start;
+			if (elapsed <= 0) {
+				return 0;
+			}
+			return Math.min(1.0, (double) busy.get() / ((double) elapsed * threads));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("[threads=%d, queue=%d, active=%d, utilization=%.2f]", threads, getQueueDepth(),
+					getActive(), getUtilization());
+		}
+	}
+
+	/**
+	 * Constructs a {@link PipelinedIndividualCompleter}.
+	 * 
+	 * @param control
+	 *            the control
+	 * @param decoder
+	 *            the decoder
+	 * @param evaluator
+	 *            the evaluator
+	 * @param decodeThreads
+	 *            the number of decoding threads (using namespace
+	 *            {@link PipelinedIndividualCompleter})
+	 * @param evaluateThreads
+	 *            the number of evaluation threads (using namespace
+	 *            {@link PipelinedIndividualCompleter})
+	 * @param queueCapacity
+	 *            the capacity of the queue between the stages (using
+	 *            namespace {@link PipelinedIndividualCompleter})
+	 */
+	@Inject
+	public PipelinedIndividualCompleter(Control control, Decoder<Genotype, Object> decoder,
+			Evaluator<Object> evaluator,
+			@Constant(value = "decodeThreads", namespace = PipelinedIndividualCompleter.class) int decodeThreads,
+			@Constant(value = "evaluateThreads", namespace = PipelinedIndividualCompleter.class) int evaluateThreads,
+			@Constant(value = "queueCapacity", namespace = PipelinedIndividualCompleter.class) int queueCapacity) {
+		super(control, decoder, evaluator);
+
+		if (decodeThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of decoding threads: " + decodeThreads);
+		}
+		if (evaluateThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of evaluation threads: " + evaluateThreads);
+		}
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("Invalid queue capacity: " + queueCapacity);
+		}
+		this.decodeStage = new Stage(decodeThreads);
+		this.evaluateStage = new Stage(evaluateThreads);
+		this.queueCapacity = queueCapacity;
+		this.handoff = new Semaphore(queueCapacity);
+	}
+
+	/**
+	 * Returns the decoding {@link Stage}.
+	 * 
+	 * @return the decoding stage
+	 */
+	public Stage getDecodeStage() {
+		return decodeStage;
+	}
+
+	/**
+	 * Returns the evaluation {@link Stage}.
+	 * 
+	 * @return the evaluation stage
+	 */
+	public Stage getEvaluateStage() {
+		return evaluateStage;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.completer.SequentialIndividualCompleter#complete(
+	 * java.lang.Iterable)
+	 */
+	@Override
+	public void complete(Iterable<? extends Individual> iterable) throws TerminationException {
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (List<Individual> batch : getBatches(iterable)) {
+			futures.add(submit(batch));
+		}
+
+		for (CompletableFuture<Void> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				cancel(futures);
+				Thread.currentThread().interrupt();
+				throw new TerminationException();
+			} catch (ExecutionException e) {
+				cancel(futures);
+				if (e.getCause() instanceof TerminationException) {
+					throw (TerminationException) e.getCause();
+				}
+				throw new RuntimeException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Cancels the futures of the batches that are not completed yet.
+	 * 
+	 * @param futures
+	 *            the futures of the batches
+	 */
+	protected void cancel(List<CompletableFuture<Void>> futures) {
+		for (CompletableFuture<Void> future : futures) {
+			future.cancel(false);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.IndividualCompleter#completeAsync(org.opt4j.
+	 * core.Individual)
+	 */
+	@Override
+	public CompletableFuture<Individual> completeAsync(final Individual individual) {
+		if (individual.isEvaluated()) {
+			return CompletableFuture.completedFuture(individual);
+		}
+		return submit(Collections.singletonList(individual)).thenApply(v -> individual);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.IndividualCompleter#getParallelism()
+	 */
+	@Override
+	public int getParallelism() {
+		return decodeStage.getThreads() + queueCapacity + evaluateStage.getThreads();
+	}
+
+	/**
+	 * Submits a batch of not evaluated {@link Individual}s to the decoding
+	 * stage.
+	 * 
+	 * @param batch
+	 *            the individuals
+	 * @return the future that completes once the batch is evaluated
+	 */
+	protected CompletableFuture<Void> submit(final List<Individual> batch) {
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+		try {
+			decodeStage.execute(() -> {
+				try {
+					decodeBatch(batch, future);
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Decodes the batch and hands the {@link Individual}s that are not cached
+	 * over to the evaluation stage. The batch is abandoned as soon as its
+	 * future is cancelled.
+	 * 
+	 * @param batch
+	 *            the individuals
+	 * @param future
+	 *            the future of the batch
+	 * @throws TerminationException
+	 *             if the optimization is terminated
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting for the queue
+	 */
+	protected void decodeBatch(final List<Individual> batch, final CompletableFuture<Void> future)
+			throws TerminationException, InterruptedException {
+		final List<Individual> evaluate = new ArrayList<>(batch.size());
+		for (Individual individual : batch) {
+			if (future.isDone()) {
+				return;
+			}
+			control.checkpoint();
+			if (!lookup(individual)) {
+				decode(individual);
+				evaluate.add(individual);
+			}
+		}
+		if (evaluate.isEmpty()) {
+			future.complete(null);
+			return;
+		}
+
+		handoff.acquire();
+		if (future.isDone()) {
+			handoff.release();
+			return;
+		}
+		try {
+			evaluateStage.execute(() -> {
+				handoff.release();
+				if (future.isDone()) {
+					return;
+				}
+				try {
+					control.checkpoint();
+					evaluate(evaluate);
+					for (Individual individual : evaluate) {
+						evaluated(individual);
+					}
+					control.checkpoint();
+					future.complete(null);
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			handoff.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Shutdown the {@link ExecutorService}s of both stages.
+	 */
+	protected synchronized void shutdownExecutorServices() {
+		if (!decodeStage.executor.isShutdown()) {
+			decodeStage.executor.shutdown();
+		}
+		if (!evaluateStage.executor.isShutdown()) {
+			evaluateStage.executor.shutdown();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStarted(Optimizer optimizer) {
+		if (decodeStage.executor.isShutdown()) {
+			decodeStage = new Stage(decodeStage.getThreads());
+		}
+		if (evaluateStage.executor.isShutdown()) {
+			evaluateStage = new Stage(evaluateStage.getThreads());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStopped(Optimizer optimizer) {
+		shutdownExecutorServices();
+	}
+}
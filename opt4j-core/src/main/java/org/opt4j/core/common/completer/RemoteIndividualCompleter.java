@@ -0,0 +1,741 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import static org.opt4j.core.common.completer.RemoteProtocol.EVALUATE;
+import static org.opt4j.core.common.completer.RemoteProtocol.FAILURE;
+import static org.opt4j.core.common.completer.RemoteProtocol.MAGIC;
+import static org.opt4j.core.common.completer.RemoteProtocol.RESULT;
+import static org.opt4j.core.common.completer.RemoteProtocol.SHUTDOWN;
+import static org.opt4j.core.common.completer.RemoteProtocol.VERSION;
+import static org.opt4j.core.common.completer.RemoteProtocol.readMessage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.GenotypeCodec;
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.ObjectivesCodec;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.PhenotypeRetention;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link RemoteIndividualCompleter} evaluates {@link Individual}s in a
+ * pool of {@link RemoteWorker} processes. This allows to use multiple cores
+ * with evaluators that are not thread-safe, e.g., evaluators using native
+ * libraries.
+ * <p>
+ * The {@link Genotype}s are encoded by the {@link GenotypeCodec} and sent to
+ * the workers over a loopback TCP connection (see {@link RemoteProtocol}).
+ * Each worker has at most {@code window} unanswered jobs, further jobs wait
+ * in a queue until a worker has capacity. Besides {@link #complete(Iterable)},
+ * single {@link Individual}s are submitted by {@link #completeAsync(Individual)}
+ * such that all {@code workers*window} slots are used. The phenotypes are not
+ * decoded locally but on demand, i.e., the evaluated {@link Individual}s
+ * start with an evicted phenotype.
+ * <p>
+ * The workers are started on demand with the class path of this process and
+ * the problem modules of the given configuration file. A monitor thread
+ * restarts crashed workers and their unanswered jobs are sent to other
+ * workers. A job that crashes {@link #MAX_ATTEMPTS} workers fails the
+ * completion.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class RemoteIndividualCompleter extends SequentialIndividualCompleter implements OptimizerStateListener {
+
+	/**
+	 * The maximal number of workers a single job may crash.
+	 */
+	protected static final int MAX_ATTEMPTS = 3;
+
+	protected final GenotypeCodec codec;
+
+	protected final int workers;
+
+	protected final int window;
+
+	protected final String configuration;
+
+	protected final int port;
+
+	protected final BlockingDeque<Job> pending = new LinkedBlockingDeque<>();
+
+	protected final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+	protected final AtomicInteger ids = new AtomicInteger();
+
+	protected final AtomicLong restarts = new AtomicLong();
+
+	protected volatile boolean running = false;
+
+	protected ServerSocket server;
+
+	protected Thread monitor;
+
+	protected Process[] processes;
+
+	protected int[] failures;
+
+	/**
+	 * Restores the phenotypes of the evaluated {@link Individual}s if no
+	 * {@link PhenotypeRetention} is set.
+	 */
+	protected final PhenotypeRetention decoding = new PhenotypeRetention() {
+		@Override
+		public void retain(Individual individual) {
+		}
+
+		@Override
+		public Object restore(Individual individual) {
+			return decoder.decode(individual.getGenotype());
+		}
+	};
+
+	/**
+	 * The {@link Job} is the evaluation of a single {@link Individual}.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected static class Job {
+		protected final int id;
+		protected final Individual individual;
+		protected final byte[] genotype;
+		protected final CompletableFuture<Objectives> result = new CompletableFuture<>();
+		protected final AtomicInteger attempts = new AtomicInteger();
+
+		Job(int id, Individual individual, byte[] genotype) {
+			this.id = id;
+			this.individual = individual;
+			this.genotype = genotype;
+		}
+	}
+
+	/**
+	 * The {@link Connection} to a single {@link RemoteWorker}. A writer
+	 * thread sends pending jobs as long as the window permits and a reader
+	 * thread receives the results.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	protected class Connection {
+		protected final Socket socket;
+		protected final int worker;
+		protected final DataInputStream in;
+		protected final DataOutputStream out;
+		protected final Semaphore permits = new Semaphore(window);
+		protected final Map<Integer, Job> outstanding = new ConcurrentHashMap<>();
+		protected final Thread writer;
+		protected final Thread reader;
+		protected boolean closed = false;
+
+		Connection(Socket socket, DataInputStream in, int worker) throws IOException {
+			this.socket = socket;
+			this.worker = worker;
+			this.in = in;
+			this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			this.writer = new Thread(this::write, "RemoteIndividualCompleter-writer-" + worker);
+			this.reader = new Thread(this::read, "RemoteIndividualCompleter-reader-" + worker);
+			writer.setDaemon(true);
+			reader.setDaemon(true);
+		}
+
+		void start() {
+			writer.start();
+			reader.start();
+		}
+
+		void write() {
+			try {
+				while (!isClosed()) {
+					permits.acquire();
+					Job job = pending.take();
+					if (job.result.isDone()) {
+						permits.release();
+						continue;
+					}
+					outstanding.put(job.id, job);
+					synchronized (out) {
+						out.writeByte(EVALUATE);
+						out.writeInt(job.id);
+						out.write(job.genotype);
+						out.flush();
+					}
+				}
+			} catch (InterruptedException | IOException e) {
+				close();
+			}
+		}
+
+		void read() {
+			try {
+				while (true) {
+					byte type = in.readByte();
+					int id = in.readInt();
+					Job job = outstanding.remove(id);
+					if (type == RESULT) {
+						Objectives objectives = ObjectivesCodec.readObjectives(in);
+						if (job != null) {
+							job.result.complete(objectives);
+						}
+					} else if (type == FAILURE) {
+						String message = readMessage(in);
+						if (job != null) {
+							job.result.completeExceptionally(
+									new RuntimeException("Evaluation failed in worker " + worker + ": " + message));
+						}
+					} else {
+						throw new IOException("Unknown message: " + type);
+					}
+					permits.release();
+				}
+			} catch (IOException e) {
+				close();
+			}
+		}
+
+		synchronized boolean isClosed() {
+			return closed;
+		}
+
+		void shutdown() {
+			try {
+				synchronized (out) {
+					out.writeByte(SHUTDOWN);
+					out.flush();
+				}
+			} catch (IOException e) {
+				// closed anyway
+			}
+			close();
+		}
+
+		void close() {
+			synchronized (this) {
+				if (!closed) {
+					closed = true;
+					connections.remove(this);
+					writer.interrupt();
+					try {
+						socket.close();
+					} catch (IOException e) {
+						// ignore
+					}
+					lost(worker);
+				}
+			}
+			for (Integer id : new ArrayList<>(outstanding.keySet())) {
+				Job job = outstanding.remove(id);
+				if (job != null) {
+					requeue(job);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Constructs a {@link RemoteIndividualCompleter}.
+	 * 
+	 * @param control
+	 *            the control
+	 * @param decoder
+	 *            the decoder
+	 * @param evaluator
+	 *            the evaluator
+	 * @param codec
+	 *            the genotype codec
+	 * @param workers
+	 *            the number of worker processes, {@code 0} to only use
+	 *            externally started workers (using namespace
+	 *            {@link RemoteIndividualCompleter})
+	 * @param window
+	 *            the maximal number of unanswered jobs per worker (using
+	 *            namespace {@link RemoteIndividualCompleter})
+	 * @param configuration
+	 *            the configuration file with the problem modules for the
+	 *            workers (using namespace {@link RemoteIndividualCompleter})
+	 * @param port
+	 *            the port to listen for workers, {@code 0} for any free port
+	 *            (using namespace {@link RemoteIndividualCompleter})
+	 */
+	@Inject
+	public RemoteIndividualCompleter(Control control, Decoder<Genotype, Object> decoder,
+			Evaluator<Object> evaluator, GenotypeCodec codec,
+			@Constant(value = "workers", namespace = RemoteIndividualCompleter.class) int workers,
+			@Constant(value = "window", namespace = RemoteIndividualCompleter.class) int window,
+			@Constant(value = "configuration", namespace = RemoteIndividualCompleter.class) String configuration,
+			@Constant(value = "port", namespace = RemoteIndividualCompleter.class) int port) {
+		super(control, decoder, evaluator);
+		if (workers < 0) {
+			throw new IllegalArgumentException("Invalid number of workers: " + workers);
+		}
+		if (window < 1) {
+			throw new IllegalArgumentException("Invalid window: " + window);
+		}
+		if (workers > 0 && (configuration == null || configuration.isEmpty())) {
+			throw new IllegalArgumentException("The workers require a configuration file");
+		}
+		this.codec = codec;
+		this.workers = workers;
+		this.window = window;
+		this.configuration = configuration;
+		this.port = port;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.completer.SequentialIndividualCompleter#complete(
+	 * java.lang.Iterable)
+	 */
+	@Override
+	public void complete(Iterable<? extends Individual> iterable) throws TerminationException {
+		List<Job> jobs = new ArrayList<>();
+		for (Individual individual : iterable) {
+			if (!individual.isEvaluated()) {
+				control.checkpoint();
+				if (!lookup(individual)) {
+					jobs.add(new Job(ids.incrementAndGet(), individual, encode(individual.getGenotype())));
+				}
+			}
+		}
+		if (jobs.isEmpty()) {
+			return;
+		}
+
+		start();
+		pending.addAll(jobs);
+
+		try {
+			for (Job job : jobs) {
+				Objectives objectives = null;
+				while (objectives == null) {
+					control.checkpoint();
+					try {
+						objectives = job.result.get(100, TimeUnit.MILLISECONDS);
+					} catch (TimeoutException e) {
+						// the workers are checked by the monitor
+					}
+				}
+				completed(job.individual, objectives);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TerminationException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		} finally {
+			pending.removeAll(jobs);
+			for (Job job : jobs) {
+				job.result.cancel(false);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.IndividualCompleter#completeAsync(org.opt4j.
+	 * core.Individual)
+	 */
+	@Override
+	public CompletableFuture<Individual> completeAsync(final Individual individual) {
+		final CompletableFuture<Individual> future = new CompletableFuture<>();
+		final Job job;
+		try {
+			if (individual.isEvaluated()) {
+				future.complete(individual);
+				return future;
+			}
+			control.checkpoint();
+			if (lookup(individual)) {
+				future.complete(individual);
+				return future;
+			}
+			job = new Job(ids.incrementAndGet(), individual, encode(individual.getGenotype()));
+			start();
+		} catch (TerminationException | RuntimeException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+
+		job.result.whenComplete((objectives, e) -> {
+			if (e != null) {
+				future.completeExceptionally(e);
+			} else {
+				try {
+					completed(individual, objectives);
+					future.complete(individual);
+				} catch (RuntimeException e1) {
+					future.completeExceptionally(e1);
+				}
+			}
+		});
+		future.whenComplete((result, e) -> {
+			if (future.isCancelled()) {
+				pending.remove(job);
+				job.result.cancel(false);
+			}
+		});
+		pending.add(job);
+		return future;
+	}
+
+	/**
+	 * Sets the {@link Objectives} received from a worker. The phenotype is
+	 * decoded on demand.
+	 * 
+	 * @param individual
+	 *            the evaluated individual
+	 * @param objectives
+	 *            the objectives
+	 */
+	protected void completed(Individual individual, Objectives objectives) {
+		individual.setObjectives(objectives);
+		individual.evictPhenotype(retention != null ? retention : decoding);
+		instrumentation.count(Counter.EVALUATIONS, 1);
+		evaluated(individual);
+	}
+
+	/**
+	 * Encodes the {@link Genotype} with the {@link GenotypeCodec}.
+	 * 
+	 * @param genotype
+	 *            the genotype
+	 * @return the encoded genotype
+	 */
+	protected byte[] encode(Genotype genotype) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			codec.write(genotype, out);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Sends a {@link Job} of a lost connection again. The job fails if it was
+	 * lost {@link #MAX_ATTEMPTS} times.
+	 * 
+	 * @param job
+	 *            the job
+	 */
+	protected void requeue(Job job) {
+		if (!running || job.result.isDone()) {
+			return;
+		}
+		int attempts = job.attempts.incrementAndGet();
+		if (attempts >= MAX_ATTEMPTS) {
+			job.result.completeExceptionally(
+					new IllegalStateException("Evaluation of " + job.individual + " crashed " + attempts + " workers"));
+		} else {
+			pending.addFirst(job);
+		}
+	}
+
+	/**
+	 * Starts the server and the worker processes if not running.
+	 */
+	protected synchronized void start() {
+		if (running) {
+			return;
+		}
+		try {
+			server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot listen for workers on port " + port, e);
+		}
+		running = true;
+
+		Thread acceptor = new Thread(this::accept, "RemoteIndividualCompleter-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+
+		monitor = new Thread(this::monitor, "RemoteIndividualCompleter-monitor");
+		monitor.setDaemon(true);
+		monitor.start();
+
+		processes = new Process[workers];
+		failures = new int[workers];
+		for (int i = 0; i < workers; i++) {
+			spawn(i);
+		}
+	}
+
+	/**
+	 * Accepts the connections of the workers.
+	 */
+	protected void accept() {
+		ServerSocket server = this.server;
+		while (running) {
+			try {
+				Socket socket = server.accept();
+				try {
+					socket.setTcpNoDelay(true);
+					socket.setSoTimeout(10000);
+					DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+					if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+						throw new IOException("Incompatible worker");
+					}
+					int worker = in.readInt();
+					socket.setSoTimeout(0);
+
+					Connection connection = new Connection(socket, in, worker);
+					synchronized (this) {
+						if (!running) {
+							socket.close();
+							return;
+						}
+						if (worker >= 0 && worker < workers) {
+							failures[worker] = 0;
+						}
+						connections.add(connection);
+					}
+					connection.start();
+				} catch (IOException e) {
+					socket.close();
+				}
+			} catch (IOException e) {
+				// server closed
+			}
+		}
+	}
+
+	/**
+	 * Starts the worker process with the given id.
+	 * 
+	 * @param worker
+	 *            the worker id
+	 */
+	protected synchronized void spawn(int worker) {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				RemoteWorker.class.getName(), server.getInetAddress().getHostAddress(),
+				Integer.toString(server.getLocalPort()), configuration, Integer.toString(worker));
+		builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+		builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+		try {
+			processes[worker] = builder.start();
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot start worker " + worker, e);
+		}
+	}
+
+	/**
+	 * Kills the process of a worker whose connection was lost such that it is
+	 * restarted.
+	 * 
+	 * @param worker
+	 *            the worker id
+	 */
+	protected synchronized void lost(int worker) {
+		if (running && worker >= 0 && worker < workers) {
+			processes[worker].destroyForcibly();
+		}
+	}
+
+	/**
+	 * Restarts the terminated worker processes. If a worker terminates
+	 * {@link #MAX_ATTEMPTS} times in a row without connecting, the workers are
+	 * considered broken.
+	 * 
+	 * @throws IllegalStateException
+	 *             if a worker cannot be started
+	 */
+	protected synchronized void checkWorkers() {
+		if (!running) {
+			return;
+		}
+		for (int i = 0; i < workers; i++) {
+			if (!processes[i].isAlive()) {
+				if (++failures[i] > MAX_ATTEMPTS) {
+					throw new IllegalStateException("Worker " + i + " terminated " + MAX_ATTEMPTS
+							+ " times without connecting (exit code " + processes[i].exitValue() + ")");
+				}
+				restarts.incrementAndGet();
+				spawn(i);
+			}
+		}
+	}
+
+	/**
+	 * Checks the worker processes periodically until the completer is
+	 * stopped. If the workers are broken, all waiting jobs fail.
+	 */
+	protected void monitor() {
+		while (running) {
+			try {
+				Thread.sleep(100);
+				checkWorkers();
+			} catch (InterruptedException e) {
+				return;
+			} catch (IllegalStateException e) {
+				fail(e);
+			}
+		}
+	}
+
+	/**
+	 * Fails all pending and outstanding {@link Job}s.
+	 * 
+	 * @param cause
+	 *            the cause of the failure
+	 */
+	protected void fail(Throwable cause) {
+		for (Job job = pending.poll(); job != null; job = pending.poll()) {
+			job.result.completeExceptionally(cause);
+		}
+		for (Connection connection : connections) {
+			for (Job job : connection.outstanding.values()) {
+				job.result.completeExceptionally(cause);
+			}
+		}
+	}
+
+	/**
+	 * Stops the server and the worker processes.
+	 */
+	protected void stop() {
+		Process[] processes;
+		synchronized (this) {
+			if (!running) {
+				return;
+			}
+			running = false;
+			monitor.interrupt();
+			try {
+				server.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			processes = this.processes;
+		}
+		fail(new TerminationException());
+		for (Connection connection : connections) {
+			connection.shutdown();
+		}
+		for (Process process : processes) {
+			try {
+				if (!process.waitFor(1, TimeUnit.SECONDS)) {
+					process.destroyForcibly();
+				}
+			} catch (InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of restarted worker processes.
+	 * 
+	 * @return the number of restarts
+	 */
+	public long getRestarts() {
+		return restarts.get();
+	}
+
+	/**
+	 * Returns the number of connected workers.
+	 * 
+	 * @return the number of connected workers
+	 */
+	public int getConnectedWorkers() {
+		return connections.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.IndividualCompleter#getParallelism()
+	 */
+	@Override
+	public int getParallelism() {
+		return Math.max(1, workers) * window;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStarted(Optimizer optimizer) {
+		// the workers are started on demand
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStopped(Optimizer optimizer) {
+		stop();
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.opt4j.core.GenotypeCodec;
+import org.opt4j.core.ObjectivesCodec;
+
+/**
+ * The {@link RemoteProtocol} defines the binary messages between the
+ * {@link RemoteIndividualCompleter} and its {@link RemoteWorker}s.
+ * <p>
+ * A worker connects and sends {@link #MAGIC}, {@link #VERSION}, and its
+ * worker id. Afterwards, the completer sends {@link #EVALUATE} messages (job
+ * id and genotype encoded by the {@link GenotypeCodec}) or {@link #SHUTDOWN}.
+ * The worker answers each job in order with {@link #RESULT} (job id and
+ * objectives encoded by the {@link ObjectivesCodec}) or {@link #FAILURE} (job
+ * id and message). A message is written as length-prefixed UTF-8 bytes and
+ * truncated to {@link #MAX_MESSAGE} characters.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+final class RemoteProtocol {
+
+	static final int MAGIC = 0x4F344A57;
+	static final int VERSION = 2;
+
+	static final byte EVALUATE = 1;
+	static final byte SHUTDOWN = 2;
+	static final byte RESULT = 3;
+	static final byte FAILURE = 4;
+
+	static final int MAX_MESSAGE = 4096;
+
+	private RemoteProtocol() {
+	}
+
+	/**
+	 * Writes a message as length-prefixed UTF-8 bytes. Messages with more than
+	 * {@link #MAX_MESSAGE} characters are truncated.
+	 * 
+	 * @param message
+	 *            the message
+	 * @param out
+	 *            the output
+	 * @throws IOException
+	 *             if the output fails
+	 */
+	static void writeMessage(String message, DataOutput out) throws IOException {
+		if (message.length() > MAX_MESSAGE) {
+			message = message.substring(0, MAX_MESSAGE);
+		}
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a message that is written by {@link #writeMessage}.
+	 * 
+	 * @param in
+	 *            the input
+	 * @return the message
+	 * @throws IOException
+	 *             if the input fails or is malformed
+	 */
+	static String readMessage(DataInput in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > 4 * MAX_MESSAGE) {
+			throw new IOException("Invalid message length: " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
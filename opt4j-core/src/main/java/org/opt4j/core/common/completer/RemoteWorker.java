@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import static org.opt4j.core.common.completer.RemoteProtocol.EVALUATE;
+import static org.opt4j.core.common.completer.RemoteProtocol.FAILURE;
+import static org.opt4j.core.common.completer.RemoteProtocol.MAGIC;
+import static org.opt4j.core.common.completer.RemoteProtocol.RESULT;
+import static org.opt4j.core.common.completer.RemoteProtocol.SHUTDOWN;
+import static org.opt4j.core.common.completer.RemoteProtocol.VERSION;
+import static org.opt4j.core.common.completer.RemoteProtocol.writeMessage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.GenotypeCodec;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.ObjectivesCodec;
+import org.opt4j.core.config.ModuleLoader;
+import org.opt4j.core.config.ModuleRegister;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+/**
+ * The {@link RemoteWorker} decodes and evaluates the {@link Genotype}s sent by
+ * a {@link RemoteIndividualCompleter}. Each worker runs in its own process and
+ * evaluates one {@link Genotype} at a time such that evaluators that are not
+ * thread-safe can be used.
+ * <p>
+ * The worker is started with
+ * {@code java org.opt4j.core.common.completer.RemoteWorker <host> <port> <configuration> [<id>]}
+ * where the configuration is an Opt4J configuration file. Only the
+ * {@link ProblemModule}s of this configuration are used. The worker exits
+ * once the connection is closed.
+ * 
+ * @see RemoteProtocol
+ * @author lukasiewycz
+ * 
+ */
+public class RemoteWorker {
+
+	protected final Decoder<Genotype, Object> decoder;
+
+	protected final Evaluator<Object> evaluator;
+
+	protected final GenotypeCodec codec;
+
+	/**
+	 * Constructs a {@link RemoteWorker}.
+	 * 
+	 * @param decoder
+	 *            the decoder
+	 * @param evaluator
+	 *            the evaluator
+	 * @param codec
+	 *            the genotype codec
+	 */
+	@Inject
+	public RemoteWorker(Decoder<Genotype, Object> decoder, Evaluator<Object> evaluator, GenotypeCodec codec) {
+		this.decoder = decoder;
+		this.evaluator = evaluator;
+		this.codec = codec;
+	}
+
+	/**
+	 * Serves the jobs of a connected {@link RemoteIndividualCompleter} until
+	 * the connection is closed or shut down.
+	 * 
+	 * @param socket
+	 *            the connection to the completer
+	 * @param id
+	 *            the worker id assigned by the completer ({@code -1} for an
+	 *            external worker)
+	 * @throws IOException
+	 *             if the connection fails
+	 */
+	public void run(Socket socket, int id) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(id);
+		out.flush();
+
+		while (true) {
+			byte type;
+			try {
+				type = in.readByte();
+			} catch (EOFException e) {
+				return;
+			}
+			if (type == SHUTDOWN) {
+				return;
+			} else if (type != EVALUATE) {
+				throw new IOException("Unknown message: " + type);
+			}
+
+			int job = in.readInt();
+			Genotype genotype = codec.read(in);
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			try {
+				Objectives objectives = evaluator.evaluate(decoder.decode(genotype));
+				ObjectivesCodec.writeObjectives(objectives, new DataOutputStream(result));
+				out.writeByte(RESULT);
+				out.writeInt(job);
+				result.writeTo(out);
+			} catch (RuntimeException e) {
+				out.writeByte(FAILURE);
+				out.writeInt(job);
+				writeMessage(String.valueOf(e), out);
+			}
+			out.flush();
+		}
+	}
+
+	/**
+	 * Starts a {@link RemoteWorker} process.
+	 * 
+	 * @param args
+	 *            the host and port of the completer, the configuration file,
+	 *            and optionally the worker id
+	 * @throws IOException
+	 *             if the connection fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			throw new IllegalArgumentException("Usage: RemoteWorker <host> <port> <configuration> [<id>]");
+		}
+		String host = args[0];
+		int port = Integer.parseInt(args[1]);
+		int id = args.length > 3 ? Integer.parseInt(args[3]) : -1;
+
+		Collection<? extends Module> modules = new ModuleLoader(new ModuleRegister(null)).load(args[2]);
+		List<Module> problem = new ArrayList<>();
+		for (Module module : modules) {
+			if (module instanceof ProblemModule) {
+				problem.add(module);
+			}
+		}
+		if (problem.isEmpty()) {
+			throw new IllegalArgumentException("No problem module found in " + args[2]);
+		}
+
+		Injector injector = Guice.createInjector(problem);
+		RemoteWorker worker = injector.getInstance(RemoteWorker.class);
+
+		try (Socket socket = new Socket(host, port)) {
+			socket.setTcpNoDelay(true);
+			worker.run(socket, id);
+		}
+		System.exit(0);
+	}
+}
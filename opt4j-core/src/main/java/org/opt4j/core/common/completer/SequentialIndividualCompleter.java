@@ -22,22 +22,27 @@
 
 package org.opt4j.core.common.completer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.opt4j.core.Genotype;
 import org.opt4j.core.Individual;
 import org.opt4j.core.Individual.State;
-import org.opt4j.core.Objective;
+import org.opt4j.core.ObjectiveSchema;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.common.instrumentation.DisabledInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
 import org.opt4j.core.optimizer.Control;
 import org.opt4j.core.optimizer.IndividualCompleter;
 import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.BatchEvaluator;
 import org.opt4j.core.problem.Decoder;
 import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.PhenotypeRetention;
+import org.opt4j.core.start.Constant;
 
 import com.google.inject.Inject;
 
@@ -52,6 +57,18 @@ import com.google.inject.Inject;
  * (possibly time consuming) completion steps to allow the user to control the
  * completion process.
  * </p>
+ * <p>
+ * The {@link Individual}s are completed in batches of the given batch size.
+ * The phenotypes of a batch are passed at once to each {@link BatchEvaluator}.
+ * </p>
+ * <p>
+ * If an {@link EvaluationCache} is bound, {@link Individual}s with a cached
+ * {@link Genotype} are neither decoded nor evaluated.
+ * </p>
+ * <p>
+ * If a {@link PhenotypeRetention} is bound, each evaluated {@link Individual}
+ * is passed to it such that its phenotype can be evicted.
+ * </p>
  * 
  * @author lukasiewycz
  * 
@@ -61,6 +78,10 @@ public class SequentialIndividualCompleter implements IndividualCompleter {
 	protected final Decoder<Genotype, Object> decoder;
 	protected final Evaluator<Object> evaluator;
 	protected final Control control;
+	protected int batchSize = 1;
+	protected EvaluationCache cache = null;
+	protected PhenotypeRetention retention = null;
+	protected Instrumentation instrumentation = DisabledInstrumentation.INSTANCE;
 
 	/**
 	 * Constructs a {@link SequentialIndividualCompleter}.
@@ -81,6 +102,107 @@ public class SequentialIndividualCompleter implements IndividualCompleter {
 		this.evaluator = evaluator;
 	}
 
+	/**
+	 * Sets the number of {@link Individual}s that are evaluated together.
+	 * 
+	 * @param batchSize
+	 *            the batch size (using namespace
+	 *            {@link SequentialIndividualCompleter})
+	 */
+	@Inject(optional = true)
+	public void setBatchSize(
+			@Constant(value = "batchSize", namespace = SequentialIndividualCompleter.class) int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the {@link EvaluationCache}.
+	 * 
+	 * @param cache
+	 *            the evaluation cache
+	 */
+	@Inject(optional = true)
+	public void setCache(EvaluationCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Returns the {@link EvaluationCache}.
+	 * 
+	 * @return the evaluation cache or {@code null} if no cache is used
+	 */
+	public EvaluationCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Sets the {@link PhenotypeRetention}.
+	 * 
+	 * @param retention
+	 *            the phenotype retention
+	 */
+	@Inject(optional = true)
+	public void setRetention(PhenotypeRetention retention) {
+		this.retention = retention;
+	}
+
+	/**
+	 * Returns the {@link PhenotypeRetention}.
+	 * 
+	 * @return the phenotype retention or {@code null} if all phenotypes are
+	 *         kept
+	 */
+	public PhenotypeRetention getRetention() {
+		return retention;
+	}
+
+	/**
+	 * Sets the {@link Instrumentation} that measures the decoding and
+	 * evaluation.
+	 * 
+	 * @param instrumentation
+	 *            the instrumentation
+	 */
+	@Inject(optional = true)
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Completes the {@link Individual} from the {@link EvaluationCache} if
+	 * possible.
+	 * 
+	 * @param individual
+	 *            the individual in {@link State#GENOTYPED}
+	 * @return {@code true} if the individual was completed from the cache
+	 */
+	protected boolean lookup(Individual individual) {
+		if (cache != null && cache.lookup(individual)) {
+			instrumentation.count(Counter.CACHE_HITS, 1);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Passes a freshly evaluated {@link Individual} to the
+	 * {@link PhenotypeRetention} and the {@link EvaluationCache}.
+	 * 
+	 * @param individual
+	 *            the evaluated individual
+	 */
+	protected void evaluated(Individual individual) {
+		if (retention != null) {
+			retention.retain(individual);
+		}
+		if (cache != null) {
+			cache.put(individual);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -88,15 +210,62 @@ public class SequentialIndividualCompleter implements IndividualCompleter {
 	 */
 	@Override
 	public void complete(Iterable<? extends Individual> iterable) throws TerminationException {
+		for (List<Individual> batch : getBatches(iterable)) {
+			completeBatch(batch);
+		}
+	}
+
+	/**
+	 * Groups the not evaluated {@link Individual}s into batches of the batch
+	 * size.
+	 * 
+	 * @param iterable
+	 *            the individuals
+	 * @return the batches
+	 */
+	protected List<List<Individual>> getBatches(Iterable<? extends Individual> iterable) {
+		List<List<Individual>> batches = new ArrayList<>();
+		List<Individual> batch = new ArrayList<>(batchSize);
 		for (Individual individual : iterable) {
 			if (!individual.isEvaluated()) {
-				control.checkpoint();
+				batch.add(individual);
+				if (batch.size() == batchSize) {
+					batches.add(batch);
+					batch = new ArrayList<>(batchSize);
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	/**
+	 * Decodes and evaluates a batch of {@link Individual}s.
+	 * 
+	 * @param batch
+	 *            the individuals
+	 * @throws TerminationException
+	 *             if the optimization is terminated
+	 */
+	protected void completeBatch(List<Individual> batch) throws TerminationException {
+		List<Individual> evaluate = new ArrayList<>(batch.size());
+		for (Individual individual : batch) {
+			control.checkpoint();
+			if (!lookup(individual)) {
 				decode(individual);
-				control.checkpoint();
-				evaluate(individual);
-				control.checkpoint();
+				evaluate.add(individual);
 			}
 		}
+		if (!evaluate.isEmpty()) {
+			control.checkpoint();
+			evaluate(evaluate);
+			for (Individual individual : evaluate) {
+				evaluated(individual);
+			}
+		}
+		control.checkpoint();
 	}
 
 	/*
@@ -124,16 +293,64 @@ public class SequentialIndividualCompleter implements IndividualCompleter {
 		if (state == State.PHENOTYPED) {
 			individual.setState(State.EVALUATING);
 			Object phenotype = individual.getPhenotype();
-
-			Objectives objectives = evaluator.evaluate(phenotype);
-			assert isSameLength(objectives.getKeys()) : "Objectives changed: " + objectives.getKeys();
-
+			Objectives objectives = evaluatePhenotype(phenotype);
 			individual.setObjectives(objectives);
 		} else {
 			throw new IllegalStateException("Cannot evaluate Individual, current state: " + state);
 		}
 	}
 
+	/**
+	 * Evaluates a phenotype and records the evaluation time. The state of the
+	 * corresponding {@link Individual} is maintained by the caller.
+	 * 
+	 * @param phenotype
+	 *            the phenotype
+	 * @return the objectives
+	 */
+	protected Objectives evaluatePhenotype(Object phenotype) {
+		long start = instrumentation.start();
+		Objectives objectives = evaluator.evaluate(phenotype);
+		instrumentation.stop(Stage.EVALUATION, start);
+		instrumentation.count(Counter.EVALUATIONS, 1);
+		assert isSameSchema(objectives.getSchema()) : "Objectives changed: " + objectives.getKeys();
+		return objectives;
+	}
+
+	/**
+	 * Evaluates the phenotypes of a batch of {@link Individual}s. A single
+	 * individual is evaluated with {@link #evaluate(Individual)}.
+	 * 
+	 * @param batch
+	 *            the individuals
+	 */
+	protected void evaluate(List<Individual> batch) {
+		if (batch.size() == 1) {
+			evaluate(batch.get(0));
+			return;
+		}
+
+		List<Object> phenotypes = new ArrayList<>(batch.size());
+		for (Individual individual : batch) {
+			State state = individual.getState();
+			if (state != State.PHENOTYPED) {
+				throw new IllegalStateException("Cannot evaluate Individual, current state: " + state);
+			}
+			individual.setState(State.EVALUATING);
+			phenotypes.add(individual.getPhenotype());
+		}
+
+		long start = instrumentation.start();
+		List<Objectives> results = BatchEvaluator.evaluateAll(evaluator, phenotypes);
+		instrumentation.stop(Stage.EVALUATION, start);
+		instrumentation.count(Counter.EVALUATIONS, batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			Objectives objectives = results.get(i);
+			assert isSameSchema(objectives.getSchema()) : "Objectives changed: " + objectives.getKeys();
+			batch.get(i).setObjectives(objectives);
+		}
+	}
+
 	/**
 	 * Decodes the {@link Genotype} of the {@link Individual}. After this
 	 * operation, the {@link Individual} is in {@link State}
@@ -148,29 +365,43 @@ public class SequentialIndividualCompleter implements IndividualCompleter {
 		if (state == State.GENOTYPED) {
 			individual.setState(State.DECODING);
 			Genotype genotype = individual.getGenotype();
-			Object phenotype = decoder.decode(genotype);
+			Object phenotype = decodeGenotype(genotype);
 			individual.setPhenotype(phenotype);
 		} else {
 			throw new IllegalStateException("Cannot decode Individual, current state: " + state);
 		}
 	}
 
-	private Set<Objective> objectives = null;
+	/**
+	 * Decodes a {@link Genotype} and records the decoding time. The state of
+	 * the corresponding {@link Individual} is maintained by the caller.
+	 * 
+	 * @param genotype
+	 *            the genotype
+	 * @return the phenotype
+	 */
+	protected Object decodeGenotype(Genotype genotype) {
+		long start = instrumentation.start();
+		Object phenotype = decoder.decode(genotype);
+		instrumentation.stop(Stage.DECODING, start);
+		return phenotype;
+	}
+
+	private ObjectiveSchema schema = null;
 
 	/**
-	 * Check if the given {@link Objectives} have the same length as prior
-	 * evaluated ones.
+	 * Check if the given {@link ObjectiveSchema} equals the schema of prior
+	 * evaluated {@link Objectives}.
 	 * 
-	 * @param objectives
-	 *            the objectives to check
-	 * @return true if the number of objectives is constant
+	 * @param schema
+	 *            the schema to check
+	 * @return true if the objectives are constant
 	 */
-	private boolean isSameLength(Collection<Objective> objectives) {
-		Set<Objective> set = new HashSet<>(objectives);
-		if (this.objectives == null) {
-			this.objectives = set;
+	private boolean isSameSchema(ObjectiveSchema schema) {
+		if (this.schema == null) {
+			this.schema = schema;
 			return true;
 		}
-		return this.objectives.equals(set);
+		return this.schema == schema;
 	}
 }
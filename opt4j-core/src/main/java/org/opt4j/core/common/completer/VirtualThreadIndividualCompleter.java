@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.completer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link VirtualThreadIndividualCompleter} completes each batch of
+ * {@link Individual}s in its own thread. On Java 21 and newer, virtual threads
+ * are used such that evaluators that block on process or file I/O can keep
+ * hundreds of evaluations in flight without the overhead of platform threads.
+ * On older runtimes, a fixed pool of platform threads (as many as the number
+ * of threads) is used such that the number of threads remains bounded.
+ * <p>
+ * The number of threads defines the number of {@link Individual}s that an
+ * asynchronous optimizer keeps in flight, see {@link #getParallelism()}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class VirtualThreadIndividualCompleter extends ParallelIndividualCompleter {
+
+	/**
+	 * Constructs a {@link VirtualThreadIndividualCompleter}.
+	 * 
+	 * @param control
+	 *            the control
+	 * @param decoder
+	 *            the decoder
+	 * @param evaluator
+	 *            the evaluator
+	 * @param maxThreads
+	 *            the number of asynchronous completions in flight (using
+	 *            namespace {@link ParallelIndividualCompleter})
+	 */
+	@Inject
+	public VirtualThreadIndividualCompleter(Control control, Decoder<Genotype, Object> decoder,
+			Evaluator<Object> evaluator,
+			@Constant(value = "maxThreads", namespace = ParallelIndividualCompleter.class) int maxThreads) {
+		super(control, decoder, evaluator, maxThreads);
+	}
+
+	/**
+	 * Returns {@code true} if the runtime supports virtual threads.
+	 * 
+	 * @return {@code true} if virtual threads are used
+	 */
+	public static boolean isVirtual() {
+		return getVirtualExecutorFactory() != null;
+	}
+
+	private static Method getVirtualExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.completer.ParallelIndividualCompleter#createExecutor
+	 * ()
+	 */
+	@Override
+	protected ExecutorService createExecutor() {
+		Method factory = getVirtualExecutorFactory();
+		if (factory != null) {
+			try {
+				return (ExecutorService) factory.invoke(null);
+			} catch (ReflectiveOperationException e) {
+				// preview or disabled, use platform threads
+			}
+		}
+		return super.createExecutor();
+	}
+}
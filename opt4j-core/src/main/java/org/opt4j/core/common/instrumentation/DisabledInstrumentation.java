@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.instrumentation;
+
+import com.google.inject.Singleton;
+
+/**
+ * The {@link DisabledInstrumentation} does not measure anything. Its methods
+ * are empty such that they are removed by the JIT compiler.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class DisabledInstrumentation implements Instrumentation {
+
+	/**
+	 * The shared instance for classes that are not created by the injector.
+	 */
+	public static final DisabledInstrumentation INSTANCE = new DisabledInstrumentation();
+
+	protected static final Histogram EMPTY = new Histogram();
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.Instrumentation#isEnabled()
+	 */
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.Instrumentation#start()
+	 */
+	@Override
+	public long start() {
+		return 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#stop(org.opt4j.
+	 * core.common.instrumentation.Instrumentation.Stage, long)
+	 */
+	@Override
+	public void stop(Stage stage, long start) {
+		// disabled
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#count(org.opt4j.
+	 * core.common.instrumentation.Instrumentation.Counter, long)
+	 */
+	@Override
+	public void count(Counter counter, long delta) {
+		// disabled
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#getHistogram(org.
+	 * opt4j.core.common.instrumentation.Instrumentation.Stage)
+	 */
+	@Override
+	public Histogram getHistogram(Stage stage) {
+		return EMPTY;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#getCount(org.opt4j
+	 * .core.common.instrumentation.Instrumentation.Counter)
+	 */
+	@Override
+	public long getCount(Counter counter) {
+		return 0;
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@link Histogram} records non-negative values (e.g., latencies in
+ * nanoseconds) in log-linear buckets similar to an HdrHistogram: Each power of
+ * two is divided into {@code 128} buckets such that the relative error of the
+ * reported percentiles is below one percent. Recording is lock-free and
+ * allocation-free and can be done concurrently from multiple threads.
+ * <p>
+ * Values above {@link #MAX_VALUE} are recorded in the highest bucket.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class Histogram {
+
+	/**
+	 * The number of bits of the sub-buckets per power of two.
+	 */
+	protected static final int SUB_BITS = 7;
+
+	protected static final int SUB_COUNT = 1 << SUB_BITS;
+
+	/**
+	 * The highest value that is distinguished (about 18 minutes in
+	 * nanoseconds).
+	 */
+	public static final long MAX_VALUE = (1L << 40) - 1;
+
+	protected final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+
+	protected final AtomicLong count = new AtomicLong();
+
+	protected final AtomicLong sum = new AtomicLong();
+
+	protected final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value.
+	 * 
+	 * @param value
+	 *            the value (negative values are recorded as {@code 0})
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(index(Math.min(value, MAX_VALUE)));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 * 
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the sum of the recorded values.
+	 * 
+	 * @return the sum of the recorded values
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+
+	/**
+	 * Returns the maximal recorded value.
+	 * 
+	 * @return the maximal recorded value or {@code 0} if empty
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 * 
+	 * @return the mean or {@code 0} if empty
+	 */
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : (double) sum.get() / n;
+	}
+
+	/**
+	 * Returns the value at the given percentile, i.e., the highest value that
+	 * is equivalent (within the precision of the buckets) to the recorded
+	 * value at this percentile.
+	 * 
+	 * @param percentile
+	 *            the percentile in {@code [0,100]}
+	 * @return the value at the percentile or {@code 0} if empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Invalid percentile: " + percentile);
+		}
+		long total = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			total += counts.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long cumulative = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= target) {
+				// the highest bucket also contains all values above MAX_VALUE
+				return i == counts.length() - 1 ? max.get() : Math.min(highestEquivalent(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Removes all recorded values. Values that are recorded concurrently might
+	 * be lost partially.
+	 */
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Returns the bucket of a value.
+	 * 
+	 * @param value
+	 *            the value in {@code [0,MAX_VALUE]}
+	 * @return the index of the bucket
+	 */
+	protected static int index(long value) {
+		if (value < SUB_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BITS;
+		return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) - SUB_COUNT);
+	}
+
+	/**
+	 * Returns the highest value of a bucket.
+	 * 
+	 * @param index
+	 *            the index of the bucket
+	 * @return the highest value
+	 */
+	protected static long highestEquivalent(int index) {
+		if (index < SUB_COUNT) {
+			return index;
+		}
+		int shift = (index >>> SUB_BITS) - 1;
+		long lowest = (long) (SUB_COUNT + (index & (SUB_COUNT - 1))) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "[count=" + getCount() + ", mean=" + getMean() + ", p50=" + getValueAtPercentile(50) + ", p99="
+				+ getValueAtPercentile(99) + ", max=" + getMax() + "]";
+	}
+}
@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerIterationListener;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link HistogramInstrumentation} records the latencies of each
+ * {@link Instrumentation.Stage} in a {@link Histogram} and the
+ * {@link Instrumentation.Counter}s in {@link LongAdder}s, i.e., with a few
+ * nanoseconds per measurement and without allocations.
+ * <p>
+ * After each iteration, the {@link InstrumentationListener}s are informed.
+ * Optionally, the measurements are registered as {@link InstrumentationMXBean}
+ * under the name {@code org.opt4j:type=Instrumentation,id=<n>} while the
+ * optimization is running.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class HistogramInstrumentation
+		implements Instrumentation, InstrumentationMXBean, OptimizerStateListener, OptimizerIterationListener {
+
+	protected static final AtomicInteger ids = new AtomicInteger();
+
+	protected final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+
+	protected final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+	protected final Set<InstrumentationListener> listeners = new CopyOnWriteArraySet<>();
+
+	protected final boolean jmx;
+
+	protected ObjectName name = null;
+
+	protected volatile int iteration = 0;
+
+	/**
+	 * Constructs a {@link HistogramInstrumentation}.
+	 * 
+	 * @param jmx
+	 *            {@code true} if the measurements are published via JMX (using
+	 *            namespace {@link HistogramInstrumentation})
+	 */
+	@Inject
+	public HistogramInstrumentation(
+			@Constant(value = "jmx", namespace = HistogramInstrumentation.class) boolean jmx) {
+		this.jmx = jmx;
+		for (Stage stage : Stage.values()) {
+			histograms.put(stage, new Histogram());
+		}
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Adds the injected {@link InstrumentationListener}s.
+	 * 
+	 * @param listeners
+	 *            the listeners
+	 */
+	@Inject(optional = true)
+	public void setListeners(Set<InstrumentationListener> listeners) {
+		this.listeners.addAll(listeners);
+	}
+
+	/**
+	 * Adds an {@link InstrumentationListener}.
+	 * 
+	 * @param listener
+	 *            the listener to add
+	 */
+	public void addListener(InstrumentationListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes an {@link InstrumentationListener}.
+	 * 
+	 * @param listener
+	 *            the listener to remove
+	 */
+	public void removeListener(InstrumentationListener listener) {
+		listeners.remove(listener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.Instrumentation#isEnabled()
+	 */
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.Instrumentation#start()
+	 */
+	@Override
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#stop(org.opt4j.
+	 * core.common.instrumentation.Instrumentation.Stage, long)
+	 */
+	@Override
+	public void stop(Stage stage, long start) {
+		histograms.get(stage).record(System.nanoTime() - start);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#count(org.opt4j.
+	 * core.common.instrumentation.Instrumentation.Counter, long)
+	 */
+	@Override
+	public void count(Counter counter, long delta) {
+		counters[counter.ordinal()].add(delta);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#getHistogram(org.
+	 * opt4j.core.common.instrumentation.Instrumentation.Stage)
+	 */
+	@Override
+	public Histogram getHistogram(Stage stage) {
+		return histograms.get(stage);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.Instrumentation#getCount(org.opt4j
+	 * .core.common.instrumentation.Instrumentation.Counter)
+	 */
+	@Override
+	public long getCount(Counter counter) {
+		return counters[counter.ordinal()].sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.InstrumentationMXBean#getIteration()
+	 */
+	@Override
+	public int getIteration() {
+		return iteration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getEvaluations()
+	 */
+	@Override
+	public long getEvaluations() {
+		return getCount(Counter.EVALUATIONS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.InstrumentationMXBean#getCacheHits()
+	 */
+	@Override
+	public long getCacheHits() {
+		return getCount(Counter.CACHE_HITS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getArchiveInsertions()
+	 */
+	@Override
+	public long getArchiveInsertions() {
+		return getCount(Counter.ARCHIVE_INSERTIONS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getArchiveRemovals()
+	 */
+	@Override
+	public long getArchiveRemovals() {
+		return getCount(Counter.ARCHIVE_REMOVALS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getStageCounts()
+	 */
+	@Override
+	public Map<String, Long> getStageCounts() {
+		Map<String, Long> map = new LinkedHashMap<>();
+		for (Stage stage : Stage.values()) {
+			map.put(stage.name(), histograms.get(stage).getCount());
+		}
+		return map;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.instrumentation.InstrumentationMXBean#getStageMeans()
+	 */
+	@Override
+	public Map<String, Double> getStageMeans() {
+		Map<String, Double> map = new LinkedHashMap<>();
+		for (Stage stage : Stage.values()) {
+			map.put(stage.name(), histograms.get(stage).getMean() / 1000);
+		}
+		return map;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getStageMedians()
+	 */
+	@Override
+	public Map<String, Double> getStageMedians() {
+		return getStagePercentiles(50);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getStage99thPercentiles()
+	 */
+	@Override
+	public Map<String, Double> getStage99thPercentiles() {
+		return getStagePercentiles(99);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#
+	 * getStageMaxima()
+	 */
+	@Override
+	public Map<String, Double> getStageMaxima() {
+		Map<String, Double> map = new LinkedHashMap<>();
+		for (Stage stage : Stage.values()) {
+			map.put(stage.name(), histograms.get(stage).getMax() / 1000.0);
+		}
+		return map;
+	}
+
+	/**
+	 * Returns the latencies at a percentile per {@link Instrumentation.Stage}.
+	 * 
+	 * @param percentile
+	 *            the percentile
+	 * @return the latencies in microseconds
+	 */
+	protected Map<String, Double> getStagePercentiles(double percentile) {
+		Map<String, Double> map = new LinkedHashMap<>();
+		for (Stage stage : Stage.values()) {
+			map.put(stage.name(), histograms.get(stage).getValueAtPercentile(percentile) / 1000.0);
+		}
+		return map;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.instrumentation.InstrumentationMXBean#reset()
+	 */
+	@Override
+	public void reset() {
+		for (Histogram histogram : histograms.values()) {
+			histogram.reset();
+		}
+		for (LongAdder counter : counters) {
+			counter.reset();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerIterationListener#iterationComplete(
+	 * int)
+	 */
+	@Override
+	public void iterationComplete(int iteration) {
+		this.iteration = iteration;
+		for (InstrumentationListener listener : listeners) {
+			listener.iterationMeasured(iteration, this);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStarted(Optimizer optimizer) {
+		if (jmx && name == null) {
+			try {
+				ObjectName name = new ObjectName("org.opt4j:type=Instrumentation,id=" + ids.incrementAndGet());
+				ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+				this.name = name;
+			} catch (JMException e) {
+				System.err.println("Failed to register the instrumentation: " + e);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStopped(Optimizer optimizer) {
+		if (name != null) {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			try {
+				server.unregisterMBean(name);
+			} catch (JMException e) {
+				// already unregistered
+			}
+			name = null;
+		}
+	}
+
+	/**
+	 * Returns the JMX name of this instrumentation.
+	 * 
+	 * @return the name or {@code null} if not registered
+	 */
+	public synchronized ObjectName getObjectName() {
+		return name;
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.instrumentation;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * The {@link Instrumentation} measures the latencies of the {@link Stage}s of
+ * the optimization loop and counts {@link Counter} events. A stage is measured
+ * by
+ * 
+ * <pre>
+ * long start = instrumentation.start();
+ * // the stage
+ * instrumentation.stop(Stage.EVALUATION, start);
+ * </pre>
+ * 
+ * By default, the {@link DisabledInstrumentation} is used that does not
+ * measure anything.
+ * 
+ * @see InstrumentationModule
+ * @author lukasiewycz
+ * 
+ */
+@ImplementedBy(DisabledInstrumentation.class)
+public interface Instrumentation {
+
+	/**
+	 * The measured stages of the optimization loop.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	public enum Stage {
+		/**
+		 * A complete iteration.
+		 */
+		ITERATION,
+		/**
+		 * The step of the iterative optimizer.
+		 */
+		NEXT,
+		/**
+		 * The completion of the population.
+		 */
+		COMPLETION,
+		/**
+		 * The decoding of a single genotype.
+		 */
+		DECODING,
+		/**
+		 * The evaluation of a single phenotype or a batch of phenotypes.
+		 */
+		EVALUATION,
+		/**
+		 * The update of the archive.
+		 */
+		ARCHIVE,
+		/**
+		 * The selection of parents or lames.
+		 */
+		SELECTION,
+		/**
+		 * The creation of offspring.
+		 */
+		MATING;
+	}
+
+	/**
+	 * The counted events.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	public enum Counter {
+		/**
+		 * The evaluated individuals.
+		 */
+		EVALUATIONS,
+		/**
+		 * The individuals completed from the cache.
+		 */
+		CACHE_HITS,
+		/**
+		 * The individuals added to the archive.
+		 */
+		ARCHIVE_INSERTIONS,
+		/**
+		 * The individuals removed from the archive.
+		 */
+		ARCHIVE_REMOVALS;
+	}
+
+	/**
+	 * Returns {@code true} if the measurements are recorded. Expensive
+	 * measurements should only be done if enabled.
+	 * 
+	 * @return {@code true} if enabled
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Returns the start time of a measurement.
+	 * 
+	 * @return the start time in nanoseconds
+	 */
+	public long start();
+
+	/**
+	 * Records the time since the given start time for the {@link Stage}.
+	 * 
+	 * @param stage
+	 *            the stage
+	 * @param start
+	 *            the start time returned by {@link #start()}
+	 */
+	public void stop(Stage stage, long start);
+
+	/**
+	 * Increases a {@link Counter}.
+	 * 
+	 * @param counter
+	 *            the counter
+	 * @param delta
+	 *            the increment
+	 */
+	public void count(Counter counter, long delta);
+
+	/**
+	 * Returns the latency {@link Histogram} of a {@link Stage} in
+	 * nanoseconds.
+	 * 
+	 * @param stage
+	 *            the stage
+	 * @return the histogram
+	 */
+	public Histogram getHistogram(Stage stage);
+
+	/**
+	 * Returns the value of a {@link Counter}.
+	 * 
+	 * @param counter
+	 *            the counter
+	 * @return the value
+	 */
+	public long getCount(Counter counter);
+
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.instrumentation;
+
+import java.util.Map;
+
+/**
+ * The {@link InstrumentationMXBean} publishes the measurements of the
+ * {@link HistogramInstrumentation} via JMX. The latencies are given in
+ * microseconds per {@link Instrumentation.Stage}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public interface InstrumentationMXBean {
+
+	/**
+	 * Returns the number of completed iterations.
+	 * 
+	 * @return the number of iterations
+	 */
+	public int getIteration();
+
+	/**
+	 * Returns the number of evaluated individuals.
+	 * 
+	 * @return the number of evaluations
+	 */
+	public long getEvaluations();
+
+	/**
+	 * Returns the number of individuals completed from the cache.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public long getCacheHits();
+
+	/**
+	 * Returns the number of individuals added to the archive.
+	 * 
+	 * @return the number of archive insertions
+	 */
+	public long getArchiveInsertions();
+
+	/**
+	 * Returns the number of individuals removed from the archive.
+	 * 
+	 * @return the number of archive removals
+	 */
+	public long getArchiveRemovals();
+
+	/**
+	 * Returns the number of measurements per stage.
+	 * 
+	 * @return the counts
+	 */
+	public Map<String, Long> getStageCounts();
+
+	/**
+	 * Returns the mean latency per stage.
+	 * 
+	 * @return the means in microseconds
+	 */
+	public Map<String, Double> getStageMeans();
+
+	/**
+	 * Returns the median latency per stage.
+	 * 
+	 * @return the medians in microseconds
+	 */
+	public Map<String, Double> getStageMedians();
+
+	/**
+	 * Returns the 99th percentile of the latency per stage.
+	 * 
+	 * @return the 99th percentiles in microseconds
+	 */
+	public Map<String, Double> getStage99thPercentiles();
+
+	/**
+	 * Returns the maximal latency per stage.
+	 * 
+	 * @return the maxima in microseconds
+	 */
+	public Map<String, Double> getStageMaxima();
+
+	/**
+	 * Resets all histograms and counters.
+	 */
+	public void reset();
+
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.instrumentation;
+
+import org.opt4j.core.config.Icons;
+import org.opt4j.core.config.annotations.Icon;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JModule;
+
+import com.google.inject.Binder;
+import com.google.inject.multibindings.Multibinder;
+
+/**
+ * The {@link InstrumentationModule} enables the {@link Instrumentation} of
+ * the optimization loop with a {@link HistogramInstrumentation}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Icon(Icons.CONSOLE)
+@Info("Measures the latencies of the optimization stages and counts the evaluations, cache hits, and archive changes.")
+public class InstrumentationModule extends Opt4JModule {
+
+	@Info("Publishes the measurements via JMX.")
+	@Constant(value = "jmx", namespace = HistogramInstrumentation.class)
+	protected boolean jmx = true;
+
+	/**
+	 * Returns {@code true} if the measurements are published via JMX.
+	 * 
+	 * @see #setJmx
+	 * @return {@code true} if published via JMX
+	 */
+	public boolean isJmx() {
+		return jmx;
+	}
+
+	/**
+	 * Sets the publication of the measurements via JMX.
+	 * 
+	 * @see #isJmx
+	 * @param jmx
+	 *            {@code true} if published via JMX
+	 */
+	public void setJmx(boolean jmx) {
+		this.jmx = jmx;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.start.Opt4JModule#config()
+	 */
+	@Override
+	public void config() {
+		bind(HistogramInstrumentation.class).in(SINGLETON);
+		bind(Instrumentation.class).to(HistogramInstrumentation.class);
+		addOptimizerStateListener(HistogramInstrumentation.class);
+		addOptimizerIterationListener(HistogramInstrumentation.class);
+		Multibinder.newSetBinder(binder(), InstrumentationListener.class);
+	}
+
+	/**
+	 * Adds an {@link InstrumentationListener}.
+	 * 
+	 * @param listener
+	 *            the listener to add
+	 */
+	public void addInstrumentationListener(Class<? extends InstrumentationListener> listener) {
+		addInstrumentationListener(binder(), listener);
+	}
+
+	/**
+	 * Adds an {@link InstrumentationListener} to a given {@link Binder}.
+	 * 
+	 * @param binder
+	 *            the guice binder to use
+	 * @param listener
+	 *            the listener to add
+	 */
+	public static void addInstrumentationListener(Binder binder, Class<? extends InstrumentationListener> listener) {
+		Multibinder<InstrumentationListener> multibinder = Multibinder.newSetBinder(binder,
+				InstrumentationListener.class);
+		multibinder.addBinding().to(listener);
+	}
+}
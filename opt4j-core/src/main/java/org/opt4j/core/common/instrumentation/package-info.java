@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+ 
+
+/**
+ * <p>
+ * Provides the classes for the timing instrumentation of the optimization
+ * loop.
+ * </p>
+ * <p>
+ * The {@link org.opt4j.core.common.instrumentation.Instrumentation} records
+ * the latencies of the stages of an iteration (e.g., decoding, evaluation,
+ * archive update, selection, and mating) in
+ * {@link org.opt4j.core.common.instrumentation.Histogram}s and counts the
+ * evaluations, cache hits, and archive changes. By default, the instrumentation
+ * is disabled and does not cost more than an empty method call. The
+ * {@link org.opt4j.core.common.instrumentation.InstrumentationModule} enables
+ * it, informs the
+ * {@link org.opt4j.core.common.instrumentation.InstrumentationListener}s after
+ * each iteration, and optionally publishes the measurements via JMX.
+ * </p>
+ */
+package org.opt4j.core.common.instrumentation;
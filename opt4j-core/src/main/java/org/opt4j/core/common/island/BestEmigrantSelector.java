@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core.common.island;
+
+import java.util.Collection;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.Population;
+
+import com.google.inject.Singleton;
+
+/**
+ * The {@link BestEmigrantSelector} selects the emigrants randomly from the
+ * non-dominated {@link Individual}s of the island, i.e., from its
+ * {@link Archive}. If the {@link Archive} is empty, the emigrants are selected
+ * from the {@link Population}.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class BestEmigrantSelector extends RandomEmigrantSelector {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.island.RandomEmigrantSelector#getCandidates(org.
+	 * opt4j.core.optimizer.Population, org.opt4j.core.optimizer.Archive)
+	 */
+	@Override
+	protected Collection<Individual> getCandidates(Population population, Archive archive) {
+		return archive.isEmpty() ? population : archive;
+	}
+
+}
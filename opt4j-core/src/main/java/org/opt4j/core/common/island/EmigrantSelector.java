@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core.common.island;
+
+import java.util.Collection;
+import java.util.Random;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.Population;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * The {@link EmigrantSelector} selects the {@link Individual}s that leave an
+ * island. It is called concurrently by the islands, each with its own
+ * {@link Population}, {@link Archive}, and {@link Random}.
+ * 
+ * @see IslandOptimizer
+ * @author lukasiewycz
+ * 
+ */
+@ImplementedBy(BestEmigrantSelector.class)
+public interface EmigrantSelector {
+
+	/**
+	 * Selects the emigrants of an island.
+	 * 
+	 * @param count
+	 *            the maximal number of emigrants
+	 * @param population
+	 *            the population of the island
+	 * @param archive
+	 *            the archive of the island
+	 * @param random
+	 *            the random number generator of the island
+	 * @return the emigrants
+	 */
+	public Collection<Individual> select(int count, Population population, Archive archive, Random random);
+
+}
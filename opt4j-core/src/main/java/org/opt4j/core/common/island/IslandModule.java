@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.island;
+
+import org.opt4j.core.config.Icons;
+import org.opt4j.core.config.annotations.Icon;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JModule;
+
+/**
+ * The {@link IslandModule} runs the configured
+ * {@link org.opt4j.core.optimizer.IterativeOptimizer} as an island model with
+ * several concurrent islands.
+ * 
+ * @see IslandOptimizer
+ * @see Topology
+ * @see EmigrantSelector
+ * @author lukasiewycz
+ * 
+ */
+@Icon(Icons.PUZZLE_GREEN)
+@Info("Runs the optimizer as an island model with several concurrent populations that exchange individuals.")
+public class IslandModule extends Opt4JModule {
+
+	@Info("The number of islands.")
+	@Constant(value = "islands", namespace = IslandOptimizer.class)
+	protected int islands = 4;
+
+	@Info("The number of iterations between two migrations (0 for no migration).")
+	@Constant(value = "interval", namespace = IslandOptimizer.class)
+	protected int interval = 10;
+
+	@Info("The number of emigrants per migration.")
+	@Constant(value = "migrants", namespace = IslandOptimizer.class)
+	protected int migrants = 2;
+
+	@Info("The island that receives the emigrants.")
+	protected TopologyType topology = TopologyType.RING;
+
+	@Info("The selection of the emigrants.")
+	protected EmigrantType emigrants = EmigrantType.BEST;
+
+	/**
+	 * Type of {@link Topology}.
+	 */
+	public enum TopologyType {
+		/**
+		 * The emigrants move to the next island.
+		 * 
+		 * @see RingTopology
+		 */
+		@Info("The emigrants move to the next island.")
+		RING,
+		/**
+		 * The emigrants move to a random island.
+		 * 
+		 * @see RandomTopology
+		 */
+		@Info("The emigrants move to a random island.")
+		RANDOM;
+	}
+
+	/**
+	 * Type of {@link EmigrantSelector}.
+	 */
+	public enum EmigrantType {
+		/**
+		 * The emigrants are selected from the non-dominated individuals.
+		 * 
+		 * @see BestEmigrantSelector
+		 */
+		@Info("The emigrants are selected from the non-dominated individuals.")
+		BEST,
+		/**
+		 * The emigrants are selected from the whole population.
+		 * 
+		 * @see RandomEmigrantSelector
+		 */
+		@Info("The emigrants are selected from the whole population.")
+		RANDOM;
+	}
+
+	/**
+	 * Returns the number of islands.
+	 * 
+	 * @see #setIslands
+	 * @return the number of islands
+	 */
+	public int getIslands() {
+		return islands;
+	}
+
+	/**
+	 * Sets the number of islands.
+	 * 
+	 * @see #getIslands
+	 * @param islands
+	 *            the number of islands
+	 */
+	public void setIslands(int islands) {
+		if (islands < 1) {
+			throw new IllegalArgumentException("The number of islands must be positive: " + islands);
+		}
+		this.islands = islands;
+	}
+
+	/**
+	 * Returns the number of iterations between two migrations.
+	 * 
+	 * @see #setInterval
+	 * @return the interval ({@code 0} for no migration)
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Sets the number of iterations between two migrations.
+	 * 
+	 * @see #getInterval
+	 * @param interval
+	 *            the interval ({@code 0} for no migration)
+	 */
+	public void setInterval(int interval) {
+		if (interval < 0) {
+			throw new IllegalArgumentException("The interval must not be negative: " + interval);
+		}
+		this.interval = interval;
+	}
+
+	/**
+	 * Returns the number of emigrants per migration.
+	 * 
+	 * @see #setMigrants
+	 * @return the number of emigrants
+	 */
+	public int getMigrants() {
+		return migrants;
+	}
+
+	/**
+	 * Sets the number of emigrants per migration.
+	 * 
+	 * @see #getMigrants
+	 * @param migrants
+	 *            the number of emigrants
+	 */
+	public void setMigrants(int migrants) {
+		if (migrants < 0) {
+			throw new IllegalArgumentException("The number of migrants must not be negative: " + migrants);
+		}
+		this.migrants = migrants;
+	}
+
+	/**
+	 * Returns the type of {@link Topology}.
+	 * 
+	 * @see #setTopology
+	 * @return the topology type
+	 */
+	public TopologyType getTopology() {
+		return topology;
+	}
+
+	/**
+	 * Sets the type of {@link Topology}.
+	 * 
+	 * @see #getTopology
+	 * @param topology
+	 *            the topology type
+	 */
+	public void setTopology(TopologyType topology) {
+		this.topology = topology;
+	}
+
+	/**
+	 * Returns the type of {@link EmigrantSelector}.
+	 * 
+	 * @see #setEmigrants
+	 * @return the emigrant selector type
+	 */
+	public EmigrantType getEmigrants() {
+		return emigrants;
+	}
+
+	/**
+	 * Sets the type of {@link EmigrantSelector}.
+	 * 
+	 * @see #getEmigrants
+	 * @param emigrants
+	 *            the emigrant selector type
+	 */
+	public void setEmigrants(EmigrantType emigrants) {
+		this.emigrants = emigrants;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.start.Opt4JModule#config()
+	 */
+	@Override
+	public void config() {
+		bind(Optimizer.class).to(IslandOptimizer.class).in(SINGLETON);
+
+		switch (topology) {
+		case RANDOM:
+			bind(Topology.class).to(RandomTopology.class).in(SINGLETON);
+			break;
+		default: // RING
+			bind(Topology.class).to(RingTopology.class).in(SINGLETON);
+			break;
+		}
+
+		switch (emigrants) {
+		case RANDOM:
+			bind(EmigrantSelector.class).to(RandomEmigrantSelector.class).in(SINGLETON);
+			break;
+		default: // BEST
+			bind(EmigrantSelector.class).to(BestEmigrantSelector.class).in(SINGLETON);
+			break;
+		}
+	}
+
+}
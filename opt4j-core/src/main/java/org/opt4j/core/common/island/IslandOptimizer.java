@@ -0,0 +1,619 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.island;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.GenotypeCodec;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.ObjectivesCodec;
+import org.opt4j.core.common.logger.OutputModule;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.common.snapshot.SnapshotModule;
+import org.opt4j.core.common.termination.EvaluationBudget;
+import org.opt4j.core.config.PropertyModule;
+import org.opt4j.core.optimizer.AbstractOptimizer;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.optimizer.Control.State;
+import org.opt4j.core.optimizer.ControlListener;
+import org.opt4j.core.optimizer.IndividualCompleter;
+import org.opt4j.core.optimizer.Iteration;
+import org.opt4j.core.optimizer.IterativeOptimizer;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerIterationListener;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.StopException;
+import org.opt4j.core.optimizer.TerminationCriterion;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JTask;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.TypeLiteral;
+import com.google.inject.util.Modules;
+
+/**
+ * <p>
+ * The {@link IslandOptimizer} runs several independent instances of the
+ * configured {@link IterativeOptimizer}, the islands, each on its own thread.
+ * Each island is created by a separate injector from the modules of the
+ * {@link Opt4JTask}, see {@link Opt4JTask#MODULES}, such that it has its own
+ * {@link Population}, {@link Archive}, {@link Iteration}, {@link Rand}, and
+ * {@link Control}. The seeds of the islands are drawn from the {@link Rand} of
+ * the optimization.
+ * </p>
+ * <p>
+ * Each island runs through the complete lifecycle of its {@link Optimizer},
+ * i.e., its {@link OptimizerStateListener}s, for instance, the
+ * {@link IndividualCompleter}s that shut down their threads, its
+ * {@link OptimizerIterationListener}s, and its {@link TerminationCriterion}s
+ * are called. A criterion of an island stops only this island. The
+ * {@link Control} of each island follows the {@link Control} of the
+ * optimization such that pausing, stopping, or terminating the optimization
+ * affects all islands. The optimization waits for all islands to finish. The
+ * {@link EvaluationBudget} is shared by the optimization and the islands such
+ * that it stops all of them once the islands evaluated the budget in total.
+ * </p>
+ * <p>
+ * Every {@code interval} iterations, an island sends {@code migrants}
+ * individuals that are selected by the {@link EmigrantSelector} to the island
+ * that is determined by the {@link Topology}. The emigrants are encoded with
+ * their {@link Genotype} and {@link Objectives} and exchanged through
+ * non-blocking queues. The receiving island creates new individuals from the
+ * copies that replace random residents at the end of its current iteration.
+ * There is no barrier between the islands, i.e., each island proceeds at its
+ * own pace.
+ * </p>
+ * <p>
+ * The islands report each iteration to the optimization thread that merges
+ * the non-dominated individuals of the islands into the global {@link Archive}.
+ * The iteration of the optimization is the minimal iteration of the running
+ * islands. The global {@link Population} is the union of the latest
+ * populations of the islands.
+ * </p>
+ * <p>
+ * Since the migration depends on the timing of the threads, the results are
+ * not reproducible even with a fixed seed. Output modules and snapshots are
+ * not replicated for the islands, see {@link #isReplicated(Module)}.
+ * </p>
+ * 
+ * @see IslandModule
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class IslandOptimizer extends AbstractOptimizer {
+
+	protected final Injector injector;
+
+	protected final List<Module> modules;
+
+	protected final Rand random;
+
+	protected final Topology topology;
+
+	protected final EmigrantSelector emigrantSelector;
+
+	protected final int islands;
+
+	protected final int interval;
+
+	protected final int migrants;
+
+	protected final List<Island> archipelago = new ArrayList<>();
+
+	protected final BlockingQueue<Report> reports = new LinkedBlockingQueue<>();
+
+	protected final AtomicLong migrations = new AtomicLong();
+
+	/**
+	 * Constructs an {@link IslandOptimizer}.
+	 * 
+	 * @param population
+	 *            the global population
+	 * @param archive
+	 *            the global archive
+	 * @param completer
+	 *            the completer
+	 * @param control
+	 *            the control
+	 * @param iteration
+	 *            the iteration counter
+	 * @param injector
+	 *            the injector of the optimization
+	 * @param modules
+	 *            the configured modules of the task
+	 * @param random
+	 *            the random number generator that seeds the islands
+	 * @param topology
+	 *            the migration topology
+	 * @param emigrantSelector
+	 *            the selector of the emigrants
+	 * @param islands
+	 *            the number of islands
+	 * @param interval
+	 *            the number of iterations between two migrations ({@code 0}
+	 *            for no migration)
+	 * @param migrants
+	 *            the number of emigrants per migration
+	 */
+	@Inject
+	public IslandOptimizer(Population population, Archive archive, IndividualCompleter completer, Control control,
+			Iteration iteration, Injector injector,
+			@Constant(value = "modules", namespace = Opt4JTask.class) List<Module> modules, Rand random,
+			Topology topology, EmigrantSelector emigrantSelector,
+			@Constant(value = "islands", namespace = IslandOptimizer.class) int islands,
+			@Constant(value = "interval", namespace = IslandOptimizer.class) int interval,
+			@Constant(value = "migrants", namespace = IslandOptimizer.class) int migrants) {
+		super(population, archive, completer, control, iteration);
+		this.injector = injector;
+		this.modules = modules;
+		this.random = random;
+		this.topology = topology;
+		this.emigrantSelector = emigrantSelector;
+		this.islands = islands;
+		this.interval = interval;
+		this.migrants = migrants;
+	}
+
+	/**
+	 * An island with its own optimizer and state.
+	 */
+	protected class Island implements Runnable, OptimizerIterationListener {
+
+		protected final int index;
+
+		protected final Optimizer optimizer;
+
+		protected final Population population;
+
+		protected final Archive archive;
+
+		protected final Iteration iteration;
+
+		protected final Rand random;
+
+		protected final Control control;
+
+		protected final IndividualFactory individualFactory;
+
+		protected final GenotypeCodec codec;
+
+		protected final Decoder<Genotype, Object> decoder;
+
+		protected final Queue<byte[]> immigrants = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * Constructs an {@link Island}.
+		 * 
+		 * @param index
+		 *            the index of the island
+		 * @param injector
+		 *            the injector of the island
+		 * @param seed
+		 *            the seed of the island
+		 */
+		protected Island(int index, Injector injector, long seed) {
+			this.index = index;
+			this.random = injector.getInstance(Rand.class);
+			this.random.setSeed(seed);
+			this.optimizer = injector.getInstance(Optimizer.class);
+			this.population = injector.getInstance(Population.class);
+			this.archive = injector.getInstance(Archive.class);
+			this.iteration = injector.getInstance(Iteration.class);
+			this.control = injector.getInstance(Control.class);
+			this.individualFactory = injector.getInstance(IndividualFactory.class);
+			this.codec = injector.getInstance(GenotypeCodec.class);
+			this.decoder = injector.getInstance(Key.get(new TypeLiteral<Decoder<Genotype, Object>>() {
+			}));
+			this.optimizer.addOptimizerIterationListener(this);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			Throwable error = null;
+			try {
+				optimizer.startOptimization();
+			} catch (Throwable e) {
+				error = e;
+			} finally {
+				reports.add(new Report(this, iteration.value(), null, null, true, error));
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see
+		 * org.opt4j.core.optimizer.OptimizerIterationListener#iterationComplete
+		 * (int)
+		 */
+		@Override
+		public void iterationComplete(int iteration) {
+			if (interval > 0 && migrants > 0 && iteration % interval == 0) {
+				emigrate();
+			}
+			immigrate();
+			reports.add(new Report(this, iteration, new ArrayList<>(population), new ArrayList<>(archive), false,
+					null));
+		}
+
+		/**
+		 * Replaces random residents by copies of the received immigrants.
+		 * Residents that are not in the {@link Archive} of the island are
+		 * replaced first.
+		 */
+		protected void immigrate() {
+			List<Individual> residents = null;
+			byte[] immigrant;
+			while ((immigrant = immigrants.poll()) != null) {
+				if (residents == null) {
+					residents = new ArrayList<>();
+					for (Individual individual : population) {
+						if (!archive.contains(individual)) {
+							residents.add(individual);
+						}
+					}
+					if (residents.isEmpty()) {
+						residents.addAll(population);
+					}
+				}
+				if (!residents.isEmpty()) {
+					population.remove(residents.remove(random.nextInt(residents.size())));
+				}
+				population.add(decode(immigrant));
+			}
+		}
+
+		/**
+		 * Sends the encoded emigrants to the island that is determined by the
+		 * {@link Topology}.
+		 */
+		protected void emigrate() {
+			Island target = archipelago.get(topology.getTarget(index, archipelago.size(), random));
+			if (target != this) {
+				Collection<Individual> emigrants = emigrantSelector.select(migrants, population, archive, random);
+				for (Individual emigrant : emigrants) {
+					target.immigrants.add(encode(emigrant));
+				}
+				migrations.addAndGet(emigrants.size());
+			}
+		}
+
+		/**
+		 * Encodes the {@link Genotype} and the {@link Objectives} of an
+		 * emigrant such that the receiving island does not share any state
+		 * with this island.
+		 * 
+		 * @param individual
+		 *            the emigrant
+		 * @return the encoded emigrant
+		 */
+		protected byte[] encode(Individual individual) {
+			try {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(bytes);
+				codec.write(individual.getGenotype(), out);
+				ObjectivesCodec.writeObjectives(individual.getObjectives(), out);
+				out.flush();
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new IllegalStateException("Emigrant of island " + index + " not encodable", e);
+			}
+		}
+
+		/**
+		 * Creates a new evaluated {@link Individual} of this island from an
+		 * encoded emigrant.
+		 * 
+		 * @param immigrant
+		 *            the encoded emigrant
+		 * @return the new individual
+		 */
+		protected Individual decode(byte[] immigrant) {
+			try {
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(immigrant));
+				Genotype genotype = codec.read(in);
+				Objectives objectives = ObjectivesCodec.readObjectives(in);
+				Individual individual = individualFactory.create(genotype);
+				individual.setPhenotype(decoder.decode(genotype));
+				individual.setObjectives(objectives);
+				return individual;
+			} catch (IOException e) {
+				throw new IllegalStateException("Immigrant of island " + index + " not decodable", e);
+			}
+		}
+	}
+
+	/**
+	 * The report of an island after an iteration or at its end.
+	 */
+	protected static class Report {
+
+		protected final Island island;
+
+		protected final int iteration;
+
+		protected final List<Individual> population;
+
+		protected final List<Individual> front;
+
+		protected final boolean done;
+
+		protected final Throwable error;
+
+		protected Report(Island island, int iteration, List<Individual> population, List<Individual> front,
+				boolean done, Throwable error) {
+			this.island = island;
+			this.iteration = iteration;
+			this.population = population;
+			this.front = front;
+			this.done = done;
+			this.error = error;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.Optimizer#optimize()
+	 */
+	@Override
+	public void optimize() throws StopException, TerminationException {
+		archipelago.clear();
+		reports.clear();
+		for (int i = 0; i < islands; i++) {
+			archipelago.add(new Island(i, createInjector(i), random.nextLong()));
+		}
+
+		ControlListener listener = this::forward;
+		control.addListener(listener);
+		forward(control.getState());
+
+		List<Thread> threads = new ArrayList<>();
+		for (Island island : archipelago) {
+			Thread thread = new Thread(island, "Island " + island.index);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		try {
+			int[] progress = new int[islands];
+			boolean[] done = new boolean[islands];
+			List<List<Individual>> latest = new ArrayList<>();
+			for (int i = 0; i < islands; i++) {
+				latest.add(new ArrayList<Individual>());
+			}
+			Set<Individual> candidates = new LinkedHashSet<>();
+
+			int active = islands;
+			while (active > 0) {
+				Report report = reports.take();
+				int index = report.island.index;
+				if (report.error != null) {
+					throw new IllegalStateException("Island " + index + " failed", report.error);
+				} else if (report.done) {
+					done[index] = true;
+					active--;
+				} else {
+					progress[index] = report.iteration;
+					latest.set(index, report.population);
+					candidates.addAll(report.front);
+				}
+
+				while (active > 0 && iteration.value() < iteration.max()
+						&& iteration.value() < getProgress(progress, done)) {
+					merge(latest, candidates);
+					nextIteration();
+				}
+			}
+			merge(latest, candidates);
+			control.checkpointStop();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TerminationException();
+		} finally {
+			control.removeListener(listener);
+			for (Island island : archipelago) {
+				island.control.doStop();
+			}
+			join(threads);
+		}
+	}
+
+	/**
+	 * Forwards the state of the {@link Control} of the optimization to the
+	 * {@link Control}s of the islands.
+	 * 
+	 * @param state
+	 *            the state of the optimization
+	 */
+	protected void forward(State state) {
+		for (Island island : archipelago) {
+			switch (state) {
+			case PAUSED:
+				island.control.doPause();
+				break;
+			case STOPPED:
+				island.control.doStop();
+				break;
+			case TERMINATED:
+				island.control.doTerminate();
+				break;
+			default: // RUNNING
+				island.control.doStart();
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Waits for the threads of the islands to finish.
+	 * 
+	 * @param threads
+	 *            the threads of the islands
+	 */
+	protected void join(List<Thread> threads) {
+		boolean interrupted = false;
+		for (Thread thread : threads) {
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the minimal iteration of the running islands.
+	 * 
+	 * @param progress
+	 *            the iterations of the islands
+	 * @param done
+	 *            the finished islands
+	 * @return the minimal iteration
+	 */
+	protected int getProgress(int[] progress, boolean[] done) {
+		int min = Integer.MAX_VALUE;
+		for (int i = 0; i < progress.length; i++) {
+			if (!done[i]) {
+				min = Math.min(min, progress[i]);
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Sets the global {@link Population} to the latest populations of the
+	 * islands and updates the global {@link Archive} with the candidates.
+	 * 
+	 * @param latest
+	 *            the latest populations of the islands
+	 * @param candidates
+	 *            the non-dominated individuals of the islands
+	 */
+	protected void merge(List<List<Individual>> latest, Set<Individual> candidates) {
+		population.clear();
+		for (List<Individual> individuals : latest) {
+			population.addAll(individuals);
+		}
+		if (!candidates.isEmpty()) {
+			archive.update(candidates);
+			candidates.clear();
+		}
+	}
+
+	/**
+	 * Creates the injector of an island from the replicated modules. Each
+	 * island has its own {@link Control}. The {@link EvaluationBudget} of the
+	 * optimization, if any, is shared with the island such that it counts the
+	 * evaluations of all islands.
+	 * 
+	 * @param index
+	 *            the index of the island
+	 * @return the injector of the island
+	 */
+	protected Injector createInjector(int index) {
+		List<Module> replicated = new ArrayList<>();
+		for (Module module : modules) {
+			if (isReplicated(module)) {
+				replicated.add(module);
+			}
+		}
+		final Binding<EvaluationBudget> budget = injector.getExistingBinding(Key.get(EvaluationBudget.class));
+		Module module = Modules.override(replicated).with(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(Control.class).toInstance(new Control());
+				if (budget != null) {
+					bind(EvaluationBudget.class).toInstance(budget.getProvider().get());
+				}
+			}
+		});
+		Injector parent = injector.getParent();
+		return parent == null ? Guice.createInjector(module) : parent.createChildInjector(module);
+	}
+
+	/**
+	 * Returns {@code true} if the module is replicated for the islands. The
+	 * {@link IslandModule}, the {@link OutputModule}s, and the
+	 * {@link SnapshotModule} are only used for the global optimization.
+	 * 
+	 * @param module
+	 *            the module (possibly wrapped in a {@link PropertyModule})
+	 * @return {@code true} if the module is replicated
+	 */
+	protected boolean isReplicated(Module module) {
+		if (module instanceof PropertyModule) {
+			module = ((PropertyModule) module).getModule();
+		}
+		return !(module instanceof IslandModule || module instanceof OutputModule || module instanceof SnapshotModule);
+	}
+
+	/**
+	 * Returns the number of individuals that migrated between the islands.
+	 * 
+	 * @return the number of migrated individuals
+	 */
+	public long getMigrations() {
+		return migrations.get();
+	}
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core.common.island;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.Population;
+
+import com.google.inject.Singleton;
+
+/**
+ * The {@link RandomEmigrantSelector} selects the emigrants randomly from the
+ * {@link Population} of the island.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class RandomEmigrantSelector implements EmigrantSelector {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.island.EmigrantSelector#select(int,
+	 * org.opt4j.core.optimizer.Population, org.opt4j.core.optimizer.Archive,
+	 * java.util.Random)
+	 */
+	@Override
+	public Collection<Individual> select(int count, Population population, Archive archive, Random random) {
+		List<Individual> candidates = new ArrayList<>(getCandidates(population, archive));
+		if (candidates.size() <= count) {
+			return candidates;
+		}
+		// partial Fisher-Yates shuffle
+		for (int i = 0; i < count; i++) {
+			Collections.swap(candidates, i, i + random.nextInt(candidates.size() - i));
+		}
+		return candidates.subList(0, count);
+	}
+
+	/**
+	 * Returns the candidates for the emigration.
+	 * 
+	 * @param population
+	 *            the population of the island
+	 * @param archive
+	 *            the archive of the island
+	 * @return the candidates
+	 */
+	protected Collection<Individual> getCandidates(Population population, Archive archive) {
+		return population;
+	}
+
+}
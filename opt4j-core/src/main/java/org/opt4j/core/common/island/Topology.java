@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.core.common.island;
+
+import java.util.Random;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * The {@link Topology} determines the island that receives the emigrants of an
+ * island. It is called concurrently by the islands with their own
+ * {@link Random}.
+ * 
+ * @see IslandOptimizer
+ * @author lukasiewycz
+ * 
+ */
+@ImplementedBy(RingTopology.class)
+public interface Topology {
+
+	/**
+	 * Returns the index of the island that receives the emigrants of the
+	 * given island.
+	 * 
+	 * @param island
+	 *            the index of the emigrating island
+	 * @param islands
+	 *            the number of islands
+	 * @param random
+	 *            the random number generator of the emigrating island
+	 * @return the index of the receiving island
+	 */
+	public int getTarget(int island, int islands, Random random);
+
+}
@@ -26,6 +26,11 @@
 
 package org.opt4j.core.common.random;
 
+import java.io.IOException;
+
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+
 /**
  * @version 1.0
  * @author David Beaumont, Copyright 2005
@@ -331,6 +336,40 @@ class MTRandom extends Rand {
 		return (y >>> (32 - bits));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.random.Rand#writeSnapshot(org.opt4j.core.
+	 * SnapshotOutput)
+	 */
+	@Override
+	public synchronized void writeSnapshot(SnapshotOutput out) throws IOException {
+		super.writeSnapshot(out);
+		out.writeBoolean(compat);
+		out.writeInt(mti);
+		for (int i = 0; i < N; i++) {
+			out.writeInt(mt[i]);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.random.Rand#readSnapshot(org.opt4j.core.
+	 * SnapshotInput)
+	 */
+	@Override
+	public synchronized void readSnapshot(SnapshotInput in) throws IOException {
+		super.readSnapshot(in);
+		compat = in.readBoolean();
+		mti = in.readInt();
+		for (int i = 0; i < N; i++) {
+			mt[i] = in.readInt();
+		}
+	}
+
 	// This is a fairly obscure little code section to pack a
 	// byte[] into an int[] in little endian ordering.
 
@@ -22,22 +22,34 @@
 
 package org.opt4j.core.common.random;
 
+import java.io.IOException;
 import java.util.Random;
 
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
+
 import com.google.inject.ImplementedBy;
 
 /**
  * The {@link Rand} class is an abstract class that is utilized as an interface
- * for random classes.
+ * for random classes. It is {@link Snapshotable} such that a resumed
+ * optimization continues with the same random sequence. Therefore, the
+ * subclasses keep their state in own fields and write it in addition to the
+ * pending Gaussian value that is kept here.
  * 
  * @author lukasiewycz
  * 
  */
 @ImplementedBy(RandomDefault.class)
-public abstract class Rand extends Random {
+public abstract class Rand extends Random implements Snapshotable {
 
 	private static final long serialVersionUID = 1L;
 
+	protected double nextNextGaussian;
+
+	protected boolean haveNextNextGaussian;
+
 	/**
 	 * Constructs a Rand.
 	 */
@@ -55,4 +67,52 @@ public abstract class Rand extends Random {
 		super(seed);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.Random#nextGaussian()
+	 */
+	@Override
+	public synchronized double nextGaussian() {
+		// the polar method of java.util.Random with an accessible cache
+		if (haveNextNextGaussian) {
+			haveNextNextGaussian = false;
+			return nextNextGaussian;
+		}
+		double v1, v2, s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+		nextNextGaussian = v2 * multiplier;
+		haveNextNextGaussian = true;
+		return v1 * multiplier;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public synchronized void writeSnapshot(SnapshotOutput out) throws IOException {
+		out.writeBoolean(haveNextNextGaussian);
+		out.writeDouble(nextNextGaussian);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public synchronized void readSnapshot(SnapshotInput in) throws IOException {
+		haveNextNextGaussian = in.readBoolean();
+		nextNextGaussian = in.readDouble();
+	}
+
 }
@@ -23,15 +23,20 @@
 
 package org.opt4j.core.common.random;
 
+import java.io.IOException;
 import java.util.Random;
 
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
 import org.opt4j.core.start.Constant;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 /**
- * The {@link RandomJava} is the default java {@link Random}.
+ * The {@link RandomJava} is the default java {@link Random}. The linear
+ * congruential generator of {@link Random} is replicated here such that its
+ * state can be written to a snapshot, the sequence is identical.
  * 
  * @author helwig, lukasiewycz
  */
@@ -39,6 +44,14 @@ import com.google.inject.Singleton;
 @Singleton
 public class RandomJava extends Rand {
 
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	// set by setSeed() from the constructor of Random, i.e., before any
+	// field initializer would be executed
+	protected long state;
+
 	/**
 	 * Constructs a {@link RandomJava} with the specified seed.
 	 * 
@@ -50,4 +63,52 @@ public class RandomJava extends Rand {
 		super(seed);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.Random#setSeed(long)
+	 */
+	@Override
+	public synchronized void setSeed(long seed) {
+		state = (seed ^ MULTIPLIER) & MASK;
+		haveNextNextGaussian = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.Random#next(int)
+	 */
+	@Override
+	protected synchronized int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.random.Rand#writeSnapshot(org.opt4j.core.
+	 * SnapshotOutput)
+	 */
+	@Override
+	public synchronized void writeSnapshot(SnapshotOutput out) throws IOException {
+		super.writeSnapshot(out);
+		out.writeLong(state);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.random.Rand#readSnapshot(org.opt4j.core.
+	 * SnapshotInput)
+	 */
+	@Override
+	public synchronized void readSnapshot(SnapshotInput in) throws IOException {
+		super.readSnapshot(in);
+		state = in.readLong();
+	}
+
 }
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.snapshot;
+
+import org.opt4j.core.config.Icons;
+import org.opt4j.core.config.annotations.File;
+import org.opt4j.core.config.annotations.Icon;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JModule;
+
+/**
+ * The {@link SnapshotModule} writes periodic snapshots of the optimization
+ * state and resumes the optimization from an existing snapshot.
+ * 
+ * @see Snapshotter
+ * @author lukasiewycz
+ * 
+ */
+@Icon(Icons.DISK)
+@Info("Writes periodic snapshots of the optimization state and resumes from them.")
+public class SnapshotModule extends Opt4JModule {
+
+	@Info("The snapshot file.")
+	@File
+	@Constant(value = "file", namespace = Snapshotter.class)
+	protected String file = "optimization.snapshot";
+
+	@Info("Writes a snapshot every this many iterations (0 for a single snapshot at the end).")
+	@Constant(value = "interval", namespace = Snapshotter.class)
+	protected int interval = 100;
+
+	@Info("Resumes the optimization from the snapshot file if it exists.")
+	@Constant(value = "resume", namespace = Snapshotter.class)
+	protected boolean resume = true;
+
+	/**
+	 * Returns the snapshot file.
+	 * 
+	 * @see #setFile
+	 * @return the snapshot file
+	 */
+	public String getFile() {
+		return file;
+	}
+
+	/**
+	 * Sets the snapshot file.
+	 * 
+	 * @see #getFile
+	 * @param file
+	 *            the snapshot file
+	 */
+	public void setFile(String file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns the number of iterations between two snapshots.
+	 * 
+	 * @see #setInterval
+	 * @return the interval ({@code 0} for a single snapshot at the end)
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Sets the number of iterations between two snapshots.
+	 * 
+	 * @see #getInterval
+	 * @param interval
+	 *            the interval ({@code 0} for a single snapshot at the end)
+	 */
+	public void setInterval(int interval) {
+		if (interval < 0) {
+			throw new IllegalArgumentException("The interval must not be negative: " + interval);
+		}
+		this.interval = interval;
+	}
+
+	/**
+	 * Returns {@code true} if the optimization resumes from an existing
+	 * snapshot.
+	 * 
+	 * @see #setResume
+	 * @return {@code true} if the optimization resumes
+	 */
+	public boolean isResume() {
+		return resume;
+	}
+
+	/**
+	 * Sets whether the optimization resumes from an existing snapshot.
+	 * 
+	 * @see #isResume
+	 * @param resume
+	 *            {@code true} if the optimization resumes
+	 */
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.start.Opt4JModule#config()
+	 */
+	@Override
+	public void config() {
+		bind(Snapshotter.class).in(SINGLETON);
+		addOptimizerStateListener(Snapshotter.class);
+		addOptimizerIterationListener(Snapshotter.class);
+	}
+
+}
@@ -0,0 +1,571 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.opt4j.core.Genotype;
+import org.opt4j.core.GenotypeCodec;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.optimizer.Iteration;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerIterationListener;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.PhenotypeRetention;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Binding;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Scopes;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+
+/**
+ * <p>
+ * The {@link Snapshotter} writes the state of the optimization periodically to
+ * a binary snapshot file and resumes the optimization from this file.
+ * </p>
+ * <p>
+ * The state consists of all {@link Snapshotable} components that are bound as
+ * singletons, e.g., the {@link org.opt4j.core.optimizer.Population}, the
+ * {@link org.opt4j.core.optimizer.Archive}, the {@link Iteration}, and the
+ * {@link org.opt4j.core.common.random.Rand}. The components are determined
+ * once the optimizer is initialized. A snapshot is captured in memory at the
+ * end of an iteration and compressed and written by a background thread such
+ * that the optimization is not paused by the file system. The file is replaced
+ * atomically, i.e., it always contains a complete snapshot.
+ * </p>
+ * <p>
+ * To resume, the optimization is started with the same configuration. After
+ * the optimizer is initialized, the state of the components is restored and
+ * the optimization continues with the next iteration. With a fixed seed, the
+ * resumed optimization yields the same results as an uninterrupted one only
+ * if the complete state of the optimizer is captured, i.e., each component
+ * with state, including the optimizer itself, is a {@link Snapshotable}
+ * singleton (as, e.g., the MOPSO and the SPEA2 selector). State that is not
+ * captured, e.g., a field of a custom optimizer, starts over on resume.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class Snapshotter implements OptimizerStateListener, OptimizerIterationListener {
+
+	/**
+	 * The magic number of a snapshot.
+	 */
+	protected static final int MAGIC = 0x4F34534E;
+
+	/**
+	 * The version of the snapshot format.
+	 */
+	protected static final int VERSION = 1;
+
+	protected final Injector injector;
+
+	protected final Control control;
+
+	protected final Iteration iteration;
+
+	protected final IndividualFactory individualFactory;
+
+	protected final GenotypeCodec codec;
+
+	protected final Decoder<Genotype, Object> decoder;
+
+	protected final File file;
+
+	protected final int interval;
+
+	protected final boolean resume;
+
+	protected PhenotypeRetention retention = null;
+
+	protected Map<String, Snapshotable> components = null;
+
+	protected final ThreadPoolExecutor writer;
+
+	protected final AtomicReference<byte[]> pending = new AtomicReference<>();
+
+	protected final AtomicLong written = new AtomicLong();
+
+	protected volatile int lastIteration = -1;
+
+	protected volatile boolean resumed = false;
+
+	/**
+	 * Constructs a {@link Snapshotter}.
+	 * 
+	 * @param injector
+	 *            the injector of the optimization
+	 * @param control
+	 *            the control
+	 * @param iteration
+	 *            the iteration counter
+	 * @param individualFactory
+	 *            the factory for the restored individuals
+	 * @param codec
+	 *            the codec for the genotypes
+	 * @param decoder
+	 *            the decoder that restores the phenotypes
+	 * @param file
+	 *            the snapshot file (using namespace {@link Snapshotter})
+	 * @param interval
+	 *            the number of iterations between two snapshots, {@code 0} for
+	 *            a single snapshot at the end (using namespace
+	 *            {@link Snapshotter})
+	 * @param resume
+	 *            {@code true} if the optimization resumes from an existing
+	 *            snapshot file (using namespace {@link Snapshotter})
+	 */
+	@Inject
+	public Snapshotter(Injector injector, Control control, Iteration iteration, IndividualFactory individualFactory,
+			GenotypeCodec codec, Decoder<Genotype, Object> decoder,
+			@Constant(value = "file", namespace = Snapshotter.class) String file,
+			@Constant(value = "interval", namespace = Snapshotter.class) int interval,
+			@Constant(value = "resume", namespace = Snapshotter.class) boolean resume) {
+		if (file == null || file.isEmpty()) {
+			throw new IllegalArgumentException("No snapshot file specified");
+		}
+		if (interval < 0) {
+			throw new IllegalArgumentException("Invalid snapshot interval: " + interval);
+		}
+		this.injector = injector;
+		this.control = control;
+		this.iteration = iteration;
+		this.individualFactory = individualFactory;
+		this.codec = codec;
+		this.decoder = decoder;
+		this.file = new File(file);
+		this.interval = interval;
+		this.resume = resume;
+
+		writer = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "Snapshotter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		writer.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Sets the {@link PhenotypeRetention} that restores the phenotypes of the
+	 * restored {@link Individual}s. By default, the phenotypes are decoded
+	 * again on demand and kept afterwards.
+	 * 
+	 * @param retention
+	 *            the phenotype retention
+	 */
+	@Inject(optional = true)
+	public void setRetention(PhenotypeRetention retention) {
+		this.retention = retention;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStarted(Optimizer optimizer) {
+		components = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationInitialized
+	 * (org.opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationInitialized(Optimizer optimizer) {
+		Map<String, Snapshotable> components = discover();
+		if (resume && file.exists()) {
+			try {
+				restore(file, components);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot resume from the snapshot " + file, e);
+			}
+			resumed = true;
+			lastIteration = iteration.value();
+		}
+		this.components = components;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerIterationListener#iterationComplete
+	 * (int)
+	 */
+	@Override
+	public void iterationComplete(int iteration) {
+		// optimizers that are not initialized cannot be captured
+		if (components != null && interval > 0 && iteration % interval == 0) {
+			snapshot();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStopped(Optimizer optimizer) {
+		// a terminated optimization might have stopped within an iteration
+		if (components != null && !control.isTerminated() && lastIteration != iteration.value()) {
+			snapshot();
+		}
+		flush();
+	}
+
+	/**
+	 * Captures a snapshot and hands it to the background thread that writes
+	 * it to the file. Errors are reported but do not stop the optimization.
+	 */
+	public void snapshot() {
+		if (components == null) {
+			throw new IllegalStateException("The optimizer is not initialized");
+		}
+		try {
+			byte[] data = capture();
+			lastIteration = iteration.value();
+			if (pending.getAndSet(data) == null) {
+				writer.execute(this::writePending);
+			}
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Snapshot of iteration " + iteration.value() + " failed: " + e);
+		}
+	}
+
+	/**
+	 * Writes the most recent pending snapshot. Snapshots that are superseded
+	 * before they are written are skipped.
+	 */
+	protected void writePending() {
+		byte[] data = pending.getAndSet(null);
+		if (data == null) {
+			return;
+		}
+		try {
+			write(data, file);
+			written.incrementAndGet();
+		} catch (IOException e) {
+			System.err.println("Writing the snapshot " + file + " failed: " + e);
+		}
+	}
+
+	/**
+	 * Waits until all captured snapshots are written.
+	 */
+	public void flush() {
+		try {
+			writer.submit(() -> {
+			}).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Captures the current state of the components.
+	 * 
+	 * @return the uncompressed snapshot
+	 * @throws IOException
+	 *             if a component cannot be written
+	 */
+	public byte[] capture() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		write(bytes);
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Writes the current state of the components to the stream.
+	 * 
+	 * @param out
+	 *            the output stream
+	 * @throws IOException
+	 *             if a component cannot be written
+	 */
+	public void write(OutputStream out) throws IOException {
+		if (components == null) {
+			throw new IllegalStateException("The optimizer is not initialized");
+		}
+		SnapshotOutput output = new SnapshotOutput(out, codec);
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(components.size());
+		for (Entry<String, Snapshotable> entry : components.entrySet()) {
+			output.writeUTF(entry.getKey());
+			entry.getValue().writeSnapshot(output);
+		}
+		output.flush();
+	}
+
+	/**
+	 * Restores the state of the components from the stream.
+	 * 
+	 * @param in
+	 *            the input stream
+	 * @throws IOException
+	 *             if the snapshot cannot be read or does not match the
+	 *             configuration
+	 */
+	public void read(InputStream in) throws IOException {
+		if (components == null) {
+			throw new IllegalStateException("The optimizer is not initialized");
+		}
+		read(in, components);
+	}
+
+	/**
+	 * Restores the state of the given components from the file.
+	 * 
+	 * @param file
+	 *            the snapshot file
+	 * @param components
+	 *            the components
+	 * @throws IOException
+	 *             if the snapshot cannot be read or does not match the
+	 *             configuration
+	 */
+	protected void restore(File file, Map<String, Snapshotable> components) throws IOException {
+		try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			read(in, components);
+		}
+	}
+
+	/**
+	 * Restores the state of the given components from the stream.
+	 * 
+	 * @param in
+	 *            the input stream
+	 * @param components
+	 *            the components
+	 * @throws IOException
+	 *             if the snapshot cannot be read or does not match the
+	 *             configuration
+	 */
+	protected void read(InputStream in, Map<String, Snapshotable> components) throws IOException {
+		PhenotypeRetention retention = this.retention;
+		if (retention == null) {
+			retention = new PhenotypeRetention() {
+				@Override
+				public void retain(Individual individual) {
+				}
+
+				@Override
+				public Object restore(Individual individual) {
+					return decoder.decode(individual.getGenotype());
+				}
+			};
+		}
+
+		SnapshotInput input = new SnapshotInput(in, codec, individualFactory, retention);
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not a snapshot");
+		}
+		int version = input.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported snapshot version: " + version);
+		}
+		int size = input.readInt();
+		if (size != components.size()) {
+			throw new IOException("The snapshot contains " + size + " components, the configuration "
+					+ components.size());
+		}
+		for (Entry<String, Snapshotable> entry : components.entrySet()) {
+			String name = input.readUTF();
+			if (!name.equals(entry.getKey())) {
+				throw new IOException("The snapshot contains " + name + " instead of " + entry.getKey());
+			}
+			entry.getValue().readSnapshot(input);
+		}
+	}
+
+	/**
+	 * Writes the compressed snapshot to a temporary file and replaces the
+	 * snapshot file with it.
+	 * 
+	 * @param data
+	 *            the uncompressed snapshot
+	 * @param file
+	 *            the snapshot file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	protected void write(byte[] data, File file) throws IOException {
+		File tmp = new File(file.getPath() + ".tmp");
+		try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+			out.write(data);
+		}
+		try {
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Determines the {@link Snapshotable} components, i.e., the distinct
+	 * instances of the singleton bindings, ordered by their keys. The bindings
+	 * of parent injectors are included since Guice creates just-in-time
+	 * bindings in the parent if possible.
+	 * 
+	 * @return the components by name
+	 */
+	protected Map<String, Snapshotable> discover() {
+		List<Binding<?>> bindings = new ArrayList<>();
+		for (Injector current = injector; current != null; current = current.getParent()) {
+			bindings.addAll(current.getAllBindings().values());
+		}
+		Collections.sort(bindings, Comparator.comparing(binding -> binding.getKey().toString()));
+
+		Map<String, Snapshotable> components = new LinkedHashMap<>();
+		Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Binding<?> binding : bindings) {
+			Class<?> type = getImplementation(binding);
+			if (type != null && Snapshotable.class.isAssignableFrom(type) && Scopes.isSingleton(binding)) {
+				Object instance = injector.getInstance(binding.getKey());
+				if (instances.add(instance)) {
+					components.put(binding.getKey().toString(), (Snapshotable) instance);
+				}
+			}
+		}
+		return components;
+	}
+
+	/**
+	 * Returns the implementation class of a {@link Binding} without creating
+	 * an instance.
+	 * 
+	 * @param binding
+	 *            the binding
+	 * @return the implementation or {@code null} if unknown
+	 */
+	protected Class<?> getImplementation(Binding<?> binding) {
+		if (binding instanceof LinkedKeyBinding) {
+			return ((LinkedKeyBinding<?>) binding).getLinkedKey().getTypeLiteral().getRawType();
+		} else if (binding instanceof ConstructorBinding) {
+			return ((ConstructorBinding<?>) binding).getConstructor().getDeclaringType().getRawType();
+		} else if (binding instanceof InstanceBinding) {
+			return ((InstanceBinding<?>) binding).getInstance().getClass();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the names of the captured components.
+	 * 
+	 * @return the names of the components
+	 */
+	public Set<String> getComponents() {
+		if (components == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(components.keySet());
+	}
+
+	/**
+	 * Returns the snapshot file.
+	 * 
+	 * @return the file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the iteration of the last captured (or restored) snapshot.
+	 * 
+	 * @return the iteration or {@code -1} if none
+	 */
+	public int getLastIteration() {
+		return lastIteration;
+	}
+
+	/**
+	 * Returns the number of written snapshot files.
+	 * 
+	 * @return the number of written files
+	 */
+	public long getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * Returns {@code true} if the optimization was resumed from a snapshot.
+	 * 
+	 * @return {@code true} if resumed
+	 */
+	public boolean isResumed() {
+		return resumed;
+	}
+
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+ 
+
+/**
+ * <p>
+ * Provides the classes for the binary snapshots of the optimization state.
+ * </p>
+ * <p>
+ * The {@link org.opt4j.core.common.snapshot.Snapshotter} periodically captures
+ * the state of all singleton
+ * {@link org.opt4j.core.Snapshotable} components (e.g., the
+ * {@link org.opt4j.core.optimizer.Population}, the
+ * {@link org.opt4j.core.optimizer.Archive}, the
+ * {@link org.opt4j.core.optimizer.Iteration}, and the
+ * {@link org.opt4j.core.common.random.Rand}) and writes it asynchronously to a
+ * file. A run with the same configuration resumes from this file at the same
+ * iteration. The {@link org.opt4j.core.common.snapshot.SnapshotModule}
+ * configures the snapshots.
+ * </p>
+ */
+package org.opt4j.core.common.snapshot;
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.termination;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualSet;
+import org.opt4j.core.IndividualSetListener;
+import org.opt4j.core.optimizer.Archive;
+
+/**
+ * The {@link ArchiveIndicator} is a {@link ProgressIndicator} that measures
+ * the changes of the {@link Archive}. It listens to the {@link Archive} and
+ * records the individuals that were inserted and removed since the last call
+ * such that the improvement is computed from the changes only instead of
+ * comparing the whole archives.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public abstract class ArchiveIndicator implements ProgressIndicator, IndividualSetListener {
+
+	protected final Archive archive;
+
+	protected final Set<Individual> inserted = new LinkedHashSet<>();
+
+	protected final Set<Individual> removed = new LinkedHashSet<>();
+
+	/**
+	 * Constructs an {@link ArchiveIndicator}.
+	 * 
+	 * @param archive
+	 *            the archive
+	 */
+	public ArchiveIndicator(Archive archive) {
+		this.archive = archive;
+		archive.addListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualSetListener#individualAdded(org.opt4j.core.
+	 * IndividualSet, org.opt4j.core.Individual)
+	 */
+	@Override
+	public void individualAdded(IndividualSet collection, Individual individual) {
+		if (!removed.remove(individual)) {
+			inserted.add(individual);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualSetListener#individualRemoved(org.opt4j.core
+	 * .IndividualSet, org.opt4j.core.Individual)
+	 */
+	@Override
+	public void individualRemoved(IndividualSet collection, Individual individual) {
+		if (!inserted.remove(individual)) {
+			removed.add(individual);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.common.termination.ProgressIndicator#getImprovement()
+	 */
+	@Override
+	public double getImprovement() {
+		double improvement = getImprovement(inserted, removed);
+		inserted.clear();
+		removed.clear();
+		return improvement;
+	}
+
+	/**
+	 * Returns the improvement of the changes since the last call.
+	 * 
+	 * @param inserted
+	 *            the individuals that were inserted into the archive
+	 * @param removed
+	 *            the individuals that were removed from the archive
+	 * @return the improvement
+	 */
+	protected abstract double getImprovement(Collection<Individual> inserted, Collection<Individual> removed);
+
+	/**
+	 * Returns the individuals of the archive at the time of the last call.
+	 * 
+	 * @return the previous individuals of the archive
+	 */
+	protected List<Individual> getPrevious() {
+		List<Individual> previous = new ArrayList<>(removed);
+		for (Individual individual : archive) {
+			if (!inserted.contains(individual)) {
+				previous.add(individual);
+			}
+		}
+		return previous;
+	}
+
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.termination;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Archive;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link EpsilonIndicator} measures the improvement as the additive
+ * epsilon indicator of the current {@link Archive} with respect to the
+ * previous one, i.e., the minimal value that has to be subtracted from all
+ * objectives of the previous archive such that it weakly dominates the
+ * current archive. Only the inserted individuals can contribute, such that
+ * the effort is proportional to the number of inserted individuals times the
+ * size of the archive. The improvement of the first archive is infinite.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class EpsilonIndicator extends ArchiveIndicator {
+
+	/**
+	 * Constructs an {@link EpsilonIndicator}.
+	 * 
+	 * @param archive
+	 *            the archive
+	 */
+	@Inject
+	public EpsilonIndicator(Archive archive) {
+		super(archive);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.termination.ArchiveIndicator#getImprovement(java
+	 * .util.Collection, java.util.Collection)
+	 */
+	@Override
+	protected double getImprovement(Collection<Individual> inserted, Collection<Individual> removed) {
+		if (inserted.isEmpty()) {
+			return 0;
+		}
+		List<double[]> previous = new ArrayList<>();
+		for (Individual individual : getPrevious()) {
+			previous.add(individual.getObjectives().array());
+		}
+		if (previous.isEmpty()) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		double improvement = 0;
+		for (Individual individual : inserted) {
+			double[] a = individual.getObjectives().array();
+			double epsilon = Double.POSITIVE_INFINITY;
+			for (double[] b : previous) {
+				double shift = Double.NEGATIVE_INFINITY;
+				for (int i = 0; i < a.length; i++) {
+					shift = Math.max(shift, b[i] - a[i]);
+				}
+				epsilon = Math.min(epsilon, shift);
+				if (epsilon <= improvement) {
+					// cannot increase the maximum
+					break;
+				}
+			}
+			improvement = Math.max(improvement, epsilon);
+		}
+		return improvement;
+	}
+
+}
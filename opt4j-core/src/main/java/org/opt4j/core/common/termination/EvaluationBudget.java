@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.termination;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.Individual.State;
+import org.opt4j.core.IndividualStateListener;
+import org.opt4j.core.optimizer.TerminationCriterion;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link EvaluationBudget} stops the optimization once a given number of
+ * {@link Individual}s is evaluated. The individuals are counted as they are
+ * evaluated, including individuals that are completed from an evaluation
+ * cache. Since the criterion is checked after each iteration, the budget might
+ * be exceeded by the evaluations of the last iteration. The
+ * {@link org.opt4j.core.common.island.IslandOptimizer} shares the budget with
+ * its islands; there, the evaluated copies of the migrants are counted as
+ * well.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class EvaluationBudget implements TerminationCriterion, IndividualStateListener {
+
+	protected final long budget;
+
+	protected final AtomicLong evaluations = new AtomicLong();
+
+	/**
+	 * Constructs an {@link EvaluationBudget}.
+	 * 
+	 * @param budget
+	 *            the maximal number of evaluations
+	 */
+	@Inject
+	public EvaluationBudget(@Constant(value = "evaluations", namespace = EvaluationBudget.class) int budget) {
+		this.budget = budget;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.IndividualStateListener#inidividualStateChanged(org.opt4j
+	 * .core.Individual)
+	 */
+	@Override
+	public void inidividualStateChanged(Individual individual) {
+		if (individual.getState() == State.EVALUATED) {
+			evaluations.incrementAndGet();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.TerminationCriterion#isSatisfied(int)
+	 */
+	@Override
+	public boolean isSatisfied(int iteration) {
+		return evaluations.get() >= budget;
+	}
+
+	/**
+	 * Returns the number of evaluations.
+	 * 
+	 * @return the number of evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations.get();
+	}
+
+}
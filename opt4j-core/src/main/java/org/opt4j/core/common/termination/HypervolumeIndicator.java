@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.termination;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.optimizer.Archive;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * <p>
+ * The {@link HypervolumeIndicator} measures the improvement as the increase of
+ * the hypervolume for two objectives. The dominated region is maintained as a
+ * staircase of points sorted by the first objective such that the exclusive
+ * contribution of an inserted individual is computed in logarithmic time plus
+ * the number of points it dominates.
+ * </p>
+ * <p>
+ * The region covers all individuals that ever entered the {@link Archive}
+ * such that the hypervolume does not decrease for bounded archives. The
+ * reference point is the nadir point of the first archive shifted by a tenth
+ * of the range of each objective.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class HypervolumeIndicator extends ArchiveIndicator {
+
+	protected final TreeMap<Double, Double> front = new TreeMap<>();
+
+	protected double[] reference = null;
+
+	/**
+	 * Constructs a {@link HypervolumeIndicator}.
+	 * 
+	 * @param archive
+	 *            the archive
+	 */
+	@Inject
+	public HypervolumeIndicator(Archive archive) {
+		super(archive);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.common.termination.ArchiveIndicator#getImprovement(java
+	 * .util.Collection, java.util.Collection)
+	 */
+	@Override
+	protected double getImprovement(Collection<Individual> inserted, Collection<Individual> removed) {
+		if (inserted.isEmpty()) {
+			return 0;
+		}
+		if (reference == null) {
+			reference = getReference(inserted);
+		}
+		double improvement = 0;
+		for (Individual individual : inserted) {
+			improvement += add(individual.getObjectives().array());
+		}
+		return improvement;
+	}
+
+	/**
+	 * Returns the reference point for the given individuals.
+	 * 
+	 * @param individuals
+	 *            the individuals
+	 * @return the reference point
+	 */
+	protected double[] getReference(Collection<Individual> individuals) {
+		double[] min = { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY };
+		double[] max = { Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+		for (Individual individual : individuals) {
+			double[] point = individual.getObjectives().array();
+			if (point.length != 2) {
+				throw new IllegalStateException(
+						"The hypervolume indicator supports two objectives only, found " + point.length);
+			}
+			for (int i = 0; i < 2; i++) {
+				min[i] = Math.min(min[i], point[i]);
+				max[i] = Math.max(max[i], point[i]);
+			}
+		}
+		double[] reference = new double[2];
+		for (int i = 0; i < 2; i++) {
+			double range = max[i] - min[i];
+			reference[i] = max[i] + (range > 0 ? range / 10 : 1);
+		}
+		return reference;
+	}
+
+	/**
+	 * Adds a point to the dominated region.
+	 * 
+	 * @param point
+	 *            the point
+	 * @return the hypervolume that is additionally dominated by the point
+	 */
+	protected double add(double[] point) {
+		double x = point[0];
+		double y = point[1];
+		if (x >= reference[0] || y >= reference[1]) {
+			return 0;
+		}
+		Entry<Double, Double> floor = front.floorEntry(x);
+		if (floor != null && floor.getValue() <= y) {
+			return 0;
+		}
+
+		// sweep over the steps that are covered by the point
+		double position = x;
+		double height = floor == null ? reference[1] : floor.getValue();
+		double volume = 0;
+		Iterator<Entry<Double, Double>> iterator = front.tailMap(x, true).entrySet().iterator();
+		while (height > y) {
+			if (!iterator.hasNext()) {
+				volume += (reference[0] - position) * (height - y);
+				break;
+			}
+			Entry<Double, Double> step = iterator.next();
+			volume += (step.getKey() - position) * (height - y);
+			position = step.getKey();
+			height = step.getValue();
+			if (height >= y) {
+				iterator.remove();
+			}
+		}
+		front.put(x, y);
+		return volume;
+	}
+
+}
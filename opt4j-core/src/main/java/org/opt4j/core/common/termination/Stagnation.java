@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.termination;
+
+import org.opt4j.core.optimizer.TerminationCriterion;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link Stagnation} stops the optimization if the improvement within a
+ * sliding window of iterations does not exceed a threshold. The improvement of
+ * each iteration is measured by the {@link ProgressIndicator} and the
+ * improvements of the window are summed up.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Singleton
+public class Stagnation implements TerminationCriterion {
+
+	protected final ProgressIndicator indicator;
+
+	protected final double threshold;
+
+	protected final double[] improvements;
+
+	protected int index = 0;
+
+	protected boolean full = false;
+
+	/**
+	 * Constructs a {@link Stagnation}.
+	 * 
+	 * @param indicator
+	 *            the progress indicator
+	 * @param window
+	 *            the number of iterations of the window
+	 * @param threshold
+	 *            the threshold of the improvement within the window
+	 */
+	@Inject
+	public Stagnation(ProgressIndicator indicator, @Constant(value = "window", namespace = Stagnation.class) int window,
+			@Constant(value = "threshold", namespace = Stagnation.class) double threshold) {
+		if (window < 1) {
+			throw new IllegalArgumentException("The window must be positive: " + window);
+		}
+		this.indicator = indicator;
+		this.threshold = threshold;
+		this.improvements = new double[window];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.TerminationCriterion#isSatisfied(int)
+	 */
+	@Override
+	public boolean isSatisfied(int iteration) {
+		improvements[index] = indicator.getImprovement();
+		index = (index + 1) % improvements.length;
+		full |= index == 0;
+		return full && getImprovement() <= threshold;
+	}
+
+	/**
+	 * Returns the improvement within the window.
+	 * 
+	 * @return the improvement within the window
+	 */
+	public double getImprovement() {
+		double sum = 0;
+		for (double improvement : improvements) {
+			sum += improvement;
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.common.termination;
+
+import org.opt4j.core.config.Icons;
+import org.opt4j.core.config.annotations.Icon;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JModule;
+
+/**
+ * The {@link TerminationModule} stops the optimization before the maximal
+ * number of iterations is reached if an evaluation budget is exhausted, a
+ * time limit is exceeded, or the optimization stagnates.
+ * 
+ * @see EvaluationBudget
+ * @see TimeLimit
+ * @see Stagnation
+ * @author lukasiewycz
+ * 
+ */
+@Icon(Icons.CONTROL_STOP)
+@Info("Stops the optimization on an evaluation budget, a time limit, or a stagnation.")
+public class TerminationModule extends Opt4JModule {
+
+	@Info("The maximal number of evaluations (0 for no budget).")
+	@Constant(value = "evaluations", namespace = EvaluationBudget.class)
+	protected int evaluations = 0;
+
+	@Info("The time limit in seconds (0 for no limit).")
+	@Constant(value = "time", namespace = TimeLimit.class)
+	protected int time = 0;
+
+	@Info("The number of iterations of the stagnation window (0 for no stagnation detection).")
+	@Constant(value = "window", namespace = Stagnation.class)
+	protected int window = 0;
+
+	@Info("The measure of the improvement.")
+	protected Indicator indicator = Indicator.ARCHIVE;
+
+	@Info("The optimization stagnates if the improvement within the window does not exceed this threshold.")
+	@Constant(value = "threshold", namespace = Stagnation.class)
+	protected double threshold = 0;
+
+	/**
+	 * Type of {@link ProgressIndicator}.
+	 */
+	public enum Indicator {
+		/**
+		 * The number of individuals that entered the archive.
+		 * 
+		 * @see ArchiveChangeIndicator
+		 */
+		@Info("The number of individuals that entered the archive.")
+		ARCHIVE,
+		/**
+		 * The additive epsilon indicator of the archive.
+		 * 
+		 * @see EpsilonIndicator
+		 */
+		@Info("The additive epsilon indicator of the archive.")
+		EPSILON,
+		/**
+		 * The hypervolume of the archive (two objectives only).
+		 * 
+		 * @see HypervolumeIndicator
+		 */
+		@Info("The hypervolume of the archive (two objectives only).")
+		HYPERVOLUME;
+	}
+
+	/**
+	 * Returns the maximal number of evaluations.
+	 * 
+	 * @see #setEvaluations
+	 * @return the maximal number of evaluations ({@code 0} for no budget)
+	 */
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Sets the maximal number of evaluations.
+	 * 
+	 * @see #getEvaluations
+	 * @param evaluations
+	 *            the maximal number of evaluations ({@code 0} for no budget)
+	 */
+	public void setEvaluations(int evaluations) {
+		if (evaluations < 0) {
+			throw new IllegalArgumentException("The number of evaluations must not be negative: " + evaluations);
+		}
+		this.evaluations = evaluations;
+	}
+
+	/**
+	 * Returns the time limit in seconds.
+	 * 
+	 * @see #setTime
+	 * @return the time limit ({@code 0} for no limit)
+	 */
+	public int getTime() {
+		return time;
+	}
+
+	/**
+	 * Sets the time limit in seconds.
+	 * 
+	 * @see #getTime
+	 * @param time
+	 *            the time limit ({@code 0} for no limit)
+	 */
+	public void setTime(int time) {
+		if (time < 0) {
+			throw new IllegalArgumentException("The time limit must not be negative: " + time);
+		}
+		this.time = time;
+	}
+
+	/**
+	 * Returns the number of iterations of the stagnation window.
+	 * 
+	 * @see #setWindow
+	 * @return the window ({@code 0} for no stagnation detection)
+	 */
+	public int getWindow() {
+		return window;
+	}
+
+	/**
+	 * Sets the number of iterations of the stagnation window.
+	 * 
+	 * @see #getWindow
+	 * @param window
+	 *            the window ({@code 0} for no stagnation detection)
+	 */
+	public void setWindow(int window) {
+		if (window < 0) {
+			throw new IllegalArgumentException("The window must not be negative: " + window);
+		}
+		this.window = window;
+	}
+
+	/**
+	 * Returns the measure of the improvement.
+	 * 
+	 * @see #setIndicator
+	 * @return the indicator
+	 */
+	public Indicator getIndicator() {
+		return indicator;
+	}
+
+	/**
+	 * Sets the measure of the improvement.
+	 * 
+	 * @see #getIndicator
+	 * @param indicator
+	 *            the indicator
+	 */
+	public void setIndicator(Indicator indicator) {
+		this.indicator = indicator;
+	}
+
+	/**
+	 * Returns the threshold of the improvement within the window.
+	 * 
+	 * @see #setThreshold
+	 * @return the threshold
+	 */
+	public double getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Sets the threshold of the improvement within the window.
+	 * 
+	 * @see #getThreshold
+	 * @param threshold
+	 *            the threshold
+	 */
+	public void setThreshold(double threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("The threshold must not be negative: " + threshold);
+		}
+		this.threshold = threshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.start.Opt4JModule#config()
+	 */
+	@Override
+	public void config() {
+		if (evaluations > 0) {
+			addIndividualStateListener(EvaluationBudget.class);
+			addTerminationCriterion(EvaluationBudget.class);
+		}
+		if (time > 0) {
+			addOptimizerStateListener(TimeLimit.class);
+			addTerminationCriterion(TimeLimit.class);
+		}
+		if (window > 0) {
+			switch (indicator) {
+			case EPSILON:
+				bind(ProgressIndicator.class).to(EpsilonIndicator.class).in(SINGLETON);
+				break;
+			case HYPERVOLUME:
+				bind(ProgressIndicator.class).to(HypervolumeIndicator.class).in(SINGLETON);
+				break;
+			default: // ARCHIVE
+				bind(ProgressIndicator.class).to(ArchiveChangeIndicator.class).in(SINGLETON);
+				break;
+			}
+			addTerminationCriterion(Stagnation.class);
+		}
+	}
+
+}
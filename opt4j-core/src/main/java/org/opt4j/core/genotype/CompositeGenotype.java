@@ -187,6 +187,32 @@ public class CompositeGenotype<K, V extends Genotype> implements Genotype, Itera
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return map.hashCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return map.equals(((CompositeGenotype<?, ?>) obj).map);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
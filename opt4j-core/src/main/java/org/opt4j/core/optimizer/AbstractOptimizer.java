@@ -22,10 +22,17 @@
 
 package org.opt4j.core.optimizer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
+import org.opt4j.core.Individual;
 import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.common.instrumentation.DisabledInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
 
 import com.google.inject.Inject;
 
@@ -60,8 +67,14 @@ public abstract class AbstractOptimizer implements Optimizer {
 
 	protected final Set<OptimizerIterationListener> iterationListeners = new CopyOnWriteArraySet<>();
 
+	protected final Set<TerminationCriterion> terminationCriteria = new CopyOnWriteArraySet<>();
+
 	protected boolean optimizing = false;
 
+	protected Instrumentation instrumentation = DisabledInstrumentation.INSTANCE;
+
+	protected long iterationStart = 0;
+
 	/**
 	 * Constructs an {@link AbstractOptimizer} with a {@link Population}, an
 	 * {@link Archive}, an {@link IndividualFactory}, and a
@@ -94,6 +107,22 @@ public abstract class AbstractOptimizer implements Optimizer {
 		this.iterationListeners.addAll(iterationListeners);
 	}
 
+	@Inject
+	protected void injectTerminationCriteria(Set<TerminationCriterion> terminationCriteria) {
+		this.terminationCriteria.addAll(terminationCriteria);
+	}
+
+	/**
+	 * Sets the {@link Instrumentation} that measures the iterations.
+	 * 
+	 * @param instrumentation
+	 *            the instrumentation
+	 */
+	@Inject(optional = true)
+	protected void injectInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -123,15 +152,81 @@ public abstract class AbstractOptimizer implements Optimizer {
 	 *             if the optimization is terminated
 	 */
 	protected void nextIteration() throws TerminationException, StopException {
+		long start = instrumentation.start();
 		completer.complete(population);
-		archive.update(population);
+		instrumentation.stop(Stage.COMPLETION, start);
+
+		if (instrumentation.isEnabled()) {
+			updateArchiveMeasured();
+		} else {
+			archive.update(population);
+		}
+
 		iteration.next();
+		if (iterationStart != 0) {
+			instrumentation.stop(Stage.ITERATION, iterationStart);
+		}
+		iterationStart = instrumentation.start();
 		for (OptimizerIterationListener listener : iterationListeners) {
 			listener.iterationComplete(iteration.value());
 		}
+		if (isTerminationSatisfied()) {
+			control.doStop();
+		}
 		control.checkpointStop();
 	}
 
+	/**
+	 * Returns {@code true} if any {@link TerminationCriterion} is satisfied
+	 * after the completed iteration. All criteria are checked such that each
+	 * criterion observes each iteration.
+	 * 
+	 * @return {@code true} if the optimization shall stop
+	 */
+	protected boolean isTerminationSatisfied() {
+		boolean satisfied = false;
+		for (TerminationCriterion criterion : terminationCriteria) {
+			satisfied |= criterion.isSatisfied(iteration.value());
+		}
+		return satisfied;
+	}
+
+	/**
+	 * Call this method if the {@link Optimizer} is initialized and about to
+	 * start the first iteration.
+	 */
+	protected void initialized() {
+		for (OptimizerStateListener listener : stateListeners) {
+			listener.optimizationInitialized(this);
+		}
+	}
+
+	/**
+	 * Updates the {@link Archive} and measures its latency and changes.
+	 */
+	protected void updateArchiveMeasured() {
+		List<Individual> candidates = new ArrayList<>();
+		for (Individual individual : population) {
+			if (!archive.contains(individual)) {
+				candidates.add(individual);
+			}
+		}
+		int size = archive.size();
+
+		long start = instrumentation.start();
+		archive.update(population);
+		instrumentation.stop(Stage.ARCHIVE, start);
+
+		int insertions = 0;
+		for (Individual individual : candidates) {
+			if (archive.contains(individual)) {
+				insertions++;
+			}
+		}
+		instrumentation.count(Counter.ARCHIVE_INSERTIONS, insertions);
+		instrumentation.count(Counter.ARCHIVE_REMOVALS, size + insertions - archive.size());
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -140,6 +235,7 @@ public abstract class AbstractOptimizer implements Optimizer {
 	@Override
 	public void startOptimization() {
 		optimizing = true;
+		iterationStart = 0;
 		for (OptimizerStateListener listener : stateListeners) {
 			listener.optimizationStarted(this);
 		}
@@ -191,6 +287,27 @@ public abstract class AbstractOptimizer implements Optimizer {
 		stateListeners.add(listener);
 	}
 
+	/**
+	 * Adds a {@link TerminationCriterion} that is checked after each
+	 * iteration.
+	 * 
+	 * @param criterion
+	 *            the criterion to be added
+	 */
+	public void addTerminationCriterion(TerminationCriterion criterion) {
+		terminationCriteria.add(criterion);
+	}
+
+	/**
+	 * Removes a {@link TerminationCriterion}.
+	 * 
+	 * @param criterion
+	 *            the criterion to be removed
+	 */
+	public void removeTerminationCriterion(TerminationCriterion criterion) {
+		terminationCriteria.remove(criterion);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -34,7 +34,9 @@ import com.google.inject.ImplementedBy;
 
 /**
  * An {@link Archive} is used to store a set of high-quality {@link Individual}
- * s. Commonly, these {@link Individual}s are non-dominated.
+ * s. Commonly, these {@link Individual}s are non-dominated. The objective
+ * values of the {@link Individual}s are available as
+ * {@link IndividualSet#getObjectiveMatrix()}.
  * 
  * @author helwig, lukasiewycz
  */
@@ -46,6 +46,11 @@ import com.google.inject.Singleton;
  * {@link #checkpointStop()} between the iterations and {@link #checkpoint()}
  * within the iteration.
  * </p>
+ * <p>
+ * The state is kept in a volatile field. As long as the optimization is
+ * running, a checkpoint is a single read without a lock. Only paused
+ * processes wait on the monitor of the {@link Control}.
+ * </p>
  * 
  * @author lukasiewycz
  * 
@@ -53,7 +58,7 @@ import com.google.inject.Singleton;
 @Singleton
 public class Control {
 
-	protected State state = State.RUNNING;
+	protected volatile State state = State.RUNNING;
 
 	protected final Set<ControlListener> listeners = new CopyOnWriteArraySet<>();
 
@@ -151,7 +156,7 @@ public class Control {
 	 * 
 	 * @return {@code true} if the optimization is running
 	 */
-	public synchronized boolean isRunning() {
+	public boolean isRunning() {
 		return (state == State.RUNNING);
 	}
 
@@ -160,7 +165,7 @@ public class Control {
 	 * 
 	 * @return {@code true} if the optimization is paused
 	 */
-	public synchronized boolean isPaused() {
+	public boolean isPaused() {
 		return (state == State.PAUSED);
 	}
 
@@ -169,7 +174,7 @@ public class Control {
 	 * 
 	 * @return {@code true} if the optimization is stopped
 	 */
-	public synchronized boolean isStopped() {
+	public boolean isStopped() {
 		return (state == State.STOPPED);
 	}
 
@@ -178,7 +183,7 @@ public class Control {
 	 * 
 	 * @return {@code true} if the optimization is terminated
 	 */
-	public synchronized boolean isTerminated() {
+	public boolean isTerminated() {
 		return (state == State.TERMINATED);
 	}
 
@@ -188,12 +193,10 @@ public class Control {
 	 * @throws TerminationException
 	 *             if the optimization is terminated
 	 */
-	public synchronized void checkpoint() throws TerminationException {
-		while (state == State.PAUSED) {
-			try {
-				wait();
-			} catch (InterruptedException e) {
-			}
+	public void checkpoint() throws TerminationException {
+		State state = this.state;
+		if (state == State.PAUSED) {
+			state = awaitResume();
 		}
 
 		if (state == State.TERMINATED) {
@@ -209,13 +212,34 @@ public class Control {
 	 * @throws StopException
 	 *             if the optimization is stopped
 	 */
-	public synchronized void checkpointStop() throws TerminationException, StopException {
-		checkpoint();
-		if (state == State.STOPPED) {
+	public void checkpointStop() throws TerminationException, StopException {
+		State state = this.state;
+		if (state == State.PAUSED) {
+			state = awaitResume();
+		}
+
+		if (state == State.TERMINATED) {
+			throw new TerminationException();
+		} else if (state == State.STOPPED) {
 			throw new StopException();
 		}
 	}
 
+	/**
+	 * Blocks while the optimization is paused.
+	 * 
+	 * @return the state after the pause
+	 */
+	protected synchronized State awaitResume() {
+		while (state == State.PAUSED) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+			}
+		}
+		return state;
+	}
+
 	/**
 	 * Returns the state.
 	 * 
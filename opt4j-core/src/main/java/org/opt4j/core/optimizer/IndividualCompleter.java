@@ -23,6 +23,8 @@
 
 package org.opt4j.core.optimizer;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.opt4j.core.Individual;
 import org.opt4j.core.common.completer.SequentialIndividualCompleter;
 import org.opt4j.core.problem.Decoder;
@@ -62,4 +64,40 @@ public interface IndividualCompleter {
 	 *             if the optimization is terminated
 	 */
 	public void complete(Individual... individuals) throws TerminationException;
+
+	/**
+	 * Decodes and evaluates the given {@link Individual} asynchronously. The
+	 * returned future completes with the individual once it is evaluated or
+	 * exceptionally, with a {@link TerminationException} if the optimization
+	 * is terminated. Cancelling the future before the individual is processed
+	 * skips its completion.
+	 * <p>
+	 * The default implementation completes the individual in the calling
+	 * thread and returns an already completed future.
+	 * 
+	 * @param individual
+	 *            the individual to be completed
+	 * @return the future of the completed individual
+	 */
+	public default CompletableFuture<Individual> completeAsync(Individual individual) {
+		CompletableFuture<Individual> future = new CompletableFuture<>();
+		try {
+			complete(individual);
+			future.complete(individual);
+		} catch (TerminationException | RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Returns the number of {@link Individual}s that are completed
+	 * concurrently, i.e., the number of pending asynchronous completions that
+	 * keep this completer fully utilized.
+	 * 
+	 * @return the number of concurrently completed individuals
+	 */
+	public default int getParallelism() {
+		return 1;
+	}
 }
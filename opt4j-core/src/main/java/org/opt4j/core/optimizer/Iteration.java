@@ -22,6 +22,12 @@
  
 package org.opt4j.core.optimizer;
 
+import java.io.IOException;
+
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -33,7 +39,7 @@ import com.google.inject.Singleton;
  * 
  */
 @Singleton
-public class Iteration {
+public class Iteration implements Snapshotable {
 
 	protected int value = 0;
 	protected final int maxIterations;
@@ -74,4 +80,26 @@ public class Iteration {
 		return maxIterations;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		out.writeInt(value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		value = in.readInt();
+	}
+
 }
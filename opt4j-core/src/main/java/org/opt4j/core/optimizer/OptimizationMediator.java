@@ -23,6 +23,8 @@
 
 package org.opt4j.core.optimizer;
 
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -69,8 +71,11 @@ public class OptimizationMediator extends AbstractOptimizer {
 	@Override
 	public void optimize() throws StopException, TerminationException {
 		iterativeOptimizer.initialize();
+		initialized();
 		while (iteration.value() < iteration.max()) {
+			long start = instrumentation.start();
 			iterativeOptimizer.next();
+			instrumentation.stop(Stage.NEXT, start);
 			nextIteration();
 		}
 	}
@@ -40,6 +40,18 @@ public interface OptimizerStateListener {
 	 */
 	public void optimizationStarted(Optimizer optimizer);
 
+	/**
+	 * Invoked if the {@link Optimizer} has initialized its state, i.e., after
+	 * the initial {@link Population} is created and before the first
+	 * iteration. Listeners may replace the state at this point, e.g., to
+	 * resume a previous optimization run.
+	 * 
+	 * @param optimizer
+	 *            the optimizer
+	 */
+	public default void optimizationInitialized(Optimizer optimizer) {
+	}
+
 	/**
 	 * Invoked if the {@link Optimizer} stops the optimization process.
 	 * 
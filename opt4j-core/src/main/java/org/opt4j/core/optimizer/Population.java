@@ -29,7 +29,9 @@ import org.opt4j.core.IndividualSet;
 import com.google.inject.Singleton;
 
 /**
- * The {@link Population} manages a set of {@link Individual}s.
+ * The {@link Population} manages a set of {@link Individual}s. The objective
+ * values of the {@link Individual}s are available as
+ * {@link IndividualSet#getObjectiveMatrix()}.
  * 
  * @author glass, lukasiewycz, helwig
  * 
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.problem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.opt4j.core.Objectives;
+
+/**
+ * The {@link BatchEvaluator} is an {@link Evaluator} that evaluates a list of
+ * phenotypes at once, for instance, as one vectorized operation or as one
+ * request to an external simulation.
+ * <p>
+ * The {@link org.opt4j.core.optimizer.IndividualCompleter}s group the
+ * individuals into batches of a configurable size. Plain {@link Evaluator}s
+ * are still called for one phenotype at a time.
+ * 
+ * @author lukasiewycz
+ * 
+ * @param <P>
+ *            the type of the phenotype that is evaluated
+ */
+public interface BatchEvaluator<P extends Object> extends Evaluator<P> {
+
+	/**
+	 * Evaluates a list of phenotypes. The returned list contains the
+	 * {@link Objectives} of the phenotypes in the same order.
+	 * 
+	 * @param phenotypes
+	 *            the phenotypes to be evaluated
+	 * @return the results in the objectives
+	 */
+	public List<Objectives> evaluateBatch(List<? extends P> phenotypes);
+
+	/**
+	 * Evaluates a single phenotype as a batch of size one.
+	 * 
+	 * @param phenotype
+	 *            the phenotype to be evaluated
+	 * 
+	 * @return the results in the objectives
+	 */
+	@Override
+	public default Objectives evaluate(P phenotype) {
+		return evaluateBatch(Collections.singletonList(phenotype)).get(0);
+	}
+
+	/**
+	 * Evaluates each phenotype of the list with the given {@link Evaluator}.
+	 * If the evaluator is a {@link BatchEvaluator}, the whole list is passed
+	 * at once.
+	 * 
+	 * @param <P>
+	 *            the type of the phenotypes
+	 * @param evaluator
+	 *            the evaluator
+	 * @param phenotypes
+	 *            the phenotypes to be evaluated
+	 * @return the results in the objectives
+	 */
+	public static <P> List<Objectives> evaluateAll(Evaluator<P> evaluator, List<? extends P> phenotypes) {
+		if (evaluator instanceof BatchEvaluator) {
+			List<Objectives> results = ((BatchEvaluator<P>) evaluator).evaluateBatch(phenotypes);
+			if (results.size() != phenotypes.size()) {
+				throw new IllegalStateException("Evaluator returned " + results.size() + " results for "
+						+ phenotypes.size() + " phenotypes: " + evaluator);
+			}
+			return results;
+		}
+		List<Objectives> results = new ArrayList<>(phenotypes.size());
+		for (P phenotype : phenotypes) {
+			results.add(evaluator.evaluate(phenotype));
+		}
+		return results;
+	}
+}
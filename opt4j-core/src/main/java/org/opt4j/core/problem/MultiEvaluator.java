@@ -19,14 +19,26 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  *******************************************************************************/
-
 package org.opt4j.core.problem;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.opt4j.core.Objective;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.Value;
+import org.opt4j.core.start.Constant;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -37,17 +49,33 @@ import com.google.inject.Provider;
  * to add additional {@link Evaluator} s.
  * 
  * The order of the {@link Evaluator}s can be controlled using the
- * {@link Priority} annotation for the {@link Evaluator} classes.
+ * {@link Priority} annotation for the {@link Evaluator} classes. If enabled,
+ * the {@link Evaluator}s with the same priority run concurrently. An
+ * {@link Evaluator} with {@link Priority#shortCircuit()} skips the later
+ * {@link Evaluator}s for infeasible phenotypes.
  * 
+ * A batch of phenotypes is passed at once to each {@link BatchEvaluator} while
+ * the other {@link Evaluator}s are called for one phenotype at a time.
  * 
  * @author reimann, lukasiewycz
  * 
  */
-public class MultiEvaluator implements Evaluator<Object> {
+public class MultiEvaluator implements BatchEvaluator<Object> {
 
 	protected final Set<Evaluator<Object>> evaluators = new TreeSet<>(new PriorityComparator());
+	protected final List<List<Evaluator<Object>>> groups = new ArrayList<>();
 	protected final Provider<Objectives> objectivesProvider;
 
+	/**
+	 * The {@link Objective}s of each {@link Evaluator} as observed in its
+	 * first evaluation. They are required to skip an evaluator.
+	 */
+	protected final Map<Evaluator<Object>, List<Objective>> evaluatorObjectives = new ConcurrentHashMap<>();
+
+	protected boolean concurrent = false;
+
+	private ExecutorService executor = null;
+
 	/**
 	 * Creates a new {@link MultiEvaluator}.
 	 * 
@@ -60,6 +88,31 @@ public class MultiEvaluator implements Evaluator<Object> {
 	public MultiEvaluator(Set<Evaluator<Object>> evaluators, Provider<Objectives> objectivesProvider) {
 		this.evaluators.addAll(evaluators);
 		this.objectivesProvider = objectivesProvider;
+
+		List<Evaluator<Object>> group = null;
+		int priority = 0;
+		for (Evaluator<Object> evaluator : this.evaluators) {
+			int p = PriorityComparator.getPriority(evaluator);
+			if (group == null || p != priority) {
+				group = new ArrayList<>();
+				groups.add(group);
+				priority = p;
+			}
+			group.add(evaluator);
+		}
+	}
+
+	/**
+	 * Sets whether the {@link Evaluator}s with the same {@link Priority} run
+	 * concurrently.
+	 * 
+	 * @param concurrent
+	 *            {@code true} if the evaluators of a priority group run
+	 *            concurrently (using namespace {@link MultiEvaluator})
+	 */
+	@Inject(optional = true)
+	public void setConcurrent(@Constant(value = "concurrent", namespace = MultiEvaluator.class) boolean concurrent) {
+		this.concurrent = concurrent;
 	}
 
 	/*
@@ -69,12 +122,174 @@ public class MultiEvaluator implements Evaluator<Object> {
 	 */
 	@Override
 	public Objectives evaluate(Object phenotype) {
-		Objectives objectives = objectivesProvider.get();
-		for (Evaluator<Object> evaluator : evaluators) {
-			Objectives obj = evaluator.evaluate(phenotype);
-			objectives.addAll(obj);
+		return evaluateBatch(Collections.singletonList(phenotype)).get(0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.problem.BatchEvaluator#evaluateBatch(java.util.List)
+	 */
+	@Override
+	public List<Objectives> evaluateBatch(List<? extends Object> phenotypes) {
+		final int n = phenotypes.size();
+		List<Objectives> results = new ArrayList<>(n);
+		boolean[] skipped = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			results.add(objectivesProvider.get());
+		}
+
+		for (List<Evaluator<Object>> group : groups) {
+			List<Integer> feasible = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				if (!skipped[i]) {
+					feasible.add(i);
+				}
+			}
+			List<Integer> all = feasible.size() == n ? feasible : allIndices(n);
+
+			// an evaluator with unknown objectives evaluates all phenotypes
+			List<List<Integer>> indices = new ArrayList<>(group.size());
+			for (Evaluator<Object> evaluator : group) {
+				indices.add(evaluatorObjectives.containsKey(evaluator) ? feasible : all);
+			}
+			List<List<Objectives>> groupResults = evaluate(group, indices, phenotypes);
+
+			boolean[] infeasible = new boolean[n];
+			for (int e = 0; e < group.size(); e++) {
+				Evaluator<Object> evaluator = group.get(e);
+				List<Objectives> obj = groupResults.get(e);
+				if (!obj.isEmpty()) {
+					evaluatorObjectives.putIfAbsent(evaluator, new ArrayList<>(obj.get(0).getKeys()));
+				}
+				List<Integer> evaluated = indices.get(e);
+				for (int k = 0, i = 0; i < n; i++) {
+					Objectives result = k < evaluated.size() && evaluated.get(k) == i ? obj.get(k++) : null;
+					if (skipped[i]) {
+						setInfeasible(evaluatorObjectives.get(evaluator), results.get(i));
+					} else {
+						results.get(i).addAll(result);
+						infeasible[i] |= isShortCircuit(evaluator) && isInfeasible(result);
+					}
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				skipped[i] |= infeasible[i];
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Evaluates the phenotypes with each {@link Evaluator} of a group. If
+	 * enabled, the evaluators run concurrently.
+	 * 
+	 * @param group
+	 *            the evaluators
+	 * @param indices
+	 *            the indices of the phenotypes for each evaluator
+	 * @param phenotypes
+	 *            the phenotypes
+	 * @return the objectives per evaluator and evaluated phenotype
+	 */
+	protected List<List<Objectives>> evaluate(List<Evaluator<Object>> group, List<List<Integer>> indices,
+			List<? extends Object> phenotypes) {
+		List<List<Objectives>> results = new ArrayList<>(group.size());
+		if (!concurrent || group.size() == 1) {
+			for (int e = 0; e < group.size(); e++) {
+				results.add(evaluate(group.get(e), select(phenotypes, indices.get(e))));
+			}
+			return results;
+		}
+
+		List<Future<List<Objectives>>> futures = new ArrayList<>(group.size() - 1);
+		for (int e = 1; e < group.size(); e++) {
+			final Evaluator<Object> evaluator = group.get(e);
+			final List<Object> selection = select(phenotypes, indices.get(e));
+			futures.add(getExecutor().submit(() -> evaluate(evaluator, selection)));
+		}
+		try {
+			results.add(evaluate(group.get(0), select(phenotypes, indices.get(0))));
+			for (Future<List<Objectives>> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		} finally {
+			for (Future<List<Objectives>> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return results;
+	}
+
+	private static List<Objectives> evaluate(Evaluator<Object> evaluator, List<Object> phenotypes) {
+		if (phenotypes.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return BatchEvaluator.evaluateAll(evaluator, phenotypes);
+	}
+
+	/**
+	 * Returns {@code true} if any value of the {@link Objectives} is
+	 * {@link Objective#INFEASIBLE}.
+	 * 
+	 * @param objectives
+	 *            the objectives
+	 * @return {@code true} if the objectives are infeasible
+	 */
+	protected static boolean isInfeasible(Objectives objectives) {
+		for (Entry<Objective, Value<?>> entry : objectives) {
+			Value<?> value = entry.getValue();
+			if (value == Objective.INFEASIBLE || value.getValue() == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isShortCircuit(Evaluator<Object> evaluator) {
+		Priority priority = evaluator.getClass().getAnnotation(Priority.class);
+		return priority != null && priority.shortCircuit();
+	}
+
+	private static void setInfeasible(List<Objective> keys, Objectives objectives) {
+		for (Objective objective : keys) {
+			objectives.add(objective, Objective.INFEASIBLE);
+		}
+	}
+
+	private static List<Integer> allIndices(int n) {
+		List<Integer> indices = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			indices.add(i);
+		}
+		return indices;
+	}
+
+	private static List<Object> select(List<? extends Object> phenotypes, List<Integer> indices) {
+		List<Object> selection = new ArrayList<>(indices.size());
+		for (int i : indices) {
+			selection.add(phenotypes.get(i));
+		}
+		return selection;
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "MultiEvaluator");
+				thread.setDaemon(true);
+				return thread;
+			});
 		}
-		return objectives;
+		return executor;
 	}
 
 	private static class PriorityComparator implements Comparator<Evaluator<Object>> {
@@ -84,12 +299,12 @@ public class MultiEvaluator implements Evaluator<Object> {
 			int p1 = getPriority(o1);
 			int p2 = getPriority(o2);
 			if (p1 == p2) {
-				return o1.hashCode() - o2.hashCode();
+				return Integer.compare(o1.hashCode(), o2.hashCode());
 			}
-			return p1 - p2;
+			return Integer.compare(p1, p2);
 		}
 
-		protected int getPriority(Evaluator<Object> evaluator) {
+		protected static int getPriority(Evaluator<Object> evaluator) {
 			if (evaluator.getClass().isAnnotationPresent(Priority.class)) {
 				Priority priority = evaluator.getClass().getAnnotation(Priority.class);
 				return priority.value();
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.problem;
+
+import org.opt4j.core.Individual;
+
+/**
+ * <p>
+ * The {@link PhenotypeRetention} decides which phenotypes are kept after the
+ * evaluation of the {@link Individual}s. It evicts phenotypes with
+ * {@link Individual#evictPhenotype(PhenotypeRetention)} and restores them on
+ * demand with {@link #restore(Individual)}. Other phenotypes must not be
+ * evicted within {@link #restore(Individual)} but in
+ * {@link #restored(Individual)} since the former holds the monitor of the
+ * restored {@link Individual}.
+ * </p>
+ * <p>
+ * Restored phenotypes are decoded again from the {@link org.opt4j.core.Genotype}.
+ * Thus, the phenotypes of evicted {@link Individual}s are only reproduced
+ * faithfully if the {@link Decoder} is deterministic.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public interface PhenotypeRetention {
+
+	/**
+	 * Called once the {@link Individual} is evaluated. The retention may evict
+	 * the phenotype of this or any other previously retained
+	 * {@link Individual}.
+	 * 
+	 * @param individual
+	 *            the evaluated individual
+	 */
+	public void retain(Individual individual);
+
+	/**
+	 * Restores the evicted phenotype of the {@link Individual}.
+	 * 
+	 * @param individual
+	 *            the individual with the evicted phenotype
+	 * @return the restored phenotype
+	 */
+	public Object restore(Individual individual);
+
+	/**
+	 * Called once the restored phenotype is set. In contrast to
+	 * {@link #restore(Individual)}, the monitor of the {@link Individual} is
+	 * not held such that the retention may evict the phenotypes of other
+	 * {@link Individual}s here.
+	 * 
+	 * @param individual
+	 *            the individual with the restored phenotype
+	 */
+	public default void restored(Individual individual) {
+		// nothing to do by default
+	}
+
+}
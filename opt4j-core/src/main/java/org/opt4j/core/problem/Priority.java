@@ -34,7 +34,12 @@ import java.lang.annotation.Target;
  * {@link MultiEvaluator} will call it.
  * 
  * If two {@link Evaluator}s have the same priority, the order of their
- * execution is unspecified.
+ * execution is unspecified and they may run concurrently.
+ * 
+ * If {@link Priority#shortCircuit()} is set, an infeasible result of the
+ * {@link Evaluator} skips all {@link Evaluator}s with a higher
+ * {@link Priority#value()}. Their {@link org.opt4j.core.Objective}s are set to
+ * {@link org.opt4j.core.Objective#INFEASIBLE}.
  * 
  * @author reimann
  * 
@@ -48,4 +53,12 @@ public @interface Priority {
 	 * @return the priority of the evaluator
 	 */
 	int value() default 0;
+
+	/**
+	 * Returns {@code true} if an infeasible result of the {@link Evaluator}
+	 * skips the {@link Evaluator}s with a higher {@link #value()}.
+	 * 
+	 * @return {@code true} if infeasible results skip later evaluators
+	 */
+	boolean shortCircuit() default false;
 }
@@ -0,0 +1,712 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.start;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objective.Sign;
+import org.opt4j.core.Value;
+import org.opt4j.core.common.completer.IndividualCompleterModule;
+import org.opt4j.core.common.island.IslandModule;
+import org.opt4j.core.common.random.RandomModule;
+import org.opt4j.core.config.JNode;
+import org.opt4j.core.config.ModuleAutoFinder;
+import org.opt4j.core.config.ModuleLoader;
+import org.opt4j.core.config.ModuleRegister;
+import org.opt4j.core.config.Property;
+import org.opt4j.core.config.PropertyModule;
+import org.opt4j.core.config.Starter;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.start.Sweep.Parameter;
+import org.opt4j.core.start.Sweep.Run;
+import org.w3c.dom.Document;
+
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+
+/**
+ * <p>
+ * The {@link Opt4JExperiment} runs a configuration headless for all runs of a
+ * {@link Sweep}, i.e., for several seeds and combinations of module
+ * properties. The runs are executed concurrently by a given number of
+ * threads and a summary of each run is written to a CSV file as soon as the
+ * run is finished.
+ * </p>
+ * <p>
+ * The threads of the parallel {@link org.opt4j.core.optimizer.IndividualCompleter}s
+ * are accounted against the total number of threads: each run is limited to
+ * the total number of threads divided by the parallelism.
+ * </p>
+ * <p>
+ * Problem data that is expensive to create is bound by shared modules. These
+ * are installed once in a shared injector and their bindings are provided to
+ * each run. The runs do not use child injectors of the shared injector since
+ * the just-in-time bindings, e.g., of the
+ * {@link org.opt4j.core.optimizer.Control}, would be created in the shared
+ * injector and be shared among all runs.
+ * </p>
+ * <p>
+ * The experiment is defined in XML:
+ * </p>
+ * 
+ * <pre>
+ * &lt;experiment parallelism="4" threads="8" output="experiment.csv"&gt;
+ *   &lt;shared class="com.example.ProblemDataModule"/&gt;
+ *   &lt;sweep&gt;
+ *     ...
+ *   &lt;/sweep&gt;
+ * &lt;/experiment&gt;
+ * </pre>
+ * 
+ * @see Sweep
+ * @author lukasiewycz
+ * 
+ */
+public class Opt4JExperiment extends Starter {
+
+	protected final List<Module> modules = new ArrayList<>();
+
+	protected final List<Module> sharedModules = new ArrayList<>();
+
+	protected final Sweep sweep = new Sweep();
+
+	protected int parallelism = 1;
+
+	protected int threads = Runtime.getRuntime().availableProcessors();
+
+	protected File output = null;
+
+	/**
+	 * The summary of a run.
+	 */
+	public static class Summary {
+
+		protected final Run run;
+
+		protected final int iterations;
+
+		protected final int archiveSize;
+
+		protected final Map<Objective, Double> ideal = new LinkedHashMap<>();
+
+		protected final long time;
+
+		protected final Throwable exception;
+
+		/**
+		 * Constructs a {@link Summary}.
+		 * 
+		 * @param run
+		 *            the run
+		 * @param iterations
+		 *            the number of iterations
+		 * @param archive
+		 *            the archive or {@code null} if the run failed
+		 * @param time
+		 *            the duration in milliseconds
+		 * @param exception
+		 *            the exception or {@code null} if the run succeeded
+		 */
+		public Summary(Run run, int iterations, Archive archive, long time, Throwable exception) {
+			this.run = run;
+			this.iterations = iterations;
+			this.archiveSize = archive == null ? 0 : archive.size();
+			this.time = time;
+			this.exception = exception;
+
+			if (archive != null) {
+				for (Individual individual : archive) {
+					for (Entry<Objective, Value<?>> entry : individual.getObjectives()) {
+						Objective objective = entry.getKey();
+						Value<?> value = entry.getValue();
+						if (value != null && value.getDouble() != null) {
+							double v = value.getDouble();
+							Double best = ideal.get(objective);
+							if (best == null || (objective.getSign() == Sign.MIN ? v < best : v > best)) {
+								ideal.put(objective, v);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the run.
+		 * 
+		 * @return the run
+		 */
+		public Run getRun() {
+			return run;
+		}
+
+		/**
+		 * Returns the number of iterations.
+		 * 
+		 * @return the number of iterations
+		 */
+		public int getIterations() {
+			return iterations;
+		}
+
+		/**
+		 * Returns the size of the final archive.
+		 * 
+		 * @return the size of the archive
+		 */
+		public int getArchiveSize() {
+			return archiveSize;
+		}
+
+		/**
+		 * Returns the best value of each objective in the final archive.
+		 * 
+		 * @return the ideal point
+		 */
+		public Map<Objective, Double> getIdeal() {
+			return Collections.unmodifiableMap(ideal);
+		}
+
+		/**
+		 * Returns the duration of the run.
+		 * 
+		 * @return the duration in milliseconds
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * Returns the exception of a failed run.
+		 * 
+		 * @return the exception or {@code null} if the run succeeded
+		 */
+		public Throwable getException() {
+			return exception;
+		}
+	}
+
+	/**
+	 * Provides the bindings of the shared injector to a run.
+	 */
+	@Ignore
+	protected static class SharedModule extends Opt4JModule {
+
+		protected final Injector injector;
+
+		/**
+		 * Constructs a {@link SharedModule}.
+		 * 
+		 * @param injector
+		 *            the shared injector
+		 */
+		protected SharedModule(Injector injector) {
+			this.injector = injector;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.opt4j.core.start.Opt4JModule#config()
+		 */
+		@Override
+		protected void config() {
+			for (Binding<?> binding : injector.getBindings().values()) {
+				if (isShared(binding.getKey())) {
+					bindShared(binding.getKey());
+				}
+			}
+		}
+
+		/**
+		 * Binds a key to the provider of the shared injector.
+		 * 
+		 * @param key
+		 *            the key
+		 */
+		protected <T> void bindShared(Key<T> key) {
+			bind(key).toProvider(injector.getProvider(key));
+		}
+
+		/**
+		 * Returns {@code true} if the binding is provided to the runs. The
+		 * bindings of Guice and the multibindings are not provided.
+		 * 
+		 * @param key
+		 *            the key of the binding
+		 * @return {@code true} if the binding is provided
+		 */
+		protected boolean isShared(Key<?> key) {
+			Class<?> type = key.getTypeLiteral().getRawType();
+			if (type == Injector.class || type == Stage.class || type == Logger.class
+					|| Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+				return false;
+			}
+			Class<?> annotation = key.getAnnotationType();
+			return annotation == null || !annotation.getName().startsWith("com.google.inject.");
+		}
+	}
+
+	/**
+	 * Runs an experiment.
+	 * 
+	 * @param args
+	 *            the configuration file and the experiment file
+	 * @throws Exception
+	 *             if the experiment cannot be executed
+	 */
+	public static void main(String[] args) throws Exception {
+		Starter starter = new Opt4JExperiment();
+		starter.execute(args);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.config.Starter#execute(java.lang.String[])
+	 */
+	@Override
+	public void execute(String[] args) throws Exception {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage: Opt4JExperiment <configuration> <experiment>");
+		}
+		addPlugins();
+		ModuleLoader loader = new ModuleLoader(new ModuleRegister(new ModuleAutoFinder()));
+		modules.addAll(loader.load(args[0]));
+		load(new File(args[1]));
+		if (output == null) {
+			output = new File("experiment.csv");
+		}
+		run();
+	}
+
+	/**
+	 * Reads the experiment from an XML file.
+	 * 
+	 * @param file
+	 *            the experiment file
+	 * @throws Exception
+	 *             if the file cannot be read
+	 */
+	public void load(File file) throws Exception {
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+		JNode experiment = new JNode(document.getDocumentElement());
+		if (experiment.hasAttribute("parallelism")) {
+			setParallelism(Integer.parseInt(experiment.getAttribute("parallelism")));
+		}
+		if (experiment.hasAttribute("threads")) {
+			setThreads(Integer.parseInt(experiment.getAttribute("threads")));
+		}
+		if (experiment.hasAttribute("output")) {
+			setOutput(new File(experiment.getAttribute("output")));
+		}
+		for (JNode child : experiment.getChildren("shared")) {
+			Class<? extends Module> clazz = Class.forName(child.getAttribute("class")).asSubclass(Module.class);
+			addSharedModule(clazz.newInstance());
+		}
+		for (JNode child : experiment.getChildren("sweep")) {
+			sweep.setConfiguration(child.getNode());
+		}
+	}
+
+	/**
+	 * Executes all runs of the {@link Sweep} and writes their summaries to
+	 * the output file, if set.
+	 * 
+	 * @return the summaries ordered by the index of the runs
+	 * @throws Exception
+	 *             if the runs cannot be configured or the output cannot be
+	 *             written
+	 */
+	public List<Summary> run() throws Exception {
+		if (modules.isEmpty()) {
+			throw new IllegalStateException("No modules are configured.");
+		}
+		for (Parameter parameter : sweep.getParameters()) {
+			if (getModule(parameter.getModule()) == null) {
+				throw new IllegalArgumentException("The module " + parameter.getModule().getName()
+						+ " of the property " + parameter.getProperty() + " is not configured.");
+			}
+		}
+
+		Injector shared = sharedModules.isEmpty() ? null : Guice.createInjector(sharedModules);
+		List<Run> runs = sweep.getRuns();
+		List<List<Module>> configurations = new ArrayList<>();
+		for (Run run : runs) {
+			configurations.add(createModules(run, shared));
+		}
+
+		Summary[] summaries = new Summary[runs.size()];
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try (PrintWriter writer = output == null ? null : new PrintWriter(new FileWriter(output))) {
+			if (writer != null) {
+				writeHeader(writer);
+			}
+			CompletionService<Summary> completion = new ExecutorCompletionService<>(executor);
+			for (int i = 0; i < runs.size(); i++) {
+				Run run = runs.get(i);
+				List<Module> configuration = configurations.get(i);
+				completion.submit(() -> execute(run, configuration));
+			}
+			for (int i = 0; i < runs.size(); i++) {
+				Summary summary = completion.take().get();
+				summaries[summary.getRun().getIndex()] = summary;
+				if (writer != null) {
+					write(writer, summary);
+					writer.flush();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return Arrays.asList(summaries);
+	}
+
+	/**
+	 * Executes a single run. Any exception or error of the run is recorded in
+	 * its {@link Summary} such that the other runs are not affected.
+	 * 
+	 * @param run
+	 *            the run
+	 * @param modules
+	 *            the modules of the run
+	 * @return the summary of the run
+	 */
+	protected Summary execute(Run run, List<Module> modules) {
+		Opt4JTask task = new Opt4JTask(false);
+		task.init(modules);
+		long start = System.nanoTime();
+		try {
+			task.execute();
+			return new Summary(run, task.getIteration(), task.getInstance(Archive.class),
+					(System.nanoTime() - start) / 1000000, null);
+		} catch (Throwable e) {
+			return new Summary(run, task.getIteration(), null, (System.nanoTime() - start) / 1000000, e);
+		} finally {
+			task.close();
+		}
+	}
+
+	/**
+	 * Creates the modules of a run. The configured modules are copied and the
+	 * values of the swept properties, the seed, and the thread limit of the
+	 * completer are applied.
+	 * 
+	 * @param run
+	 *            the run
+	 * @param shared
+	 *            the shared injector or {@code null}
+	 * @return the modules of the run
+	 * @throws InvocationTargetException
+	 *             if a value cannot be assigned
+	 */
+	protected List<Module> createModules(Run run, Injector shared) throws InvocationTargetException {
+		List<Module> result = new ArrayList<>();
+		RandomModule random = null;
+		IndividualCompleterModule completer = null;
+		int islands = 1;
+		for (Module module : modules) {
+			PropertyModule copy = new PropertyModule(module).clone();
+			for (Entry<Parameter, String> entry : run.getValues().entrySet()) {
+				Parameter parameter = entry.getKey();
+				if (parameter.getModule().equals(module.getClass())) {
+					Property property = copy.getProperty(parameter.getProperty());
+					if (property == null) {
+						throw new IllegalArgumentException(
+								"The property " + parameter.getProperty() + " of " + module.getClass() + " does not exist.");
+					}
+					property.setValue(entry.getValue());
+				}
+			}
+
+			Module instance = copy.getModule();
+			if (instance instanceof RandomModule) {
+				random = (RandomModule) instance;
+			} else if (instance instanceof IndividualCompleterModule) {
+				completer = (IndividualCompleterModule) instance;
+			} else if (instance instanceof IslandModule) {
+				islands = ((IslandModule) instance).getIslands();
+			}
+			result.add(instance);
+		}
+		if (completer != null) {
+			limitThreads(completer, islands);
+		}
+
+		if (run.getSeed() != null) {
+			if (random == null) {
+				random = new RandomModule();
+				result.add(random);
+			}
+			random.setUsingSeed(true);
+			random.setSeed(run.getSeed());
+		}
+		if (shared != null) {
+			result.add(new SharedModule(shared));
+		}
+		return result;
+	}
+
+	/**
+	 * Limits the threads of the completer to the share of a run of the total
+	 * number of threads. Each island of the {@link IslandModule} has its own
+	 * completer such that the share is divided among the islands. The
+	 * sequential and the remote completers evaluate on the optimization thread
+	 * or in other processes and are not limited.
+	 * 
+	 * @param module
+	 *            the completer module
+	 * @param islands
+	 *            the number of islands ({@code 1} without islands)
+	 */
+	protected void limitThreads(IndividualCompleterModule module, int islands) {
+		int share = Math.max(1, threads / parallelism / islands);
+		switch (module.getType()) {
+		case PARALLEL:
+		case FORK_JOIN:
+		case VIRTUAL_THREADS:
+			module.setThreads(Math.min(module.getThreads(), share));
+			break;
+		case PIPELINED:
+			int total = module.getDecodeThreads() + module.getEvaluateThreads();
+			if (total > share) {
+				int decodeThreads = Math.max(1, share * module.getDecodeThreads() / total);
+				module.setDecodeThreads(decodeThreads);
+				module.setEvaluateThreads(Math.max(1, share - decodeThreads));
+			}
+			break;
+		default: // SEQUENTIAL, REMOTE
+			break;
+		}
+	}
+
+	/**
+	 * Writes the header of the CSV output.
+	 * 
+	 * @param writer
+	 *            the writer
+	 */
+	protected void writeHeader(PrintWriter writer) {
+		List<String> columns = new ArrayList<>();
+		columns.add("run");
+		columns.add("seed");
+		for (Parameter parameter : sweep.getParameters()) {
+			columns.add(parameter.toString());
+		}
+		columns.addAll(Arrays.asList("iterations", "archive", "milliseconds", "ideal", "exception"));
+		writeLine(writer, columns);
+	}
+
+	/**
+	 * Writes the summary of a run as a line of the CSV output.
+	 * 
+	 * @param writer
+	 *            the writer
+	 * @param summary
+	 *            the summary
+	 */
+	protected void write(PrintWriter writer, Summary summary) {
+		Run run = summary.getRun();
+		List<String> columns = new ArrayList<>();
+		columns.add(Integer.toString(run.getIndex()));
+		columns.add(run.getSeed() == null ? "" : run.getSeed().toString());
+		for (Parameter parameter : sweep.getParameters()) {
+			columns.add(run.getValues().get(parameter));
+		}
+		columns.add(Integer.toString(summary.getIterations()));
+		columns.add(Integer.toString(summary.getArchiveSize()));
+		columns.add(Long.toString(summary.getTime()));
+		StringBuilder ideal = new StringBuilder();
+		for (Entry<Objective, Double> entry : summary.getIdeal().entrySet()) {
+			ideal.append(ideal.length() == 0 ? "" : " ").append(entry.getKey().getName()).append("=")
+					.append(entry.getValue());
+		}
+		columns.add(ideal.toString());
+		columns.add(summary.getException() == null ? "" : summary.getException().toString());
+		writeLine(writer, columns);
+	}
+
+	/**
+	 * Writes a line of the CSV output. Values with separators or quotes are
+	 * quoted.
+	 * 
+	 * @param writer
+	 *            the writer
+	 * @param columns
+	 *            the values of the columns
+	 */
+	protected void writeLine(PrintWriter writer, List<String> columns) {
+		StringBuilder line = new StringBuilder();
+		for (String column : columns) {
+			if (line.length() > 0) {
+				line.append(',');
+			}
+			if (column.contains(",") || column.contains("\"") || column.contains("\n")) {
+				line.append('"').append(column.replace("\"", "\"\"")).append('"');
+			} else {
+				line.append(column);
+			}
+		}
+		writer.println(line);
+	}
+
+	/**
+	 * Returns the configured module of the given class.
+	 * 
+	 * @param clazz
+	 *            the module class
+	 * @return the module or {@code null} if not configured
+	 */
+	protected Module getModule(Class<? extends Module> clazz) {
+		for (Module module : modules) {
+			if (module.getClass().equals(clazz)) {
+				return module;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the modules of the configuration.
+	 * 
+	 * @param modules
+	 *            the modules
+	 */
+	public void addModules(Collection<? extends Module> modules) {
+		this.modules.addAll(modules);
+	}
+
+	/**
+	 * Adds a module that is installed once in the shared injector.
+	 * 
+	 * @param module
+	 *            the shared module
+	 */
+	public void addSharedModule(Module module) {
+		sharedModules.add(module);
+	}
+
+	/**
+	 * Returns the {@link Sweep} of this experiment.
+	 * 
+	 * @return the sweep
+	 */
+	public Sweep getSweep() {
+		return sweep;
+	}
+
+	/**
+	 * Returns the number of concurrent runs.
+	 * 
+	 * @see #setParallelism
+	 * @return the number of concurrent runs
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of concurrent runs.
+	 * 
+	 * @see #getParallelism
+	 * @param parallelism
+	 *            the number of concurrent runs
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("The parallelism must be positive: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns the total number of threads.
+	 * 
+	 * @see #setThreads
+	 * @return the total number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the total number of threads that is shared by the completers of
+	 * the concurrent runs.
+	 * 
+	 * @see #getThreads
+	 * @param threads
+	 *            the total number of threads
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+		}
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns the output file of the summaries.
+	 * 
+	 * @see #setOutput
+	 * @return the output file or {@code null}
+	 */
+	public File getOutput() {
+		return output;
+	}
+
+	/**
+	 * Sets the output file of the summaries.
+	 * 
+	 * @see #getOutput
+	 * @param output
+	 *            the output file or {@code null} for no output
+	 */
+	public void setOutput(File output) {
+		this.output = output;
+	}
+
+}
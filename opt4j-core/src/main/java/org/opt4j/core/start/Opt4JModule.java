@@ -43,6 +43,7 @@ import org.opt4j.core.config.annotations.Required;
 import org.opt4j.core.optimizer.ControlListener;
 import org.opt4j.core.optimizer.OptimizerIterationListener;
 import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.optimizer.TerminationCriterion;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Binder;
@@ -158,6 +159,7 @@ public abstract class Opt4JModule extends AbstractModule {
 		multi(OptimizerStateListener.class);
 		multi(OptimizerIterationListener.class);
 		multi(IndividualStateListener.class);
+		multi(TerminationCriterion.class);
 
 		config();
 	}
@@ -354,4 +356,15 @@ public abstract class Opt4JModule extends AbstractModule {
 		multibinder.addBinding().to(listener);
 	}
 
+	/**
+	 * Adds a {@link TerminationCriterion}.
+	 * 
+	 * @param criterion
+	 *            the criterion to be added
+	 */
+	public void addTerminationCriterion(Class<? extends TerminationCriterion> criterion) {
+		Multibinder<TerminationCriterion> multibinder = Multibinder.newSetBinder(binder(), TerminationCriterion.class);
+		multibinder.addBinding().to(criterion);
+	}
+
 }
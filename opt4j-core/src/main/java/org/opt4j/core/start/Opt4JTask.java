@@ -23,6 +23,9 @@
 package org.opt4j.core.start;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.opt4j.core.Genotype;
@@ -36,10 +39,12 @@ import org.opt4j.core.problem.Creator;
 import org.opt4j.core.problem.Decoder;
 import org.opt4j.core.problem.Evaluator;
 
+import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.google.inject.Module;
 import com.google.inject.TypeLiteral;
 
 /**
@@ -59,6 +64,14 @@ public class Opt4JTask extends Task implements ControlListener, OptimizerIterati
 
 	protected final boolean closeOnStop;
 
+	/**
+	 * The key of the configured modules of the task. The modules are bound such
+	 * that parts of the configuration can be replicated, e.g., for the islands
+	 * of the {@link org.opt4j.core.common.island.IslandOptimizer}.
+	 */
+	public static final Key<List<Module>> MODULES = Key.get(new TypeLiteral<List<Module>>() {
+	}, Opt4JModule.constant("modules", Opt4JTask.class));
+
 	protected boolean isClosed = false;
 
 	/**
@@ -132,10 +145,18 @@ public class Opt4JTask extends Task implements ControlListener, OptimizerIterati
 			if (!isInit) {
 				throw new IllegalStateException("Task is not initialized. Call method init(modules) first.");
 			}
+			final List<Module> configured = Collections.unmodifiableList(new ArrayList<>(modules));
+			List<Module> all = new ArrayList<>(configured);
+			all.add(new AbstractModule() {
+				@Override
+				protected void configure() {
+					bind(MODULES).toInstance(configured);
+				}
+			});
 			if (parentInjector == null) {
-				injector = Guice.createInjector(modules);
+				injector = Guice.createInjector(all);
 			} else {
-				injector = parentInjector.createChildInjector(modules);
+				injector = parentInjector.createChildInjector(all);
 			}
 		}
 	}
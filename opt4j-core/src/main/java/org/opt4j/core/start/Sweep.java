@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+package org.opt4j.core.start;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opt4j.core.config.JNode;
+import org.w3c.dom.Node;
+
+import com.google.inject.Module;
+
+/**
+ * <p>
+ * The {@link Sweep} defines the runs of an {@link Opt4JExperiment} as the
+ * cross product of a set of seeds and the values of a set of module
+ * properties. The definition is read from XML in the format of the
+ * configuration files, with a list of values per property:
+ * </p>
+ * 
+ * <pre>
+ * &lt;sweep&gt;
+ *   &lt;seeds first="1" count="30"/&gt;
+ *   &lt;module class="org.opt4j.optimizers.ea.EvolutionaryAlgorithmModule"&gt;
+ *     &lt;property name="populationSize"&gt;
+ *       &lt;value&gt;50&lt;/value&gt;
+ *       &lt;value&gt;100&lt;/value&gt;
+ *     &lt;/property&gt;
+ *   &lt;/module&gt;
+ * &lt;/sweep&gt;
+ * </pre>
+ * <p>
+ * Single seeds are given as {@code <seed>7</seed>}. Without seeds, each
+ * parameter combination runs once with the configured seed.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class Sweep {
+
+	protected final List<Long> seeds = new ArrayList<>();
+
+	protected final List<Parameter> parameters = new ArrayList<>();
+
+	/**
+	 * A swept property of a module.
+	 */
+	public static class Parameter {
+
+		protected final Class<? extends Module> module;
+
+		protected final String property;
+
+		protected final List<String> values;
+
+		/**
+		 * Constructs a {@link Parameter}.
+		 * 
+		 * @param module
+		 *            the module class
+		 * @param property
+		 *            the name of the property
+		 * @param values
+		 *            the values of the property
+		 */
+		public Parameter(Class<? extends Module> module, String property, List<String> values) {
+			if (values.isEmpty()) {
+				throw new IllegalArgumentException("No values for the property " + property + " of " + module);
+			}
+			this.module = module;
+			this.property = property;
+			this.values = new ArrayList<>(values);
+		}
+
+		/**
+		 * Returns the module class.
+		 * 
+		 * @return the module class
+		 */
+		public Class<? extends Module> getModule() {
+			return module;
+		}
+
+		/**
+		 * Returns the name of the property.
+		 * 
+		 * @return the name of the property
+		 */
+		public String getProperty() {
+			return property;
+		}
+
+		/**
+		 * Returns the values of the property.
+		 * 
+		 * @return the values
+		 */
+		public List<String> getValues() {
+			return Collections.unmodifiableList(values);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return module.getSimpleName() + "." + property;
+		}
+	}
+
+	/**
+	 * A single run of the {@link Sweep}.
+	 */
+	public static class Run {
+
+		protected final int index;
+
+		protected final Long seed;
+
+		protected final Map<Parameter, String> values;
+
+		/**
+		 * Constructs a {@link Run}.
+		 * 
+		 * @param index
+		 *            the index of the run
+		 * @param seed
+		 *            the seed or {@code null} for the configured seed
+		 * @param values
+		 *            the values of the parameters
+		 */
+		public Run(int index, Long seed, Map<Parameter, String> values) {
+			this.index = index;
+			this.seed = seed;
+			this.values = values;
+		}
+
+		/**
+		 * Returns the index of the run.
+		 * 
+		 * @return the index
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Returns the seed.
+		 * 
+		 * @return the seed or {@code null} for the configured seed
+		 */
+		public Long getSeed() {
+			return seed;
+		}
+
+		/**
+		 * Returns the values of the parameters.
+		 * 
+		 * @return the values of the parameters
+		 */
+		public Map<Parameter, String> getValues() {
+			return Collections.unmodifiableMap(values);
+		}
+	}
+
+	/**
+	 * Adds a seed.
+	 * 
+	 * @param seed
+	 *            the seed
+	 */
+	public void addSeed(long seed) {
+		seeds.add(seed);
+	}
+
+	/**
+	 * Adds a number of consecutive seeds.
+	 * 
+	 * @param first
+	 *            the first seed
+	 * @param count
+	 *            the number of seeds
+	 */
+	public void addSeeds(long first, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("The number of seeds must not be negative: " + count);
+		}
+		for (int i = 0; i < count; i++) {
+			seeds.add(first + i);
+		}
+	}
+
+	/**
+	 * Adds a swept property.
+	 * 
+	 * @param module
+	 *            the module class
+	 * @param property
+	 *            the name of the property
+	 * @param values
+	 *            the values of the property
+	 */
+	public void addParameter(Class<? extends Module> module, String property, List<String> values) {
+		parameters.add(new Parameter(module, property, values));
+	}
+
+	/**
+	 * Returns the seeds.
+	 * 
+	 * @return the seeds
+	 */
+	public List<Long> getSeeds() {
+		return Collections.unmodifiableList(seeds);
+	}
+
+	/**
+	 * Returns the swept properties.
+	 * 
+	 * @return the parameters
+	 */
+	public List<Parameter> getParameters() {
+		return Collections.unmodifiableList(parameters);
+	}
+
+	/**
+	 * Returns all runs. The seeds vary fastest such that the runs of a
+	 * parameter combination are consecutive.
+	 * 
+	 * @return the runs
+	 */
+	public List<Run> getRuns() {
+		List<Map<Parameter, String>> combinations = new ArrayList<>();
+		combinations.add(new LinkedHashMap<Parameter, String>());
+		for (Parameter parameter : parameters) {
+			List<Map<Parameter, String>> extended = new ArrayList<>();
+			for (Map<Parameter, String> combination : combinations) {
+				for (String value : parameter.values) {
+					Map<Parameter, String> values = new LinkedHashMap<>(combination);
+					values.put(parameter, value);
+					extended.add(values);
+				}
+			}
+			combinations = extended;
+		}
+
+		List<Long> seeds = this.seeds.isEmpty() ? Collections.<Long> singletonList(null) : this.seeds;
+		List<Run> runs = new ArrayList<>();
+		for (Map<Parameter, String> combination : combinations) {
+			for (Long seed : seeds) {
+				runs.add(new Run(runs.size(), seed, combination));
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Reads the seeds and swept properties from an XML {@link Node}.
+	 * 
+	 * @param node
+	 *            the XML node
+	 * @throws ClassNotFoundException
+	 *             if a module class is not found
+	 */
+	public void setConfiguration(Node node) throws ClassNotFoundException {
+		JNode sweep = new JNode(node);
+		for (JNode child : sweep.getChildren("seeds")) {
+			addSeeds(Long.parseLong(child.getAttribute("first")), Integer.parseInt(child.getAttribute("count")));
+		}
+		for (JNode child : sweep.getChildren("seed")) {
+			addSeed(Long.parseLong(child.getText().trim()));
+		}
+		for (JNode child : sweep.getChildren("module")) {
+			Class<? extends Module> module = Class.forName(child.getAttribute("class")).asSubclass(Module.class);
+			for (JNode property : child.getChildren("property")) {
+				List<String> values = new ArrayList<>();
+				for (JNode value : property.getChildren("value")) {
+					values.add(value.getText());
+				}
+				addParameter(module, property.getAttribute("name"), values);
+			}
+		}
+	}
+
+}
@@ -52,4 +52,14 @@ public class ArchiveModuleTest extends AbstractArchiveOptimalityTester {
 		unbounded.setType(Type.UNBOUNDED);
 		archiveOptimalityTest(unbounded);
 	}
+
+	/**
+	 * Tests the {@link NDTreeArchive}.
+	 */
+	@Test
+	public void ndTreeArchive() {
+		ArchiveModule ndTree = new ArchiveModule();
+		ndTree.setType(Type.ND_TREE);
+		archiveOptimalityTest(ndTree);
+	}
 }
@@ -0,0 +1,106 @@
+package org.opt4j.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.genotype.BooleanGenotype;
+import org.opt4j.core.genotype.CompositeGenotype;
+import org.opt4j.core.genotype.DoubleBounds;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.genotype.DoubleMapGenotype;
+import org.opt4j.core.genotype.IntegerGenotype;
+import org.opt4j.core.genotype.IntegerMapGenotype;
+import org.opt4j.core.genotype.PermutationGenotype;
+import org.opt4j.core.genotype.SelectGenotype;
+
+public class DefaultGenotypeCodecTest {
+
+	protected final DefaultGenotypeCodec codec = new DefaultGenotypeCodec();
+
+	protected Genotype copy(Genotype genotype) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		codec.write(genotype, new DataOutputStream(bytes));
+		return codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	@Test
+	public void booleans() throws IOException {
+		BooleanGenotype genotype = new BooleanGenotype();
+		for (int i = 0; i < 19; i++) {
+			genotype.add(i % 3 == 0);
+		}
+		Genotype copy = copy(genotype);
+		Assert.assertEquals(BooleanGenotype.class, copy.getClass());
+		Assert.assertEquals(genotype, copy);
+	}
+
+	@Test
+	public void integers() throws IOException {
+		IntegerGenotype genotype = new IntegerGenotype(-5, 5);
+		genotype.addAll(Arrays.asList(-5, 0, 3));
+		IntegerGenotype copy = (IntegerGenotype) copy(genotype);
+		Assert.assertEquals(genotype, copy);
+		Assert.assertEquals(-5, copy.getLowerBound(2));
+		Assert.assertEquals(5, copy.getUpperBound(2));
+	}
+
+	@Test
+	public void doubles() throws IOException {
+		DoubleGenotype genotype = new DoubleGenotype(new DoubleBounds(new double[] { 0, 1 }, new double[] { 2, 3 }));
+		genotype.addAll(Arrays.asList(0.5, 2.5));
+		DoubleGenotype copy = (DoubleGenotype) copy(genotype);
+		Assert.assertEquals(genotype, copy);
+		Assert.assertEquals(1, copy.getLowerBound(1), 0);
+		Assert.assertEquals(3, copy.getUpperBound(1), 0);
+	}
+
+	@Test
+	public void maps() throws IOException {
+		IntegerMapGenotype<String> integers = new IntegerMapGenotype<>(Arrays.asList("a", "b"), 0, 9);
+		integers.addAll(Arrays.asList(4, 7));
+		@SuppressWarnings("unchecked")
+		IntegerMapGenotype<String> copy = (IntegerMapGenotype<String>) copy(integers);
+		Assert.assertEquals(7, copy.getValue("b").intValue());
+
+		DoubleMapGenotype<Integer> doubles = new DoubleMapGenotype<>(Arrays.asList(1, 2),
+				new DoubleBounds(new double[] { 0, 0 }, new double[] { 1, 1 }));
+		doubles.addAll(Arrays.asList(0.25, 0.75));
+		@SuppressWarnings("unchecked")
+		DoubleMapGenotype<Integer> copy2 = (DoubleMapGenotype<Integer>) copy(doubles);
+		Assert.assertEquals(0.75, copy2.getValue(2), 0);
+	}
+
+	@Test
+	public void composite() throws IOException {
+		PermutationGenotype<String> permutation = new PermutationGenotype<>(Arrays.asList("x", "y", "z"));
+		BooleanGenotype booleans = new BooleanGenotype();
+		booleans.add(true);
+
+		CompositeGenotype<Object, Genotype> genotype = new CompositeGenotype<>();
+		genotype.put("permutation", permutation);
+		genotype.put(1L, booleans);
+
+		Genotype copy = copy(genotype);
+		Assert.assertEquals(genotype, copy);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsupportedGenotype() throws IOException {
+		SelectGenotype<String> genotype = new SelectGenotype<>(new String[] { "a", "b" });
+		genotype.add(1);
+		copy(genotype);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsupportedValue() throws IOException {
+		PermutationGenotype<Object> genotype = new PermutationGenotype<>();
+		genotype.add(new Object());
+		copy(genotype);
+	}
+}
@@ -0,0 +1,122 @@
+package org.opt4j.core;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Objective.Sign;
+import org.opt4j.core.optimizer.Population;
+
+public class ObjectiveMatrixTest {
+
+	protected Individual create(double a, double b) {
+		Individual individual = new Individual();
+		Objectives objectives = new Objectives();
+		objectives.add("a", Sign.MIN, a);
+		objectives.add("b", Sign.MAX, b);
+		individual.setObjectives(objectives);
+		return individual;
+	}
+
+	@Test
+	public void syncTest() {
+		Population population = new Population();
+		Individual i0 = create(1, 2);
+		Individual i1 = create(3, 4);
+		Individual i2 = create(5, 6);
+		population.add(i0);
+
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		Assert.assertSame(matrix, population.getObjectiveMatrix());
+		population.addAll(i1, i2);
+		matrix.refresh();
+
+		Assert.assertEquals(3, matrix.size());
+		Assert.assertEquals(2, matrix.dimensions());
+		Assert.assertEquals(3.0, matrix.get(matrix.indexOf(i1), 0), 0.0);
+		Assert.assertEquals(-4.0, matrix.get(matrix.indexOf(i1), 1), 0.0);
+
+		population.remove(i0);
+		Assert.assertEquals(2, matrix.size());
+		Assert.assertEquals(-1, matrix.indexOf(i0));
+		Assert.assertEquals(i2, matrix.getIndividual(matrix.indexOf(i2)));
+		Assert.assertEquals(5.0, matrix.get(matrix.indexOf(i2), 0), 0.0);
+
+		population.clear();
+		Assert.assertEquals(0, matrix.size());
+	}
+
+	@Test
+	public void lazyTest() {
+		Population population = new Population();
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		Individual individual = new Individual();
+		population.add(individual);
+		Assert.assertEquals(1, matrix.size());
+
+		Objectives objectives = new Objectives();
+		objectives.add("a", Sign.MIN, 7);
+		individual.setObjectives(objectives);
+		matrix.refresh();
+		Assert.assertArrayEquals(new double[] { 7 }, matrix.copyRow(0, new double[1]), 0.0);
+	}
+
+	@Test
+	public void reevaluatedTest() {
+		Population population = new Population();
+		Individual individual = create(1, 2);
+		population.add(individual);
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		matrix.refresh();
+		Assert.assertEquals(1.0, matrix.get(0, 0), 0.0);
+
+		Objectives objectives = new Objectives();
+		objectives.add("a", Sign.MIN, 3);
+		objectives.add("b", Sign.MAX, 4);
+		individual.setObjectives(objectives);
+		Assert.assertEquals(1.0, matrix.get(0, 0), 0.0);
+		matrix.refresh();
+		Assert.assertEquals(3.0, matrix.get(0, 0), 0.0);
+
+		objectives.add("a", Sign.MIN, 5);
+		matrix.refresh();
+		Assert.assertEquals(5.0, matrix.get(0, 0), 0.0);
+		Assert.assertEquals(-4.0, matrix.get(0, 1), 0.0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void notEvaluatedTest() {
+		Population population = new Population();
+		population.add(new Individual());
+		population.getObjectiveMatrix().refresh();
+	}
+
+	@Test
+	public void ofTest() {
+		Individual i0 = create(1, 2);
+		Individual i1 = create(3, 4);
+		ObjectiveMatrix matrix = ObjectiveMatrix.of(Arrays.asList(i1, i0));
+
+		Assert.assertEquals(2, matrix.size());
+		Assert.assertArrayEquals(new int[] { 1, 0 }, matrix.rows(Arrays.asList(i0, i1)));
+		matrix.refresh();
+		Assert.assertEquals(1.0, matrix.column(0)[1], 0.0);
+
+		Population population = new Population();
+		Assert.assertSame(population.getObjectiveMatrix(), ObjectiveMatrix.of(population));
+	}
+
+	@Test
+	public void growTest() {
+		Population population = new Population();
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		for (int i = 0; i < 100; i++) {
+			population.add(create(i, i));
+		}
+		Assert.assertEquals(100, matrix.size());
+		matrix.refresh();
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(matrix.get(i, 0), -matrix.get(i, 1), 0.0);
+		}
+	}
+}
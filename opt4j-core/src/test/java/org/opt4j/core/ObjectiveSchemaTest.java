@@ -0,0 +1,40 @@
+package org.opt4j.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Objective.Sign;
+
+public class ObjectiveSchemaTest {
+
+	@Test
+	public void ofTest() {
+		Objective a = new Objective("a");
+		Objective b = new Objective("b", Sign.MAX);
+		ObjectiveSchema schema = ObjectiveSchema.of(b, a);
+
+		Assert.assertEquals(2, schema.size());
+		Assert.assertEquals(a, schema.get(0));
+		Assert.assertEquals(b, schema.get(1));
+		Assert.assertFalse(schema.isMaximized(0));
+		Assert.assertTrue(schema.isMaximized(1));
+		Assert.assertSame(schema, ObjectiveSchema.of(new Objective("a"), new Objective("b", Sign.MAX)));
+	}
+
+	@Test
+	public void indexOfTest() {
+		ObjectiveSchema schema = ObjectiveSchema.of(new Objective("a"), new Objective("c"));
+
+		Assert.assertEquals(1, schema.indexOf(new Objective("c")));
+		Assert.assertEquals(-2, schema.indexOf(new Objective("b")));
+	}
+
+	@Test
+	public void withTest() {
+		ObjectiveSchema schema = ObjectiveSchema.of(new Objective("a"));
+		ObjectiveSchema extended = schema.with(new Objective("b"));
+
+		Assert.assertSame(ObjectiveSchema.of(new Objective("a"), new Objective("b")), extended);
+		Assert.assertSame(extended, schema.with(new Objective("b")));
+		Assert.assertSame(schema, schema.with(new Objective("a")));
+	}
+}
@@ -106,4 +106,55 @@ public class ObjectivesTest {
 
 		Assert.assertEquals("a(MIN)=3 ", objectives0.toString());
 	}
+
+	@Test
+	public void arrayTest() {
+		Objectives objectives = new Objectives();
+		objectives.add("b", Sign.MAX, 2);
+		objectives.add("a", Sign.MIN, 1.5);
+		objectives.add("c", Sign.MIN, (Value<?>) null);
+
+		Assert.assertArrayEquals(new double[] { 1.5, -2, Double.MAX_VALUE }, objectives.array(), 0.0);
+		Assert.assertEquals(new IntegerValue(2), objectives.get(new Objective("b", Sign.MAX)));
+		Assert.assertEquals(new DoubleValue(null), objectives.get(new Objective("c")));
+	}
+
+	@Test
+	public void overwriteTest() {
+		Objectives objectives = new Objectives();
+		objectives.add("a", Sign.MIN, 1);
+		objectives.add("a", Sign.MIN, 2.0);
+
+		Assert.assertEquals(1, objectives.size());
+		Assert.assertEquals(new DoubleValue(2.0), objectives.get(new Objective("a")));
+		Assert.assertArrayEquals(new double[] { 2.0 }, objectives.array(), 0.0);
+	}
+
+	@Test
+	public void sharedSchemaTest() {
+		Objectives objectives0 = new Objectives();
+		objectives0.add("a", Sign.MIN, 1);
+		objectives0.add("b", Sign.MIN, 2);
+
+		Objectives objectives1 = new Objectives(objectives0.getSchema());
+		objectives1.add("b", Sign.MIN, 3);
+		objectives1.add("a", Sign.MIN, 4);
+
+		Assert.assertSame(objectives0.getSchema(), objectives1.getSchema());
+		Assert.assertArrayEquals(new double[] { 4, 3 }, objectives1.array(), 0.0);
+	}
+
+	@Test
+	public void addAllTest() {
+		Objectives objectives0 = new Objectives();
+		objectives0.add("a", Sign.MAX, 1);
+
+		Objectives objectives1 = new Objectives();
+		objectives1.add("b", Sign.MIN, 2.0);
+		objectives1.addAll(objectives0);
+
+		Assert.assertEquals(2, objectives1.size());
+		Assert.assertEquals(new IntegerValue(1), objectives1.get(new Objective("a", Sign.MAX)));
+		Assert.assertArrayEquals(new double[] { -1, 2.0 }, objectives1.array(), 0.0);
+	}
 }
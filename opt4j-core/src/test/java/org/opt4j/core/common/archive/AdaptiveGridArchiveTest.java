@@ -0,0 +1,143 @@
+package org.opt4j.core.common.archive;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.archive.AdaptiveGridArchive.Cell;
+import org.opt4j.core.common.archive.CrowdingArchiveTest.MockProblemModule;
+import org.opt4j.core.common.random.RandomJava;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class AdaptiveGridArchiveTest {
+
+	protected static Set<Individual> create(IndividualFactory factory, Random random, int n, int m) {
+		Set<Individual> individuals = new LinkedHashSet<>();
+		for (int i = 0; i < n; i++) {
+			Objectives objectives = new Objectives();
+			double sum = 0;
+			for (int k = 0; k < m - 1; k++) {
+				double value = random.nextDouble();
+				sum += value;
+				objectives.add(new Objective("o" + k), value);
+			}
+			objectives.add(new Objective("o" + (m - 1)), m - sum + random.nextDouble() * 0.1);
+			Individual individual = factory.create();
+			individual.setObjectives(objectives);
+			individuals.add(individual);
+		}
+		return individuals;
+	}
+
+	/**
+	 * Checks the cells and the heap against a recalculation.
+	 */
+	protected static void check(AdaptiveGridArchive archive) {
+		Assert.assertEquals(new HashSet<>(archive), archive.locations.keySet());
+		Assert.assertEquals(archive.cells.size(), archive.heapSize);
+
+		int max = 0;
+		int total = 0;
+		for (Cell cell : archive.cells.values()) {
+			Assert.assertFalse(cell.isEmpty());
+			int crowding = 0;
+			for (Individual individual : cell) {
+				Assert.assertSame(cell, archive.locations.get(individual));
+				Assert.assertEquals(cell.getKey(), archive.getKey(individual));
+				if (!archive.extrema.contains(individual)) {
+					crowding++;
+				}
+			}
+			Assert.assertEquals(crowding, cell.getCrowding());
+			Assert.assertSame(cell, archive.heap[cell.index]);
+			max = Math.max(max, crowding);
+			total += cell.size();
+		}
+		Assert.assertEquals(archive.size(), total);
+
+		Cell top = archive.getMostCrowdedCell();
+		Assert.assertEquals(max, top == null ? 0 : top.getCrowding());
+	}
+
+	protected void update(int m, int div, int capacity) {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Random random = new Random(m);
+
+		AdaptiveGridArchive archive = new AdaptiveGridArchive(capacity, div, new RandomJava(0));
+		for (int i = 0; i < 50; i++) {
+			archive.update(create(factory, random, 20, m));
+			Assert.assertTrue(archive.size() <= capacity);
+			check(archive);
+
+			List<Individual> members = new ArrayList<>(archive);
+			for (Individual a : members) {
+				for (Individual b : members) {
+					Assert.assertFalse(a.getObjectives().dominates(b.getObjectives()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void updateTwoObjectives() {
+		update(2, 7, 50);
+	}
+
+	@Test
+	public void updateManyObjectives() {
+		// the capacity exceeds the number of extreme individuals
+		update(30, 7, 100);
+	}
+
+	@Test
+	public void keysWithoutCollisions() {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+
+		int m = 30;
+		AdaptiveGridArchive archive = new AdaptiveGridArchive(1000, 7, new RandomJava(0));
+		Set<Individual> individuals = new LinkedHashSet<>();
+		for (int i = 0; i < m; i++) {
+			Objectives objectives = new Objectives();
+			for (int k = 0; k < m; k++) {
+				objectives.add(new Objective("o" + k), k == i ? 0 : 1);
+			}
+			Individual individual = factory.create();
+			individual.setObjectives(objectives);
+			individuals.add(individual);
+		}
+		archive.update(individuals);
+
+		Assert.assertEquals(m, archive.size());
+		Assert.assertEquals(m, archive.cells.size());
+		check(archive);
+	}
+
+	@Test
+	public void remove() {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Random random = new Random(0);
+
+		AdaptiveGridArchive archive = new AdaptiveGridArchive(30, 5, new RandomJava(0));
+		archive.update(create(factory, random, 60, 3));
+		archive.remove(archive.iterator().next());
+		archive.removeAll(new ArrayList<>(archive).subList(0, 5));
+		Assert.assertEquals(new HashSet<>(archive), archive.locations.keySet());
+
+		archive.update(create(factory, random, 60, 3));
+		check(archive);
+	}
+}
@@ -0,0 +1,130 @@
+package org.opt4j.core.common.archive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.archive.CrowdingArchiveTest.MockProblemModule;
+import org.opt4j.core.optimizer.Population;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class CrowdingTest {
+
+	protected static class MatrixPopulation extends Population {
+		boolean hasMatrix() {
+			return matrix != null;
+		}
+	}
+
+	/**
+	 * The straightforward calculation based on sorted lists of individuals.
+	 */
+	protected static Map<Individual, Double> reference(List<Individual> individuals) {
+		Map<Individual, Double> map = new HashMap<>();
+		List<Individual> list = new ArrayList<>(individuals);
+		for (Individual individual : list) {
+			map.put(individual, 0.0);
+		}
+		int m = list.get(0).getObjectives().array().length;
+		for (int dim = 0; dim < m; dim++) {
+			final int d = dim;
+			Collections.sort(list, (Individual o1, Individual o2) -> Double.compare(o1.getObjectives().array()[d],
+					o2.getObjectives().array()[d]));
+			double diff = list.get(list.size() - 1).getObjectives().array()[d] - list.get(0).getObjectives().array()[d];
+			if (diff > 0) {
+				map.put(list.get(0), Double.MAX_VALUE);
+				map.put(list.get(list.size() - 1), Double.MAX_VALUE);
+				for (int j = 1; j < list.size() - 1; j++) {
+					double p = list.get(j - 1).getObjectives().array()[d];
+					double n = list.get(j + 1).getObjectives().array()[d];
+					map.put(list.get(j), map.get(list.get(j)) + (n - p) / diff);
+				}
+			}
+		}
+		return map;
+	}
+
+	protected static List<Individual> create(int n, int m, int range, Random random) {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		List<Individual> individuals = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			Objectives objectives = new Objectives();
+			for (int k = 0; k < m; k++) {
+				objectives.add(new Objective("o" + k), random.nextInt(range));
+			}
+			Individual individual = factory.create();
+			individual.setObjectives(objectives);
+			individuals.add(individual);
+		}
+		return individuals;
+	}
+
+	@Test
+	public void getDensityValues() {
+		Random random = new Random(0);
+		Crowding crowding = new Crowding();
+		for (int run = 0; run < 50; run++) {
+			List<Individual> individuals = create(1 + random.nextInt(60), 1 + random.nextInt(4), 1 + random.nextInt(10),
+					random);
+			Assert.assertEquals(reference(individuals), crowding.getDensityValues(individuals));
+		}
+	}
+
+	@Test
+	public void getDistances() {
+		Random random = new Random(1);
+		List<Individual> individuals = create(40, 3, 5, random);
+		Map<Individual, Double> expected = reference(individuals);
+		double[] distances = new Crowding().getDistances(individuals);
+		for (int i = 0; i < individuals.size(); i++) {
+			Assert.assertEquals(expected.get(individuals.get(i)), distances[i], 0.0);
+		}
+	}
+
+	@Test
+	public void getDistancesSet() {
+		Random random = new Random(3);
+		List<Individual> individuals = create(20, 2, 10, random);
+		MatrixPopulation population = new MatrixPopulation();
+		population.addAll(individuals);
+		double[] distances = new Crowding().getDistances(population);
+		Assert.assertFalse(population.hasMatrix());
+
+		Assert.assertEquals(20, population.getObjectiveMatrix().size());
+		Assert.assertArrayEquals(distances, new Crowding().getDistances(population), 0.0);
+	}
+
+	@Test
+	public void order() {
+		Crowding crowding = new Crowding();
+		int[] order = crowding.order(new double[] { 1.0, Double.MAX_VALUE, 0.5, 1.0, Double.MAX_VALUE });
+		Assert.assertArrayEquals(new int[] { 1, 4, 0, 3, 2 }, order);
+
+		Random random = new Random(2);
+		List<Individual> individuals = create(30, 2, 100, random);
+		List<Individual> ordered = crowding.order(individuals);
+		Map<Individual, Double> values = crowding.getDensityValues(individuals);
+		for (int i = 1; i < ordered.size(); i++) {
+			Assert.assertTrue(values.get(ordered.get(i - 1)) >= values.get(ordered.get(i)));
+		}
+	}
+
+	@Test
+	public void empty() {
+		Crowding crowding = new Crowding();
+		Assert.assertTrue(crowding.getDensityValues(new ArrayList<Individual>()).isEmpty());
+		Assert.assertEquals(0, crowding.getDistances(new ArrayList<Individual>()).length);
+	}
+}
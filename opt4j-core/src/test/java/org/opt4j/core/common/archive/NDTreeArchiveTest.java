@@ -0,0 +1,97 @@
+package org.opt4j.core.common.archive;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.archive.CrowdingArchiveTest.MockProblemModule;
+import org.opt4j.core.optimizer.Archive;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class NDTreeArchiveTest {
+
+	protected List<Individual> create(IndividualFactory factory, Random random, int n, int m, int range) {
+		List<Individual> individuals = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			Objectives objectives = new Objectives();
+			for (int j = 0; j < m; j++) {
+				objectives.add(new Objective("o" + j), random.nextInt(range));
+			}
+			Individual individual = factory.create();
+			individual.setObjectives(objectives);
+			individuals.add(individual);
+		}
+		return individuals;
+	}
+
+	protected void compare(int m, int range, int leafSize) {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Random random = new Random(m * 31 + range);
+
+		Archive expected = new UnboundedArchive();
+		NDTreeArchive archive = new NDTreeArchive(new NDTree(leafSize));
+
+		for (int k = 0; k < 100; k++) {
+			Set<Individual> set = new LinkedHashSet<>(create(factory, random, 1 + random.nextInt(30), m, range));
+			if (!expected.isEmpty() && random.nextBoolean()) {
+				set.add(expected.iterator().next());
+			}
+			Assert.assertEquals(expected.update(set), archive.update(set));
+			Assert.assertEquals(new ArrayList<>(expected), new ArrayList<>(archive));
+			Assert.assertEquals(archive.size(), archive.tree.size());
+
+			if (k % 10 == 9) {
+				Iterator<Individual> it0 = expected.iterator();
+				Iterator<Individual> it1 = archive.iterator();
+				while (it0.hasNext()) {
+					it1.next();
+					it0.next();
+					if (random.nextInt(3) == 0) {
+						it0.remove();
+						it1.remove();
+					}
+				}
+				Assert.assertEquals(archive.size(), archive.tree.size());
+			}
+		}
+	}
+
+	@Test
+	public void updateTwoObjectives() {
+		compare(2, 1000, 4);
+	}
+
+	@Test
+	public void updateThreeObjectives() {
+		compare(3, 20, 4);
+	}
+
+	@Test
+	public void updateManyObjectives() {
+		compare(5, 10, 20);
+	}
+
+	@Test
+	public void clear() {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		NDTreeArchive archive = new NDTreeArchive(new NDTree(2));
+		archive.update(new LinkedHashSet<>(create(factory, new Random(0), 100, 3, 100)));
+		Assert.assertFalse(archive.isEmpty());
+		archive.clear();
+		Assert.assertEquals(0, archive.tree.size());
+		Assert.assertFalse(archive.tree.isWeaklyDominated(new double[] { 100, 100, 100 }));
+	}
+}
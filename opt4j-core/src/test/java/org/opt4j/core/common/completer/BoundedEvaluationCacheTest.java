@@ -0,0 +1,91 @@
+package org.opt4j.core.common.completer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.common.completer.SequentialIndividualCompleterTest.MockProblemModule;
+import org.opt4j.core.genotype.BooleanGenotype;
+import org.opt4j.core.optimizer.TerminationException;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class BoundedEvaluationCacheTest {
+
+	protected Individual create(IndividualFactory factory, boolean... values) {
+		BooleanGenotype genotype = new BooleanGenotype();
+		for (boolean value : values) {
+			genotype.add(value);
+		}
+		Individual individual = factory.create();
+		individual.setGenotype(genotype);
+		return individual;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidSize() {
+		new BoundedEvaluationCache(null, 0, 1);
+	}
+
+	@Test
+	public void complete() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setCache(true);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		EvaluationCache cache = completer.getCache();
+		Assert.assertNotNull(cache);
+
+		Individual i1 = create(factory, true, false);
+		Individual i2 = create(factory, true, false);
+		Individual i3 = create(factory, false, false);
+
+		completer.complete(i1);
+		completer.complete(i2, i3);
+
+		Assert.assertTrue(i2.isEvaluated());
+		Assert.assertSame(i1.getObjectives(), i2.getObjectives());
+		Assert.assertTrue(i2.isPhenotypeEvicted());
+		Assert.assertSame(i1.getPhenotype(), i2.getPhenotype());
+		Assert.assertFalse(i2.isPhenotypeEvicted());
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+		Assert.assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void noCache() {
+		Injector injector = Guice.createInjector(new MockProblemModule(), new IndividualCompleterModule());
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		Assert.assertNull(completer.getCache());
+	}
+
+	@Test
+	public void evictLeastRecentlyUsed() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setCache(true);
+		module.setCacheSize(2);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		EvaluationCache cache = completer.getCache();
+
+		completer.complete(create(factory, true), create(factory, false));
+		completer.complete(create(factory, true)); // hit, true is used recently
+		completer.complete(create(factory, true, true)); // evicts false
+		Assert.assertEquals(2, cache.size());
+
+		completer.complete(create(factory, true));
+		Assert.assertEquals(2, cache.getHits());
+		completer.complete(create(factory, false));
+		Assert.assertEquals(2, cache.getHits());
+
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+		Assert.assertEquals(0, cache.getMisses());
+	}
+}
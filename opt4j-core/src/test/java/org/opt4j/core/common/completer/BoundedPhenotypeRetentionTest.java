@@ -0,0 +1,289 @@
+package org.opt4j.core.common.completer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.completer.BoundedPhenotypeRetention.Policy;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.BooleanGenotype;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.PhenotypeRetention;
+import org.opt4j.core.problem.ProblemModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class BoundedPhenotypeRetentionTest {
+
+	protected static class MockProblem implements Creator<Genotype>, Decoder<Genotype, Object>, Evaluator<Object> {
+
+		@Override
+		public Genotype create() {
+			return new BooleanGenotype();
+		}
+
+		@Override
+		public Object decode(Genotype genotype) {
+			return new StringBuilder(genotype.toString());
+		}
+
+		@Override
+		public Objectives evaluate(Object phenotype) {
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective("x"), phenotype.toString().length());
+			return objectives;
+		}
+	}
+
+	@Ignore
+	protected static class MockProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+		}
+	}
+
+	/**
+	 * Decodes slowly such that concurrent restores overlap.
+	 */
+	protected static class MockSlowProblem extends MockProblem {
+		@Override
+		public Object decode(Genotype genotype) {
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return super.decode(genotype);
+		}
+	}
+
+	@Ignore
+	protected static class MockSlowProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockSlowProblem.class, MockSlowProblem.class, MockSlowProblem.class);
+		}
+	}
+
+	protected Individual create(IndividualFactory factory, boolean... values) {
+		BooleanGenotype genotype = new BooleanGenotype();
+		for (boolean value : values) {
+			genotype.add(value);
+		}
+		Individual individual = factory.create();
+		individual.setGenotype(genotype);
+		return individual;
+	}
+
+	protected Injector createInjector(IndividualCompleterModule module) {
+		return Guice.createInjector(new MockProblemModule(), module);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidCapacity() {
+		new IndividualCompleterModule().setRetainedPhenotypes(0);
+	}
+
+	@Test
+	public void keepAll() throws TerminationException {
+		Injector injector = createInjector(new IndividualCompleterModule());
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		Assert.assertNull(completer.getRetention());
+
+		Individual individual = create(injector.getInstance(IndividualFactory.class), true);
+		completer.complete(individual);
+		Assert.assertFalse(individual.isPhenotypeEvicted());
+	}
+
+	@Test
+	public void none() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setPhenotypes(Policy.NONE);
+		Injector injector = createInjector(module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		BoundedPhenotypeRetention retention = injector.getInstance(BoundedPhenotypeRetention.class);
+		Assert.assertSame(retention, completer.getRetention());
+
+		Individual individual = create(factory, true, false);
+		completer.complete(individual);
+		Assert.assertTrue(individual.isEvaluated());
+		Assert.assertTrue(individual.isPhenotypeEvicted());
+
+		Object phenotype = individual.getPhenotype();
+		Assert.assertEquals(individual.getGenotype().toString(), phenotype.toString());
+		Assert.assertFalse(individual.isPhenotypeEvicted());
+		Assert.assertSame(phenotype, individual.getPhenotype());
+		Assert.assertEquals(1, retention.getRestores());
+		Assert.assertTrue(individual.isEvaluated());
+	}
+
+	@Test
+	public void recent() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setPhenotypes(Policy.RECENT);
+		module.setRetainedPhenotypes(2);
+		Injector injector = createInjector(module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+
+		Individual i1 = create(factory, true);
+		Individual i2 = create(factory, false);
+		Individual i3 = create(factory, true, true);
+		completer.complete(i1, i2, i3);
+
+		Assert.assertTrue(i1.isPhenotypeEvicted());
+		Assert.assertFalse(i2.isPhenotypeEvicted());
+		Assert.assertFalse(i3.isPhenotypeEvicted());
+
+		// restoring i1 makes it the most recent and evicts i2
+		Assert.assertEquals("[true]", i1.getPhenotype().toString());
+		Assert.assertFalse(i1.isPhenotypeEvicted());
+		Assert.assertTrue(i2.isPhenotypeEvicted());
+		Assert.assertFalse(i3.isPhenotypeEvicted());
+	}
+
+	@Test
+	public void concurrentRestores() throws Exception {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setPhenotypes(Policy.RECENT);
+		module.setRetainedPhenotypes(1);
+		Injector injector = Guice.createInjector(new MockSlowProblemModule(), module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+
+		Individual i1 = create(factory, true);
+		Individual i2 = create(factory, false);
+		completer.complete(i1, i2);
+
+		// restoring one individual evicts the other one and vice versa
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for (Individual individual : Arrays.asList(i1, i2, i1, i2)) {
+			Thread thread = new Thread(() -> {
+				try {
+					for (int i = 0; i < 200; i++) {
+						Assert.assertEquals(individual.getGenotype().toString(), individual.getPhenotype().toString());
+					}
+				} catch (Throwable e) {
+					error.set(e);
+				}
+			});
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join(20000);
+			Assert.assertFalse("deadlock", thread.isAlive());
+		}
+		Assert.assertNull(error.get());
+	}
+
+	@Test
+	public void restoredOutsideMonitor() throws TerminationException {
+		Injector injector = createInjector(new IndividualCompleterModule());
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		Individual individual = create(injector.getInstance(IndividualFactory.class), true);
+		completer.complete(individual);
+
+		List<Boolean> locked = new ArrayList<>();
+		individual.evictPhenotype(new PhenotypeRetention() {
+			@Override
+			public void retain(Individual individual) {
+			}
+
+			@Override
+			public Object restore(Individual individual) {
+				locked.add(Thread.holdsLock(individual));
+				return "restored";
+			}
+
+			@Override
+			public void restored(Individual individual) {
+				locked.add(Thread.holdsLock(individual));
+			}
+		});
+		Assert.assertEquals("restored", individual.getPhenotype());
+		Assert.assertEquals(Arrays.asList(true, false), locked);
+	}
+
+	@Test
+	public void archive() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setPhenotypes(Policy.ARCHIVE);
+		Injector injector = createInjector(module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		BoundedPhenotypeRetention retention = injector.getInstance(BoundedPhenotypeRetention.class);
+		Archive archive = injector.getInstance(Archive.class);
+
+		Individual i1 = create(factory, true);
+		Individual i2 = create(factory, false);
+		completer.complete(i1, i2);
+		archive.add(i2);
+		Assert.assertFalse(i1.isPhenotypeEvicted());
+
+		retention.iterationComplete(0);
+		Assert.assertTrue(i1.isPhenotypeEvicted());
+		Assert.assertFalse(i2.isPhenotypeEvicted());
+		Assert.assertEquals(1, retention.size());
+
+		archive.remove(i2);
+		retention.iterationComplete(1);
+		Assert.assertTrue(i2.isPhenotypeEvicted());
+		Assert.assertEquals(0, retention.size());
+	}
+
+	@Test
+	public void cache() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setPhenotypes(Policy.RECENT);
+		module.setCache(true);
+		Injector injector = createInjector(module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+
+		Individual i1 = create(factory, true, false);
+		Individual i2 = create(factory, true, false);
+		completer.complete(i1);
+		completer.complete(i2);
+
+		Assert.assertEquals(1, completer.getCache().getHits());
+		Assert.assertFalse(i1.isPhenotypeEvicted());
+		Assert.assertTrue(i2.isPhenotypeEvicted());
+		Assert.assertSame(i1.getObjectives(), i2.getObjectives());
+		Assert.assertEquals(i1.getPhenotype().toString(), i2.getPhenotype().toString());
+	}
+
+	@Test
+	public void redecodeAfterGenotypeChange() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setPhenotypes(Policy.NONE);
+		Injector injector = createInjector(module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+
+		Individual individual = create(factory, true);
+		completer.complete(individual);
+		Assert.assertTrue(individual.isPhenotypeEvicted());
+
+		individual.setGenotype(new BooleanGenotype());
+		Assert.assertFalse(individual.isPhenotypeEvicted());
+		Assert.assertNull(individual.getPhenotype());
+	}
+}
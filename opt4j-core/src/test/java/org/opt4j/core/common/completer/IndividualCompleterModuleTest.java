@@ -6,6 +6,7 @@ import org.opt4j.core.common.completer.IndividualCompleterModule.Type;
 import org.opt4j.core.common.completer.SequentialIndividualCompleterTest.MockProblemModule;
 import org.opt4j.core.optimizer.IndividualCompleter;
 
+import com.google.inject.CreationException;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 
@@ -38,4 +39,47 @@ public class IndividualCompleterModuleTest {
 
 		Assert.assertEquals(ParallelIndividualCompleter.class, completer.getClass());
 	}
+
+	@Test(expected = CreationException.class)
+	public void configTimeoutWithBatches() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.PARALLEL);
+		module.setTimeout(100);
+		module.setBatchSize(4);
+
+		Guice.createInjector(new MockProblemModule(), module);
+	}
+
+	@Test
+	public void configPipelined() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.PIPELINED);
+
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+		IndividualCompleter completer = injector.getInstance(IndividualCompleter.class);
+
+		Assert.assertEquals(PipelinedIndividualCompleter.class, completer.getClass());
+	}
+
+	@Test
+	public void configForkJoin() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.FORK_JOIN);
+
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+		IndividualCompleter completer = injector.getInstance(IndividualCompleter.class);
+
+		Assert.assertEquals(ForkJoinIndividualCompleter.class, completer.getClass());
+	}
+
+	@Test
+	public void configVirtualThreads() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.VIRTUAL_THREADS);
+
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+		IndividualCompleter completer = injector.getInstance(IndividualCompleter.class);
+
+		Assert.assertEquals(VirtualThreadIndividualCompleter.class, completer.getClass());
+	}
 }
@@ -1,18 +1,98 @@
 package org.opt4j.core.common.completer;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.opt4j.core.Genotype;
 import org.opt4j.core.Individual;
+import org.opt4j.core.Individual.State;
 import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
 import org.opt4j.core.common.completer.IndividualCompleterModule.Type;
 import org.opt4j.core.common.completer.SequentialIndividualCompleterTest.MockProblemModule;
+import org.opt4j.core.common.instrumentation.HistogramInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.BooleanGenotype;
 import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 
 public class ParallelIndividualCompleterTest {
 
+	protected static final Objective x = new Objective("x");
+
+	protected static final AtomicInteger hangs = new AtomicInteger();
+
+	protected static final AtomicInteger stucks = new AtomicInteger();
+
+	protected static volatile CountDownLatch release = new CountDownLatch(0);
+
+	protected static class MockHangingProblem implements Creator<Genotype>, Decoder<Genotype, Object>, Evaluator<Object> {
+
+		@Override
+		public Genotype create() {
+			return new BooleanGenotype();
+		}
+
+		@Override
+		public Object decode(Genotype genotype) {
+			return genotype;
+		}
+
+		@Override
+		public Objectives evaluate(Object phenotype) {
+			if (stucks.getAndDecrement() > 0) {
+				// ignores interrupts until it is released
+				boolean interrupted = false;
+				while (true) {
+					try {
+						release.await();
+						break;
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (hangs.getAndDecrement() > 0) {
+				try {
+					Thread.sleep(60000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			Objectives objectives = new Objectives();
+			objectives.add(x, 1);
+			return objectives;
+		}
+	}
+
+	@Ignore
+	protected static class MockHangingProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockHangingProblem.class, MockHangingProblem.class, MockHangingProblem.class);
+		}
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void invalidThreadCount() {
 		IndividualCompleterModule module = new IndividualCompleterModule();
@@ -56,4 +136,316 @@ public class ParallelIndividualCompleterTest {
 
 		completer.complete(i1);
 	}
+
+	@Test
+	public void completeAsync() throws Exception {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(2);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Individual i1 = factory.create();
+
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+		Assert.assertEquals(2, completer.getParallelism());
+
+		Assert.assertSame(i1, completer.completeAsync(i1).get());
+		Assert.assertTrue(i1.isEvaluated());
+
+		completer.optimizationStopped(null);
+		Assert.assertTrue(completer.completeAsync(factory.create()).isCompletedExceptionally());
+	}
+
+	@Test
+	public void restart() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(2);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+
+		completer.optimizationStopped(null);
+		completer.optimizationStarted(null);
+		Assert.assertFalse(completer.executor.isShutdown());
+
+		Individual i1 = factory.create();
+		completer.complete(i1);
+		Assert.assertTrue(i1.isEvaluated());
+		completer.optimizationStopped(null);
+	}
+
+	@Test
+	public void forkJoin() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(2);
+		module.setType(Type.FORK_JOIN);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+
+		ParallelIndividualCompleter completer = injector.getInstance(ForkJoinIndividualCompleter.class);
+		Assert.assertTrue(completer.executor instanceof ForkJoinPool);
+
+		completer.complete(i1, i2);
+		Assert.assertTrue(i1.isEvaluated());
+		Assert.assertTrue(i2.isEvaluated());
+		completer.optimizationStopped(null);
+	}
+
+	@Test
+	public void virtualThreads() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(100);
+		module.setType(Type.VIRTUAL_THREADS);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+
+		ParallelIndividualCompleter completer = injector.getInstance(VirtualThreadIndividualCompleter.class);
+		Assert.assertEquals(100, completer.getParallelism());
+		if (!VirtualThreadIndividualCompleter.isVirtual()) {
+			Assert.assertEquals(100, ((ThreadPoolExecutor) completer.executor).getMaximumPoolSize());
+		}
+
+		completer.complete(i1, i2);
+		Assert.assertTrue(i1.isEvaluated());
+		Assert.assertTrue(i2.isEvaluated());
+		completer.optimizationStopped(null);
+	}
+
+	@Test(timeout = 10000)
+	public void supervisedStates() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(2);
+		module.setTimeout(5000);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		final List<State> states = new CopyOnWriteArrayList<>();
+		factory.addIndividualStateListener(individual -> states.add(individual.getState()));
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+		HistogramInstrumentation instrumentation = new HistogramInstrumentation(false);
+		completer.setInstrumentation(instrumentation);
+
+		Individual i1 = factory.create();
+		states.clear();
+		completer.complete(i1);
+		Assert.assertEquals(Arrays.asList(State.DECODING, State.PHENOTYPED, State.EVALUATING, State.EVALUATED),
+				states);
+
+		completer.complete(factory.create());
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.DECODING).getCount());
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.EVALUATION).getCount());
+		Assert.assertEquals(2, instrumentation.getCount(Counter.EVALUATIONS));
+		completer.optimizationStopped(null);
+	}
+
+	@Test(timeout = 10000)
+	public void timeout() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(4);
+		module.setTimeout(50);
+		module.setRetries(1);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+		Assert.assertEquals(50, completer.getTimeout());
+		Assert.assertEquals(1, completer.getRetries());
+
+		hangs.set(0);
+		Individual i1 = factory.create();
+		completer.complete(i1);
+		Assert.assertEquals(1, i1.getObjectives().get(x).getDouble(), 0);
+
+		hangs.set(2);
+		Individual i2 = factory.create();
+		completer.complete(i2);
+		Assert.assertTrue(i2.isEvaluated());
+		Assert.assertNull(i2.getObjectives().get(x).getValue());
+		Assert.assertEquals(2, completer.getTimeouts());
+
+		hangs.set(1);
+		Individual i3 = factory.create();
+		completer.complete(i3);
+		Assert.assertEquals(1, i3.getObjectives().get(x).getDouble(), 0);
+		Assert.assertEquals(3, completer.getTimeouts());
+		completer.optimizationStopped(null);
+	}
+
+	@Test(timeout = 10000)
+	public void timeoutBeforeObjectives() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(1);
+		module.setTimeout(50);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+
+		// the first individual times out before the second one is completed
+		hangs.set(1);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+		completer.complete(i1, i2);
+		Assert.assertNull(i1.getObjectives().get(x).getValue());
+		Assert.assertEquals(1, i2.getObjectives().get(x).getDouble(), 0);
+		completer.optimizationStopped(null);
+	}
+
+	@Test(timeout = 10000)
+	public void timeoutQueued() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(1);
+		module.setTimeout(100);
+		module.setType(Type.FORK_JOIN);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ForkJoinIndividualCompleter.class);
+
+		hangs.set(0);
+		stucks.set(0);
+		completer.complete(factory.create());
+
+		// the only worker of the fork/join pool cannot be replaced
+		release = new CountDownLatch(1);
+		stucks.set(1);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+		try {
+			completer.complete(i1);
+			completer.complete(i2);
+		} finally {
+			release.countDown();
+		}
+		Assert.assertNull(i1.getObjectives().get(x).getValue());
+		Assert.assertNull(i2.getObjectives().get(x).getValue());
+		Assert.assertEquals(2, completer.getTimeouts());
+		Assert.assertEquals(1, completer.getQueueTimeouts());
+		completer.optimizationStopped(null);
+	}
+
+	@Test(timeout = 10000)
+	public void replaceWorker() throws Exception {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(1);
+		module.setTimeout(200);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+		ThreadPoolExecutor pool = (ThreadPoolExecutor) completer.executor;
+
+		hangs.set(0);
+		stucks.set(0);
+		completer.complete(factory.create());
+
+		release = new CountDownLatch(1);
+		stucks.set(1);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+		try {
+			completer.complete(i1);
+			Assert.assertEquals(1, completer.getReplacedWorkers());
+			Assert.assertEquals(2, pool.getMaximumPoolSize());
+
+			// the stuck worker does not block the next individual
+			completer.complete(i2);
+		} finally {
+			release.countDown();
+		}
+		Assert.assertNull(i1.getObjectives().get(x).getValue());
+		Assert.assertEquals(1, i2.getObjectives().get(x).getDouble(), 0);
+		Assert.assertEquals(0, completer.getQueueTimeouts());
+
+		while (pool.getMaximumPoolSize() != 1) {
+			Thread.sleep(10);
+		}
+		completer.optimizationStopped(null);
+	}
+
+	@Test(timeout = 10000)
+	public void timeoutAsync() throws Exception {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(2);
+		module.setTimeout(50);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+
+		hangs.set(0);
+		completer.complete(factory.create());
+
+		hangs.set(1);
+		Individual i1 = factory.create();
+		CompletableFuture<Individual> future = completer.completeAsync(i1);
+		Assert.assertSame(i1, future.get());
+		Assert.assertNull(i1.getObjectives().get(x).getValue());
+		Assert.assertEquals(1, completer.getTimeouts());
+		completer.optimizationStopped(null);
+	}
+
+	@Test(expected = IllegalStateException.class, timeout = 10000)
+	public void timeoutWithoutObjectives() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(2);
+		module.setTimeout(20);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+
+		hangs.set(1);
+		try {
+			completer.complete(factory.create());
+		} finally {
+			completer.optimizationStopped(null);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void speculation() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setThreads(4);
+		module.setSpeculation(0.9);
+		module.setType(Type.PARALLEL);
+		Injector injector = Guice.createInjector(new MockHangingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		ParallelIndividualCompleter completer = injector.getInstance(ParallelIndividualCompleter.class);
+
+		hangs.set(0);
+		for (int i = 0; i < ParallelIndividualCompleter.MIN_SAMPLES; i++) {
+			completer.complete(factory.create());
+		}
+		Assert.assertEquals(0, completer.getSpeculations());
+
+		hangs.set(1);
+		Individual individual = factory.create();
+		completer.complete(individual);
+		Assert.assertEquals(1, individual.getObjectives().get(x).getDouble(), 0);
+		Assert.assertEquals(1, completer.getSpeculations());
+		Assert.assertEquals(1, completer.getSpeculationWins());
+		completer.optimizationStopped(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidSpeculation() {
+		new IndividualCompleterModule().setSpeculation(1);
+	}
 }
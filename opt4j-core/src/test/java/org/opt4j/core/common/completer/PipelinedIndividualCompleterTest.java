@@ -0,0 +1,179 @@
+package org.opt4j.core.common.completer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.completer.IndividualCompleterModule.Type;
+import org.opt4j.core.common.completer.SequentialIndividualCompleterTest.MockProblemModule;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.BooleanGenotype;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class PipelinedIndividualCompleterTest {
+
+	protected static final AtomicInteger decoded = new AtomicInteger();
+	protected static final AtomicInteger evaluated = new AtomicInteger();
+
+	protected static class MockFailingProblem implements Creator<Genotype>, Decoder<Genotype, Object>,
+			Evaluator<Object> {
+
+		@Override
+		public Genotype create() {
+			return new BooleanGenotype();
+		}
+
+		@Override
+		public Object decode(Genotype genotype) {
+			decoded.incrementAndGet();
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "test";
+		}
+
+		@Override
+		public Objectives evaluate(Object phenotype) {
+			evaluated.incrementAndGet();
+			throw new IllegalStateException("evaluation failed");
+		}
+	}
+
+	@Ignore
+	protected static class MockFailingProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockFailingProblem.class, MockFailingProblem.class, MockFailingProblem.class);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidDecodeThreads() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setDecodeThreads(0);
+	}
+
+	@Test
+	public void complete() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setDecodeThreads(1);
+		module.setEvaluateThreads(2);
+		module.setQueueCapacity(1);
+		module.setType(Type.PIPELINED);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+		Individual i3 = factory.create();
+
+		PipelinedIndividualCompleter completer = injector.getInstance(PipelinedIndividualCompleter.class);
+		Assert.assertEquals(4, completer.getParallelism());
+
+		completer.complete(i1, i2, i3);
+		Assert.assertTrue(i1.isEvaluated());
+		Assert.assertTrue(i2.isEvaluated());
+		Assert.assertTrue(i3.isEvaluated());
+
+		Assert.assertEquals(0, completer.getDecodeStage().getQueueDepth());
+		Assert.assertEquals(0, completer.getEvaluateStage().getQueueDepth());
+		Assert.assertTrue(completer.getEvaluateStage().getUtilization() >= 0);
+
+		completer.complete(i1);
+	}
+
+	@Test
+	public void cancelOnFailure() throws Exception {
+		decoded.set(0);
+		evaluated.set(0);
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setDecodeThreads(1);
+		module.setEvaluateThreads(1);
+		module.setQueueCapacity(1);
+		module.setType(Type.PIPELINED);
+		Injector injector = Guice.createInjector(new MockFailingProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		List<Individual> individuals = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			individuals.add(factory.create());
+		}
+
+		PipelinedIndividualCompleter completer = injector.getInstance(PipelinedIndividualCompleter.class);
+		try {
+			completer.complete(individuals);
+			Assert.fail();
+		} catch (RuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		completer.optimizationStopped(null);
+		Assert.assertTrue(completer.getDecodeStage().executor.awaitTermination(10, TimeUnit.SECONDS));
+		Assert.assertTrue(completer.getEvaluateStage().executor.awaitTermination(10, TimeUnit.SECONDS));
+		Assert.assertTrue(decoded.get() < individuals.size());
+		Assert.assertTrue(evaluated.get() < individuals.size());
+		Assert.assertEquals(completer.queueCapacity, completer.handoff.availablePermits());
+	}
+
+	@Test
+	public void completeAsync() throws Exception {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.PIPELINED);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Individual i1 = factory.create();
+
+		PipelinedIndividualCompleter completer = injector.getInstance(PipelinedIndividualCompleter.class);
+		Assert.assertSame(i1, completer.completeAsync(i1).get());
+		Assert.assertTrue(i1.isEvaluated());
+	}
+
+	@Test
+	public void optimizationStopped() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.PIPELINED);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		PipelinedIndividualCompleter completer = injector.getInstance(PipelinedIndividualCompleter.class);
+		completer.optimizationStopped(null);
+		Assert.assertTrue(completer.getDecodeStage().executor.isShutdown());
+		Assert.assertTrue(completer.getEvaluateStage().executor.isShutdown());
+	}
+
+	@Test
+	public void restart() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.PIPELINED);
+		Injector injector = Guice.createInjector(new MockProblemModule(), module);
+
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		PipelinedIndividualCompleter completer = injector.getInstance(PipelinedIndividualCompleter.class);
+
+		completer.optimizationStopped(null);
+		completer.optimizationStarted(null);
+		Assert.assertFalse(completer.getDecodeStage().executor.isShutdown());
+		Assert.assertFalse(completer.getEvaluateStage().executor.isShutdown());
+
+		Individual i1 = factory.create();
+		completer.complete(i1);
+		Assert.assertTrue(i1.isEvaluated());
+		completer.optimizationStopped(null);
+	}
+}
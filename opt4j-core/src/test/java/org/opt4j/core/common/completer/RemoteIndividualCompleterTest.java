@@ -0,0 +1,202 @@
+package org.opt4j.core.common.completer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opt4j.core.Genotype;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.completer.IndividualCompleterModule.Type;
+import org.opt4j.core.config.ModuleSaver;
+import org.opt4j.core.genotype.BooleanGenotype;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.ProvisionException;
+
+public class RemoteIndividualCompleterTest {
+
+	protected static final Objective ones = new Objective("ones");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	public static class MockRemoteProblem implements Creator<Genotype>, Decoder<Genotype, Object>, Evaluator<Object> {
+
+		protected final String crash;
+
+		protected int counter = 0;
+
+		@Inject
+		public MockRemoteProblem(@Constant(value = "crash", namespace = MockRemoteProblem.class) String crash) {
+			this.crash = crash;
+		}
+
+		@Override
+		public Genotype create() {
+			BooleanGenotype genotype = new BooleanGenotype();
+			for (int i = 0; i < 10; i++) {
+				genotype.add(counter++ % 3 == 0);
+			}
+			return genotype;
+		}
+
+		@Override
+		public Object decode(Genotype genotype) {
+			return Collections.frequency((BooleanGenotype) genotype, true);
+		}
+
+		@Override
+		public Objectives evaluate(Object phenotype) {
+			if (!crash.isEmpty() && new File(crash).delete()) {
+				Runtime.getRuntime().halt(1);
+			}
+			Objectives objectives = new Objectives();
+			objectives.add(ones, (Integer) phenotype);
+			return objectives;
+		}
+	}
+
+	public static class MockRemoteProblemModule extends ProblemModule {
+
+		@Constant(value = "crash", namespace = MockRemoteProblem.class)
+		protected String crash = "";
+
+		public String getCrash() {
+			return crash;
+		}
+
+		public void setCrash(String crash) {
+			this.crash = crash;
+		}
+
+		@Override
+		protected void config() {
+			bindProblem(MockRemoteProblem.class, MockRemoteProblem.class, MockRemoteProblem.class);
+		}
+	}
+
+	protected Injector createInjector(int workers, File crash) throws IOException {
+		MockRemoteProblemModule problem = new MockRemoteProblemModule();
+		problem.setCrash(crash.getAbsolutePath());
+		File configuration = folder.newFile("remote.xml");
+		new ModuleSaver().save(configuration, Collections.singletonList(problem));
+
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.REMOTE);
+		module.setWorkers(workers);
+		module.setWorkerConfiguration(configuration.getAbsolutePath());
+		return Guice.createInjector(problem, module);
+	}
+
+	@Test(expected = ProvisionException.class)
+	public void missingConfiguration() {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setType(Type.REMOTE);
+		Injector injector = Guice.createInjector(new MockRemoteProblemModule(), module);
+		injector.getInstance(RemoteIndividualCompleter.class);
+	}
+
+	@Test
+	public void longMessage() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 30000; i++) {
+			builder.append('\u00e4');
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		RemoteProtocol.writeMessage(builder.toString(), out);
+		out.writeInt(42);
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		Assert.assertEquals(builder.substring(0, RemoteProtocol.MAX_MESSAGE), RemoteProtocol.readMessage(in));
+		Assert.assertEquals(42, in.readInt());
+	}
+
+	@Test(timeout = 60000)
+	public void complete() throws IOException, TerminationException, InterruptedException {
+		File crash = new File(folder.getRoot(), "crash");
+		Injector injector = createInjector(2, crash);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		RemoteIndividualCompleter completer = injector.getInstance(RemoteIndividualCompleter.class);
+		Assert.assertEquals(4, completer.getParallelism());
+
+		try {
+			List<Individual> individuals = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				individuals.add(factory.create());
+			}
+			completer.complete(individuals);
+			for (Individual individual : individuals) {
+				Assert.assertTrue(individual.isEvaluated());
+				// the phenotype is decoded on demand
+				Assert.assertTrue(individual.isPhenotypeEvicted());
+				Assert.assertEquals(individual.getPhenotype(),
+						individual.getObjectives().get(ones).getValue());
+			}
+			Assert.assertEquals(0, completer.getRestarts());
+
+			// the next evaluation kills its worker
+			crash.createNewFile();
+			individuals.clear();
+			for (int i = 0; i < 4; i++) {
+				individuals.add(factory.create());
+			}
+			completer.complete(individuals);
+			for (Individual individual : individuals) {
+				Assert.assertTrue(individual.isEvaluated());
+			}
+			Assert.assertFalse(crash.exists());
+			for (int i = 0; i < 100 && completer.getRestarts() == 0; i++) {
+				Thread.sleep(100);
+			}
+			Assert.assertTrue(completer.getRestarts() > 0);
+		} finally {
+			completer.optimizationStopped(null);
+		}
+		Assert.assertEquals(0, completer.getConnectedWorkers());
+	}
+
+	@Test(timeout = 60000)
+	public void completeAsync() throws IOException {
+		Injector injector = createInjector(2, new File(folder.getRoot(), "crash"));
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		RemoteIndividualCompleter completer = injector.getInstance(RemoteIndividualCompleter.class);
+
+		try {
+			List<CompletableFuture<Individual>> futures = new ArrayList<>();
+			for (int i = 0; i < 3 * completer.getParallelism(); i++) {
+				futures.add(completer.completeAsync(factory.create()));
+			}
+			for (CompletableFuture<Individual> future : futures) {
+				Individual individual = future.join();
+				Assert.assertTrue(individual.isEvaluated());
+				Assert.assertEquals(individual.getPhenotype(),
+						individual.getObjectives().get(ones).getValue());
+			}
+		} finally {
+			completer.optimizationStopped(null);
+		}
+	}
+}
@@ -1,5 +1,9 @@
 package org.opt4j.core.common.completer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.opt4j.core.Genotype;
@@ -8,9 +12,13 @@ import org.opt4j.core.Individual.State;
 import org.opt4j.core.IndividualFactory;
 import org.opt4j.core.Objective;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.common.instrumentation.HistogramInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
 import org.opt4j.core.config.annotations.Ignore;
 import org.opt4j.core.genotype.BooleanGenotype;
 import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.BatchEvaluator;
 import org.opt4j.core.problem.Creator;
 import org.opt4j.core.problem.Decoder;
 import org.opt4j.core.problem.Evaluator;
@@ -50,6 +58,31 @@ public class SequentialIndividualCompleterTest {
 		}
 	}
 
+	protected static class MockBatchEvaluator implements BatchEvaluator<Object> {
+		protected static final List<Integer> sizes = new ArrayList<>();
+
+		@Override
+		public List<Objectives> evaluateBatch(List<? extends Object> phenotypes) {
+			sizes.add(phenotypes.size());
+			List<Objectives> results = new ArrayList<>();
+			for (int i = 0; i < phenotypes.size(); i++) {
+				Objectives objectives = new Objectives();
+				objectives.add(new Objective("b"), i);
+				results.add(objectives);
+			}
+			return results;
+		}
+	}
+
+	@Ignore
+	protected static class MockBatchProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+			addEvaluator(MockBatchEvaluator.class);
+		}
+	}
+
 	@Test
 	public void decode() throws TerminationException {
 		Injector injector = Guice.createInjector(new MockProblemModule());
@@ -134,4 +167,38 @@ public class SequentialIndividualCompleterTest {
 		Assert.assertTrue(i1.isEvaluated());
 	}
 
+	@Test
+	public void completeBatches() throws TerminationException {
+		IndividualCompleterModule module = new IndividualCompleterModule();
+		module.setBatchSize(2);
+		Injector injector = Guice.createInjector(new MockBatchProblemModule(), module);
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Individual i1 = factory.create();
+		Individual i2 = factory.create();
+		Individual i3 = factory.create();
+
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+
+		MockBatchEvaluator.sizes.clear();
+		completer.complete(i1, i2, i3);
+
+		Assert.assertEquals(Arrays.asList(2, 1), MockBatchEvaluator.sizes);
+		Assert.assertTrue(i1.isEvaluated());
+		Assert.assertTrue(i2.isEvaluated());
+		Assert.assertTrue(i3.isEvaluated());
+	}
+
+	@Test
+	public void instrumentation() throws TerminationException {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		SequentialIndividualCompleter completer = injector.getInstance(SequentialIndividualCompleter.class);
+		HistogramInstrumentation instrumentation = new HistogramInstrumentation(false);
+		completer.setInstrumentation(instrumentation);
+
+		completer.complete(factory.create(), factory.create());
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.DECODING).getCount());
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.EVALUATION).getCount());
+		Assert.assertEquals(2, instrumentation.getCount(Counter.EVALUATIONS));
+	}
 }
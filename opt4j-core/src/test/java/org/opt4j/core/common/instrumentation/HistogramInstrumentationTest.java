@@ -0,0 +1,84 @@
+package org.opt4j.core.common.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class HistogramInstrumentationTest {
+
+	protected static final List<Integer> measured = new ArrayList<>();
+
+	public static class MockListener implements InstrumentationListener {
+		@Override
+		public void iterationMeasured(int iteration, Instrumentation instrumentation) {
+			measured.add(iteration);
+		}
+	}
+
+	@Test
+	public void disabled() {
+		Injector injector = Guice.createInjector();
+		Instrumentation instrumentation = injector.getInstance(Instrumentation.class);
+		Assert.assertTrue(instrumentation instanceof DisabledInstrumentation);
+		Assert.assertFalse(instrumentation.isEnabled());
+
+		instrumentation.stop(Stage.EVALUATION, instrumentation.start());
+		instrumentation.count(Counter.EVALUATIONS, 1);
+		Assert.assertEquals(0, instrumentation.getHistogram(Stage.EVALUATION).getCount());
+		Assert.assertEquals(0, instrumentation.getCount(Counter.EVALUATIONS));
+	}
+
+	@Test
+	public void measure() {
+		InstrumentationModule module = new InstrumentationModule();
+		module.setJmx(false);
+		Injector injector = Guice.createInjector(module, binder -> InstrumentationModule
+				.addInstrumentationListener(binder, MockListener.class));
+		HistogramInstrumentation instrumentation = (HistogramInstrumentation) injector
+				.getInstance(Instrumentation.class);
+		Assert.assertTrue(instrumentation.isEnabled());
+
+		instrumentation.stop(Stage.DECODING, instrumentation.start());
+		instrumentation.stop(Stage.DECODING, instrumentation.start());
+		instrumentation.count(Counter.CACHE_HITS, 3);
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.DECODING).getCount());
+		Assert.assertEquals(2, instrumentation.getStageCounts().get("DECODING").longValue());
+		Assert.assertEquals(3, instrumentation.getCacheHits());
+
+		measured.clear();
+		instrumentation.iterationComplete(1);
+		Assert.assertEquals(1, measured.size());
+		Assert.assertEquals(1, instrumentation.getIteration());
+
+		instrumentation.reset();
+		Assert.assertEquals(0, instrumentation.getHistogram(Stage.DECODING).getCount());
+		Assert.assertEquals(0, instrumentation.getCacheHits());
+	}
+
+	@Test
+	public void jmx() throws Exception {
+		HistogramInstrumentation instrumentation = new HistogramInstrumentation(true);
+		instrumentation.count(Counter.EVALUATIONS, 5);
+
+		instrumentation.optimizationStarted(null);
+		ObjectName name = instrumentation.getObjectName();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		Assert.assertTrue(server.isRegistered(name));
+		Assert.assertEquals(5L, server.getAttribute(name, "Evaluations"));
+
+		instrumentation.optimizationStopped(null);
+		Assert.assertFalse(server.isRegistered(name));
+		Assert.assertNull(instrumentation.getObjectName());
+	}
+}
@@ -0,0 +1,64 @@
+package org.opt4j.core.common.instrumentation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HistogramTest {
+
+	@Test
+	public void empty() {
+		Histogram histogram = new Histogram();
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+		Assert.assertEquals(0, histogram.getMean(), 0);
+	}
+
+	@Test
+	public void buckets() {
+		for (long value = 0; value < 100000; value += 7) {
+			int index = Histogram.index(value);
+			Assert.assertTrue(Histogram.highestEquivalent(index) >= value);
+			if (index > 0) {
+				Assert.assertTrue(Histogram.highestEquivalent(index - 1) < value);
+			}
+		}
+	}
+
+	@Test
+	public void percentiles() {
+		Histogram histogram = new Histogram();
+		for (long value = 1; value <= 100000; value++) {
+			histogram.record(value * 1000);
+		}
+		Assert.assertEquals(100000, histogram.getCount());
+		Assert.assertEquals(100000000, histogram.getMax());
+		Assert.assertEquals(50000500, histogram.getMean(), 1);
+		Assert.assertEquals(50000000, histogram.getValueAtPercentile(50), 50000000 * 0.01);
+		Assert.assertEquals(99000000, histogram.getValueAtPercentile(99), 99000000 * 0.01);
+		Assert.assertEquals(100000000, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void limits() {
+		Histogram histogram = new Histogram();
+		histogram.record(-1);
+		histogram.record(Long.MAX_VALUE / 2);
+		Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+		Assert.assertEquals(Long.MAX_VALUE / 2, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void reset() {
+		Histogram histogram = new Histogram();
+		histogram.record(42);
+		histogram.reset();
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0, histogram.getMax());
+		Assert.assertEquals(0, histogram.getValueAtPercentile(100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidPercentile() {
+		new Histogram().getValueAtPercentile(101);
+	}
+}
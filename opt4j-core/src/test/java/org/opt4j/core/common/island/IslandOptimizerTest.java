@@ -0,0 +1,295 @@
+package org.opt4j.core.common.island;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.archive.UnboundedArchive;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.common.random.RandomModule;
+import org.opt4j.core.common.termination.EvaluationBudget;
+import org.opt4j.core.common.termination.TerminationModule;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.IterativeOptimizer;
+import org.opt4j.core.optimizer.MaxIterations;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerIterationListener;
+import org.opt4j.core.optimizer.OptimizerModule;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.TerminationCriterion;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+import org.opt4j.core.start.Opt4JModule;
+import org.opt4j.core.start.Opt4JTask;
+
+import com.google.inject.Inject;
+import com.google.inject.Module;
+
+public class IslandOptimizerTest {
+
+	protected static class MockProblem
+			implements Creator<DoubleGenotype>, Decoder<DoubleGenotype, double[]>, Evaluator<double[]> {
+
+		protected final Rand random;
+
+		@Inject
+		public MockProblem(Rand random) {
+			this.random = random;
+		}
+
+		@Override
+		public DoubleGenotype create() {
+			DoubleGenotype genotype = new DoubleGenotype();
+			genotype.init(random, 2);
+			return genotype;
+		}
+
+		@Override
+		public double[] decode(DoubleGenotype genotype) {
+			return new double[] { genotype.get(0), genotype.get(1) };
+		}
+
+		@Override
+		public Objectives evaluate(double[] x) {
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective("f1"), x[0] * x[0] + x[1] * x[1]);
+			objectives.add(new Objective("f2"), (x[0] - 1) * (x[0] - 1) + (x[1] - 1) * (x[1] - 1));
+			return objectives;
+		}
+	}
+
+	@Ignore
+	protected static class MockProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+		}
+	}
+
+	/**
+	 * Replaces the population by random individuals in each iteration.
+	 */
+	protected static class MockOptimizer implements IterativeOptimizer {
+
+		protected final Population population;
+		protected final IndividualFactory individualFactory;
+
+		@Inject
+		public MockOptimizer(Population population, IndividualFactory individualFactory) {
+			this.population = population;
+			this.individualFactory = individualFactory;
+		}
+
+		@Override
+		public void initialize() {
+		}
+
+		@Override
+		public void next() throws TerminationException {
+			List<Individual> residents = new ArrayList<>(population);
+			for (int i = 0; i < residents.size() - 5; i++) {
+				population.remove(residents.get(i));
+			}
+			while (population.size() < 10) {
+				population.add(individualFactory.create());
+			}
+		}
+	}
+
+	@Ignore
+	protected static class MockOptimizerModule extends OptimizerModule {
+		@Override
+		protected void config() {
+			bindIterativeOptimizer(MockOptimizer.class);
+			bindConstant().annotatedWith(MaxIterations.class).to(20);
+			bind(Archive.class).to(UnboundedArchive.class).in(SINGLETON);
+		}
+	}
+
+	/**
+	 * Counts the lifecycle calls of all optimizers and stops each optimizer
+	 * after five iterations.
+	 */
+	protected static class MockListener
+			implements OptimizerStateListener, OptimizerIterationListener, TerminationCriterion {
+
+		protected static final AtomicInteger started = new AtomicInteger();
+		protected static final AtomicInteger stopped = new AtomicInteger();
+		protected static final AtomicInteger iterations = new AtomicInteger();
+
+		@Override
+		public void optimizationStarted(Optimizer optimizer) {
+			started.incrementAndGet();
+		}
+
+		@Override
+		public void optimizationStopped(Optimizer optimizer) {
+			stopped.incrementAndGet();
+		}
+
+		@Override
+		public void iterationComplete(int iteration) {
+			iterations.incrementAndGet();
+		}
+
+		@Override
+		public boolean isSatisfied(int iteration) {
+			return iteration >= 5;
+		}
+	}
+
+	@Ignore
+	protected static class MockListenerModule extends Opt4JModule {
+		@Override
+		protected void config() {
+			bind(MockListener.class).in(SINGLETON);
+			addOptimizerStateListener(MockListener.class);
+			addOptimizerIterationListener(MockListener.class);
+			addTerminationCriterion(MockListener.class);
+		}
+	}
+
+	protected Opt4JTask run(IslandModule island, Module... additional) throws Exception {
+		RandomModule random = new RandomModule();
+		random.setSeed(3);
+
+		List<Module> modules = new ArrayList<>();
+		modules.add(new MockProblemModule());
+		modules.add(new MockOptimizerModule());
+		modules.add(random);
+		modules.add(island);
+		modules.addAll(Arrays.asList(additional));
+
+		Opt4JTask task = new Opt4JTask(false);
+		task.init(modules);
+		task.execute();
+		return task;
+	}
+
+	@Test
+	public void optimize() throws Exception {
+		IslandModule module = new IslandModule();
+		module.setIslands(3);
+		module.setInterval(2);
+		module.setMigrants(3);
+		Opt4JTask task = run(module);
+
+		IslandOptimizer optimizer = (IslandOptimizer) task.getInstance(Optimizer.class);
+		Assert.assertEquals(20, task.getIteration());
+		Assert.assertEquals(3, optimizer.archipelago.size());
+		Assert.assertTrue(optimizer.getMigrations() > 0);
+
+		Archive archive = task.getInstance(Archive.class);
+		Assert.assertFalse(archive.isEmpty());
+		for (IslandOptimizer.Island island : optimizer.archipelago) {
+			Assert.assertEquals(20, island.iteration.value());
+			Assert.assertNotSame(task.getInstance(Population.class), island.population);
+		}
+		for (Individual individual : archive) {
+			Assert.assertTrue(individual.isEvaluated());
+		}
+		Assert.assertEquals(30, task.getInstance(Population.class).size());
+		// the immigrants are copies, no individual is shared by two islands
+		Set<Individual> individuals = Collections.newSetFromMap(new IdentityHashMap<Individual, Boolean>());
+		for (IslandOptimizer.Island island : optimizer.archipelago) {
+			for (Individual individual : island.population) {
+				Assert.assertTrue(individuals.add(individual));
+				Assert.assertTrue(individual.isEvaluated());
+			}
+		}
+	}
+
+	@Test
+	public void lifecycle() throws Exception {
+		MockListener.started.set(0);
+		MockListener.stopped.set(0);
+		MockListener.iterations.set(0);
+
+		IslandModule module = new IslandModule();
+		module.setIslands(3);
+		module.setInterval(2);
+		Opt4JTask task = run(module, new MockListenerModule());
+
+		IslandOptimizer optimizer = (IslandOptimizer) task.getInstance(Optimizer.class);
+		for (IslandOptimizer.Island island : optimizer.archipelago) {
+			Assert.assertEquals(5, island.iteration.value());
+			Assert.assertTrue(island.control.isStopped());
+		}
+		Assert.assertEquals(5, task.getIteration());
+		// the global optimizer and the three islands
+		Assert.assertEquals(4, MockListener.started.get());
+		Assert.assertEquals(4, MockListener.stopped.get());
+		Assert.assertEquals(4 * 5, MockListener.iterations.get());
+	}
+
+	@Test
+	public void noMigration() throws Exception {
+		IslandModule module = new IslandModule();
+		module.setIslands(2);
+		module.setInterval(0);
+		Opt4JTask task = run(module);
+
+		IslandOptimizer optimizer = (IslandOptimizer) task.getInstance(Optimizer.class);
+		Assert.assertEquals(20, task.getIteration());
+		Assert.assertEquals(0, optimizer.getMigrations());
+	}
+
+	@Test
+	public void evaluationBudget() throws Exception {
+		IslandModule module = new IslandModule();
+		module.setIslands(3);
+		module.setInterval(2);
+		TerminationModule termination = new TerminationModule();
+		termination.setEvaluations(100);
+		Opt4JTask task = run(module, termination);
+
+		IslandOptimizer optimizer = (IslandOptimizer) task.getInstance(Optimizer.class);
+		EvaluationBudget budget = task.getInstance(EvaluationBudget.class);
+		// each island evaluates 10 initial and 5 new individuals per iteration
+		Assert.assertTrue(budget.getEvaluations() >= 100);
+		Assert.assertTrue(task.getIteration() < 20);
+		for (IslandOptimizer.Island island : optimizer.archipelago) {
+			Assert.assertTrue(island.iteration.value() < 20);
+		}
+	}
+
+	@Test
+	public void ringTopology() {
+		RingTopology topology = new RingTopology();
+		Assert.assertEquals(1, topology.getTarget(0, 3, new Random(0)));
+		Assert.assertEquals(0, topology.getTarget(2, 3, new Random(0)));
+	}
+
+	@Test
+	public void randomTopology() {
+		RandomTopology topology = new RandomTopology();
+		Random random = new Random(0);
+		for (int i = 0; i < 100; i++) {
+			int target = topology.getTarget(1, 4, random);
+			Assert.assertTrue(target >= 0 && target < 4 && target != 1);
+		}
+		Assert.assertEquals(0, topology.getTarget(0, 1, random));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidIslands() {
+		new IslandModule().setIslands(0);
+	}
+}
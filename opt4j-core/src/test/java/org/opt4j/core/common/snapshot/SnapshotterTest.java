@@ -0,0 +1,320 @@
+package org.opt4j.core.common.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.common.archive.ArchiveModule;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.common.random.RandomJava;
+import org.opt4j.core.common.random.RandomModule;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.IterativeOptimizer;
+import org.opt4j.core.optimizer.MaxIterations;
+import org.opt4j.core.optimizer.OptimizerModule;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+import org.opt4j.core.start.Opt4JTask;
+
+import com.google.inject.Inject;
+import com.google.inject.Module;
+
+public class SnapshotterTest {
+
+	protected static class MockProblem
+			implements Creator<DoubleGenotype>, Decoder<DoubleGenotype, double[]>, Evaluator<double[]> {
+
+		protected final Rand random;
+
+		@Inject
+		public MockProblem(Rand random) {
+			this.random = random;
+		}
+
+		@Override
+		public DoubleGenotype create() {
+			DoubleGenotype genotype = new DoubleGenotype();
+			genotype.init(random, 3);
+			return genotype;
+		}
+
+		@Override
+		public double[] decode(DoubleGenotype genotype) {
+			double[] x = new double[genotype.size()];
+			for (int i = 0; i < x.length; i++) {
+				x[i] = genotype.get(i);
+			}
+			return x;
+		}
+
+		@Override
+		public Objectives evaluate(double[] x) {
+			double f1 = 0;
+			double f2 = 0;
+			for (double value : x) {
+				f1 += value * value;
+				f2 += (value - 1) * (value - 1);
+			}
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective("f1"), f1);
+			objectives.add(new Objective("f2"), f2);
+			return objectives;
+		}
+	}
+
+	@Ignore
+	protected static class MockProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+		}
+	}
+
+	/**
+	 * A simple (mu+lambda) strategy with Gaussian mutation.
+	 */
+	protected static class MockOptimizer implements IterativeOptimizer {
+
+		protected final Population population;
+		protected final Archive archive;
+		protected final IndividualFactory individualFactory;
+		protected final Rand random;
+		protected int steps = 0;
+
+		@Inject
+		public MockOptimizer(Population population, Archive archive, IndividualFactory individualFactory,
+				Rand random) {
+			this.population = population;
+			this.archive = archive;
+			this.individualFactory = individualFactory;
+			this.random = random;
+		}
+
+		@Override
+		public void initialize() {
+			for (int i = 0; i < 8; i++) {
+				population.add(individualFactory.create());
+			}
+		}
+
+		@Override
+		public void next() throws TerminationException {
+			steps++;
+			List<Individual> parents = new ArrayList<>(population);
+			for (Individual parent : parents) {
+				DoubleGenotype genotype = ((DoubleGenotype) parent.getGenotype()).newInstance();
+				for (double value : (DoubleGenotype) parent.getGenotype()) {
+					genotype.add(Math.min(1, Math.max(0, value + 0.1 * random.nextGaussian())));
+				}
+				population.add(individualFactory.create(genotype));
+			}
+			if (population.size() > 8) {
+				List<Individual> all = new ArrayList<>(population);
+				for (int i = 0; i < all.size() - 8; i++) {
+					Individual individual = all.get(random.nextInt(all.size()));
+					if (!archive.contains(individual)) {
+						population.remove(individual);
+					}
+				}
+			}
+		}
+	}
+
+	@Ignore
+	protected static class MockOptimizerModule extends OptimizerModule {
+
+		protected final int iterations;
+
+		public MockOptimizerModule(int iterations) {
+			this.iterations = iterations;
+		}
+
+		@Override
+		protected void config() {
+			bindIterativeOptimizer(MockOptimizer.class);
+			bindConstant().annotatedWith(MaxIterations.class).to(iterations);
+		}
+	}
+
+	protected File file;
+
+	@Before
+	public void before() throws IOException {
+		file = File.createTempFile("opt4j", ".snapshot");
+		Assert.assertTrue(file.delete());
+	}
+
+	@After
+	public void after() {
+		file.delete();
+		new File(file.getPath() + ".tmp").delete();
+	}
+
+	protected Opt4JTask run(int iterations, ArchiveModule.Type archive, SnapshotModule snapshot) throws Exception {
+		return run(iterations, archive, snapshot, 42);
+	}
+
+	protected Opt4JTask run(int iterations, ArchiveModule.Type archive, SnapshotModule snapshot, long seed)
+			throws Exception {
+		RandomModule random = new RandomModule();
+		random.setSeed(seed);
+		ArchiveModule archiveModule = new ArchiveModule();
+		archiveModule.setType(archive);
+		archiveModule.setCapacity(5);
+
+		List<Module> modules = new ArrayList<>();
+		modules.add(new MockProblemModule());
+		modules.add(new MockOptimizerModule(iterations));
+		modules.add(random);
+		modules.add(archiveModule);
+		if (snapshot != null) {
+			modules.add(snapshot);
+		}
+
+		Opt4JTask task = new Opt4JTask(false);
+		task.init(modules);
+		task.execute();
+		return task;
+	}
+
+	protected SnapshotModule snapshot(int interval) {
+		SnapshotModule module = new SnapshotModule();
+		module.setFile(file.getPath());
+		module.setInterval(interval);
+		return module;
+	}
+
+	protected List<String> describe(Iterable<Individual> individuals) {
+		List<String> result = new ArrayList<>();
+		for (Individual individual : individuals) {
+			result.add(individual.getGenotype() + " " + individual.getObjectives());
+		}
+		return result;
+	}
+
+	protected void resume(ArchiveModule.Type archive) throws Exception {
+		Opt4JTask uninterrupted = run(20, archive, null);
+
+		Opt4JTask first = run(10, archive, snapshot(5));
+		Assert.assertTrue(file.exists());
+		// superseded snapshots might be skipped
+		Assert.assertTrue(first.getInstance(Snapshotter.class).getWritten() >= 1);
+		Assert.assertEquals(10, first.getInstance(Snapshotter.class).getLastIteration());
+		Assert.assertFalse(first.getInstance(Snapshotter.class).isResumed());
+
+		// the random number generator is restored as well
+		Opt4JTask resumed = run(20, archive, snapshot(5), 7);
+		Snapshotter snapshotter = resumed.getInstance(Snapshotter.class);
+		Assert.assertTrue(snapshotter.isResumed());
+		Assert.assertEquals(20, resumed.getIteration());
+		Assert.assertEquals(10, ((MockOptimizer) resumed.getInstance(IterativeOptimizer.class)).steps);
+
+		Assert.assertEquals(describe(uninterrupted.getInstance(Population.class)),
+				describe(resumed.getInstance(Population.class)));
+		Assert.assertEquals(describe(uninterrupted.getInstance(Archive.class)),
+				describe(resumed.getInstance(Archive.class)));
+	}
+
+	@Test
+	public void resumeUnbounded() throws Exception {
+		resume(ArchiveModule.Type.UNBOUNDED);
+	}
+
+	@Test
+	public void resumeAdaptiveGrid() throws Exception {
+		resume(ArchiveModule.Type.ADAPTIVE_GRID);
+	}
+
+	@Test
+	public void resumeDisabled() throws Exception {
+		run(4, ArchiveModule.Type.UNBOUNDED, snapshot(2));
+		SnapshotModule module = snapshot(2);
+		module.setResume(false);
+		Opt4JTask task = run(4, ArchiveModule.Type.UNBOUNDED, module);
+		Assert.assertFalse(task.getInstance(Snapshotter.class).isResumed());
+		Assert.assertEquals(4, task.getIteration());
+	}
+
+	@Test
+	public void captureAndRead() throws Exception {
+		Opt4JTask task = run(3, ArchiveModule.Type.CROWDING, snapshot(0));
+		Snapshotter snapshotter = task.getInstance(Snapshotter.class);
+		Population population = task.getInstance(Population.class);
+		Archive archive = task.getInstance(Archive.class);
+		List<String> expected = describe(population);
+		int shared = shared(population, archive);
+		Assert.assertTrue(shared > 0);
+		byte[] data = snapshotter.capture();
+
+		population.clear();
+		snapshotter.read(new ByteArrayInputStream(data));
+		Assert.assertEquals(expected, describe(population));
+		for (Individual individual : population) {
+			Assert.assertTrue(individual.isEvaluated());
+			Assert.assertNotNull(individual.getPhenotype());
+		}
+		// shared individuals are restored as shared instances
+		Assert.assertEquals(shared, shared(population, archive));
+	}
+
+	protected int shared(Population population, Archive archive) {
+		Set<Individual> intersection = new HashSet<>(population);
+		intersection.retainAll(archive);
+		return intersection.size();
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidSnapshot() throws Exception {
+		Opt4JTask task = run(1, ArchiveModule.Type.UNBOUNDED, snapshot(0));
+		task.getInstance(Snapshotter.class).read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidInterval() {
+		new SnapshotModule().setInterval(-1);
+	}
+
+	@Test
+	public void randomJava() throws IOException {
+		Random expected = new Random(7);
+		RandomJava random = new RandomJava(7);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(expected.nextInt(), random.nextInt());
+			Assert.assertEquals(expected.nextGaussian(), random.nextGaussian(), 0);
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		SnapshotOutput out = new SnapshotOutput(bytes, null);
+		random.writeSnapshot(out);
+		out.flush();
+		double[] values = { random.nextGaussian(), random.nextDouble(), random.nextGaussian() };
+
+		RandomJava restored = new RandomJava(0);
+		restored.readSnapshot(new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()), null, null, null));
+		Assert.assertEquals(values[0], restored.nextGaussian(), 0);
+		Assert.assertEquals(values[1], restored.nextDouble(), 0);
+		Assert.assertEquals(values[2], restored.nextGaussian(), 0);
+	}
+}
@@ -0,0 +1,263 @@
+package org.opt4j.core.common.termination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.archive.UnboundedArchive;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.IterativeOptimizer;
+import org.opt4j.core.optimizer.MaxIterations;
+import org.opt4j.core.optimizer.OptimizerModule;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JTask;
+
+import com.google.inject.Inject;
+import com.google.inject.Module;
+
+public class TerminationTest {
+
+	protected static class MockProblem
+			implements Creator<DoubleGenotype>, Decoder<DoubleGenotype, double[]>, Evaluator<double[]> {
+
+		protected final Rand random;
+
+		@Inject
+		public MockProblem(Rand random) {
+			this.random = random;
+		}
+
+		@Override
+		public DoubleGenotype create() {
+			DoubleGenotype genotype = new DoubleGenotype();
+			genotype.init(random, 2);
+			return genotype;
+		}
+
+		@Override
+		public double[] decode(DoubleGenotype genotype) {
+			return new double[] { genotype.get(0), genotype.get(1) };
+		}
+
+		@Override
+		public Objectives evaluate(double[] x) {
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective("f1"), x[0]);
+			objectives.add(new Objective("f2"), 1 - x[0] + x[1]);
+			return objectives;
+		}
+	}
+
+	@Ignore
+	protected static class MockProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+		}
+	}
+
+	/**
+	 * Creates ten random individuals per iteration if enabled.
+	 */
+	protected static class MockOptimizer implements IterativeOptimizer {
+
+		protected final Population population;
+		protected final IndividualFactory individualFactory;
+		protected final boolean explore;
+
+		@Inject
+		public MockOptimizer(Population population, IndividualFactory individualFactory,
+				@Constant(value = "explore", namespace = MockOptimizer.class) boolean explore) {
+			this.population = population;
+			this.individualFactory = individualFactory;
+			this.explore = explore;
+		}
+
+		@Override
+		public void initialize() {
+			for (int i = 0; i < 10; i++) {
+				population.add(individualFactory.create());
+			}
+		}
+
+		@Override
+		public void next() throws TerminationException {
+			if (explore) {
+				List<Individual> residents = new ArrayList<>(population);
+				for (int i = 0; i < 10; i++) {
+					population.add(individualFactory.create());
+				}
+				population.removeAll(residents.subList(0, residents.size() - 10));
+			}
+		}
+	}
+
+	@Ignore
+	protected static class MockOptimizerModule extends OptimizerModule {
+
+		protected final int iterations;
+		protected final boolean explore;
+
+		public MockOptimizerModule(int iterations, boolean explore) {
+			this.iterations = iterations;
+			this.explore = explore;
+		}
+
+		@Override
+		protected void config() {
+			bindIterativeOptimizer(MockOptimizer.class);
+			bindConstant().annotatedWith(MaxIterations.class).to(iterations);
+			bindConstant("explore", MockOptimizer.class).to(explore);
+		}
+	}
+
+	protected Opt4JTask run(int iterations, boolean explore, TerminationModule termination) throws Exception {
+		List<Module> modules = new ArrayList<>();
+		modules.add(new MockProblemModule());
+		modules.add(new MockOptimizerModule(iterations, explore));
+		modules.add(termination);
+
+		Opt4JTask task = new Opt4JTask(false);
+		task.init(modules);
+		task.execute();
+		return task;
+	}
+
+	@Test
+	public void evaluationBudget() throws Exception {
+		TerminationModule module = new TerminationModule();
+		module.setEvaluations(55);
+		Opt4JTask task = run(1000, true, module);
+		Assert.assertEquals(5, task.getIteration());
+		Assert.assertEquals(60, task.getInstance(EvaluationBudget.class).getEvaluations());
+	}
+
+	@Test
+	public void stagnation() throws Exception {
+		TerminationModule module = new TerminationModule();
+		module.setWindow(3);
+		Opt4JTask task = run(50, false, module);
+		// the archive changes in the first iteration only
+		Assert.assertEquals(4, task.getIteration());
+	}
+
+	@Test
+	public void noCriteria() throws Exception {
+		Opt4JTask task = run(50, true, new TerminationModule());
+		Assert.assertEquals(50, task.getIteration());
+	}
+
+	@Test
+	public void timeLimit() {
+		TimeLimit limit = new TimeLimit(1);
+		limit.optimizationStarted(null);
+		Assert.assertFalse(limit.isSatisfied(1));
+		limit.start -= 2000000000L;
+		Assert.assertTrue(limit.isSatisfied(2));
+	}
+
+	@Test
+	public void stagnationWindow() {
+		Iterator<Double> values = Arrays.asList(1.0, 0.0, 0.0, 0.5, 0.0, 0.0, 0.0).iterator();
+		Stagnation stagnation = new Stagnation(() -> values.next(), 3, 0.0);
+		boolean[] expected = { false, false, false, false, false, false, true };
+		for (int i = 0; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], stagnation.isSatisfied(i + 1));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidWindow() {
+		new TerminationModule().setWindow(-1);
+	}
+
+	protected Individual individual(double f1, double f2) {
+		Individual individual = new Individual() {
+		};
+		Objectives objectives = new Objectives();
+		objectives.add(new Objective("f1"), f1);
+		objectives.add(new Objective("f2"), f2);
+		individual.setObjectives(objectives);
+		return individual;
+	}
+
+	@Test
+	public void hypervolume() {
+		Archive archive = new UnboundedArchive();
+		HypervolumeIndicator indicator = new HypervolumeIndicator(archive);
+		Assert.assertEquals(0, indicator.getImprovement(), 0);
+
+		archive.update(new HashSet<>(Arrays.asList(individual(0, 4), individual(4, 0))));
+		// the reference point is (4.4, 4.4)
+		Assert.assertEquals(3.36, indicator.getImprovement(), 1e-9);
+
+		archive.update(individual(2, 2));
+		Assert.assertEquals(4, indicator.getImprovement(), 1e-9);
+
+		archive.update(individual(3, 3));
+		Assert.assertEquals(0, indicator.getImprovement(), 0);
+
+		archive.update(individual(1, 1));
+		Assert.assertEquals(5, indicator.getImprovement(), 1e-9);
+		Assert.assertEquals(3, indicator.front.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void hypervolumeObjectives() {
+		Archive archive = new UnboundedArchive();
+		HypervolumeIndicator indicator = new HypervolumeIndicator(archive);
+		Individual individual = new Individual() {
+		};
+		Objectives objectives = new Objectives();
+		objectives.add(new Objective("f1"), 1);
+		individual.setObjectives(objectives);
+		archive.update(individual);
+		indicator.getImprovement();
+	}
+
+	@Test
+	public void epsilon() {
+		Archive archive = new UnboundedArchive();
+		EpsilonIndicator indicator = new EpsilonIndicator(archive);
+		archive.update(new HashSet<>(Arrays.asList(individual(0, 4), individual(4, 0))));
+		Assert.assertEquals(Double.POSITIVE_INFINITY, indicator.getImprovement(), 0);
+
+		archive.update(individual(2, 2));
+		Assert.assertEquals(2, indicator.getImprovement(), 1e-9);
+
+		// the dominated (2, 2) belongs to the previous archive
+		archive.update(individual(1, 1.5));
+		Assert.assertEquals(1, indicator.getImprovement(), 1e-9);
+
+		archive.update(Collections.<Individual> emptySet());
+		Assert.assertEquals(0, indicator.getImprovement(), 0);
+	}
+
+	@Test
+	public void archiveChange() {
+		Archive archive = new UnboundedArchive();
+		ArchiveChangeIndicator indicator = new ArchiveChangeIndicator(archive);
+		archive.update(new HashSet<>(Arrays.asList(individual(0, 4), individual(4, 0))));
+		Assert.assertEquals(2, indicator.getImprovement(), 0);
+		archive.update(individual(5, 5));
+		Assert.assertEquals(0, indicator.getImprovement(), 0);
+	}
+}
@@ -116,6 +116,25 @@ public class CompositeGenotypeTest {
 		Assert.assertFalse(composite.equals(composite2));
 	}
 
+	@Test
+	public void equalsTest() {
+		CompositeGenotype<String, Genotype> composite = new CompositeGenotype<String, Genotype>();
+		IntegerGenotype one = new IntegerGenotype(0, 2);
+		one.add(1);
+		composite.put("one", one);
+
+		CompositeGenotype<String, Genotype> composite2 = new CompositeGenotype<String, Genotype>();
+		IntegerGenotype one2 = new IntegerGenotype(0, 2);
+		one2.add(1);
+		composite2.put("one", one2);
+
+		Assert.assertEquals(composite, composite2);
+		Assert.assertEquals(composite.hashCode(), composite2.hashCode());
+
+		one2.set(0, 2);
+		Assert.assertFalse(composite.equals(composite2));
+	}
+
 	@Test
 	public void toStringTest() {
 		CompositeGenotype<String, Genotype> composite = new CompositeGenotype<String, Genotype>();
@@ -7,6 +7,9 @@ import java.util.Set;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opt4j.core.Individual;
+import org.opt4j.core.common.instrumentation.HistogramInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Counter;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
 
 public class AbstractOptimizerTest {
 
@@ -205,6 +208,53 @@ public class AbstractOptimizerTest {
 		Assert.assertTrue(started);
 	}
 
+	@Test
+	public void nextIterationInstrumented() throws TerminationException {
+		final Control c = new Control();
+		Population p = new Population();
+		final Individual i0 = new MockIndividual();
+		p.add(new MockIndividual());
+		p.add(new MockIndividual());
+		Archive a = new Archive() {
+			@Override
+			public boolean update(Set<? extends Individual> individuals) {
+				remove(i0);
+				return addAll(individuals);
+			}
+		};
+		a.add(i0);
+		IndividualCompleter completer = new IndividualCompleter() {
+
+			@Override
+			public void complete(Individual... individuals) throws TerminationException {
+				// nothing to be done
+			}
+
+			@Override
+			public void complete(Iterable<? extends Individual> iterable) throws TerminationException {
+				// nothing to be done
+			}
+		};
+		final MockOptimizer optimizer = new MockOptimizer(p, a, completer, c, new Iteration(10));
+		HistogramInstrumentation instrumentation = new HistogramInstrumentation(false);
+		optimizer.injectInstrumentation(instrumentation);
+
+		optimizer.setOptimizeTest(new TestMethod() {
+			@Override
+			public void test() throws TerminationException, StopException {
+				optimizer.nextIteration();
+				optimizer.nextIteration();
+			}
+		});
+		optimizer.startOptimization();
+
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.COMPLETION).getCount());
+		Assert.assertEquals(2, instrumentation.getHistogram(Stage.ARCHIVE).getCount());
+		Assert.assertEquals(1, instrumentation.getHistogram(Stage.ITERATION).getCount());
+		Assert.assertEquals(2, instrumentation.getCount(Counter.ARCHIVE_INSERTIONS));
+		Assert.assertEquals(1, instrumentation.getCount(Counter.ARCHIVE_REMOVALS));
+	}
+
 	@Test
 	public void startOptimizationStopped() throws TerminationException {
 		final Control c = new Control();
@@ -0,0 +1,109 @@
+package org.opt4j.core.optimizer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ControlTest {
+
+	@Test
+	public void running() throws TerminationException, StopException {
+		Control control = new Control();
+		Assert.assertTrue(control.isRunning());
+		control.checkpoint();
+		control.checkpointStop();
+	}
+
+	@Test(expected = TerminationException.class)
+	public void terminate() throws TerminationException {
+		Control control = new Control();
+		control.doTerminate();
+		Assert.assertTrue(control.isTerminated());
+		control.checkpoint();
+	}
+
+	@Test
+	public void stop() throws TerminationException {
+		Control control = new Control();
+		control.doStop();
+		Assert.assertTrue(control.isStopped());
+		control.checkpoint();
+		try {
+			control.checkpointStop();
+			Assert.fail();
+		} catch (StopException e) {
+		}
+		control.doTerminate();
+		try {
+			control.checkpointStop();
+			Assert.fail();
+		} catch (StopException e) {
+			Assert.fail();
+		} catch (TerminationException e) {
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void pause() throws InterruptedException {
+		final Control control = new Control();
+		control.doPause();
+		Assert.assertTrue(control.isPaused());
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicReference<Throwable> result = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			started.countDown();
+			try {
+				control.checkpoint();
+			} catch (Throwable e) {
+				result.set(e);
+			}
+		});
+		thread.start();
+		started.await();
+		thread.join(100);
+		Assert.assertTrue(thread.isAlive());
+
+		control.doStart();
+		thread.join();
+		Assert.assertNull(result.get());
+	}
+
+	@Test(timeout = 5000)
+	public void terminatePaused() throws InterruptedException {
+		final Control control = new Control();
+		control.doPause();
+
+		final CountDownLatch done = new CountDownLatch(1);
+		final AtomicReference<Throwable> result = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				control.checkpointStop();
+			} catch (Throwable e) {
+				result.set(e);
+			}
+			done.countDown();
+		});
+		thread.start();
+		Assert.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+
+		control.doTerminate();
+		Assert.assertTrue(done.await(1, TimeUnit.SECONDS));
+		Assert.assertTrue(result.get() instanceof TerminationException);
+	}
+
+	@Test
+	public void listener() {
+		Control control = new Control();
+		final AtomicReference<Control.State> state = new AtomicReference<>();
+		control.addListener(state::set);
+		control.doPause();
+		Assert.assertEquals(Control.State.PAUSED, state.get());
+		control.doPause();
+		control.doStart();
+		Assert.assertEquals(Control.State.RUNNING, state.get());
+	}
+}
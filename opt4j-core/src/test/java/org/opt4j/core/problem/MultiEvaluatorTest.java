@@ -0,0 +1,102 @@
+package org.opt4j.core.problem;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.IntegerValue;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+
+public class MultiEvaluatorTest {
+
+	@Priority(value = -1, shortCircuit = true)
+	protected static class ConstraintEvaluator implements Evaluator<Object> {
+		@Override
+		public Objectives evaluate(Object phenotype) {
+			Objectives objectives = new Objectives();
+			int value = (Integer) phenotype;
+			objectives.add(new Objective("c"), value < 0 ? Objective.INFEASIBLE : new IntegerValue(value));
+			return objectives;
+		}
+	}
+
+	protected static class CountingEvaluator implements Evaluator<Object> {
+		protected final String name;
+		protected final AtomicInteger calls = new AtomicInteger();
+
+		public CountingEvaluator(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Objectives evaluate(Object phenotype) {
+			calls.incrementAndGet();
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective(name), (Integer) phenotype);
+			return objectives;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected MultiEvaluator create(Evaluator<?>... evaluators) {
+		Set<Evaluator<Object>> set = new HashSet(Arrays.asList(evaluators));
+		return new MultiEvaluator(set, () -> new Objectives());
+	}
+
+	@Test
+	public void evaluate() {
+		CountingEvaluator a = new CountingEvaluator("a");
+		MultiEvaluator evaluator = create(new ConstraintEvaluator(), a);
+
+		Objectives objectives = evaluator.evaluate(3);
+		Assert.assertEquals(2, objectives.size());
+		Assert.assertEquals(3, objectives.get(new Objective("a")).getDouble(), 0);
+		Assert.assertEquals(1, a.calls.get());
+	}
+
+	@Test
+	public void shortCircuit() {
+		CountingEvaluator a = new CountingEvaluator("a");
+		CountingEvaluator b = new CountingEvaluator("b");
+		MultiEvaluator evaluator = create(new ConstraintEvaluator(), a, b);
+
+		// the objectives of a and b are not known yet
+		Objectives first = evaluator.evaluate(-1);
+		Assert.assertEquals(1, a.calls.get());
+		Assert.assertNull(first.get(new Objective("a")).getValue());
+
+		Objectives second = evaluator.evaluate(-2);
+		Assert.assertEquals(1, a.calls.get());
+		Assert.assertEquals(1, b.calls.get());
+		Assert.assertEquals(first.getKeys(), second.getKeys());
+		Assert.assertNull(second.get(new Objective("b")).getValue());
+
+		List<Objectives> results = evaluator.evaluateBatch(Arrays.asList(1, -1, 2));
+		Assert.assertEquals(3, a.calls.get());
+		Assert.assertEquals(1, results.get(0).get(new Objective("a")).getDouble(), 0);
+		Assert.assertNull(results.get(1).get(new Objective("a")).getValue());
+		Assert.assertEquals(2, results.get(2).get(new Objective("b")).getDouble(), 0);
+		Assert.assertEquals(first.getKeys(), results.get(0).getKeys());
+	}
+
+	@Test
+	public void concurrent() {
+		CountingEvaluator a = new CountingEvaluator("a");
+		CountingEvaluator b = new CountingEvaluator("b");
+		CountingEvaluator c = new CountingEvaluator("c");
+		MultiEvaluator evaluator = create(a, b, c);
+		evaluator.setConcurrent(true);
+
+		List<Objectives> results = evaluator.evaluateBatch(Arrays.asList(1, 2));
+		Assert.assertEquals(3, results.get(1).size());
+		Assert.assertEquals(2, results.get(1).get(new Objective("c")).getDouble(), 0);
+		Assert.assertEquals(2, a.calls.get());
+		Assert.assertEquals(2, b.calls.get());
+		Assert.assertEquals(2, c.calls.get());
+	}
+}
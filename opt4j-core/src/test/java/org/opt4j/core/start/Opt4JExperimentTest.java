@@ -0,0 +1,326 @@
+package org.opt4j.core.start;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.completer.IndividualCompleterModule;
+import org.opt4j.core.common.island.IslandModule;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.common.random.RandomModule;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.optimizer.IterativeOptimizer;
+import org.opt4j.core.optimizer.MaxIterations;
+import org.opt4j.core.optimizer.OptimizerModule;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+import org.opt4j.core.start.Opt4JExperiment.Summary;
+import org.opt4j.core.start.Sweep.Run;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+
+public class Opt4JExperimentTest {
+
+	public static class Data {
+		protected final double offset;
+
+		public Data(double offset) {
+			this.offset = offset;
+		}
+	}
+
+	protected static final Set<Data> instances = Collections.newSetFromMap(new IdentityHashMap<Data, Boolean>());
+
+	public static class SharedDataModule extends AbstractModule {
+		@Override
+		protected void configure() {
+			bind(Data.class).toInstance(new Data(0.5));
+		}
+	}
+
+	@Singleton
+	public static class MockProblem
+			implements Creator<DoubleGenotype>, Decoder<DoubleGenotype, double[]>, Evaluator<double[]> {
+
+		protected final Rand random;
+		protected final Data data;
+
+		@Inject
+		public MockProblem(Rand random, Data data) {
+			this.random = random;
+			this.data = data;
+			synchronized (instances) {
+				instances.add(data);
+			}
+		}
+
+		@Override
+		public DoubleGenotype create() {
+			DoubleGenotype genotype = new DoubleGenotype();
+			genotype.init(random, 2);
+			return genotype;
+		}
+
+		@Override
+		public double[] decode(DoubleGenotype genotype) {
+			return new double[] { genotype.get(0), genotype.get(1) };
+		}
+
+		@Override
+		public Objectives evaluate(double[] x) {
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective("f1"), x[0]);
+			objectives.add(new Objective("f2"), Math.abs(1 - x[0] - data.offset) + x[1]);
+			return objectives;
+		}
+	}
+
+	@Ignore
+	public static class MockProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+		}
+	}
+
+	public static class MockOptimizer implements IterativeOptimizer {
+
+		protected final Population population;
+		protected final IndividualFactory individualFactory;
+
+		@Inject
+		public MockOptimizer(Population population, IndividualFactory individualFactory) {
+			this.population = population;
+			this.individualFactory = individualFactory;
+		}
+
+		@Override
+		public void initialize() {
+		}
+
+		@Override
+		public void next() throws TerminationException {
+			List<Individual> residents = new ArrayList<>(population);
+			population.removeAll(residents);
+			for (int i = 0; i < 5; i++) {
+				population.add(individualFactory.create());
+			}
+		}
+	}
+
+	@Ignore
+	public static class MockOptimizerModule extends OptimizerModule {
+
+		protected int iterations = 5;
+
+		public int getIterations() {
+			return iterations;
+		}
+
+		public void setIterations(int iterations) {
+			this.iterations = iterations;
+		}
+
+		@Override
+		protected void config() {
+			bindIterativeOptimizer(MockOptimizer.class);
+			bindConstant().annotatedWith(MaxIterations.class).to(iterations);
+		}
+	}
+
+	public static class MockErrorOptimizer extends MockOptimizer {
+
+		@Inject
+		public MockErrorOptimizer(Population population, IndividualFactory individualFactory) {
+			super(population, individualFactory);
+		}
+
+		@Override
+		public void next() throws TerminationException {
+			throw new Error("mock");
+		}
+	}
+
+	@Ignore
+	public static class MockErrorOptimizerModule extends OptimizerModule {
+		@Override
+		protected void config() {
+			bindIterativeOptimizer(MockErrorOptimizer.class);
+			bindConstant().annotatedWith(MaxIterations.class).to(5);
+		}
+	}
+
+	protected Opt4JExperiment experiment() {
+		Opt4JExperiment experiment = new Opt4JExperiment();
+		List<Module> modules = new ArrayList<>();
+		modules.add(new MockProblemModule());
+		modules.add(new MockOptimizerModule());
+		experiment.addModules(modules);
+		experiment.addSharedModule(new SharedDataModule());
+		experiment.getSweep().addSeeds(1, 3);
+		experiment.getSweep().addParameter(MockOptimizerModule.class, "iterations", Arrays.asList("3", "6"));
+		experiment.setParallelism(3);
+		return experiment;
+	}
+
+	protected List<String> describe(List<Summary> summaries) {
+		List<String> result = new ArrayList<>();
+		for (Summary summary : summaries) {
+			result.add(summary.getRun().getSeed() + " " + summary.getIterations() + " " + summary.getIdeal());
+		}
+		return result;
+	}
+
+	@Test
+	public void run() throws Exception {
+		instances.clear();
+		File output = File.createTempFile("opt4j", ".csv");
+		try {
+			Opt4JExperiment experiment = experiment();
+			experiment.setOutput(output);
+			List<Summary> summaries = experiment.run();
+
+			Assert.assertEquals(6, summaries.size());
+			for (int i = 0; i < summaries.size(); i++) {
+				Summary summary = summaries.get(i);
+				Assert.assertNull(summary.getException());
+				Assert.assertEquals(i, summary.getRun().getIndex());
+				Assert.assertEquals(1 + i % 3, summary.getRun().getSeed().longValue());
+				Assert.assertEquals(i < 3 ? 3 : 6, summary.getIterations());
+				Assert.assertTrue(summary.getArchiveSize() > 0);
+				Assert.assertEquals(2, summary.getIdeal().size());
+			}
+			// the problem data is created once
+			Assert.assertEquals(1, instances.size());
+
+			List<String> lines = Files.readAllLines(output.toPath());
+			Assert.assertEquals(7, lines.size());
+			Assert.assertEquals("run,seed,MockOptimizerModule.iterations,iterations,archive,milliseconds,ideal,exception",
+					lines.get(0));
+
+			// the runs are reproducible despite the concurrency
+			Assert.assertEquals(describe(summaries), describe(experiment().run()));
+		} finally {
+			output.delete();
+		}
+	}
+
+	@Test
+	public void load() throws Exception {
+		File file = File.createTempFile("opt4j", ".xml");
+		try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+			writer.println("<experiment parallelism=\"2\" threads=\"6\">");
+			writer.println("  <shared class=\"" + SharedDataModule.class.getName() + "\"/>");
+			writer.println("  <sweep>");
+			writer.println("    <seeds first=\"10\" count=\"2\"/>");
+			writer.println("    <seed>42</seed>");
+			writer.println("    <module class=\"" + MockOptimizerModule.class.getName() + "\">");
+			writer.println("      <property name=\"iterations\"><value>1</value><value>2</value></property>");
+			writer.println("    </module>");
+			writer.println("  </sweep>");
+			writer.println("</experiment>");
+		}
+		try {
+			Opt4JExperiment experiment = new Opt4JExperiment();
+			experiment.load(file);
+			Assert.assertEquals(2, experiment.getParallelism());
+			Assert.assertEquals(6, experiment.getThreads());
+			Assert.assertNull(experiment.getOutput());
+			Assert.assertEquals(1, experiment.sharedModules.size());
+			Assert.assertEquals(Arrays.asList(10L, 11L, 42L), experiment.getSweep().getSeeds());
+
+			List<Run> runs = experiment.getSweep().getRuns();
+			Assert.assertEquals(6, runs.size());
+			Assert.assertEquals("2", runs.get(5).getValues().values().iterator().next());
+			Assert.assertEquals(42L, runs.get(5).getSeed().longValue());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void limitThreads() throws Exception {
+		Opt4JExperiment experiment = new Opt4JExperiment();
+		IndividualCompleterModule completer = new IndividualCompleterModule();
+		completer.setType(IndividualCompleterModule.Type.PARALLEL);
+		completer.setThreads(8);
+		RandomModule random = new RandomModule();
+		experiment.addModules(Arrays.asList(completer, random));
+		experiment.setThreads(6);
+		experiment.setParallelism(3);
+
+		List<Module> modules = experiment.createModules(experiment.getSweep().getRuns().get(0), null);
+		IndividualCompleterModule limited = (IndividualCompleterModule) modules.get(0);
+		Assert.assertEquals(2, limited.getThreads());
+		Assert.assertNotSame(completer, limited);
+		Assert.assertEquals(8, completer.getThreads());
+	}
+
+	@Test
+	public void limitThreadsIslands() throws Exception {
+		Opt4JExperiment experiment = new Opt4JExperiment();
+		IndividualCompleterModule completer = new IndividualCompleterModule();
+		completer.setType(IndividualCompleterModule.Type.PARALLEL);
+		completer.setThreads(8);
+		IslandModule island = new IslandModule();
+		island.setIslands(3);
+		experiment.addModules(Arrays.asList(completer, island));
+		experiment.setThreads(12);
+		experiment.setParallelism(2);
+
+		List<Module> modules = experiment.createModules(experiment.getSweep().getRuns().get(0), null);
+		IndividualCompleterModule limited = (IndividualCompleterModule) modules.get(0);
+		// the six threads of a run are shared by the three islands
+		Assert.assertEquals(2, limited.getThreads());
+	}
+
+	@Test
+	public void failedRun() throws Exception {
+		Opt4JExperiment experiment = new Opt4JExperiment();
+		experiment.addModules(Arrays.asList(new MockProblemModule(), new MockErrorOptimizerModule()));
+		experiment.addSharedModule(new SharedDataModule());
+		experiment.getSweep().addSeeds(1, 2);
+		experiment.setParallelism(2);
+
+		List<Summary> summaries = experiment.run();
+		Assert.assertEquals(2, summaries.size());
+		for (Summary summary : summaries) {
+			Assert.assertTrue(summary.getException() instanceof Error);
+			Assert.assertEquals(0, summary.getArchiveSize());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownModule() throws Exception {
+		Opt4JExperiment experiment = new Opt4JExperiment();
+		experiment.addModules(Arrays.asList(new MockProblemModule()));
+		experiment.getSweep().addParameter(MockOptimizerModule.class, "iterations", Arrays.asList("1"));
+		experiment.run();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidParallelism() {
+		new Opt4JExperiment().setParallelism(0);
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+/**
+ * The {@link AbstractNonDominatedSorting} is the base class for the
+ * {@link NonDominatedSorting} strategies. It sorts the points
+ * lexicographically and merges equal points such that the implementations
+ * only rank distinct points in lexicographic order. In this order, a point can
+ * only be dominated by a preceding point and a preceding point that is not
+ * worse in all objectives always dominates it.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public abstract class AbstractNonDominatedSorting implements NonDominatedSorting {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.optimizers.ea.NonDominatedSorting#sort(double[][])
+	 */
+	@Override
+	public int[] sort(double[][] points) {
+		final int n = points.length;
+		int[] result = new int[n];
+		if (n == 0) {
+			return result;
+		}
+
+		int[] order = lexicographicOrder(points);
+		int[] unique = new int[n];
+		int[] representative = new int[n];
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			int index = order[i];
+			if (size == 0 || !isEqual(points[unique[size - 1]], points[index])) {
+				unique[size++] = index;
+			}
+			representative[i] = size - 1;
+		}
+
+		double[][] sorted = new double[size][];
+		for (int i = 0; i < size; i++) {
+			sorted[i] = points[unique[i]];
+		}
+		int[] ranks = new int[size];
+		rank(sorted, ranks);
+
+		for (int i = 0; i < n; i++) {
+			result[order[i]] = ranks[representative[i]];
+		}
+		return result;
+	}
+
+	/**
+	 * Ranks the distinct, lexicographically sorted points.
+	 * 
+	 * @param points
+	 *            the distinct points in lexicographic order
+	 * @param ranks
+	 *            the ranks to be set (initialized with {@code 0})
+	 */
+	protected abstract void rank(double[][] points, int[] ranks);
+
+	/**
+	 * Returns {@code true} if the point {@code a} is not worse than {@code b}
+	 * in all objectives.
+	 * 
+	 * @param a
+	 *            the first point
+	 * @param b
+	 *            the second point
+	 * @return {@code true} if {@code a} weakly dominates {@code b}
+	 */
+	protected static boolean weaklyDominates(double[] a, double[] b) {
+		for (int j = 0; j < a.length; j++) {
+			if (a[j] > b[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns {@code true} if both points are equal in all objectives.
+	 * 
+	 * @param a
+	 *            the first point
+	 * @param b
+	 *            the second point
+	 * @return {@code true} if the points are equal
+	 */
+	protected static boolean isEqual(double[] a, double[] b) {
+		for (int j = 0; j < a.length; j++) {
+			if (a[j] != b[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compares two points lexicographically.
+	 * 
+	 * @param a
+	 *            the first point
+	 * @param b
+	 *            the second point
+	 * @return a negative value, zero, or a positive value if {@code a} is
+	 *         smaller, equal, or greater than {@code b}
+	 */
+	protected static int compare(double[] a, double[] b) {
+		for (int j = 0; j < a.length; j++) {
+			if (a[j] < b[j]) {
+				return -1;
+			} else if (a[j] > b[j]) {
+				return 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the indices of the points in lexicographic order (stable merge
+	 * sort).
+	 * 
+	 * @param points
+	 *            the points
+	 * @return the lexicographic order
+	 */
+	protected static int[] lexicographicOrder(double[][] points) {
+		int n = points.length;
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		int[] buffer = new int[n];
+		for (int width = 1; width < n; width *= 2) {
+			for (int low = 0; low < n - width; low += 2 * width) {
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, n);
+				if (compare(points[order[mid - 1]], points[order[mid]]) <= 0) {
+					continue;
+				}
+				int i = low, j = mid, k = low;
+				while (i < mid && j < high) {
+					if (compare(points[order[i]], points[order[j]]) <= 0) {
+						buffer[k++] = order[i++];
+					} else {
+						buffer[k++] = order[j++];
+					}
+				}
+				while (i < mid) {
+					buffer[k++] = order[i++];
+				}
+				while (j < high) {
+					buffer[k++] = order[j++];
+				}
+				System.arraycopy(buffer, low, order, low, high - low);
+			}
+		}
+		return order;
+	}
+
+}
@@ -26,6 +26,9 @@ import java.util.Collection;
 
 import org.opt4j.core.Individual;
 import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.common.instrumentation.DisabledInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
 import org.opt4j.core.optimizer.IndividualCompleter;
 import org.opt4j.core.optimizer.IterativeOptimizer;
 import org.opt4j.core.optimizer.Population;
@@ -62,6 +65,8 @@ public class EvolutionaryAlgorithm implements IterativeOptimizer {
 
 	private final IndividualCompleter completer;
 
+	protected Instrumentation instrumentation = DisabledInstrumentation.INSTANCE;
+
 	/**
 	 * Constructs an {@link EvolutionaryAlgorithm} with a {@link Population}, an
 	 * {@link IndividualFactory}, a {@link IndividualCompleter}, a
@@ -118,6 +123,17 @@ public class EvolutionaryAlgorithm implements IterativeOptimizer {
 		}
 	}
 
+	/**
+	 * Sets the {@link Instrumentation} that measures the selection and mating.
+	 * 
+	 * @param instrumentation
+	 *            the instrumentation
+	 */
+	@Inject(optional = true)
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -137,8 +153,10 @@ public class EvolutionaryAlgorithm implements IterativeOptimizer {
 	public void next() throws TerminationException {
 		// remove lames
 		if (population.size() > alpha) {
+			long start = instrumentation.start();
 			Collection<Individual> lames = selector.getLames(population.size()
 					- alpha, population);
+			instrumentation.stop(Stage.SELECTION, start);
 			population.removeAll(lames);
 		}
 		// set the number of new offspring individuals per generation
@@ -156,10 +174,15 @@ public class EvolutionaryAlgorithm implements IterativeOptimizer {
 				completer.complete(population);
 			}
 
+			long start = instrumentation.start();
 			Collection<Individual> parents = selector
 					.getParents(mu, population);
+			instrumentation.stop(Stage.SELECTION, start);
+
+			start = instrumentation.start();
 			Collection<Individual> offspring = mating.getOffspring(
 					offspringCount, parents);
+			instrumentation.stop(Stage.MATING, start);
 			population.addAll(offspring);
 		}
 	}
@@ -65,6 +65,10 @@ public class EvolutionaryAlgorithmModule extends OptimizerModule {
 	@Constant(value = "rate", namespace = ConstantCrossoverRate.class)
 	protected double crossoverRate = 0.95;
 
+	@Info("Breeds offspring as soon as an individual is evaluated instead of waiting for the whole generation.")
+	@Order(5)
+	protected boolean steadyState = false;
+
 	@Ignore
 	protected CrossoverRateType crossoverRateType = CrossoverRateType.CONSTANT;
 
@@ -197,6 +201,27 @@ public class EvolutionaryAlgorithmModule extends OptimizerModule {
 		this.crossoverRate = crossoverRate;
 	}
 
+	/**
+	 * Returns {@code true} if the {@link SteadyStateEvolutionaryAlgorithm} is
+	 * used.
+	 * 
+	 * @return {@code true} if the steady-state mode is used
+	 */
+	public boolean isSteadyState() {
+		return steadyState;
+	}
+
+	/**
+	 * Sets the steady-state mode. If {@code true}, the
+	 * {@link SteadyStateEvolutionaryAlgorithm} is used.
+	 * 
+	 * @param steadyState
+	 *            {@code true} to use the steady-state mode
+	 */
+	public void setSteadyState(boolean steadyState) {
+		this.steadyState = steadyState;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -204,7 +229,13 @@ public class EvolutionaryAlgorithmModule extends OptimizerModule {
 	 */
 	@Override
 	public void config() {
-		bindIterativeOptimizer(EvolutionaryAlgorithm.class);
+		if (steadyState) {
+			bind(SteadyStateEvolutionaryAlgorithm.class).in(SINGLETON);
+			bindIterativeOptimizer(SteadyStateEvolutionaryAlgorithm.class);
+			addOptimizerStateListener(SteadyStateEvolutionaryAlgorithm.class);
+		} else {
+			bindIterativeOptimizer(EvolutionaryAlgorithm.class);
+		}
 		bind(CrossoverRate.class).to(ConstantCrossoverRate.class).in(SINGLETON);
 	}
 }
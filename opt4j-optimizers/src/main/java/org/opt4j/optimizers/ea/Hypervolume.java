@@ -28,9 +28,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 
 import org.opt4j.core.Individual;
 import org.opt4j.core.common.archive.FrontDensityIndicator;
@@ -45,7 +46,12 @@ import com.google.inject.Inject;
  * {@link FrontDensityIndicator} based on determination of the hypervolume
  * contribution. The calculation is based on a normalization between 0 and 1 in
  * each dimension and a transformation to a maximization problem. Additionally
- * an offset value (default 1) is added to each dimension.
+ * an offset value (default 1) is added to each dimension. The hypervolume is
+ * calculated by a sweep for three dimensions and the WFG algorithm, see "While,
+ * L., Bradstreet, L., and Barone, L. (2012): A Fast Way of Calculating Exact
+ * Hypervolumes. IEEE Transactions on Evolutionary Computation 16(1), 86-95.",
+ * for more dimensions. The contribution of each point is calculated directly
+ * as its exclusive hypervolume.
  * 
  * 
  * @see SMSModule
@@ -118,7 +124,10 @@ public class Hypervolume implements FrontDensityIndicator {
 	}
 
 	/**
-	 * Calculates the {@link Hypervolume} contribution for n dimensions.
+	 * Calculates the {@link Hypervolume} contribution for n dimensions. The
+	 * exclusive contribution of each point is the volume of the point minus
+	 * the hypervolume of the other points limited to the point, see
+	 * {@link #calculateExclusiveHypervolume(double[][], int, int)}.
 	 * 
 	 * @param individuals
 	 *            the individuals
@@ -131,14 +140,10 @@ public class Hypervolume implements FrontDensityIndicator {
 		List<double[]> front = invert(normalize(getMinValues(individuals)), offset);
 
 		int m = front.get(0).length;
+		double[][] points = front.toArray(new double[front.size()][]);
 
-		double hvAll = calculateHypervolume(front, m);
-
-		for (int i = 0; i < front.size(); i++) {
-			List<double[]> iFront = new ArrayList<>(front);
-			iFront.remove(i);
-			double iHv = calculateHypervolume(iFront, m);
-			result.put(individuals.get(i), hvAll - iHv);
+		for (int i = 0; i < points.length; i++) {
+			result.put(individuals.get(i), calculateExclusiveHypervolume(points, i, m));
 		}
 
 		return result;
@@ -265,9 +270,38 @@ public class Hypervolume implements FrontDensityIndicator {
 	}
 
 	/**
-	 * Implements the {@link Hypervolume} calculations as proposed by Zitzler,
-	 * E., and Thiele, L. (1998). All points have positive values in all
-	 * dimensions and the hypervolume is calculated from 0.
+	 * Calculates the exclusive {@link Hypervolume} contribution of a point,
+	 * i.e., the volume that is dominated by this point but by no other point.
+	 * All points have positive values in all dimensions and the hypervolume
+	 * is calculated from 0.
+	 * 
+	 * @param points
+	 *            the front of non-dominated solutions
+	 * @param index
+	 *            the index of the point
+	 * @param nObjectives
+	 *            the number of objectives
+	 * @return the exclusive hypervolume of the point
+	 */
+	protected double calculateExclusiveHypervolume(double[][] points, int index, int nObjectives) {
+		double[] p = points[index];
+		double[][] limited = new double[points.length - 1][];
+		int size = 0;
+		for (int j = 0; j < points.length; j++) {
+			if (j != index) {
+				double[] l = limit(p, points[j], nObjectives);
+				if (l == null) {
+					return 0;
+				}
+				size = addNondominated(limited, size, l, nObjectives);
+			}
+		}
+		return volume(p, nObjectives) - calculateHypervolume(limited, size, nObjectives);
+	}
+
+	/**
+	 * Calculates the {@link Hypervolume} of a front. All points have positive
+	 * values in all dimensions and the hypervolume is calculated from 0.
 	 * 
 	 * @param front
 	 *            the front of non-dominated solutions
@@ -276,84 +310,264 @@ public class Hypervolume implements FrontDensityIndicator {
 	 * @return the hypervolume
 	 */
 	protected double calculateHypervolume(List<double[]> front, int nObjectives) {
-		double volume = 0.0;
-		double distance = 0.0;
-
-		while (!front.isEmpty()) {
-			List<double[]> nondominatedPoints = filterNondominatedSet(front, nObjectives - 1);
-			double tempVolume;
-			if (nObjectives < 3) {
-				assert nondominatedPoints.size() > 0;
-				tempVolume = nondominatedPoints.get(0)[0];
-			} else {
-				tempVolume = calculateHypervolume(nondominatedPoints, nObjectives - 1);
+		double[][] points = front.toArray(new double[front.size()][]);
+		return calculateHypervolume(points, points.length, nObjectives);
+	}
+
+	/**
+	 * Calculates the {@link Hypervolume} of the first {@code n} points. The
+	 * points are sorted in place. For three dimensions, the sweep of Beume et
+	 * al. (2009) is used, for more dimensions, the WFG algorithm of While et
+	 * al. (2012) is used.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param n
+	 *            the number of points
+	 * @param nObjectives
+	 *            the number of objectives
+	 * @return the hypervolume
+	 */
+	protected double calculateHypervolume(double[][] points, int n, int nObjectives) {
+		if (n == 0) {
+			return 0;
+		} else if (n == 1) {
+			return volume(points[0], nObjectives);
+		} else if (nObjectives == 1) {
+			double max = 0;
+			for (int i = 0; i < n; i++) {
+				max = Math.max(max, points[i][0]);
 			}
-			double tempDistance = surfaceUnchangedTo(front, nObjectives - 1);
-			volume += tempVolume * (tempDistance - distance);
-			distance = tempDistance;
-			reduceNondominatedSet(front, nObjectives - 1, distance);
+			return max;
+		} else if (nObjectives == 2) {
+			return calculateHypervolume2D(points, n);
+		} else if (nObjectives == 3) {
+			return calculateHypervolume3D(points, n);
+		} else {
+			return calculateHypervolumeWFG(points, n, nObjectives);
 		}
+	}
 
+	/**
+	 * Calculates the two-dimensional {@link Hypervolume} by a sweep.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param n
+	 *            the number of points
+	 * @return the hypervolume
+	 */
+	protected double calculateHypervolume2D(double[][] points, int n) {
+		Arrays.sort(points, 0, n, descending(0));
+
+		double volume = 0;
+		double y = 0;
+		for (int i = 0; i < n; i++) {
+			double[] p = points[i];
+			if (p[1] > y) {
+				volume += p[0] * (p[1] - y);
+				y = p[1];
+			}
+		}
 		return volume;
 	}
 
-	protected List<double[]> filterNondominatedSet(List<double[]> front, int nObjectives) {
-		List<double[]> nondominated = new ArrayList<>();
+	/**
+	 * Calculates the three-dimensional {@link Hypervolume} in
+	 * {@code O(n log n)}. The points are swept in decreasing order of the third
+	 * dimension while the area of the first two dimensions is maintained in a
+	 * staircase.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param n
+	 *            the number of points
+	 * @return the hypervolume
+	 */
+	protected double calculateHypervolume3D(double[][] points, int n) {
+		Arrays.sort(points, 0, n, descending(2));
+
+		TreeMap<Double, Double> staircase = new TreeMap<>();
+		double volume = 0;
+		double area = 0;
+		for (int i = 0; i < n; i++) {
+			double[] p = points[i];
+			if (i > 0) {
+				volume += area * (points[i - 1][2] - p[2]);
+			}
+
+			Entry<Double, Double> ceiling = staircase.ceilingEntry(p[0]);
+			if (ceiling != null && ceiling.getValue() >= p[1]) {
+				continue;
+			}
+
+			double x = p[0];
+			double y = ceiling != null ? ceiling.getValue() : 0;
+			Entry<Double, Double> floor = staircase.floorEntry(p[0]);
+			while (floor != null && floor.getValue() <= p[1]) {
+				area += (x - floor.getKey()) * (p[1] - y);
+				x = floor.getKey();
+				y = floor.getValue();
+				staircase.remove(x);
+				floor = staircase.lowerEntry(x);
+			}
+			area += (x - (floor != null ? floor.getKey() : 0)) * (p[1] - y);
+			staircase.put(p[0], p[1]);
+		}
+		volume += area * points[n - 1][2];
+		return volume;
+	}
 
-		for (double[] p1 : front) {
+	/**
+	 * Calculates the {@link Hypervolume} with the WFG algorithm. The points are
+	 * sorted in increasing order of the last dimension such that the exclusive
+	 * hypervolume of each point with respect to the subsequent points can be
+	 * calculated in one dimension less.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param n
+	 *            the number of points
+	 * @param nObjectives
+	 *            the number of objectives
+	 * @return the hypervolume
+	 */
+	protected double calculateHypervolumeWFG(double[][] points, int n, int nObjectives) {
+		final int m = nObjectives - 1;
+		Arrays.sort(points, 0, n, descending(m).reversed());
+
+		double volume = 0;
+		double[][] limited = new double[n][];
+		for (int i = 0; i < n; i++) {
+			double[] p = points[i];
+			int size = 0;
 			boolean dominated = false;
-			for (double[] p2 : nondominated) {
-				if (dominates(p2, p1, nObjectives)) {
+			for (int j = i + 1; j < n && !dominated; j++) {
+				double[] l = limit(p, points[j], m);
+				if (l == null) {
 					dominated = true;
-					break;
+				} else {
+					size = addNondominated(limited, size, l, m);
 				}
 			}
-
 			if (!dominated) {
-				for (Iterator<double[]> it = nondominated.iterator(); it.hasNext();) {
-					double[] p2 = it.next();
-					if (dominates(p1, p2, nObjectives)) {
-						it.remove();
-					}
-				}
-				nondominated.add(p1);
+				volume += p[m] * (volume(p, m) - calculateHypervolume(limited, size, m));
 			}
 		}
-
-		return nondominated;
+		return volume;
 	}
 
-	protected boolean dominates(double[] p1, double[] p2, int nObjectives) {
-		boolean strong = false;
-		for (int i = 0; i < nObjectives; i++) {
-			if (p1[i] > p2[i]) {
-				strong = true;
-			} else if (p1[i] < p2[i]) {
-				return false;
+	/**
+	 * Returns the point {@code q} limited to the point {@code p} in the first
+	 * {@code m} dimensions or {@code null} if {@code q} weakly dominates
+	 * {@code p} in these dimensions.
+	 * 
+	 * @param p
+	 *            the limiting point
+	 * @param q
+	 *            the point to limit
+	 * @param m
+	 *            the number of dimensions
+	 * @return the limited point or {@code null}
+	 */
+	protected static double[] limit(double[] p, double[] q, int m) {
+		double[] l = new double[m];
+		boolean equal = true;
+		for (int k = 0; k < m; k++) {
+			if (q[k] < p[k]) {
+				l[k] = q[k];
+				equal = false;
+			} else {
+				l[k] = p[k];
 			}
 		}
-		return strong;
+		return equal ? null : l;
 	}
 
-	protected double surfaceUnchangedTo(List<double[]> front, int objective) {
-		assert front.size() > 0;
-		double value = Double.MAX_VALUE;
-		for (double[] p : front) {
-			value = Math.min(value, p[objective]);
+	/**
+	 * Adds the point to the first {@code size} points if it is not weakly
+	 * dominated and removes the points that are dominated by the point.
+	 * 
+	 * @param points
+	 *            the mutually non-dominated points
+	 * @param size
+	 *            the number of points
+	 * @param p
+	 *            the point to add
+	 * @param m
+	 *            the number of dimensions
+	 * @return the new number of points
+	 */
+	protected static int addNondominated(double[][] points, int size, double[] p, int m) {
+		for (int i = 0; i < size; i++) {
+			if (weaklyDominates(points[i], p, m)) {
+				return size;
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			if (weaklyDominates(p, points[i], m)) {
+				points[i--] = points[--size];
+			}
 		}
-		return value;
+		points[size] = p;
+		return size + 1;
 	}
 
-	protected void reduceNondominatedSet(List<double[]> front, int objective, double threshold) {
-		List<double[]> lames = new ArrayList<>();
-
-		for (double[] p : front) {
-			if (p[objective] <= threshold) {
-				lames.add(p);
+	/**
+	 * Returns {@code true} if the point {@code p1} weakly dominates the point
+	 * {@code p2} in the first {@code m} dimensions, i.e., {@code p1} is not
+	 * smaller in any dimension.
+	 * 
+	 * @param p1
+	 *            the first point
+	 * @param p2
+	 *            the second point
+	 * @param m
+	 *            the number of dimensions
+	 * @return {@code true} if {@code p1} weakly dominates {@code p2}
+	 */
+	protected static boolean weaklyDominates(double[] p1, double[] p2, int m) {
+		for (int k = 0; k < m; k++) {
+			if (p1[k] < p2[k]) {
+				return false;
 			}
 		}
+		return true;
+	}
 
-		front.removeAll(lames);
+	/**
+	 * Returns the volume of the box that is spanned by the origin and the
+	 * point in the first {@code m} dimensions.
+	 * 
+	 * @param p
+	 *            the point
+	 * @param m
+	 *            the number of dimensions
+	 * @return the volume
+	 */
+	protected static double volume(double[] p, int m) {
+		double volume = 1;
+		for (int k = 0; k < m; k++) {
+			volume *= p[k];
+		}
+		return volume;
+	}
+
+	/**
+	 * Returns a {@link Comparator} that sorts the points in descending order
+	 * of the dimension {@code k}.
+	 * 
+	 * @param k
+	 *            the dimension
+	 * @return the comparator
+	 */
+	protected static Comparator<double[]> descending(final int k) {
+		return new Comparator<double[]>() {
+			@Override
+			public int compare(double[] o1, double[] o2) {
+				return Double.compare(o2[k], o1[k]);
+			}
+		};
 	}
 
 }
@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.optimizers.ea;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * <p>
+ * The {@link HypervolumeMonteCarlo} estimates the {@link Hypervolume}
+ * contribution of each point by sampling, see "Bader, J., and Zitzler, E.
+ * (2011): HypE: An Algorithm for Fast Hypervolume-Based Many-Objective
+ * Optimization. Evolutionary Computation 19(1), 45-76.". For up to three
+ * objectives, the exact contributions are calculated.
+ * </p>
+ * <p>
+ * The exclusive contribution of a point is contained in a box between the
+ * point and a lower corner that is determined by the points that dominate it
+ * in all but one dimension. The samples are drawn uniformly from this box and
+ * only tested against the points whose dominated space overlaps the box. The
+ * sampling of a point stops if the {@code samples} budget is exhausted or, for
+ * a positive {@code precision}, if the estimated relative error (at a
+ * confidence of 95%) falls below the {@code precision}. The points are sampled
+ * in parallel on a {@link ForkJoinPool}, each with its own seed drawn from the
+ * {@link Rand} such that the estimates do not depend on the scheduling. A
+ * dedicated pool (a positive {@code parallelism}) is shut down as soon as the
+ * optimization stops.
+ * </p>
+ * 
+ * @see SMSModule
+ * @author lukasiewycz
+ * 
+ */
+public class HypervolumeMonteCarlo extends Hypervolume implements OptimizerStateListener {
+
+	/**
+	 * The number of samples between two checks of the precision.
+	 */
+	protected static final int CHUNK = 256;
+
+	/**
+	 * The quantile of the normal distribution for a confidence of 95%.
+	 */
+	protected static final double Z = 1.96;
+
+	protected final int samples;
+
+	protected final double precision;
+
+	protected final int parallelism;
+
+	protected volatile ForkJoinPool pool;
+
+	protected final Random random;
+
+	/**
+	 * Constructs a {@link HypervolumeMonteCarlo}.
+	 * 
+	 * @param offset
+	 *            the offset that is added to each dimension before the
+	 *            hypervolume is calculated
+	 * @param samples
+	 *            the maximal number of samples per point
+	 * @param precision
+	 *            the relative error at which the sampling of a point stops
+	 *            (if {@code 0}, all samples are drawn)
+	 * @param parallelism
+	 *            the number of threads (if {@code 0}, the common pool is used)
+	 * @param random
+	 *            the random number generator for the seeds
+	 */
+	@Inject
+	public HypervolumeMonteCarlo(@Constant(value = "offset", namespace = Hypervolume.class) double offset,
+			@Constant(value = "samples", namespace = HypervolumeMonteCarlo.class) int samples,
+			@Constant(value = "precision", namespace = HypervolumeMonteCarlo.class) double precision,
+			@Constant(value = "parallelism", namespace = HypervolumeMonteCarlo.class) int parallelism, Rand random) {
+		super(offset);
+		if (samples < 1) {
+			throw new IllegalArgumentException("The number of samples must be positive: " + samples);
+		}
+		if (parallelism < 0) {
+			throw new IllegalArgumentException("The parallelism must not be negative: " + parallelism);
+		}
+		this.samples = samples;
+		this.precision = precision;
+		this.parallelism = parallelism;
+		this.pool = createPool();
+		this.random = random;
+	}
+
+	/**
+	 * Creates the {@link ForkJoinPool}.
+	 * 
+	 * @return the pool
+	 */
+	protected ForkJoinPool createPool() {
+		return parallelism == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStarted(Optimizer optimizer) {
+		if (pool.isShutdown()) {
+			pool = createPool();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStopped(Optimizer optimizer) {
+		// has no effect on the common pool
+		pool.shutdown();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.Hypervolume#calculateHypervolumeContributionN(
+	 * java.util.List, double)
+	 */
+	@Override
+	protected Map<Individual, Double> calculateHypervolumeContributionN(List<Individual> individuals, double offset) {
+		List<double[]> front = invert(normalize(getMinValues(individuals)), offset);
+		int m = front.get(0).length;
+		if (m <= 3) {
+			return super.calculateHypervolumeContributionN(individuals, offset);
+		}
+
+		double[][] points = front.toArray(new double[front.size()][]);
+		long[] seeds = new long[points.length];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextLong();
+		}
+
+		double[] contributions = new double[points.length];
+		pool.invoke(new Estimation(points, seeds, contributions, 0, points.length));
+
+		Map<Individual, Double> result = new HashMap<>();
+		for (int i = 0; i < points.length; i++) {
+			result.put(individuals.get(i), contributions[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Estimates the exclusive {@link Hypervolume} contribution of a point.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param index
+	 *            the index of the point
+	 * @param random
+	 *            the random number generator for the samples
+	 * @return the estimated contribution
+	 */
+	protected double estimateExclusiveHypervolume(double[][] points, int index, Random random) {
+		final double[] p = points[index];
+		final int m = p.length;
+
+		double[] lower = new double[m];
+		for (int j = 0; j < points.length; j++) {
+			if (j == index) {
+				continue;
+			}
+			double[] q = points[j];
+			int worse = -1;
+			for (int k = 0; k < m && worse != -2; k++) {
+				if (q[k] < p[k]) {
+					worse = worse == -1 ? k : -2;
+				}
+			}
+			if (worse == -1) {
+				return 0;
+			} else if (worse >= 0) {
+				lower[worse] = Math.max(lower[worse], q[worse]);
+			}
+		}
+
+		double box = 1;
+		for (int k = 0; k < m; k++) {
+			box *= p[k] - lower[k];
+		}
+		if (box <= 0) {
+			return 0;
+		}
+
+		List<double[]> overlapping = new ArrayList<>();
+		for (int j = 0; j < points.length; j++) {
+			if (j != index && weaklyDominates(points[j], lower, m)) {
+				overlapping.add(points[j]);
+			}
+		}
+		double[][] others = overlapping.toArray(new double[overlapping.size()][]);
+
+		double[] x = new double[m];
+		int hits = 0;
+		int n = 0;
+		while (n < samples) {
+			int chunk = Math.min(CHUNK, samples - n);
+			for (int s = 0; s < chunk; s++) {
+				for (int k = 0; k < m; k++) {
+					x[k] = lower[k] + random.nextDouble() * (p[k] - lower[k]);
+				}
+				if (!isDominated(others, x, m)) {
+					hits++;
+				}
+			}
+			n += chunk;
+
+			if (precision > 0 && hits > 0) {
+				double h = (double) hits / n;
+				double error = Z * Math.sqrt(h * (1 - h) / n) / h;
+				if (error <= precision) {
+					break;
+				}
+			}
+		}
+		return box * hits / n;
+	}
+
+	protected static boolean isDominated(double[][] points, double[] x, int m) {
+		for (double[] q : points) {
+			if (weaklyDominates(q, x, m)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The {@link Estimation} task estimates the contributions of the points in
+	 * the range {@code [from, to)}.
+	 */
+	protected class Estimation extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		protected final double[][] points;
+		protected final long[] seeds;
+		protected final double[] contributions;
+		protected final int from;
+		protected final int to;
+
+		/**
+		 * Constructs an {@link Estimation} task.
+		 * 
+		 * @param points
+		 *            the points
+		 * @param seeds
+		 *            the seeds for each point
+		 * @param contributions
+		 *            the estimated contributions
+		 * @param from
+		 *            the first point (inclusive)
+		 * @param to
+		 *            the last point (exclusive)
+		 */
+		protected Estimation(double[][] points, long[] seeds, double[] contributions, int from, int to) {
+			this.points = points;
+			this.seeds = seeds;
+			this.contributions = contributions;
+			this.from = from;
+			this.to = to;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				contributions[from] = estimateExclusiveHypervolume(points, from, new Random(seeds[from]));
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new Estimation(points, seeds, contributions, from, mid),
+						new Estimation(points, seeds, contributions, mid, to));
+			}
+		}
+	}
+
+}
@@ -2,7 +2,6 @@ package org.opt4j.optimizers.ea;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,13 +11,17 @@ import org.opt4j.core.Objectives;
 /**
  * The {@link NonDominatedFronts} sorts each evaluated {@link Individual} into
  * fronts based on the number of other individuals it is dominated by. The first
- * front consists of points that are not dominated at all and so on.
+ * front consists of points that are not dominated at all and so on. The
+ * individuals of each front keep the order of the given collection.
  * 
+ * @see NonDominatedSorting
  * @author Fedor Smirnov
  *
  */
 public class NonDominatedFronts {
 
+	protected static final NonDominatedSorting defaultSorting = new NonDominatedSortingDefault();
+
 	protected final List<Collection<Individual>> fronts;
 
 	/**
@@ -30,57 +33,71 @@ public class NonDominatedFronts {
 	 *            fronts
 	 */
 	public NonDominatedFronts(Collection<Individual> individuals) {
-		this.fronts = generateFronts(individuals);
+		this(individuals, defaultSorting);
 	}
 
 	/**
-	 * Sorts the given {@link Individual}s into non-dominated fronts.
+	 * Creates the {@link NonDominatedFronts} for the given collection of
+	 * {@link Individual}s using the given {@link NonDominatedSorting}.
+	 * 
+	 * @param individuals
+	 *            the {@link Individual}s that are sorted into non dominated
+	 *            fronts
+	 * @param sorting
+	 *            the sorting strategy
+	 */
+	public NonDominatedFronts(Collection<Individual> individuals, NonDominatedSorting sorting) {
+		this.fronts = generateFronts(individuals, sorting);
+	}
+
+	/**
+	 * Sorts the given {@link Individual}s into non-dominated fronts using the
+	 * default {@link NonDominatedSorting}.
 	 * 
 	 * @param individuals
 	 *            the collection of {@link Individual}s that shall be sorted
 	 * @return the non-dominated fronts
 	 */
 	protected List<Collection<Individual>> generateFronts(Collection<Individual> individuals) {
-		List<Collection<Individual>> fronts = new ArrayList<>();
-		// Assigns an id to each individual that corresponds to its index in an
-		// array.
-		Map<Individual, Integer> indexMap = new HashMap<>();
-		int index = 0;
-		for (Individual individual : individuals) {
-			indexMap.put(individual, index++);
+		return generateFronts(individuals, defaultSorting);
+	}
+
+	/**
+	 * Sorts the given {@link Individual}s into non-dominated fronts.
+	 * 
+	 * @param individuals
+	 *            the collection of {@link Individual}s that shall be sorted
+	 * @param sorting
+	 *            the sorting strategy
+	 * @return the non-dominated fronts
+	 */
+	protected List<Collection<Individual>> generateFronts(Collection<Individual> individuals,
+			NonDominatedSorting sorting) {
+		Individual[] array = individuals.toArray(new Individual[0]);
+		double[][] points = new double[array.length][];
+		for (int i = 0; i < array.length; i++) {
+			points[i] = array[i].getObjectives().array();
 		}
-		// Initializes a map where an individual is assigned to the individuals
-		// that it dominates.
-		Map<Individual, List<Individual>> dominatedIndividualsMap = new HashMap<>();
-		// Creates an array where for each individual, the number of individuals
-		// that dominate it is stored.
-		int[] dominatingIndividualNumber = new int[individuals.size()];
-		for (Individual e : individuals) {
-			dominatedIndividualsMap.put(e, new ArrayList<>());
-			dominatingIndividualNumber[indexMap.get(e)] = 0;
+
+		int[] ranks = sorting.sort(points);
+		int number = 0;
+		for (int rank : ranks) {
+			number = Math.max(number, rank + 1);
 		}
-		determineDomination(individuals, dominatedIndividualsMap, dominatingIndividualNumber, indexMap);
-		// The first front consists of individuals that are dominated by zero
-		// other individuals.
-		List<Individual> f1 = new ArrayList<>();
-		for (Individual i : individuals) {
-			if (dominatingIndividualNumber[indexMap.get(i)] == 0) {
-				f1.add(i);
-			}
+		int[] sizes = new int[number];
+		for (int rank : ranks) {
+			sizes[rank]++;
 		}
-		fronts.add(f1);
-		List<Individual> currentFront = f1;
-		// Creates the subsequent fronts. Front f_i is made up by individuals
-		// that
-		// are not dominated if all individuals from fronts f_j with j < i are
-		// removed.
-		while (!currentFront.isEmpty()) {
-			List<Individual> nextFront = getNextFront(currentFront, dominatedIndividualsMap, dominatingIndividualNumber,
-					indexMap);
-			if (!nextFront.isEmpty()) {
-				fronts.add(nextFront);
-			}
-			currentFront = nextFront;
+
+		List<Collection<Individual>> fronts = new ArrayList<>(number);
+		for (int i = 0; i < number; i++) {
+			fronts.add(new ArrayList<Individual>(sizes[i]));
+		}
+		for (int i = 0; i < array.length; i++) {
+			fronts.get(ranks[i]).add(array[i]);
+		}
+		if (fronts.isEmpty()) {
+			fronts.add(new ArrayList<Individual>());
 		}
 		return fronts;
 	}
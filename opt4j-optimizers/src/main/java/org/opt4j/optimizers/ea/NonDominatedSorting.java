@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * The {@link NonDominatedSorting} sorts a set of points into non-dominated
+ * fronts. It is the sorting strategy used by the {@link NonDominatedFronts}.
+ * <p>
+ * The points are the {@link org.opt4j.core.Objectives#array()} values, i.e.,
+ * all values have to be minimized. A point dominates another point if it is
+ * not worse in all and strictly better in at least one objective. Equal points
+ * are sorted into the same front.
+ * 
+ * @see NonDominatedFronts
+ * @author lukasiewycz
+ * 
+ */
+@ImplementedBy(NonDominatedSortingDefault.class)
+public interface NonDominatedSorting {
+
+	/**
+	 * Sorts the points into non-dominated fronts.
+	 * 
+	 * @param points
+	 *            the points (all with the same number of objectives)
+	 * @return the index of the front of each point, starting with {@code 0}
+	 *         for the non-dominated points
+	 */
+	public int[] sort(double[][] points);
+
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+import java.util.Arrays;
+
+/**
+ * The {@link NonDominatedSortingDeb} is the fast non-dominated sorting of
+ * NSGA-II, see "A fast and elitist multiobjective genetic algorithm: NSGA-II,
+ * K. Deb, A. Pratap, S. Agarwal, and T. Meyarivan, IEEE Transactions on
+ * Evolutionary Computation, vol. 6, no. 2, pp. 182-197, 2002". It compares
+ * all pairs of points and requires {@code O(MN^2)} time.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class NonDominatedSortingDeb extends AbstractNonDominatedSorting {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.AbstractNonDominatedSorting#rank(double[][],
+	 * int[])
+	 */
+	@Override
+	protected void rank(double[][] points, int[] ranks) {
+		final int n = points.length;
+		int[] dominating = new int[n];
+		int[][] dominated = new int[n][];
+		int[] dominatedSize = new int[n];
+
+		determineDomination(points, 0, n, dominated, dominatedSize, dominating);
+
+		int[] current = new int[n];
+		int currentSize = 0;
+		for (int i = 0; i < n; i++) {
+			if (dominating[i] == 0) {
+				current[currentSize++] = i;
+			}
+		}
+		int[] next = new int[n];
+		int front = 0;
+		while (currentSize > 0) {
+			int nextSize = 0;
+			for (int c = 0; c < currentSize; c++) {
+				int p = current[c];
+				ranks[p] = front;
+				for (int d = 0; d < dominatedSize[p]; d++) {
+					int q = dominated[p][d];
+					if (--dominating[q] == 0) {
+						next[nextSize++] = q;
+					}
+				}
+			}
+			int[] swap = current;
+			current = next;
+			next = swap;
+			currentSize = nextSize;
+			front++;
+		}
+	}
+
+	/**
+	 * Compares the points in the range {@code [from, to)} with all succeeding
+	 * points. For each point, stores 1) the number of points it is dominated
+	 * by and 2) the points it dominates.
+	 * 
+	 * @param points
+	 *            the distinct points in lexicographic order
+	 * @param from
+	 *            the first point (inclusive)
+	 * @param to
+	 *            the last point (exclusive)
+	 * @param dominated
+	 *            the points dominated by each point
+	 * @param dominatedSize
+	 *            the number of points dominated by each point
+	 * @param dominating
+	 *            the number of points each point is dominated by
+	 */
+	protected void determineDomination(double[][] points, int from, int to, int[][] dominated, int[] dominatedSize,
+			int[] dominating) {
+		for (int i = from; i < to; i++) {
+			int[] list = new int[4];
+			int size = 0;
+			for (int j = i + 1; j < points.length; j++) {
+				if (weaklyDominates(points[i], points[j])) {
+					if (size == list.length) {
+						list = Arrays.copyOf(list, size * 2);
+					}
+					list[size++] = j;
+					dominating[j]++;
+				}
+			}
+			dominated[i] = list;
+			dominatedSize[i] = size;
+		}
+	}
+
+}
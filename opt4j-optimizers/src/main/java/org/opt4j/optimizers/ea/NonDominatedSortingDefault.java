@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+/**
+ * The {@link NonDominatedSortingDefault} chooses the {@link NonDominatedSorting}
+ * strategy based on the number of points and objectives: The
+ * {@link NonDominatedSortingSweep} for up to two objectives, the
+ * {@link NonDominatedSortingDivideAndConquer} for very large sets with three or
+ * four objectives, and the {@link NonDominatedSortingEfficient} otherwise.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class NonDominatedSortingDefault implements NonDominatedSorting {
+
+	/**
+	 * The number of points from which on the divide-and-conquer sorting is
+	 * used.
+	 */
+	public static final int DIVIDE_AND_CONQUER_SIZE = 20000;
+
+	/**
+	 * The maximal number of objectives for the divide-and-conquer sorting.
+	 */
+	public static final int DIVIDE_AND_CONQUER_OBJECTIVES = 4;
+
+	protected final NonDominatedSorting sweep = new NonDominatedSortingSweep();
+	protected final NonDominatedSorting efficient = new NonDominatedSortingEfficient();
+	protected final NonDominatedSorting divideAndConquer = new NonDominatedSortingDivideAndConquer();
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.optimizers.ea.NonDominatedSorting#sort(double[][])
+	 */
+	@Override
+	public int[] sort(double[][] points) {
+		if (points.length == 0) {
+			return new int[0];
+		}
+		int m = points[0].length;
+		if (m <= 2) {
+			return sweep.sort(points);
+		} else if (points.length >= DIVIDE_AND_CONQUER_SIZE && m <= DIVIDE_AND_CONQUER_OBJECTIVES) {
+			return divideAndConquer.sort(points);
+		} else {
+			return efficient.sort(points);
+		}
+	}
+
+}
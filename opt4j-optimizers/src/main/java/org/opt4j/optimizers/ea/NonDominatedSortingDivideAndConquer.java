@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * The {@link NonDominatedSortingDivideAndConquer} is the divide-and-conquer
+ * non-dominated sorting, see "A Provably Asymptotically Fast Version of the
+ * Generalized Jensen Algorithm for Non-dominated Sorting, M. Buzdalov and A.
+ * Shalyto, Parallel Problem Solving from Nature (PPSN XIII), pp. 528-537,
+ * 2014". It requires {@code O(N log^(M-1) N)} time and is intended for large
+ * sets of points with three or more objectives.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class NonDominatedSortingDivideAndConquer extends AbstractNonDominatedSorting {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.AbstractNonDominatedSorting#rank(double[][],
+	 * int[])
+	 */
+	@Override
+	protected void rank(double[][] points, int[] ranks) {
+		final int n = points.length;
+		final int m = points[0].length;
+
+		if (m < 2) {
+			// distinct points with a single objective
+			for (int i = 0; i < n; i++) {
+				ranks[i] = i;
+			}
+			return;
+		}
+
+		int[] all = new int[n];
+		for (int i = 0; i < n; i++) {
+			all[i] = i;
+		}
+		new Ranking(points, ranks).helperA(all, m - 1);
+	}
+
+	/**
+	 * The {@link Ranking} holds the state of a single sorting. The point sets
+	 * are arrays of indices in ascending (i.e., lexicographic) order.
+	 */
+	protected static class Ranking {
+
+		protected final double[][] points;
+		protected final int[] ranks;
+
+		/**
+		 * Constructs a {@link Ranking}.
+		 * 
+		 * @param points
+		 *            the distinct points in lexicographic order
+		 * @param ranks
+		 *            the ranks
+		 */
+		protected Ranking(double[][] points, int[] ranks) {
+			this.points = points;
+			this.ranks = ranks;
+		}
+
+		/**
+		 * Ranks the points {@code s} that are equal in all objectives greater
+		 * than {@code k} considering the objectives {@code 0..k}.
+		 * 
+		 * @param s
+		 *            the points
+		 * @param k
+		 *            the last objective
+		 */
+		protected void helperA(int[] s, int k) {
+			if (s.length < 2) {
+				return;
+			} else if (s.length == 2) {
+				update(s[0], s[1], k);
+			} else if (k == 1) {
+				sweepA(s);
+			} else if (min(s, k) == max(s, k)) {
+				helperA(s, k - 1);
+			} else {
+				double median = median(s, null, k);
+				int[][] split = split(s, k, median);
+				int[] l = split[0], e = split[1], h = split[2];
+				helperA(l, k);
+				helperB(l, e, k - 1);
+				helperA(e, k - 1);
+				helperB(merge(l, e), h, k - 1);
+				helperA(h, k);
+			}
+		}
+
+		/**
+		 * Updates the ranks of the points {@code h} with the (final) ranks of
+		 * the points {@code l} where each point in {@code l} is not worse than
+		 * each point in {@code h} in all objectives greater than {@code k}.
+		 * 
+		 * @param l
+		 *            the dominating candidates
+		 * @param h
+		 *            the dominated candidates
+		 * @param k
+		 *            the last objective
+		 */
+		protected void helperB(int[] l, int[] h, int k) {
+			if (l.length == 0 || h.length == 0) {
+				return;
+			} else if (l.length == 1 || h.length == 1) {
+				for (int a : l) {
+					for (int b : h) {
+						update(a, b, k);
+					}
+				}
+			} else if (k == 1) {
+				sweepB(l, h);
+			} else if (max(l, k) <= min(h, k)) {
+				helperB(l, h, k - 1);
+			} else if (min(l, k) <= max(h, k)) {
+				double median = median(l, h, k);
+				int[][] splitL = split(l, k, median);
+				int[][] splitH = split(h, k, median);
+				helperB(splitL[0], splitH[0], k);
+				helperB(splitL[0], splitH[1], k - 1);
+				helperB(splitL[1], splitH[1], k - 1);
+				helperB(merge(splitL[0], splitL[1]), splitH[2], k - 1);
+				helperB(splitL[2], splitH[2], k);
+			}
+		}
+
+		/**
+		 * Ranks the points {@code s} considering the first two objectives.
+		 * 
+		 * @param s
+		 *            the points
+		 */
+		protected void sweepA(int[] s) {
+			TreeMap<Double, Integer> stairs = new TreeMap<>();
+			for (int i : s) {
+				double key = points[i][1] + 0.0;
+				Entry<Double, Integer> floor = stairs.floorEntry(key);
+				if (floor != null) {
+					ranks[i] = Math.max(ranks[i], floor.getValue() + 1);
+				}
+				insert(stairs, key, ranks[i]);
+			}
+		}
+
+		/**
+		 * Updates the ranks of the points {@code h} with the points {@code l}
+		 * considering the first two objectives.
+		 * 
+		 * @param l
+		 *            the dominating candidates
+		 * @param h
+		 *            the dominated candidates
+		 */
+		protected void sweepB(int[] l, int[] h) {
+			TreeMap<Double, Integer> stairs = new TreeMap<>();
+			int j = 0;
+			for (int i : h) {
+				double[] b = points[i];
+				while (j < l.length) {
+					double[] a = points[l[j]];
+					if (a[0] < b[0] || (a[0] == b[0] && a[1] <= b[1])) {
+						insert(stairs, a[1] + 0.0, ranks[l[j]]);
+						j++;
+					} else {
+						break;
+					}
+				}
+				Entry<Double, Integer> floor = stairs.floorEntry(b[1] + 0.0);
+				if (floor != null) {
+					ranks[i] = Math.max(ranks[i], floor.getValue() + 1);
+				}
+			}
+		}
+
+		/**
+		 * Inserts a rank into the staircase where the ranks strictly increase
+		 * with the keys.
+		 * 
+		 * @param stairs
+		 *            the staircase
+		 * @param key
+		 *            the key
+		 * @param rank
+		 *            the rank
+		 */
+		protected void insert(TreeMap<Double, Integer> stairs, double key, int rank) {
+			Entry<Double, Integer> floor = stairs.floorEntry(key);
+			if (floor != null && floor.getValue() >= rank) {
+				return;
+			}
+			Iterator<Integer> it = stairs.tailMap(key, true).values().iterator();
+			while (it.hasNext()) {
+				if (it.next() <= rank) {
+					it.remove();
+				} else {
+					break;
+				}
+			}
+			stairs.put(key, rank);
+		}
+
+		/**
+		 * Updates the rank of {@code b} if {@code a} is not worse in the
+		 * objectives {@code 0..k}.
+		 * 
+		 * @param a
+		 *            the dominating candidate
+		 * @param b
+		 *            the dominated candidate
+		 * @param k
+		 *            the last objective
+		 */
+		protected void update(int a, int b, int k) {
+			double[] pa = points[a];
+			double[] pb = points[b];
+			for (int j = 0; j <= k; j++) {
+				if (pa[j] > pb[j]) {
+					return;
+				}
+			}
+			ranks[b] = Math.max(ranks[b], ranks[a] + 1);
+		}
+
+		/**
+		 * Returns the minimal value of objective {@code k} of the points.
+		 * 
+		 * @param s
+		 *            the points
+		 * @param k
+		 *            the objective
+		 * @return the minimal value
+		 */
+		protected double min(int[] s, int k) {
+			double min = Double.POSITIVE_INFINITY;
+			for (int i : s) {
+				min = Math.min(min, points[i][k]);
+			}
+			return min;
+		}
+
+		/**
+		 * Returns the maximal value of objective {@code k} of the points.
+		 * 
+		 * @param s
+		 *            the points
+		 * @param k
+		 *            the objective
+		 * @return the maximal value
+		 */
+		protected double max(int[] s, int k) {
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i : s) {
+				max = Math.max(max, points[i][k]);
+			}
+			return max;
+		}
+
+		/**
+		 * Returns the median of objective {@code k} of the points {@code a}
+		 * and (optionally) {@code b}.
+		 * 
+		 * @param a
+		 *            the first points
+		 * @param b
+		 *            the second points (or {@code null})
+		 * @param k
+		 *            the objective
+		 * @return the median
+		 */
+		protected double median(int[] a, int[] b, int k) {
+			int size = a.length + (b == null ? 0 : b.length);
+			double[] values = new double[size];
+			int i = 0;
+			for (int p : a) {
+				values[i++] = points[p][k];
+			}
+			if (b != null) {
+				for (int p : b) {
+					values[i++] = points[p][k];
+				}
+			}
+			Arrays.sort(values);
+			return values[size / 2];
+		}
+
+		/**
+		 * Splits the points into the points that are lower, equal, and higher
+		 * than the median in objective {@code k} (keeping the order).
+		 * 
+		 * @param s
+		 *            the points
+		 * @param k
+		 *            the objective
+		 * @param median
+		 *            the median
+		 * @return the lower, equal, and higher points
+		 */
+		protected int[][] split(int[] s, int k, double median) {
+			int lower = 0, equal = 0;
+			for (int i : s) {
+				double v = points[i][k];
+				if (v < median) {
+					lower++;
+				} else if (v == median) {
+					equal++;
+				}
+			}
+			int[] l = new int[lower], e = new int[equal], h = new int[s.length - lower - equal];
+			int il = 0, ie = 0, ih = 0;
+			for (int i : s) {
+				double v = points[i][k];
+				if (v < median) {
+					l[il++] = i;
+				} else if (v == median) {
+					e[ie++] = i;
+				} else {
+					h[ih++] = i;
+				}
+			}
+			return new int[][] { l, e, h };
+		}
+
+		/**
+		 * Merges two ascending arrays of points.
+		 * 
+		 * @param a
+		 *            the first points
+		 * @param b
+		 *            the second points
+		 * @return the merged points
+		 */
+		protected int[] merge(int[] a, int[] b) {
+			int[] result = new int[a.length + b.length];
+			int i = 0, j = 0, k = 0;
+			while (i < a.length && j < b.length) {
+				result[k++] = a[i] < b[j] ? a[i++] : b[j++];
+			}
+			while (i < a.length) {
+				result[k++] = a[i++];
+			}
+			while (j < b.length) {
+				result[k++] = b[j++];
+			}
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+import java.util.Arrays;
+
+/**
+ * The {@link NonDominatedSortingEfficient} is the Efficient Non-dominated Sort
+ * (ENS), see "An Efficient Approach to Nondominated Sorting for Evolutionary
+ * Multiobjective Optimization, X. Zhang, Y. Tian, R. Cheng, and Y. Jin, IEEE
+ * Transactions on Evolutionary Computation, vol. 19, no. 2, pp. 201-213,
+ * 2015". The points are processed in lexicographic order and each point is
+ * assigned to the first front that contains no point dominating it. The front
+ * is found either by a sequential search (ENS-SS) or a binary search (ENS-BS).
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class NonDominatedSortingEfficient extends AbstractNonDominatedSorting {
+
+	/**
+	 * The search strategy for the front of a point.
+	 */
+	public enum Search {
+		/**
+		 * Sequential search (ENS-SS).
+		 */
+		SEQUENTIAL,
+		/**
+		 * Binary search (ENS-BS).
+		 */
+		BINARY;
+	}
+
+	protected final Search search;
+
+	/**
+	 * Constructs a {@link NonDominatedSortingEfficient} with the binary search.
+	 */
+	public NonDominatedSortingEfficient() {
+		this(Search.BINARY);
+	}
+
+	/**
+	 * Constructs a {@link NonDominatedSortingEfficient}.
+	 * 
+	 * @param search
+	 *            the search strategy
+	 */
+	public NonDominatedSortingEfficient(Search search) {
+		this.search = search;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.AbstractNonDominatedSorting#rank(double[][],
+	 * int[])
+	 */
+	@Override
+	protected void rank(double[][] points, int[] ranks) {
+		int[][] fronts = new int[4][];
+		int[] sizes = new int[4];
+		int count = 0;
+
+		for (int p = 0; p < points.length; p++) {
+			int k;
+			if (search == Search.BINARY) {
+				int low = 0;
+				int high = count;
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+					if (isDominated(points, fronts[mid], sizes[mid], p)) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+				k = low;
+			} else {
+				k = 0;
+				while (k < count && isDominated(points, fronts[k], sizes[k], p)) {
+					k++;
+				}
+			}
+
+			if (k == count) {
+				if (count == fronts.length) {
+					fronts = Arrays.copyOf(fronts, count * 2);
+					sizes = Arrays.copyOf(sizes, count * 2);
+				}
+				fronts[count] = new int[4];
+				count++;
+			}
+			if (sizes[k] == fronts[k].length) {
+				fronts[k] = Arrays.copyOf(fronts[k], sizes[k] * 2);
+			}
+			fronts[k][sizes[k]++] = p;
+			ranks[p] = k;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if a point of the front dominates the given point.
+	 * The front is checked backwards since the recently added points are most
+	 * similar to the given point.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param front
+	 *            the front
+	 * @param size
+	 *            the size of the front
+	 * @param p
+	 *            the point
+	 * @return {@code true} if the point is dominated by the front
+	 */
+	protected boolean isDominated(double[][] points, int[] front, int size, int p) {
+		double[] point = points[p];
+		for (int i = size - 1; i >= 0; i--) {
+			if (weaklyDominates(points[front[i]], point)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
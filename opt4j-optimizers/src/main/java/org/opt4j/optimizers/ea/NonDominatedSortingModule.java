@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Parent;
+import org.opt4j.core.config.annotations.Required;
+import org.opt4j.core.start.Constant;
+import org.opt4j.core.start.Opt4JModule;
+import org.opt4j.optimizers.ea.NonDominatedSortingEfficient.Search;
+
+/**
+ * The {@link NonDominatedSortingModule} is used to choose and configure the
+ * {@link NonDominatedSorting} that is used by the {@link NonDominatedFronts} of
+ * the {@link Nsga2} (and SMS-EMOA) {@link Selector} and the AeSeH survivor
+ * selection.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+@Parent(EvolutionaryAlgorithmModule.class)
+@Info("The strategy to sort individuals into non-dominated fronts.")
+public class NonDominatedSortingModule extends Opt4JModule {
+
+	@Info("The sorting strategy")
+	protected Type type = Type.DEFAULT;
+
+	@Info("The number of individuals from which on the sorting is parallel")
+	@Required(property = "type", elements = { "PARALLEL" })
+	@Constant(value = "threshold", namespace = NonDominatedSortingParallel.class)
+	protected int threshold = 2000;
+
+	@Info("The number of threads (0 for the common pool)")
+	@Required(property = "type", elements = { "PARALLEL" })
+	@Constant(value = "parallelism", namespace = NonDominatedSortingParallel.class)
+	protected int parallelism = 0;
+
+	/**
+	 * The {@link Type} of {@link NonDominatedSorting} to use.
+	 * 
+	 * @author lukasiewycz
+	 * 
+	 */
+	public enum Type {
+		/**
+		 * Use the {@link NonDominatedSortingDefault}.
+		 */
+		@Info("Choose the strategy by the number of individuals and objectives")
+		DEFAULT,
+		/**
+		 * Use the {@link NonDominatedSortingDeb}.
+		 */
+		@Info("Fast non-dominated sorting (Deb et al.)")
+		DEB,
+		/**
+		 * Use the {@link NonDominatedSortingEfficient} with sequential search.
+		 */
+		@Info("Efficient non-dominated sorting with sequential search (ENS-SS)")
+		EFFICIENT_SEQUENTIAL,
+		/**
+		 * Use the {@link NonDominatedSortingEfficient} with binary search.
+		 */
+		@Info("Efficient non-dominated sorting with binary search (ENS-BS)")
+		EFFICIENT_BINARY,
+		/**
+		 * Use the {@link NonDominatedSortingDivideAndConquer}.
+		 */
+		@Info("Divide-and-conquer sorting (Buzdalov and Shalyto)")
+		DIVIDE_AND_CONQUER,
+		/**
+		 * Use the {@link NonDominatedSortingParallel}.
+		 */
+		@Info("Parallel sorting on a fork/join pool")
+		PARALLEL;
+	}
+
+	/**
+	 * Returns the type of the sorting.
+	 * 
+	 * @see #setType
+	 * @return the type of the sorting
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Sets the type of the sorting.
+	 * 
+	 * @see #getType
+	 * @param type
+	 *            the type of the sorting
+	 */
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	/**
+	 * Returns the number of individuals from which on the sorting is parallel.
+	 * 
+	 * @see #setThreshold
+	 * @return the threshold
+	 */
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Sets the number of individuals from which on the sorting is parallel.
+	 * 
+	 * @see #getThreshold
+	 * @param threshold
+	 *            the threshold
+	 */
+	public void setThreshold(int threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Returns the number of threads of the parallel sorting.
+	 * 
+	 * @see #setParallelism
+	 * @return the number of threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads of the parallel sorting. If {@code 0}, the
+	 * common fork/join pool is used.
+	 * 
+	 * @see #getParallelism
+	 * @param parallelism
+	 *            the number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 0) {
+			throw new IllegalArgumentException("The parallelism must not be negative: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.start.Opt4JModule#config()
+	 */
+	@Override
+	protected void config() {
+		switch (type) {
+		case DEB:
+			bind(NonDominatedSorting.class).to(NonDominatedSortingDeb.class).in(SINGLETON);
+			break;
+		case EFFICIENT_SEQUENTIAL:
+			bind(NonDominatedSorting.class).toInstance(new NonDominatedSortingEfficient(Search.SEQUENTIAL));
+			break;
+		case EFFICIENT_BINARY:
+			bind(NonDominatedSorting.class).toInstance(new NonDominatedSortingEfficient(Search.BINARY));
+			break;
+		case DIVIDE_AND_CONQUER:
+			bind(NonDominatedSorting.class).to(NonDominatedSortingDivideAndConquer.class).in(SINGLETON);
+			break;
+		case PARALLEL:
+			bind(NonDominatedSortingParallel.class).in(SINGLETON);
+			bind(NonDominatedSorting.class).to(NonDominatedSortingParallel.class);
+			addOptimizerStateListener(NonDominatedSortingParallel.class);
+			break;
+		default: // DEFAULT
+			bind(NonDominatedSorting.class).to(NonDominatedSortingDefault.class).in(SINGLETON);
+			break;
+		}
+	}
+
+}
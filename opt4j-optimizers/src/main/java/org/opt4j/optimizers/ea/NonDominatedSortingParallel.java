@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * <p>
+ * The {@link NonDominatedSortingParallel} compares all pairs of points in
+ * parallel on a {@link ForkJoinPool}. Sets with less points than the
+ * {@code threshold} are sorted sequentially by the
+ * {@link NonDominatedSortingDefault}.
+ * </p>
+ * <p>
+ * In lexicographic order, the front of a point is one more than the highest
+ * front of a dominating (and preceding) point. The points are processed in
+ * blocks: the fronts of a block are first updated in parallel by all points
+ * preceding the block and then sequentially by the points of the block itself.
+ * Thus, no domination lists are stored.
+ * </p>
+ * <p>
+ * A dedicated pool (a positive {@code parallelism}) is shut down as soon as
+ * the optimization stops.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class NonDominatedSortingParallel extends AbstractNonDominatedSorting implements OptimizerStateListener {
+
+	/**
+	 * The minimal number of points of a block.
+	 */
+	protected static final int MIN_BLOCK = 64;
+
+	/**
+	 * The number of points of a block that are processed by a single task.
+	 */
+	protected static final int GRAIN = 16;
+
+	protected final NonDominatedSorting sequential = new NonDominatedSortingDefault();
+
+	protected final int threshold;
+
+	protected final int parallelism;
+
+	protected volatile ForkJoinPool pool;
+
+	/**
+	 * Constructs a {@link NonDominatedSortingParallel}.
+	 * 
+	 * @param threshold
+	 *            the number of points from which on the sorting is parallel
+	 * @param parallelism
+	 *            the number of threads (if {@code 0}, the common pool is used)
+	 */
+	@Inject
+	public NonDominatedSortingParallel(
+			@Constant(value = "threshold", namespace = NonDominatedSortingParallel.class) int threshold,
+			@Constant(value = "parallelism", namespace = NonDominatedSortingParallel.class) int parallelism) {
+		if (parallelism < 0) {
+			throw new IllegalArgumentException("The parallelism must not be negative: " + parallelism);
+		}
+		this.threshold = threshold;
+		this.parallelism = parallelism;
+		this.pool = createPool();
+	}
+
+	/**
+	 * Creates the {@link ForkJoinPool}.
+	 * 
+	 * @return the pool
+	 */
+	protected ForkJoinPool createPool() {
+		return parallelism == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStarted(Optimizer optimizer) {
+		if (pool.isShutdown()) {
+			pool = createPool();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public synchronized void optimizationStopped(Optimizer optimizer) {
+		// has no effect on the common pool
+		pool.shutdown();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.AbstractNonDominatedSorting#sort(double[][])
+	 */
+	@Override
+	public int[] sort(double[][] points) {
+		if (points.length < threshold) {
+			return sequential.sort(points);
+		}
+		return super.sort(points);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.AbstractNonDominatedSorting#rank(double[][],
+	 * int[])
+	 */
+	@Override
+	protected void rank(double[][] points, int[] ranks) {
+		final int n = points.length;
+		final int block = Math.max(MIN_BLOCK, n / (4 * pool.getParallelism()));
+
+		for (int start = 0; start < n; start += block) {
+			int end = Math.min(n, start + block);
+			if (start > 0) {
+				pool.invoke(new Preceding(points, ranks, start, end, start));
+			}
+			for (int j = start; j < end; j++) {
+				update(points, ranks, j, start, j);
+			}
+		}
+	}
+
+	/**
+	 * Updates the front of point {@code j} with the points in the range
+	 * {@code [from, to)}.
+	 * 
+	 * @param points
+	 *            the points
+	 * @param ranks
+	 *            the fronts
+	 * @param j
+	 *            the point to update
+	 * @param from
+	 *            the first point (inclusive)
+	 * @param to
+	 *            the last point (exclusive)
+	 */
+	protected static void update(double[][] points, int[] ranks, int j, int from, int to) {
+		double[] point = points[j];
+		int rank = ranks[j];
+		for (int i = from; i < to; i++) {
+			if (ranks[i] >= rank && weaklyDominates(points[i], point)) {
+				rank = ranks[i] + 1;
+			}
+		}
+		ranks[j] = rank;
+	}
+
+	/**
+	 * The {@link Preceding} task updates the fronts of the points in the range
+	 * {@code [from, to)} with all points preceding {@code limit}.
+	 */
+	protected static class Preceding extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		protected final double[][] points;
+		protected final int[] ranks;
+		protected final int from;
+		protected final int to;
+		protected final int limit;
+
+		/**
+		 * Constructs a {@link Preceding} task.
+		 * 
+		 * @param points
+		 *            the points
+		 * @param ranks
+		 *            the fronts
+		 * @param from
+		 *            the first point (inclusive)
+		 * @param to
+		 *            the last point (exclusive)
+		 * @param limit
+		 *            the first point that is not used for the update
+		 */
+		protected Preceding(double[][] points, int[] ranks, int from, int to, int limit) {
+			this.points = points;
+			this.ranks = ranks;
+			this.from = from;
+			this.to = to;
+			this.limit = limit;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if (to - from <= GRAIN) {
+				for (int j = from; j < to; j++) {
+					update(points, ranks, j, 0, limit);
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new Preceding(points, ranks, from, mid, limit), new Preceding(points, ranks, mid, to, limit));
+			}
+		}
+	}
+
+}
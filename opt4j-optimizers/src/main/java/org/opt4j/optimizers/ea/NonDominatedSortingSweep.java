@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+
+package org.opt4j.optimizers.ea;
+
+/**
+ * The {@link NonDominatedSortingSweep} sorts points with at most two
+ * objectives in {@code O(N log N)} time. The points are processed in
+ * lexicographic order and only the last point of each front is required to
+ * decide if a point is dominated by this front. The front of a point is found
+ * by a binary search.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class NonDominatedSortingSweep extends AbstractNonDominatedSorting {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.AbstractNonDominatedSorting#rank(double[][],
+	 * int[])
+	 */
+	@Override
+	protected void rank(double[][] points, int[] ranks) {
+		final int n = points.length;
+		final int m = points[0].length;
+		if (m > 2) {
+			throw new IllegalArgumentException("Sweep sorting requires at most two objectives: " + m);
+		}
+
+		double[] last0 = new double[n];
+		double[] last1 = new double[n];
+		int count = 0;
+
+		for (int p = 0; p < n; p++) {
+			double x0 = m > 0 ? points[p][0] : 0;
+			double x1 = m > 1 ? points[p][1] : 0;
+
+			int low = 0;
+			int high = count;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (last1[mid] < x1 || (last1[mid] == x1 && last0[mid] < x0)) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+
+			last0[low] = x0;
+			last1[low] = x1;
+			if (low == count) {
+				count++;
+			}
+			ranks[p] = low;
+		}
+	}
+
+}
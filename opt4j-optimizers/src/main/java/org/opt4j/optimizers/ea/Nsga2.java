@@ -52,6 +52,7 @@ public class Nsga2 implements Selector {
 	protected final Random random;
 	protected final int tournament;
 	protected final FrontDensityIndicator indicator;
+	protected NonDominatedSorting sorting = new NonDominatedSortingDefault();
 
 	/**
 	 * Constructs a {@link Nsga2} {@link Selector}.
@@ -69,6 +70,18 @@ public class Nsga2 implements Selector {
 		this.indicator = indicator;
 	}
 
+	/**
+	 * Sets the {@link NonDominatedSorting} that is used to determine the
+	 * {@link NonDominatedFronts}.
+	 * 
+	 * @param sorting
+	 *            the sorting strategy
+	 */
+	@Inject(optional = true)
+	public void setSorting(NonDominatedSorting sorting) {
+		this.sorting = sorting;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -90,7 +103,7 @@ public class Nsga2 implements Selector {
 		List<Individual> all = new ArrayList<>(population);
 		List<Individual> parents = new ArrayList<>();
 
-		NonDominatedFronts fronts = new NonDominatedFronts(all);
+		NonDominatedFronts fronts = new NonDominatedFronts(all, sorting);
 		Map<Individual, Integer> rank = getRank(fronts);
 		Map<Individual, Double> distance = new HashMap<>();
 
@@ -135,7 +148,7 @@ public class Nsga2 implements Selector {
 	public Collection<Individual> getLames(int size, Collection<Individual> population) {
 		List<Individual> lames = new ArrayList<>();
 
-		NonDominatedFronts fronts = new NonDominatedFronts(population);
+		NonDominatedFronts fronts = new NonDominatedFronts(population, sorting);
 		for (int i = fronts.getFrontNumber() - 1; i >= 0; i--) {
 			List<Individual> front = new ArrayList<>(fronts.getFrontAtIndex(i));
 			if (lames.size() + front.size() < size) {
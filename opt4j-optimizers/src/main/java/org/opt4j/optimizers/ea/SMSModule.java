@@ -22,6 +22,7 @@ import static org.opt4j.core.config.annotations.Citation.PublicationMonth.UNKNOW
 import org.opt4j.core.common.archive.FrontDensityIndicator;
 import org.opt4j.core.config.annotations.Citation;
 import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Required;
 import org.opt4j.core.start.Constant;
 
 /**
@@ -29,6 +30,7 @@ import org.opt4j.core.start.Constant;
  * al. 2005.
  * 
  * @see Hypervolume
+ * @see HypervolumeMonteCarlo
  * @author lukasiewycz
  * @author Ramin Etemaadi
  * 
@@ -37,6 +39,9 @@ import org.opt4j.core.start.Constant;
 @Citation(authors = "Michael Emmerich, Nicola Beume, and Boris Naujoks", title = "An EMO Algorithm Using the Hypervolume Measure as Selection Criterion", journal = "Evolutionary Multi-Criterion Optimization (EMO)", pageFirst = 62, pageLast = 76, year = 2005, month = UNKNOWN)
 public class SMSModule extends SelectorModule {
 
+	@Info("The calculation of the hypervolume contribution")
+	protected Type type = Type.EXACT;
+
 	@Info("The offset value")
 	@Constant(value = "offset", namespace = Hypervolume.class)
 	protected double offset = 1.0;
@@ -45,6 +50,37 @@ public class SMSModule extends SelectorModule {
 	@Constant(value = "tournament", namespace = Nsga2.class)
 	protected int tournament = 0;
 
+	@Info("The maximal number of samples per individual")
+	@Required(property = "type", elements = { "MONTE_CARLO" })
+	@Constant(value = "samples", namespace = HypervolumeMonteCarlo.class)
+	protected int samples = 10000;
+
+	@Info("The relative error at which the sampling of an individual stops (0 to use all samples)")
+	@Required(property = "type", elements = { "MONTE_CARLO" })
+	@Constant(value = "precision", namespace = HypervolumeMonteCarlo.class)
+	protected double precision = 0.05;
+
+	@Info("The number of threads (0 for the common pool)")
+	@Required(property = "type", elements = { "MONTE_CARLO" })
+	@Constant(value = "parallelism", namespace = HypervolumeMonteCarlo.class)
+	protected int parallelism = 0;
+
+	/**
+	 * The calculation of the hypervolume contribution.
+	 */
+	public enum Type {
+		/**
+		 * Use the exact {@link Hypervolume}.
+		 */
+		@Info("Exact calculation")
+		EXACT,
+		/**
+		 * Use the {@link HypervolumeMonteCarlo} estimation.
+		 */
+		@Info("Monte Carlo estimation for many objectives")
+		MONTE_CARLO;
+	}
+
 	/**
 	 * Returns the tournament value.
 	 * 
@@ -85,6 +121,90 @@ public class SMSModule extends SelectorModule {
 		this.offset = offset;
 	}
 
+	/**
+	 * Returns the type of the hypervolume calculation.
+	 * 
+	 * @see #setType
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Sets the type of the hypervolume calculation.
+	 * 
+	 * @see #getType
+	 * @param type
+	 *            the type to set
+	 */
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	/**
+	 * Returns the maximal number of samples per individual.
+	 * 
+	 * @see #setSamples
+	 * @return the number of samples
+	 */
+	public int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Sets the maximal number of samples per individual.
+	 * 
+	 * @see #getSamples
+	 * @param samples
+	 *            the number of samples to set
+	 */
+	public void setSamples(int samples) {
+		this.samples = samples;
+	}
+
+	/**
+	 * Returns the relative error at which the sampling stops.
+	 * 
+	 * @see #setPrecision
+	 * @return the precision
+	 */
+	public double getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Sets the relative error at which the sampling stops.
+	 * 
+	 * @see #getPrecision
+	 * @param precision
+	 *            the precision to set
+	 */
+	public void setPrecision(double precision) {
+		this.precision = precision;
+	}
+
+	/**
+	 * Returns the number of threads for the sampling.
+	 * 
+	 * @see #setParallelism
+	 * @return the number of threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads for the sampling.
+	 * 
+	 * @see #getParallelism
+	 * @param parallelism
+	 *            the number of threads to set
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -93,7 +213,13 @@ public class SMSModule extends SelectorModule {
 	@Override
 	public void config() {
 		bindSelector(Nsga2.class);
-		bind(FrontDensityIndicator.class).to(Hypervolume.class);
+		if (type == Type.MONTE_CARLO) {
+			bind(HypervolumeMonteCarlo.class).in(SINGLETON);
+			bind(FrontDensityIndicator.class).to(HypervolumeMonteCarlo.class);
+			addOptimizerStateListener(HypervolumeMonteCarlo.class);
+		} else {
+			bind(FrontDensityIndicator.class).to(Hypervolume.class);
+		}
 	}
 
 }
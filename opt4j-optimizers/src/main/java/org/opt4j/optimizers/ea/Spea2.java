@@ -22,20 +22,26 @@
 
 package org.opt4j.optimizers.ea;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.opt4j.core.Individual;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
 import org.opt4j.core.common.random.Rand;
 import org.opt4j.core.start.Constant;
 
@@ -60,7 +66,7 @@ import com.google.inject.Inject;
  * @author lukasiewycz
  * 
  */
-public class Spea2 implements Selector {
+public class Spea2 implements Selector, Snapshotable {
 
 	protected final Rand random;
 	protected final int tournament;
@@ -79,7 +85,7 @@ public class Spea2 implements Selector {
 	 * @author lukasiewycz
 	 * 
 	 */
-	private static class Spea2IndividualSet extends LinkedHashSet<Individual>
+	protected static class Spea2IndividualSet extends LinkedHashSet<Individual>
 			implements Comparable<Spea2IndividualSet> {
 		private static final long serialVersionUID = 1L;
 		protected final int id;
@@ -478,6 +484,21 @@ public class Spea2 implements Selector {
 		return distance[w0.getId()][w1.getId()];
 	}
 
+	/**
+	 * Stores the distance of two {@code Spea2IndividualSet}s.
+	 * 
+	 * @param w0
+	 *            first set
+	 * @param w1
+	 *            second set
+	 * @param dist
+	 *            the distance
+	 */
+	protected void setDistance(Spea2IndividualSet w0, Spea2IndividualSet w1, double dist) {
+		distance[w0.getId()][w1.getId()] = dist;
+		distance[w1.getId()][w0.getId()] = dist;
+	}
+
 	/**
 	 * Add a new {@link Individual}.
 	 * 
@@ -497,15 +518,14 @@ public class Spea2 implements Selector {
 				eq = w1;
 				break;
 			}
-			distance[id0][id1] = dist;
-			distance[id1][id0] = dist;
+			setDistance(w0, w1, dist);
 		}
 		if (eq != null) {
 			freeIDs.add(id0);
 			w0 = eq;
 			w0.add(individual);
 		} else {
-			distance[id0][id0] = 0.0;
+			setDistance(w0, w0, 0.0);
 			individualSets.add(w0);
 		}
 
@@ -532,6 +552,89 @@ public class Spea2 implements Selector {
 		fitnessDirty = true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		out.writeInt(distance == null ? -1 : distance.length);
+		out.writeInt(freeIDs.size());
+		for (int id : freeIDs) {
+			out.writeInt(id);
+		}
+		out.writeBoolean(fitnessDirty);
+
+		Map<Spea2IndividualSet, Integer> indices = new HashMap<>();
+		out.writeInt(individualSets.size());
+		for (Spea2IndividualSet individualSet : individualSets) {
+			indices.put(individualSet, indices.size());
+			out.writeInt(individualSet.getId());
+			out.writeInt(individualSet.getFitness());
+			out.writeInt(individualSet.getStrength());
+			out.writeDouble(individualSet.getNextDistance());
+			out.writeIndividuals(individualSet);
+		}
+		out.writeInt(map.size());
+		for (Entry<Individual, Spea2IndividualSet> entry : map.entrySet()) {
+			out.writeIndividual(entry.getKey());
+			out.writeInt(indices.get(entry.getValue()));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		map.clear();
+		individualSets.clear();
+		freeIDs.clear();
+
+		int maxsize = in.readInt();
+		distance = maxsize < 0 ? null : new double[maxsize][maxsize];
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			freeIDs.add(in.readInt());
+		}
+		fitnessDirty = in.readBoolean();
+
+		List<Spea2IndividualSet> restored = new ArrayList<>();
+		size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			int id = in.readInt();
+			int fitness = in.readInt();
+			int strength = in.readInt();
+			double nextDistance = in.readDouble();
+			List<Individual> individuals = in.readIndividuals();
+
+			Spea2IndividualSet w0 = new Spea2IndividualSet(individuals.get(0), id);
+			w0.addAll(individuals);
+			w0.setFitness(fitness);
+			w0.setStrength(strength);
+			w0.setNextDistance(nextDistance);
+
+			// the distances are not written since they are determined by the
+			// objectives
+			for (Spea2IndividualSet w1 : restored) {
+				setDistance(w0, w1, calculateDistance(w0, w1));
+			}
+			setDistance(w0, w0, 0.0);
+			individualSets.add(w0);
+			restored.add(w0);
+		}
+		size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			Individual individual = in.readIndividual();
+			map.put(individual, restored.get(in.readInt()));
+		}
+	}
+
 	/**
 	 * Calculate the distance between two {@code Spea2IndividualSet}s.
 	 * 
@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.optimizers.ea;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * <p>
+ * The {@link Spea2KNearest} is a {@link Spea2}-{@link Selector} for large
+ * populations. Instead of a dense distance matrix, the distances are
+ * calculated on demand and, thus, the memory is linear in the population
+ * size.
+ * </p>
+ * <p>
+ * The truncation of the non-dominated individuals removes the individual with
+ * the lexicographically smallest sorted list of distances to the remaining
+ * individuals. Instead of sorting the complete list for each individual, only
+ * the {@code k} nearest neighbors are kept. If a removed individual is a
+ * neighbor, it is dropped from the list and the list is refilled once it is
+ * empty. Only if two individuals cannot be distinguished by their nearest
+ * neighbors, their lists are extended. The selected individuals are the same
+ * as for the {@link Spea2}.
+ * </p>
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class Spea2KNearest extends Spea2 {
+
+	protected final int k;
+
+	protected final Map<Spea2IndividualSet, Double> minDistances = new HashMap<>();
+
+	/**
+	 * The nearest neighbors of a candidate during the truncation.
+	 */
+	protected static class Neighbors {
+
+		protected int[] indices = new int[0];
+
+		protected double[] distances = new double[0];
+
+		protected int size = 0;
+
+		protected boolean complete = false;
+
+		/**
+		 * Removes the neighbor with the given index (if contained).
+		 * 
+		 * @param index
+		 *            the index
+		 */
+		protected void remove(int index) {
+			for (int i = 0; i < size; i++) {
+				if (indices[i] == index) {
+					System.arraycopy(indices, i + 1, indices, i, size - i - 1);
+					System.arraycopy(distances, i + 1, distances, i, size - i - 1);
+					size--;
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Constructs a {@link Spea2KNearest}-{@link Selector}.
+	 * 
+	 * @param tournament
+	 *            the number of individuals that fight against each other to
+	 *            become a parent
+	 * @param k
+	 *            the number of nearest neighbors that are kept for each
+	 *            individual during the truncation
+	 * @param random
+	 *            the random number generator
+	 */
+	@Inject
+	public Spea2KNearest(@Constant(value = "tournament", namespace = Spea2.class) int tournament,
+			@Constant(value = "k", namespace = Spea2KNearest.class) int k, Rand random) {
+		super(tournament, random);
+		if (k < 1) {
+			throw new IllegalArgumentException("The number of neighbors must be positive: " + k);
+		}
+		this.k = k;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.optimizers.ea.Spea2#init(int)
+	 */
+	@Override
+	public void init(int maxsize) {
+		for (int i = 0; i < maxsize; i++) {
+			freeIDs.add(i);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.Spea2#distance(org.opt4j.optimizers.ea.Spea2.
+	 * Spea2IndividualSet, org.opt4j.optimizers.ea.Spea2.Spea2IndividualSet)
+	 */
+	@Override
+	protected double distance(Spea2IndividualSet w0, Spea2IndividualSet w1) {
+		return w0 == w1 ? 0.0 : calculateDistance(w0, w1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.Spea2#setDistance(org.opt4j.optimizers.ea.Spea2.
+	 * Spea2IndividualSet, org.opt4j.optimizers.ea.Spea2.Spea2IndividualSet,
+	 * double)
+	 */
+	@Override
+	protected void setDistance(Spea2IndividualSet w0, Spea2IndividualSet w1, double dist) {
+		// the distances are calculated on demand
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.optimizers.ea.Spea2#add(org.opt4j.core.Individual)
+	 */
+	@Override
+	protected void add(Individual individual) {
+		minDistances.clear();
+		super.add(individual);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.optimizers.ea.Spea2#remove(org.opt4j.core.Individual)
+	 */
+	@Override
+	protected void remove(Individual individual) {
+		minDistances.clear();
+		super.remove(individual);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.Spea2#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		minDistances.clear();
+		super.readSnapshot(in);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.optimizers.ea.Spea2#getMinDistance(org.opt4j.optimizers.ea.
+	 * Spea2.Spea2IndividualSet)
+	 */
+	@Override
+	protected double getMinDistance(Spea2IndividualSet w0) {
+		Double min = minDistances.get(w0);
+		if (min == null) {
+			min = super.getMinDistance(w0);
+			minDistances.put(w0, min);
+		}
+		return min;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.optimizers.ea.Spea2#getNearest(int,
+	 * java.util.Collection)
+	 */
+	@Override
+	protected List<Spea2IndividualSet> getNearest(int n, Collection<Spea2IndividualSet> candidates) {
+		assert (candidates.size() > n);
+
+		Spea2IndividualSet[] sets = candidates.toArray(new Spea2IndividualSet[candidates.size()]);
+		boolean[] removed = new boolean[sets.length];
+		int remaining = sets.length;
+
+		Neighbors[] neighbors = new Neighbors[sets.length];
+		for (int i = 0; i < sets.length; i++) {
+			neighbors[i] = new Neighbors();
+			fill(sets, removed, remaining, i, neighbors[i], k);
+		}
+
+		List<Spea2IndividualSet> lames = new ArrayList<>();
+		while (lames.size() < n) {
+			int lame = -1;
+			for (int i = 0; i < sets.length; i++) {
+				if (!removed[i] && (lame < 0 || compare(sets, removed, remaining, neighbors, i, lame) < 0)) {
+					lame = i;
+				}
+			}
+
+			lames.add(sets[lame]);
+			removed[lame] = true;
+			remaining--;
+
+			for (int i = 0; i < sets.length; i++) {
+				if (!removed[i]) {
+					Neighbors list = neighbors[i];
+					list.remove(lame);
+					if (list.size == 0 && !list.complete) {
+						fill(sets, removed, remaining, i, list, k);
+					} else if (list.size == remaining - 1) {
+						list.complete = true;
+					}
+				}
+			}
+		}
+
+		assert (lames.size() == n);
+
+		return lames;
+	}
+
+	/**
+	 * Compares the sorted distances of two candidates lexicographically and
+	 * extends the neighbor lists if required.
+	 * 
+	 * @param sets
+	 *            the candidates
+	 * @param removed
+	 *            the removed candidates
+	 * @param remaining
+	 *            the number of remaining candidates
+	 * @param neighbors
+	 *            the neighbor lists
+	 * @param a
+	 *            the first candidate
+	 * @param b
+	 *            the second candidate
+	 * @return a negative value, zero, or a positive value if the distances of
+	 *         {@code a} are smaller, equal, or greater than the distances of
+	 *         {@code b}
+	 */
+	protected int compare(Spea2IndividualSet[] sets, boolean[] removed, int remaining, Neighbors[] neighbors, int a,
+			int b) {
+		Neighbors na = neighbors[a];
+		Neighbors nb = neighbors[b];
+		for (int j = 0; j < remaining - 1; j++) {
+			if (j == na.size) {
+				fill(sets, removed, remaining, a, na, 2 * Math.max(na.size, k));
+			}
+			if (j == nb.size) {
+				fill(sets, removed, remaining, b, nb, 2 * Math.max(nb.size, k));
+			}
+			int c = Double.compare(na.distances[j], nb.distances[j]);
+			if (c != 0) {
+				return c;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Determines the {@code capacity} nearest remaining neighbors of a
+	 * candidate.
+	 * 
+	 * @param sets
+	 *            the candidates
+	 * @param removed
+	 *            the removed candidates
+	 * @param remaining
+	 *            the number of remaining candidates
+	 * @param index
+	 *            the candidate
+	 * @param neighbors
+	 *            the neighbor list to fill
+	 * @param capacity
+	 *            the maximal number of neighbors
+	 */
+	protected void fill(Spea2IndividualSet[] sets, boolean[] removed, int remaining, int index, Neighbors neighbors,
+			int capacity) {
+		capacity = Math.min(capacity, remaining - 1);
+		int[] indices = new int[capacity];
+		double[] distances = new double[capacity];
+		int size = 0;
+
+		/*
+		 * The neighbors are kept in a max-heap of the given capacity and
+		 * sorted afterwards.
+		 */
+		for (int j = 0; j < sets.length; j++) {
+			if (j == index || removed[j]) {
+				continue;
+			}
+			double d = distance(sets[index], sets[j]);
+			if (size < capacity) {
+				siftUp(indices, distances, size++, j, d);
+			} else if (capacity > 0 && d < distances[0]) {
+				siftDown(indices, distances, size, 0, j, d);
+			}
+		}
+		for (int last = size - 1; last > 0; last--) {
+			int i = indices[last];
+			double d = distances[last];
+			indices[last] = indices[0];
+			distances[last] = distances[0];
+			siftDown(indices, distances, last, 0, i, d);
+		}
+
+		neighbors.indices = indices;
+		neighbors.distances = distances;
+		neighbors.size = size;
+		neighbors.complete = size == remaining - 1;
+	}
+
+	private static void siftUp(int[] indices, double[] distances, int position, int index, double distance) {
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (distances[parent] >= distance) {
+				break;
+			}
+			indices[position] = indices[parent];
+			distances[position] = distances[parent];
+			position = parent;
+		}
+		indices[position] = index;
+		distances[position] = distance;
+	}
+
+	private static void siftDown(int[] indices, double[] distances, int size, int position, int index,
+			double distance) {
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && distances[child + 1] > distances[child]) {
+				child++;
+			}
+			if (distances[child] <= distance) {
+				break;
+			}
+			indices[position] = indices[child];
+			distances[position] = distances[child];
+			position = child;
+		}
+		indices[position] = index;
+		distances[position] = distance;
+	}
+}
@@ -21,11 +21,14 @@ import static org.opt4j.core.config.annotations.Citation.PublicationMonth.UNKNOW
 
 import org.opt4j.core.config.annotations.Citation;
 import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Required;
 import org.opt4j.core.start.Constant;
 
 /**
  * The {@link Spea2Module} configures the {@link Spea2} selector.
  * 
+ * @see Spea2
+ * @see Spea2KNearest
  * @author lukasiewycz
  * 
  */
@@ -37,6 +40,72 @@ public class Spea2Module extends SelectorModule {
 	@Constant(value = "tournament", namespace = Spea2.class)
 	protected int tournament = 0;
 
+	@Info("The storage of the distances.")
+	protected Type type = Type.MATRIX;
+
+	@Info("The number of nearest neighbors that are kept for each individual during the truncation.")
+	@Required(property = "type", elements = { "NEAREST_NEIGHBORS" })
+	@Constant(value = "k", namespace = Spea2KNearest.class)
+	protected int k = 8;
+
+	/**
+	 * The storage of the distances.
+	 */
+	public enum Type {
+		/**
+		 * Use a dense distance matrix ({@link Spea2}).
+		 */
+		@Info("Dense distance matrix (memory quadratic in the population size)")
+		MATRIX,
+		/**
+		 * Calculate the distances on demand ({@link Spea2KNearest}).
+		 */
+		@Info("Distances on demand and nearest neighbor lists for the truncation (for large populations)")
+		NEAREST_NEIGHBORS;
+	}
+
+	/**
+	 * Returns the type of the distance storage.
+	 * 
+	 * @see #setType
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Sets the type of the distance storage.
+	 * 
+	 * @see #getType
+	 * @param type
+	 *            the type
+	 */
+	public void setType(Type type) {
+		this.type = type;
+	}
+
+	/**
+	 * Returns the number of nearest neighbors.
+	 * 
+	 * @see #setK
+	 * @return the number of nearest neighbors
+	 */
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * Sets the number of nearest neighbors.
+	 * 
+	 * @see #getK
+	 * @param k
+	 *            the number of nearest neighbors
+	 */
+	public void setK(int k) {
+		this.k = k;
+	}
+
 	/**
 	 * Returns the number of tournaments.
 	 * 
@@ -65,6 +134,10 @@ public class Spea2Module extends SelectorModule {
 	 */
 	@Override
 	public void config() {
-		bindSelector(Spea2.class);
+		if (type == Type.NEAREST_NEIGHBORS) {
+			bindSelector(Spea2KNearest.class);
+		} else {
+			bindSelector(Spea2.class);
+		}
 	}
 }
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Opt4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *******************************************************************************/
+
+package org.opt4j.optimizers.ea;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.common.instrumentation.DisabledInstrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation;
+import org.opt4j.core.common.instrumentation.Instrumentation.Stage;
+import org.opt4j.core.optimizer.IndividualCompleter;
+import org.opt4j.core.optimizer.IterativeOptimizer;
+import org.opt4j.core.optimizer.Optimizer;
+import org.opt4j.core.optimizer.OptimizerStateListener;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
+/**
+ * The {@link SteadyStateEvolutionaryAlgorithm} is an asynchronous steady-state
+ * variant of the {@link EvolutionaryAlgorithm}. Instead of waiting for a whole
+ * generation, each {@link Individual} is completed with
+ * {@link IndividualCompleter#completeAsync(Individual)}. As soon as an
+ * individual is evaluated, it is inserted into the {@link Population}, the
+ * worst individual is removed by the {@link Selector}, and new offspring are
+ * bred such that {@link IndividualCompleter#getParallelism()} individuals are
+ * always pending. Thus, no worker idles while waiting for slow evaluations.
+ * <p>
+ * The {@link Population} only contains evaluated individuals. One iteration
+ * corresponds to {@code lambda} completed evaluations.
+ * 
+ * @author lukasiewycz
+ * 
+ */
+public class SteadyStateEvolutionaryAlgorithm implements IterativeOptimizer, OptimizerStateListener {
+
+	protected final int alpha;
+
+	protected final int lambda;
+
+	protected final int mu;
+
+	protected final Selector selector;
+
+	protected final Mating mating;
+
+	protected final IndividualFactory individualFactory;
+
+	protected final Population population;
+
+	protected final IndividualCompleter completer;
+
+	protected Instrumentation instrumentation = DisabledInstrumentation.INSTANCE;
+
+	protected final Map<Individual, CompletableFuture<Individual>> pending = new LinkedHashMap<>();
+
+	protected final BlockingQueue<CompletableFuture<Individual>> completed = new LinkedBlockingQueue<>();
+
+	/**
+	 * Constructs a {@link SteadyStateEvolutionaryAlgorithm} with a
+	 * {@link Population}, an {@link IndividualFactory}, a
+	 * {@link IndividualCompleter}, a {@link Selector}, a {@link Mating}, the
+	 * population size, the number of parents, and the number of evaluations
+	 * per iteration.
+	 * 
+	 * @param population
+	 *            the population
+	 * @param individualFactory
+	 *            the individual factory
+	 * @param completer
+	 *            the completer
+	 * @param selector
+	 *            the selector
+	 * @param mating
+	 *            the mating
+	 * @param alpha
+	 *            the population size
+	 * @param mu
+	 *            the number of parents
+	 * @param lambda
+	 *            the number of evaluations per iteration
+	 */
+	@Inject
+	public SteadyStateEvolutionaryAlgorithm(Population population, IndividualFactory individualFactory,
+			IndividualCompleter completer, Selector selector, Mating mating,
+			@Constant(value = "alpha", namespace = EvolutionaryAlgorithm.class) int alpha,
+			@Constant(value = "mu", namespace = EvolutionaryAlgorithm.class) int mu,
+			@Constant(value = "lambda", namespace = EvolutionaryAlgorithm.class) int lambda) {
+		this.selector = selector;
+		this.mating = mating;
+		this.alpha = alpha;
+		this.mu = mu;
+		this.lambda = lambda;
+		this.individualFactory = individualFactory;
+		this.population = population;
+		this.completer = completer;
+
+		if (alpha <= 0) {
+			throw new IllegalArgumentException("Invalid alpha: " + alpha);
+		}
+
+		if (mu <= 0) {
+			throw new IllegalArgumentException("Invalid mu: " + mu);
+		}
+
+		if (lambda <= 0) {
+			throw new IllegalArgumentException("Invalid lambda: " + lambda);
+		}
+	}
+
+	/**
+	 * Sets the {@link Instrumentation} that measures the selection and mating.
+	 * 
+	 * @param instrumentation
+	 *            the instrumentation
+	 */
+	@Inject(optional = true)
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.IterativeOptimizer#initialize()
+	 */
+	@Override
+	public void initialize() {
+		selector.init(alpha + 1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.opt4j.core.optimizer.IterativeOptimizer#next()
+	 */
+	@Override
+	public void next() throws TerminationException {
+		// 1) fill the population until it reaches the size alpha
+		while (population.size() + pending.size() < alpha) {
+			submit(individualFactory.create());
+		}
+		breed();
+
+		// 2) insert each evaluated individual and replace it with offspring
+		for (int evaluations = 0; evaluations < lambda; evaluations++) {
+			Individual individual = take();
+			pending.remove(individual);
+			population.add(individual);
+
+			if (population.size() > alpha) {
+				long start = instrumentation.start();
+				Collection<Individual> lames = selector.getLames(population.size() - alpha, population);
+				instrumentation.stop(Stage.SELECTION, start);
+				population.removeAll(lames);
+			}
+			breed();
+		}
+	}
+
+	/**
+	 * Breeds new offspring from the current {@link Population} until the
+	 * completer is fully utilized.
+	 */
+	protected void breed() {
+		int offspringCount = completer.getParallelism() - pending.size();
+
+		if (offspringCount > 0 && !population.isEmpty()) {
+			long start = instrumentation.start();
+			Collection<Individual> parents = selector.getParents(mu, population);
+			instrumentation.stop(Stage.SELECTION, start);
+
+			start = instrumentation.start();
+			Collection<Individual> offspring = mating.getOffspring(offspringCount, parents);
+			instrumentation.stop(Stage.MATING, start);
+			for (Individual child : offspring) {
+				submit(child);
+			}
+		}
+	}
+
+	/**
+	 * Submits the {@link Individual} to the completer.
+	 * 
+	 * @param individual
+	 *            the individual to complete
+	 */
+	protected void submit(Individual individual) {
+		CompletableFuture<Individual> future = completer.completeAsync(individual);
+		pending.put(individual, future);
+		future.whenComplete((i, e) -> completed.add(future));
+	}
+
+	/**
+	 * Waits for the next completed {@link Individual}.
+	 * 
+	 * @return the completed individual
+	 * @throws TerminationException
+	 *             if the optimization is terminated
+	 */
+	protected Individual take() throws TerminationException {
+		try {
+			return completed.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TerminationException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof TerminationException) {
+				throw (TerminationException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStarted(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStarted(Optimizer optimizer) {
+		// do nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.optimizer.OptimizerStateListener#optimizationStopped(org
+	 * .opt4j.core.optimizer.Optimizer)
+	 */
+	@Override
+	public void optimizationStopped(Optimizer optimizer) {
+		for (CompletableFuture<Individual> future : pending.values()) {
+			future.cancel(false);
+		}
+		pending.clear();
+		completed.clear();
+	}
+}
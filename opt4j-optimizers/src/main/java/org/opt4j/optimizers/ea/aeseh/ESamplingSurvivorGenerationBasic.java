@@ -1,5 +1,6 @@
 package org.opt4j.optimizers.ea.aeseh;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -12,8 +13,13 @@ import java.util.Set;
 import org.opt4j.core.Individual;
 import org.opt4j.core.Objective;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
 import org.opt4j.core.start.Constant;
 import org.opt4j.optimizers.ea.NonDominatedFronts;
+import org.opt4j.optimizers.ea.NonDominatedSorting;
+import org.opt4j.optimizers.ea.NonDominatedSortingDefault;
 
 import com.google.inject.Inject;
 
@@ -25,12 +31,13 @@ import com.google.inject.Inject;
  * @author Fedor Smirnov
  *
  */
-public class ESamplingSurvivorGenerationBasic implements ESamplingSurvivorGeneration {
+public class ESamplingSurvivorGenerationBasic implements ESamplingSurvivorGeneration, Snapshotable {
 
 	protected final Random random;
 	protected final EpsilonMapping epsilonMapping;
 	protected final EpsilonAdaptation epsilonAdaption;
 	protected final AdaptiveEpsilon adaptiveEpsilonSampling;
+	protected NonDominatedSorting sorting = new NonDominatedSortingDefault();
 
 	/**
 	 * Basic constructor.
@@ -58,11 +65,47 @@ public class ESamplingSurvivorGenerationBasic implements ESamplingSurvivorGenera
 				epsilonSampleDeltaMin);
 	}
 
+	/**
+	 * Sets the {@link NonDominatedSorting} that is used to determine the
+	 * {@link NonDominatedFronts}.
+	 * 
+	 * @param sorting
+	 *            the sorting strategy
+	 */
+	@Inject(optional = true)
+	public void setSorting(NonDominatedSorting sorting) {
+		this.sorting = sorting;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		out.writeDouble(adaptiveEpsilonSampling.getEpsilon());
+		out.writeDouble(adaptiveEpsilonSampling.getEpsilonDelta());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		adaptiveEpsilonSampling.setEpsilon(in.readDouble());
+		adaptiveEpsilonSampling.setEpsilonDelta(in.readDouble());
+	}
+
 	@Override
 	public Set<Individual> getSurvivors(Collection<Individual> population, int survivorNumber) {
 		Set<Individual> survivors;
 		// get the non-dominated front and the extreme solutions
-		NonDominatedFronts fronts = new NonDominatedFronts(population);
+		NonDominatedFronts fronts = new NonDominatedFronts(population, sorting);
 		Collection<Individual> paretoSolutions = fronts.getFrontAtIndex(0);
 		Set<Individual> extremeIndividuals = getExtremeIndividuals(paretoSolutions);
 
@@ -1,5 +1,6 @@
 package org.opt4j.optimizers.ea.aeseh;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -11,20 +12,26 @@ import java.util.Set;
 import org.opt4j.core.Individual;
 import org.opt4j.core.Objective;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
 import org.opt4j.core.start.Constant;
 import org.opt4j.operators.crossover.Pair;
 import org.opt4j.optimizers.ea.Coupler;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 
 /**
  * The {@link EpsilonNeighborhoodCoupler} implements a parent selection process
- * based on by the ε-neighborhood.
+ * based on by the ε-neighborhood. It is a singleton such that the adapted ε is
+ * shared and part of the snapshot.
  * 
  * @author Fedor Smirnov
  *
  */
-public class EpsilonNeighborhoodCoupler implements Coupler {
+@Singleton
+public class EpsilonNeighborhoodCoupler implements Coupler, Snapshotable {
 
 	protected final EpsilonAdaptation epsilonAdaption;
 	protected final EpsilonMapping epsilonMapping;
@@ -63,6 +70,30 @@ public class EpsilonNeighborhoodCoupler implements Coupler {
 				epsilonNeighborhoodDeltaMax, epsilonNeighborhoodDeltaMin);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		out.writeDouble(adaptiveEpsilonNeighborhood.getEpsilon());
+		out.writeDouble(adaptiveEpsilonNeighborhood.getEpsilonDelta());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		adaptiveEpsilonNeighborhood.setEpsilon(in.readDouble());
+		adaptiveEpsilonNeighborhood.setEpsilonDelta(in.readDouble());
+	}
+
 	/**
 	 * Generates parent couples. Distributes the parent {@link Individual}s onto
 	 * neighborhoods. Both parents of a couple are picked from the same
@@ -1,10 +1,14 @@
 package org.opt4j.optimizers.ea.aeseh;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.opt4j.core.Individual;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
 import org.opt4j.optimizers.ea.Selector;
 
 import com.google.inject.Inject;
@@ -12,13 +16,14 @@ import com.google.inject.Singleton;
 
 /**
  * The {@link EpsilonSamplingSelector} implements a selection process based on
- * the ε-sampling.
+ * the ε-sampling. The state of the {@link ESamplingSurvivorGeneration} is
+ * part of the snapshot if it is {@link Snapshotable}.
  * 
  * @author Fedor Smirnov
  *
  */
 @Singleton
-public class EpsilonSamplingSelector implements Selector {
+public class EpsilonSamplingSelector implements Selector, Snapshotable {
 
 	protected final ESamplingSurvivorGeneration survivorGeneration;
 
@@ -56,4 +61,30 @@ public class EpsilonSamplingSelector implements Selector {
 	public void init(int maxsize) {
 		// Does nothing.
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		if (survivorGeneration instanceof Snapshotable) {
+			((Snapshotable) survivorGeneration).writeSnapshot(out);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		if (survivorGeneration instanceof Snapshotable) {
+			((Snapshotable) survivorGeneration).readSnapshot(in);
+		}
+	}
 }
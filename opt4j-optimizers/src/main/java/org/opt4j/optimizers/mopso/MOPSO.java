@@ -22,8 +22,10 @@
 
 package org.opt4j.optimizers.mopso;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,6 +35,9 @@ import org.opt4j.core.Genotype;
 import org.opt4j.core.Individual;
 import org.opt4j.core.IndividualFactory;
 import org.opt4j.core.Objectives;
+import org.opt4j.core.SnapshotInput;
+import org.opt4j.core.SnapshotOutput;
+import org.opt4j.core.Snapshotable;
 import org.opt4j.core.common.archive.Crowding;
 import org.opt4j.core.common.archive.CrowdingArchive;
 import org.opt4j.core.common.random.Rand;
@@ -60,11 +65,14 @@ import com.google.inject.Inject;
  * In Proceedings of Evolutionary Multi-Criterion Optimization, 2005". This
  * implementation is based on the OMOPSO. Thus, this MOPSO is restricted to
  * problems that are based on the {@link DoubleGenotype}.
+ * <p>
+ * The state of the swarm, i.e., the global leaders and the id, velocity, and
+ * personal best of each {@link Particle}, is {@link Snapshotable}.
  * 
  * @author lukasiewycz
  * 
  */
-public class MOPSO implements IterativeOptimizer {
+public class MOPSO implements IterativeOptimizer, Snapshotable {
 
 	protected final int size;
 
@@ -200,10 +208,11 @@ public class MOPSO implements IterativeOptimizer {
 	 *            the population
 	 * @param leaders
 	 *            the map for the global leaders
-	 * @return the map of the old to the new particle
+	 * @return the map of the old to the new particle (in the order of the
+	 *         population)
 	 */
 	protected Map<Particle, Particle> move(Population population, Map<Particle, Particle> leaders) {
-		Map<Particle, Particle> map = new HashMap<>();
+		Map<Particle, Particle> map = new LinkedHashMap<>();
 
 		for (Individual individual : population) {
 
@@ -313,19 +322,19 @@ public class MOPSO implements IterativeOptimizer {
 		Map<Particle, Particle> map = new HashMap<>();
 
 		Crowding crowding = new Crowding();
-		Map<Individual, Double> values = crowding.getDensityValues(leaders);
-
 		List<Individual> l = new ArrayList<>(leaders);
+		double[] values = crowding.getDistances(leaders);
+
 		List<Individual> best = new ArrayList<>();
 
 		for (int i = 0; i < population.size(); i++) {
-			Individual i1 = l.get(random.nextInt(l.size()));
-			Individual i2 = l.get(random.nextInt(l.size()));
+			int i1 = random.nextInt(l.size());
+			int i2 = random.nextInt(l.size());
 
-			if (values.get(i1) >= values.get(i2)) {
-				best.add(i1);
+			if (values[i1] >= values[i2]) {
+				best.add(l.get(i1));
 			} else {
-				best.add(i2);
+				best.add(l.get(i2));
 			}
 		}
 
@@ -340,4 +349,52 @@ public class MOPSO implements IterativeOptimizer {
 		return map;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#writeSnapshot(org.opt4j.core.SnapshotOutput)
+	 */
+	@Override
+	public void writeSnapshot(SnapshotOutput out) throws IOException {
+		leaders.writeSnapshot(out);
+		out.writeInt(population.size());
+		for (Individual individual : population) {
+			Particle particle = (Particle) individual;
+			out.writeIndividual(particle);
+			out.writeInt(particle.getId());
+			out.writeGenotype(particle.getVelocity());
+			out.writeGenotype(particle.getBest());
+			Objectives objectives = particle.getBestObjectives();
+			out.writeBoolean(objectives != null);
+			if (objectives != null) {
+				out.writeObjectives(objectives);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.opt4j.core.Snapshotable#readSnapshot(org.opt4j.core.SnapshotInput)
+	 */
+	@Override
+	public void readSnapshot(SnapshotInput in) throws IOException {
+		leaders.readSnapshot(in);
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			Individual individual = in.readIndividual();
+			if (!(individual instanceof Particle)) {
+				throw new IOException("The snapshot contains " + individual + " instead of a particle");
+			}
+			Particle particle = (Particle) individual;
+			particle.setId(in.readInt());
+			particle.setVelocity(in.readGenotype());
+			Genotype best = in.readGenotype();
+			Objectives objectives = in.readBoolean() ? in.readObjectives() : null;
+			particle.setBest(best, objectives);
+		}
+	}
+
 }
@@ -0,0 +1,88 @@
+package org.opt4j.optimizers.ea;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.archive.FrontDensityIndicator;
+import org.opt4j.core.common.random.RandomJava;
+import org.opt4j.core.common.random.RandomModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class HypervolumeMonteCarloTest {
+
+	protected static List<Individual> front(int n, int m, long seed) {
+		Random random = new Random(seed);
+		List<Objective> objectives = new ArrayList<>();
+		for (int k = 0; k < m; k++) {
+			objectives.add(new Objective("o" + k));
+		}
+
+		List<Individual> individuals = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			double[] v = new double[m];
+			double norm = 0;
+			for (int k = 0; k < m; k++) {
+				v[k] = random.nextDouble();
+				norm += v[k] * v[k];
+			}
+			Objectives o = new Objectives();
+			for (int k = 0; k < m; k++) {
+				o.add(objectives.get(k), v[k] / Math.sqrt(norm));
+			}
+			Individual individual = mock(Individual.class);
+			when(individual.getObjectives()).thenReturn(o);
+			individuals.add(individual);
+		}
+		return individuals;
+	}
+
+	@Test
+	public void estimate() {
+		List<Individual> individuals = front(20, 5, 0);
+		Map<Individual, Double> exact = new Hypervolume(1.0).getDensityValues(individuals);
+		Map<Individual, Double> estimate = new HypervolumeMonteCarlo(1.0, 100000, 0, 1, new RandomJava(0))
+				.getDensityValues(individuals);
+
+		for (Individual individual : individuals) {
+			double e = exact.get(individual);
+			Assert.assertEquals(e, estimate.get(individual), 0.05 * e + 1e-4);
+		}
+	}
+
+	@Test
+	public void deterministic() {
+		List<Individual> individuals = front(30, 6, 1);
+		Map<Individual, Double> sequential = new HypervolumeMonteCarlo(1.0, 5000, 0.05, 1, new RandomJava(7))
+				.getDensityValues(individuals);
+		Map<Individual, Double> parallel = new HypervolumeMonteCarlo(1.0, 5000, 0.05, 4, new RandomJava(7))
+				.getDensityValues(individuals);
+		Assert.assertEquals(sequential, parallel);
+	}
+
+	@Test
+	public void exactForThreeObjectives() {
+		List<Individual> individuals = front(20, 3, 2);
+		Assert.assertEquals(new Hypervolume(1.0).getDensityValues(individuals),
+				new HypervolumeMonteCarlo(1.0, 10, 0, 1, new RandomJava(0)).getDensityValues(individuals));
+	}
+
+	@Test
+	public void module() {
+		SMSModule module = new SMSModule();
+		module.setType(SMSModule.Type.MONTE_CARLO);
+		Injector injector = Guice.createInjector(module, new RandomModule());
+		Assert.assertTrue(injector.getInstance(FrontDensityIndicator.class) instanceof HypervolumeMonteCarlo);
+	}
+}
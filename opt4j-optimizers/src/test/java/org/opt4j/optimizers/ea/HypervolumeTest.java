@@ -0,0 +1,122 @@
+package org.opt4j.optimizers.ea;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+
+public class HypervolumeTest {
+
+	protected static final int RANGE = 6;
+
+	protected static List<double[]> randomPoints(Random random, int n, int m) {
+		List<double[]> points = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			double[] p = new double[m];
+			for (int k = 0; k < m; k++) {
+				p[k] = 1 + random.nextInt(RANGE);
+			}
+			points.add(p);
+		}
+		return points;
+	}
+
+	/**
+	 * Counts the dominated unit cells of the grid.
+	 */
+	protected static double reference(List<double[]> points, int m) {
+		int cells = (int) Math.pow(RANGE, m);
+		int count = 0;
+		for (int c = 0; c < cells; c++) {
+			int[] cell = new int[m];
+			for (int k = 0, r = c; k < m; k++, r /= RANGE) {
+				cell[k] = r % RANGE;
+			}
+			for (double[] p : points) {
+				boolean dominated = true;
+				for (int k = 0; k < m && dominated; k++) {
+					dominated = cell[k] + 1 <= p[k];
+				}
+				if (dominated) {
+					count++;
+					break;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void calculateHypervolume() {
+		Hypervolume hypervolume = new Hypervolume(1.0);
+		Random random = new Random(0);
+		for (int m = 1; m <= 5; m++) {
+			for (int run = 0; run < 50; run++) {
+				List<double[]> points = randomPoints(random, random.nextInt(12), m);
+				Assert.assertEquals(reference(points, m), hypervolume.calculateHypervolume(points, m), 1e-9);
+			}
+		}
+	}
+
+	@Test
+	public void calculateExclusiveHypervolume() {
+		Hypervolume hypervolume = new Hypervolume(1.0);
+		Random random = new Random(1);
+		for (int m = 2; m <= 5; m++) {
+			for (int run = 0; run < 50; run++) {
+				List<double[]> points = randomPoints(random, 1 + random.nextInt(10), m);
+				double all = reference(points, m);
+				for (int i = 0; i < points.size(); i++) {
+					List<double[]> others = new ArrayList<>(points);
+					others.remove(i);
+					double expected = all - reference(others, m);
+					double[][] array = points.toArray(new double[points.size()][]);
+					Assert.assertEquals(expected, hypervolume.calculateExclusiveHypervolume(array, i, m), 1e-9);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void getDensityValues() {
+		Hypervolume hypervolume = new Hypervolume(1.0);
+		Random random = new Random(2);
+		int m = 4;
+
+		List<Objective> objectives = new ArrayList<>();
+		for (int k = 0; k < m; k++) {
+			objectives.add(new Objective("o" + k));
+		}
+
+		List<Individual> individuals = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			Objectives o = new Objectives();
+			for (Objective objective : objectives) {
+				o.add(objective, random.nextDouble());
+			}
+			Individual individual = mock(Individual.class);
+			when(individual.getObjectives()).thenReturn(o);
+			individuals.add(individual);
+		}
+
+		Map<Individual, Double> values = hypervolume.getDensityValues(individuals);
+
+		List<double[]> front = hypervolume.invert(hypervolume.normalize(hypervolume.getMinValues(individuals)), 1.0);
+		double all = hypervolume.calculateHypervolume(front, m);
+		for (int i = 0; i < individuals.size(); i++) {
+			List<double[]> others = new ArrayList<>(front);
+			others.remove(i);
+			double expected = all - hypervolume.calculateHypervolume(others, m);
+			Assert.assertEquals(expected, values.get(individuals.get(i)), 1e-9);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package org.opt4j.optimizers.ea;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.opt4j.optimizers.ea.NonDominatedSortingEfficient.Search;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class NonDominatedSortingTest {
+
+	protected static int[] reference(double[][] points) {
+		int n = points.length;
+		int[] ranks = new int[n];
+		boolean[] done = new boolean[n];
+		int remaining = n;
+		int front = 0;
+		while (remaining > 0) {
+			boolean[] current = new boolean[n];
+			for (int i = 0; i < n; i++) {
+				if (done[i]) {
+					continue;
+				}
+				boolean dominated = false;
+				for (int j = 0; j < n && !dominated; j++) {
+					dominated = !done[j] && dominates(points[j], points[i]);
+				}
+				current[i] = !dominated;
+			}
+			for (int i = 0; i < n; i++) {
+				if (current[i]) {
+					ranks[i] = front;
+					done[i] = true;
+					remaining--;
+				}
+			}
+			front++;
+		}
+		return ranks;
+	}
+
+	protected static boolean dominates(double[] a, double[] b) {
+		boolean equal = true;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			} else if (a[i] < b[i]) {
+				equal = false;
+			}
+		}
+		return !equal;
+	}
+
+	protected static double[][] points(Random random, int n, int m, int values) {
+		double[][] points = new double[n][m];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < m; j++) {
+				points[i][j] = random.nextInt(values);
+			}
+		}
+		return points;
+	}
+
+	protected void check(NonDominatedSorting sorting, int maxObjectives) {
+		Random random = new Random(0);
+		for (int m = 1; m <= maxObjectives; m++) {
+			for (int n : new int[] { 0, 1, 2, 3, 10, 50, 200 }) {
+				for (int values : new int[] { 3, 10, 1000 }) {
+					double[][] points = points(random, n, m, values);
+					assertArrayEquals(reference(points), sorting.sort(points));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDeb() {
+		check(new NonDominatedSortingDeb(), 5);
+	}
+
+	@Test
+	public void testEfficientSequential() {
+		check(new NonDominatedSortingEfficient(Search.SEQUENTIAL), 5);
+	}
+
+	@Test
+	public void testEfficientBinary() {
+		check(new NonDominatedSortingEfficient(Search.BINARY), 5);
+	}
+
+	@Test
+	public void testSweep() {
+		check(new NonDominatedSortingSweep(), 2);
+	}
+
+	@Test
+	public void testDivideAndConquer() {
+		check(new NonDominatedSortingDivideAndConquer(), 5);
+	}
+
+	@Test
+	public void testDefault() {
+		NonDominatedSorting sorting = new NonDominatedSortingDefault();
+		check(sorting, 4);
+		double[][] points = points(new Random(1), NonDominatedSortingDefault.DIVIDE_AND_CONQUER_SIZE, 3, 50);
+		assertArrayEquals(new NonDominatedSortingEfficient().sort(points), sorting.sort(points));
+	}
+
+	@Test
+	public void testParallel() {
+		check(new NonDominatedSortingParallel(0, 2), 5);
+		double[][] points = points(new Random(2), 1000, 3, 50);
+		assertArrayEquals(reference(points), new NonDominatedSortingParallel(0, 3).sort(points));
+	}
+
+	@Test
+	public void testModule() {
+		NonDominatedSortingModule module = new NonDominatedSortingModule();
+		module.setType(NonDominatedSortingModule.Type.PARALLEL);
+		module.setThreshold(100);
+		module.setParallelism(2);
+		Injector injector = Guice.createInjector(module, new Nsga2Module());
+		NonDominatedSortingParallel sorting = (NonDominatedSortingParallel) injector
+				.getInstance(NonDominatedSorting.class);
+		assertEquals(100, sorting.threshold);
+		assertEquals(2, sorting.pool.getParallelism());
+		assertSame(sorting, injector.getInstance(Nsga2.class).sorting);
+	}
+
+	@Test
+	public void testParallelRestart() {
+		NonDominatedSortingParallel sorting = new NonDominatedSortingParallel(0, 2);
+		double[][] points = points(new Random(3), 500, 3, 50);
+		sorting.optimizationStarted(null);
+		assertArrayEquals(reference(points), sorting.sort(points));
+		sorting.optimizationStopped(null);
+		assertTrue(sorting.pool.isShutdown());
+
+		sorting.optimizationStarted(null);
+		assertArrayEquals(reference(points), sorting.sort(points));
+		sorting.optimizationStopped(null);
+	}
+
+	@Test
+	public void testNegativeZero() {
+		double[][] points = { { 0.0, -0.0, 1 }, { -0.0, 0.0, 1 }, { 0.0, 0.0, 0 } };
+		int[] expected = { 1, 1, 0 };
+		assertArrayEquals(expected, new NonDominatedSortingDivideAndConquer().sort(points));
+		assertArrayEquals(expected, new NonDominatedSortingEfficient().sort(points));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSweepTooManyObjectives() {
+		new NonDominatedSortingSweep().sort(new double[][] { { 0, 0, 0 }, { 1, 1, 1 } });
+	}
+}
@@ -0,0 +1,84 @@
+package org.opt4j.optimizers.ea;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.random.RandomJava;
+import org.opt4j.core.common.random.RandomModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class Spea2KNearestTest {
+
+	protected static Individual create(Random random, int m, int range, boolean front) {
+		Objectives objectives = new Objectives();
+		int sum = 0;
+		for (int k = 0; k < m; k++) {
+			int value = front && k == m - 1 ? m * range - sum : random.nextInt(range);
+			sum += value;
+			objectives.add(new Objective("o" + k), value);
+		}
+		Individual individual = mock(Individual.class);
+		when(individual.getObjectives()).thenReturn(objectives);
+		return individual;
+	}
+
+	protected static void compare(int m, int range, int k, boolean front) {
+		Random random = new Random(m * 100 + range);
+		int alpha = 60;
+		int lambda = 40;
+
+		Spea2 expected = new Spea2(1, new RandomJava(0));
+		Spea2 selector = new Spea2KNearest(1, k, new RandomJava(0));
+		expected.init(alpha + lambda);
+		selector.init(alpha + lambda);
+
+		Set<Individual> population = new LinkedHashSet<>();
+		for (int generation = 0; generation < 20; generation++) {
+			while (population.size() < alpha + lambda) {
+				population.add(create(random, m, range, front));
+			}
+
+			Collection<Individual> lames = expected.getLames(lambda, population);
+			Assert.assertEquals(new ArrayList<>(lames), new ArrayList<>(selector.getLames(lambda, population)));
+			population.removeAll(lames);
+
+			List<Individual> parents = new ArrayList<>(expected.getParents(lambda, population));
+			Assert.assertEquals(parents, new ArrayList<>(selector.getParents(lambda, population)));
+		}
+	}
+
+	@Test
+	public void sameAsSpea2() {
+		compare(2, 1000, 8, false);
+		compare(3, 1000, 8, true);
+	}
+
+	@Test
+	public void sameAsSpea2WithTies() {
+		compare(2, 12, 2, false);
+		compare(2, 30, 2, true);
+		compare(3, 5, 1, true);
+	}
+
+	@Test
+	public void module() {
+		Spea2Module module = new Spea2Module();
+		module.setType(Spea2Module.Type.NEAREST_NEIGHBORS);
+		Injector injector = Guice.createInjector(module, new RandomModule());
+		Assert.assertTrue(injector.getInstance(Selector.class) instanceof Spea2KNearest);
+	}
+}
@@ -0,0 +1,164 @@
+package org.opt4j.optimizers.ea;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.IndividualFactory;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.random.RandomModule;
+import org.opt4j.core.optimizer.IndividualCompleter;
+import org.opt4j.core.optimizer.Iteration;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.optimizer.TerminationException;
+import org.opt4j.core.start.Opt4JTask;
+import org.opt4j.optimizers.ea.Spea2SnapshotTest.MockProblemModule;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+public class SteadyStateEvolutionaryAlgorithmTest {
+
+	/**
+	 * Evaluates each individual with a decreasing value such that each
+	 * individual is better than all previously evaluated ones.
+	 */
+	protected static class MockCompleter implements IndividualCompleter {
+
+		protected final List<Individual> evaluated = new ArrayList<>();
+
+		@Override
+		public void complete(Iterable<? extends Individual> iterable) throws TerminationException {
+			for (Individual individual : iterable) {
+				complete(individual);
+			}
+		}
+
+		@Override
+		public void complete(Individual... individuals) throws TerminationException {
+			for (Individual individual : individuals) {
+				Objectives objectives = new Objectives();
+				objectives.add(new Objective("f"), -evaluated.size());
+				individual.setObjectives(objectives);
+				evaluated.add(individual);
+			}
+		}
+	}
+
+	protected static class MockSelector implements Selector {
+
+		protected final Comparator<Individual> comparator = Comparator
+				.comparingDouble(i -> i.getObjectives().array()[0]);
+
+		@Override
+		public Collection<Individual> getParents(int mu, Collection<Individual> population) {
+			return new ArrayList<>(population);
+		}
+
+		@Override
+		public Collection<Individual> getLames(int lambda, Collection<Individual> population) {
+			List<Individual> list = new ArrayList<>(population);
+			Collections.sort(list, comparator.reversed());
+			return list.subList(0, lambda);
+		}
+
+		@Override
+		public void init(int maxsize) {
+			// nothing to initialize
+		}
+	}
+
+	protected static class MockMating implements Mating {
+
+		protected final IndividualFactory factory;
+
+		protected MockMating(IndividualFactory factory) {
+			this.factory = factory;
+		}
+
+		@Override
+		public Collection<Individual> getOffspring(int size, Individual... parents) {
+			List<Individual> offspring = new ArrayList<>();
+			for (int i = 0; i < size; i++) {
+				offspring.add(factory.create());
+			}
+			return offspring;
+		}
+
+		@Override
+		public Collection<Individual> getOffspring(int size, Collection<Individual> parents) {
+			return getOffspring(size, parents.toArray(new Individual[0]));
+		}
+	}
+
+	@Test
+	public void replacement() throws TerminationException {
+		Injector injector = Guice.createInjector(new MockProblemModule());
+		IndividualFactory factory = injector.getInstance(IndividualFactory.class);
+		Population population = new Population();
+		MockCompleter completer = new MockCompleter();
+
+		SteadyStateEvolutionaryAlgorithm ea = new SteadyStateEvolutionaryAlgorithm(population, factory, completer,
+				new MockSelector(), new MockMating(factory), 4, 2, 3);
+		ea.initialize();
+
+		ea.next();
+		Assert.assertEquals(3, population.size());
+		Assert.assertEquals(1, ea.pending.size());
+
+		ea.next();
+		Assert.assertEquals(4, population.size());
+		Assert.assertEquals(1, ea.pending.size());
+		// the two worst individuals are replaced by the better offspring
+		Assert.assertEquals(6, completer.evaluated.size() - ea.pending.size());
+		Assert.assertEquals(completer.evaluated.subList(2, 6), new ArrayList<>(population));
+		for (Individual individual : population) {
+			Assert.assertTrue(individual.isEvaluated());
+			Assert.assertFalse(ea.pending.containsKey(individual));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidLambda() {
+		new SteadyStateEvolutionaryAlgorithm(new Population(), null, new MockCompleter(), new MockSelector(), null, 4,
+				2, 0);
+	}
+
+	@Test
+	public void generations() throws Exception {
+		RandomModule random = new RandomModule();
+		random.setSeed(0);
+		EvolutionaryAlgorithmModule ea = new EvolutionaryAlgorithmModule();
+		ea.setSteadyState(true);
+		ea.setGenerations(7);
+		ea.setPopulationSize(10);
+		ea.setParentsPerGeneration(5);
+		ea.setOffspringsPerGeneration(4);
+
+		List<Module> modules = new ArrayList<>();
+		modules.add(new MockProblemModule());
+		modules.add(random);
+		modules.add(ea);
+
+		Opt4JTask task = new Opt4JTask(false);
+		task.init(modules);
+		try {
+			task.execute();
+			Assert.assertEquals(7, task.getInstance(Iteration.class).value());
+			Population population = task.getInstance(Population.class);
+			Assert.assertEquals(10, population.size());
+			for (Individual individual : population) {
+				Assert.assertTrue(individual.isEvaluated());
+			}
+		} finally {
+			task.close();
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package org.opt4j.optimizers.mopso;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opt4j.core.Individual;
+import org.opt4j.core.Objective;
+import org.opt4j.core.Objectives;
+import org.opt4j.core.common.random.Rand;
+import org.opt4j.core.common.random.RandomModule;
+import org.opt4j.core.common.snapshot.SnapshotModule;
+import org.opt4j.core.common.snapshot.Snapshotter;
+import org.opt4j.core.config.annotations.Ignore;
+import org.opt4j.core.genotype.DoubleGenotype;
+import org.opt4j.core.optimizer.Archive;
+import org.opt4j.core.optimizer.Control;
+import org.opt4j.core.optimizer.OptimizerIterationListener;
+import org.opt4j.core.optimizer.Population;
+import org.opt4j.core.problem.Creator;
+import org.opt4j.core.problem.Decoder;
+import org.opt4j.core.problem.Evaluator;
+import org.opt4j.core.problem.ProblemModule;
+import org.opt4j.core.start.Opt4JModule;
+import org.opt4j.core.start.Opt4JTask;
+
+import com.google.inject.Inject;
+import com.google.inject.Module;
+
+public class MOPSOSnapshotTest {
+
+	protected static class MockProblem
+			implements Creator<DoubleGenotype>, Decoder<DoubleGenotype, double[]>, Evaluator<double[]> {
+
+		protected final Rand random;
+
+		@Inject
+		public MockProblem(Rand random) {
+			this.random = random;
+		}
+
+		@Override
+		public DoubleGenotype create() {
+			DoubleGenotype genotype = new DoubleGenotype();
+			genotype.init(random, 4);
+			return genotype;
+		}
+
+		@Override
+		public double[] decode(DoubleGenotype genotype) {
+			double[] x = new double[genotype.size()];
+			for (int i = 0; i < x.length; i++) {
+				x[i] = genotype.get(i);
+			}
+			return x;
+		}
+
+		@Override
+		public Objectives evaluate(double[] x) {
+			double g = 0;
+			for (int i = 1; i < x.length; i++) {
+				g += x[i];
+			}
+			Objectives objectives = new Objectives();
+			objectives.add(new Objective("f1"), x[0]);
+			objectives.add(new Objective("f2"), (1 + g) * (1 - Math.sqrt(x[0] / (1 + g))));
+			return objectives;
+		}
+	}
+
+	@Ignore
+	protected static class MockProblemModule extends ProblemModule {
+		@Override
+		protected void config() {
+			bindProblem(MockProblem.class, MockProblem.class, MockProblem.class);
+		}
+	}
+
+	/**
+	 * Stops the optimization after eight iterations. The maximal number of
+	 * iterations is not reduced since the non-uniform mutation depends on it.
+	 */
+	protected static class MockStop implements OptimizerIterationListener {
+
+		protected final Control control;
+
+		@Inject
+		public MockStop(Control control) {
+			this.control = control;
+		}
+
+		@Override
+		public void iterationComplete(int iteration) {
+			if (iteration == 8) {
+				control.doStop();
+			}
+		}
+	}
+
+	@Ignore
+	protected static class MockStopModule extends Opt4JModule {
+		@Override
+		protected void config() {
+			addOptimizerIterationListener(MockStop.class);
+		}
+	}
+
+	protected File file;
+
+	@Before
+	public void before() throws IOException {
+		file = File.createTempFile("opt4j", ".snapshot");
+		Assert.assertTrue(file.delete());
+	}
+
+	@After
+	public void after() {
+		file.delete();
+		new File(file.getPath() + ".tmp").delete();
+	}
+
+	protected Opt4JTask run(boolean stop, boolean snapshot, long seed) throws Exception {
+		RandomModule random = new RandomModule();
+		random.setSeed(seed);
+		MOPSOModule mopso = new MOPSOModule();
+		mopso.setIterations(16);
+		mopso.setParticles(12);
+		mopso.setArchiveSize(10);
+
+		List<Module> modules = new ArrayList<>();
+		modules.add(new MockProblemModule());
+		modules.add(random);
+		modules.add(mopso);
+		if (stop) {
+			modules.add(new MockStopModule());
+		}
+		if (snapshot) {
+			SnapshotModule module = new SnapshotModule();
+			module.setFile(file.getPath());
+			module.setInterval(4);
+			modules.add(module);
+		}
+
+		Opt4JTask task = new Opt4JTask(false);
+		task.init(modules);
+		task.execute();
+		return task;
+	}
+
+	protected List<String> describe(Iterable<Individual> individuals) {
+		List<String> result = new ArrayList<>();
+		for (Individual individual : individuals) {
+			result.add(individual.getGenotype() + " " + individual.getObjectives());
+		}
+		return result;
+	}
+
+	protected List<String> describeParticles(Iterable<Individual> individuals) {
+		List<String> result = new ArrayList<>();
+		for (Individual individual : individuals) {
+			Particle particle = (Particle) individual;
+			result.add(particle.getId() + " " + particle.getGenotype() + " " + particle.getVelocity() + " "
+					+ particle.getBest() + " " + particle.getObjectives());
+		}
+		return result;
+	}
+
+	@Test
+	public void resume() throws Exception {
+		Opt4JTask uninterrupted = run(false, false, 1);
+		run(true, true, 1);
+		Opt4JTask resumed = run(false, true, 2);
+
+		Assert.assertTrue(resumed.getInstance(Snapshotter.class).isResumed());
+		Assert.assertEquals(describeParticles(uninterrupted.getInstance(Population.class)),
+				describeParticles(resumed.getInstance(Population.class)));
+		Assert.assertEquals(describe(uninterrupted.getInstance(Archive.class)),
+				describe(resumed.getInstance(Archive.class)));
+	}
+}